@@ -3,16 +3,30 @@ package com.shoppr;
 import android.app.Application;
 
 import com.google.android.material.color.DynamicColors;
+import com.google.firebase.auth.FirebaseAuth;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.functions.FirebaseFunctions;
+import com.shoppr.data.utils.RealtimeStreamPolicy;
 
 import dagger.hilt.android.HiltAndroidApp;
 
 @HiltAndroidApp
 public class MainApplication extends Application {
+    // The host machine as seen from the Android emulator
+    private static final String EMULATOR_HOST = "10.0.2.2";
+
     @Override
     public void onCreate() {
         super.onCreate();
         if (DynamicColors.isDynamicColorAvailable()) {
             DynamicColors.applyToActivitiesIfAvailable(this);
         }
+        if (BuildConfig.USE_FIREBASE_EMULATOR) {
+            // Must run before anything touches these instances
+            FirebaseAuth.getInstance().useEmulator(EMULATOR_HOST, 9099);
+            FirebaseFirestore.getInstance().useEmulator(EMULATOR_HOST, 8080);
+            FirebaseFunctions.getInstance().useEmulator(EMULATOR_HOST, 5001);
+        }
+        RealtimeStreamPolicy.INSTANCE.install();
     }
 }
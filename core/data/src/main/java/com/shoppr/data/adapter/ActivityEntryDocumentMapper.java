@@ -0,0 +1,66 @@
+package com.shoppr.data.adapter;
+
+import static com.shoppr.data.adapter.FirestoreFields.date;
+import static com.shoppr.data.adapter.FirestoreFields.string;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
+import com.shoppr.model.ActivityEntry;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Maps the documents of a request's {@code activity} subcollection.
+ */
+@Singleton
+public class ActivityEntryDocumentMapper implements DocumentMapper<ActivityEntry> {
+	@Inject
+	public ActivityEntryDocumentMapper() {
+	}
+
+	@Override
+	@Nullable
+	public ActivityEntry fromSnapshot(@NonNull DocumentSnapshot snapshot) {
+		if (!snapshot.exists()) {
+			return null;
+		}
+		ActivityEntry entry = fromMap(snapshot.getData() != null ? snapshot.getData() : new HashMap<>());
+		entry.setId(snapshot.getId());
+		return entry;
+	}
+
+	/**
+	 * The entry's createdAt is always the server's time, whatever the entry carries. The history is
+	 * ordered by it and deleteRequestActivity compares it with the time of a withdrawal, so a
+	 * device's clock mustn't decide it.
+	 */
+	@Override
+	@NonNull
+	public Map<String, Object> toMap(@NonNull ActivityEntry entry) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("actorId", entry.getActorId());
+		data.put("actorName", entry.getActorName());
+		data.put("description", entry.getDescription());
+		data.put("createdAt", FieldValue.serverTimestamp());
+		return data;
+	}
+
+	/**
+	 * Reads an entry from a map, as stored in a request's legacy {@code activityTimeline} array.
+	 */
+	@NonNull
+	public ActivityEntry fromMap(@NonNull Map<String, Object> data) {
+		return new ActivityEntry(
+				string(data.get("actorId")),
+				string(data.get("actorName")),
+				string(data.get("description")),
+				date(data.get("createdAt")));
+	}
+}
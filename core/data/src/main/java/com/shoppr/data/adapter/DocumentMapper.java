@@ -0,0 +1,20 @@
+package com.shoppr.data.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+
+import java.util.Map;
+
+/**
+ * Converts between a Firestore document and a model class by reading and writing each field
+ * explicitly, instead of going through the reflective bean mapping of {@code toObject} / {@code set(Object)}.
+ */
+public interface DocumentMapper<T> {
+	@Nullable
+	T fromSnapshot(@NonNull DocumentSnapshot snapshot);
+
+	@NonNull
+	Map<String, Object> toMap(@NonNull T item);
+}
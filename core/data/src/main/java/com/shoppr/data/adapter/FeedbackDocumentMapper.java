@@ -0,0 +1,66 @@
+package com.shoppr.data.adapter;
+
+import static com.shoppr.data.adapter.FirestoreFields.date;
+import static com.shoppr.data.adapter.FirestoreFields.number;
+import static com.shoppr.data.adapter.FirestoreFields.serverTimestampIfNull;
+import static com.shoppr.data.adapter.FirestoreFields.string;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.shoppr.model.Feedback;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Maps the documents of the {@code feedback} collection.
+ */
+@Singleton
+public class FeedbackDocumentMapper implements DocumentMapper<Feedback> {
+	@Inject
+	public FeedbackDocumentMapper() {
+	}
+
+	@Override
+	@Nullable
+	public Feedback fromSnapshot(@NonNull DocumentSnapshot snapshot) {
+		if (!snapshot.exists()) {
+			return null;
+		}
+		Feedback feedback = fromMap(snapshot.getData() != null ? snapshot.getData() : new HashMap<>());
+		feedback.setId(snapshot.getId());
+		return feedback;
+	}
+
+	@Override
+	@NonNull
+	public Map<String, Object> toMap(@NonNull Feedback feedback) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", feedback.getId());
+		data.put("requestId", feedback.getRequestId());
+		data.put("raterId", feedback.getRaterId());
+		data.put("rateeId", feedback.getRateeId());
+		data.put("rating", (double) feedback.getRating());
+		data.put("comment", feedback.getComment());
+		data.put("createdAt", serverTimestampIfNull(feedback.getCreatedAt()));
+		return data;
+	}
+
+	@NonNull
+	public Feedback fromMap(@NonNull Map<String, Object> data) {
+		Feedback feedback = new Feedback();
+		feedback.setId(string(data.get("id")));
+		feedback.setRequestId(string(data.get("requestId")));
+		feedback.setRaterId(string(data.get("raterId")));
+		feedback.setRateeId(string(data.get("rateeId")));
+		feedback.setRating((float) number(data.get("rating"), 0));
+		feedback.setComment(string(data.get("comment")));
+		feedback.setCreatedAt(date(data.get("createdAt")));
+		return feedback;
+	}
+}
@@ -0,0 +1,114 @@
+package com.shoppr.data.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.Timestamp;
+import com.google.firebase.firestore.FieldValue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lenient readers for raw Firestore values, shared by the document mappers. Nested objects and
+ * list elements come back from a snapshot as plain maps, lists, numbers and timestamps.
+ */
+final class FirestoreFields {
+
+	private FirestoreFields() {
+	}
+
+	@Nullable
+	static String string(@Nullable Object value) {
+		return value instanceof String ? (String) value : null;
+	}
+
+	@Nullable
+	static Double number(@Nullable Object value) {
+		return value instanceof Number ? ((Number) value).doubleValue() : null;
+	}
+
+	static double number(@Nullable Object value, double fallback) {
+		return value instanceof Number ? ((Number) value).doubleValue() : fallback;
+	}
+
+	static int integer(@Nullable Object value, int fallback) {
+		return value instanceof Number ? ((Number) value).intValue() : fallback;
+	}
+
+	@Nullable
+	static Date date(@Nullable Object value) {
+		if (value instanceof Timestamp) {
+			return ((Timestamp) value).toDate();
+		}
+		return value instanceof Date ? (Date) value : null;
+	}
+
+	@NonNull
+	static List<String> stringList(@Nullable Object value) {
+		if (!(value instanceof List)) {
+			return new ArrayList<>();
+		}
+		List<?> raw = (List<?>) value;
+		List<String> strings = new ArrayList<>(raw.size());
+		for (Object element : raw) {
+			if (element instanceof String) {
+				strings.add((String) element);
+			}
+		}
+		return strings;
+	}
+
+	@NonNull
+	static List<Map<String, Object>> mapList(@Nullable Object value) {
+		if (!(value instanceof List)) {
+			return Collections.emptyList();
+		}
+		List<?> raw = (List<?>) value;
+		List<Map<String, Object>> maps = new ArrayList<>(raw.size());
+		for (Object element : raw) {
+			Map<String, Object> map = map(element);
+			if (map != null) {
+				maps.add(map);
+			}
+		}
+		return maps;
+	}
+
+	@Nullable
+	@SuppressWarnings("unchecked")
+	static Map<String, Object> map(@Nullable Object value) {
+		return value instanceof Map ? (Map<String, Object>) value : null;
+	}
+
+	/**
+	 * Unknown constants map to null rather than failing the whole document.
+	 */
+	@Nullable
+	static <E extends Enum<E>> E enumValue(@NonNull Class<E> type, @Nullable Object value) {
+		if (!(value instanceof String)) {
+			return null;
+		}
+		try {
+			return Enum.valueOf(type, (String) value);
+		} catch (IllegalArgumentException e) {
+			return null;
+		}
+	}
+
+	@Nullable
+	static String enumName(@Nullable Enum<?> value) {
+		return value != null ? value.name() : null;
+	}
+
+	/**
+	 * Mirrors {@code @ServerTimestamp}: an unset date is filled in by the server on write.
+	 */
+	@NonNull
+	static Object serverTimestampIfNull(@Nullable Date value) {
+		return value != null ? value : FieldValue.serverTimestamp();
+	}
+}
@@ -0,0 +1,112 @@
+package com.shoppr.data.adapter;
+
+import static com.shoppr.data.adapter.FirestoreFields.date;
+import static com.shoppr.data.adapter.FirestoreFields.enumName;
+import static com.shoppr.data.adapter.FirestoreFields.enumValue;
+import static com.shoppr.data.adapter.FirestoreFields.integer;
+import static com.shoppr.data.adapter.FirestoreFields.map;
+import static com.shoppr.data.adapter.FirestoreFields.number;
+import static com.shoppr.data.adapter.FirestoreFields.serverTimestampIfNull;
+import static com.shoppr.data.adapter.FirestoreFields.string;
+import static com.shoppr.data.adapter.FirestoreFields.stringList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.shoppr.model.ListerSummary;
+import com.shoppr.model.ListingState;
+import com.shoppr.model.ListingType;
+import com.shoppr.model.Post;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class PostDocumentMapper implements DocumentMapper<Post> {
+
+	@Inject
+	public PostDocumentMapper() {
+	}
+
+	@Override
+	@Nullable
+	public Post fromSnapshot(@NonNull DocumentSnapshot snapshot) {
+		if (!snapshot.exists()) {
+			return null;
+		}
+		Post post = new Post();
+		post.setId(string(snapshot.get("id")));
+		post.setTitle(string(snapshot.get("title")));
+		post.setDescription(string(snapshot.get("description")));
+		post.setPrice(string(snapshot.get("price")));
+		post.setCurrency(string(snapshot.get("currency")));
+		post.setState(enumValue(ListingState.class, snapshot.get("state")));
+		post.setType(enumValue(ListingType.class, snapshot.get("type")));
+		post.setImageUrl(stringList(snapshot.get("imageUrl")));
+		post.setCategories(stringList(snapshot.get("categories")));
+		post.setLister(listerFromMap(map(snapshot.get("lister"))));
+		post.setOfferCount(integer(snapshot.get("offerCount"), 0));
+		post.setLatitude(number(snapshot.get("latitude")));
+		post.setLongitude(number(snapshot.get("longitude")));
+		post.setPostAddress(string(snapshot.get("postAddress")));
+		post.setGeohash(string(snapshot.get("geohash")));
+		post.setCreatedAt(date(snapshot.get("createdAt")));
+		post.setUpdatedAt(date(snapshot.get("updatedAt")));
+		return post;
+	}
+
+	@Override
+	@NonNull
+	public Map<String, Object> toMap(@NonNull Post post) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", post.getId());
+		data.put("title", post.getTitle());
+		data.put("description", post.getDescription());
+		data.put("price", post.getPrice());
+		data.put("currency", post.getCurrency());
+		data.put("state", enumName(post.getState()));
+		data.put("type", enumName(post.getType()));
+		data.put("imageUrl", post.getImageUrl());
+		data.put("categories", post.getCategories());
+		data.put("lister", listerToMap(post.getLister()));
+		data.put("offerCount", post.getOfferCount());
+		data.put("latitude", post.getLatitude());
+		data.put("longitude", post.getLongitude());
+		data.put("postAddress", post.getPostAddress());
+		data.put("geohash", post.getGeohash());
+		data.put("createdAt", serverTimestampIfNull(post.getCreatedAt()));
+		data.put("updatedAt", serverTimestampIfNull(post.getUpdatedAt()));
+		return data;
+	}
+
+	// Posts written before the summary was introduced embed the whole user; only the summary
+	// fields are read from them, and the migratePostListers function rewrites them
+	@Nullable
+	private static ListerSummary listerFromMap(@Nullable Map<String, Object> data) {
+		if (data == null) {
+			return null;
+		}
+		return new ListerSummary(
+				string(data.get("id")),
+				string(data.get("name")),
+				number(data.get("averageRating"), 0.0),
+				integer(data.get("ratingCount"), 0));
+	}
+
+	@Nullable
+	private static Map<String, Object> listerToMap(@Nullable ListerSummary lister) {
+		if (lister == null) {
+			return null;
+		}
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", lister.getId());
+		data.put("name", lister.getName());
+		data.put("averageRating", lister.getAverageRating());
+		data.put("ratingCount", lister.getRatingCount());
+		return data;
+	}
+}
@@ -0,0 +1,116 @@
+package com.shoppr.data.adapter;
+
+import static com.shoppr.data.adapter.FirestoreFields.date;
+import static com.shoppr.data.adapter.FirestoreFields.enumName;
+import static com.shoppr.data.adapter.FirestoreFields.enumValue;
+import static com.shoppr.data.adapter.FirestoreFields.map;
+import static com.shoppr.data.adapter.FirestoreFields.mapList;
+import static com.shoppr.data.adapter.FirestoreFields.number;
+import static com.shoppr.data.adapter.FirestoreFields.string;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.ListingState;
+import com.shoppr.model.PostSummary;
+import com.shoppr.model.Request;
+import com.shoppr.model.RequestStatus;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class RequestDocumentMapper implements DocumentMapper<Request> {
+	private final ActivityEntryDocumentMapper activityMapper;
+
+	@Inject
+	public RequestDocumentMapper(ActivityEntryDocumentMapper activityMapper) {
+		this.activityMapper = activityMapper;
+	}
+
+	@Override
+	@Nullable
+	public Request fromSnapshot(@NonNull DocumentSnapshot snapshot) {
+		if (!snapshot.exists()) {
+			return null;
+		}
+		Request request = new Request();
+		request.setId(string(snapshot.get("id")));
+		request.setPostId(string(snapshot.get("postId")));
+		request.setBuyerId(string(snapshot.get("buyerId")));
+		request.setSellerId(string(snapshot.get("sellerId")));
+		request.setOfferAmount(number(snapshot.get("offerAmount")));
+		request.setOfferCurrency(string(snapshot.get("offerCurrency")));
+		request.setMessage(string(snapshot.get("message")));
+		request.setStatus(enumValue(RequestStatus.class, snapshot.get("status")));
+		request.setCreatedAt(date(snapshot.get("createdAt")));
+
+		// Entries now live in the activity subcollection; requests written before that keep theirs here
+		List<Map<String, Object>> rawTimeline = mapList(snapshot.get("activityTimeline"));
+		List<ActivityEntry> timeline = new ArrayList<>(rawTimeline.size());
+		for (Map<String, Object> rawEntry : rawTimeline) {
+			timeline.add(activityMapper.fromMap(rawEntry));
+		}
+		request.setActivityTimeline(timeline);
+		request.setPostSummary(postSummaryFromMap(map(snapshot.get("postSummary"))));
+		return request;
+	}
+
+	@Override
+	@NonNull
+	public Map<String, Object> toMap(@NonNull Request request) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", request.getId());
+		data.put("postId", request.getPostId());
+		data.put("buyerId", request.getBuyerId());
+		data.put("sellerId", request.getSellerId());
+		data.put("offerAmount", request.getOfferAmount());
+		data.put("offerCurrency", request.getOfferCurrency());
+		data.put("message", request.getMessage());
+		data.put("status", enumName(request.getStatus()));
+		data.put("createdAt", request.getCreatedAt());
+
+		// activityTimeline is not written: entries are added to the activity subcollection
+		data.put("postSummary", postSummaryToMap(request.getPostSummary()));
+		return data;
+	}
+
+	@Nullable
+	private static PostSummary postSummaryFromMap(@Nullable Map<String, Object> data) {
+		if (data == null) {
+			return null;
+		}
+		PostSummary summary = new PostSummary();
+		summary.setTitle(string(data.get("title")));
+		summary.setImageUrl(string(data.get("imageUrl")));
+		summary.setPrice(string(data.get("price")));
+		summary.setCurrency(string(data.get("currency")));
+		summary.setListerId(string(data.get("listerId")));
+		summary.setListerName(string(data.get("listerName")));
+		summary.setState(enumValue(ListingState.class, data.get("state")));
+		return summary;
+	}
+
+	@Nullable
+	private static Map<String, Object> postSummaryToMap(@Nullable PostSummary summary) {
+		if (summary == null) {
+			return null;
+		}
+		Map<String, Object> data = new HashMap<>();
+		data.put("title", summary.getTitle());
+		data.put("imageUrl", summary.getImageUrl());
+		data.put("price", summary.getPrice());
+		data.put("currency", summary.getCurrency());
+		data.put("listerId", summary.getListerId());
+		data.put("listerName", summary.getListerName());
+		data.put("state", enumName(summary.getState()));
+		return data;
+	}
+}
@@ -0,0 +1,70 @@
+package com.shoppr.data.adapter;
+
+import static com.shoppr.data.adapter.FirestoreFields.date;
+import static com.shoppr.data.adapter.FirestoreFields.enumName;
+import static com.shoppr.data.adapter.FirestoreFields.enumValue;
+import static com.shoppr.data.adapter.FirestoreFields.number;
+import static com.shoppr.data.adapter.FirestoreFields.serverTimestampIfNull;
+import static com.shoppr.data.adapter.FirestoreFields.string;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.shoppr.model.PaymentMethod;
+import com.shoppr.model.Transaction;
+import com.shoppr.model.TransactionStatus;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class TransactionDocumentMapper implements DocumentMapper<Transaction> {
+	@Inject
+	public TransactionDocumentMapper() {
+	}
+
+	@Override
+	@Nullable
+	public Transaction fromSnapshot(@NonNull DocumentSnapshot snapshot) {
+		if (!snapshot.exists()) {
+			return null;
+		}
+		Transaction transaction = new Transaction();
+		transaction.setId(string(snapshot.get("id")));
+		transaction.setRequestId(string(snapshot.get("requestId")));
+		transaction.setPostId(string(snapshot.get("postId")));
+		transaction.setBuyerId(string(snapshot.get("buyerId")));
+		transaction.setSellerId(string(snapshot.get("sellerId")));
+		transaction.setAmount(number(snapshot.get("amount"), 0.0));
+		transaction.setCurrency(string(snapshot.get("currency")));
+		transaction.setServiceFee(number(snapshot.get("serviceFee"), 0.0));
+		transaction.setTotalAmount(number(snapshot.get("totalAmount"), 0.0));
+		transaction.setPaymentMethod(enumValue(PaymentMethod.class, snapshot.get("paymentMethod")));
+		transaction.setStatus(enumValue(TransactionStatus.class, snapshot.get("status")));
+		transaction.setCreatedAt(date(snapshot.get("createdAt")));
+		return transaction;
+	}
+
+	@Override
+	@NonNull
+	public Map<String, Object> toMap(@NonNull Transaction transaction) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", transaction.getId());
+		data.put("requestId", transaction.getRequestId());
+		data.put("postId", transaction.getPostId());
+		data.put("buyerId", transaction.getBuyerId());
+		data.put("sellerId", transaction.getSellerId());
+		data.put("amount", transaction.getAmount());
+		data.put("currency", transaction.getCurrency());
+		data.put("serviceFee", transaction.getServiceFee());
+		data.put("totalAmount", transaction.getTotalAmount());
+		data.put("paymentMethod", enumName(transaction.getPaymentMethod()));
+		data.put("status", enumName(transaction.getStatus()));
+		data.put("createdAt", serverTimestampIfNull(transaction.getCreatedAt()));
+		return data;
+	}
+}
@@ -0,0 +1,84 @@
+package com.shoppr.data.adapter;
+
+import static com.shoppr.data.adapter.FirestoreFields.integer;
+import static com.shoppr.data.adapter.FirestoreFields.map;
+import static com.shoppr.data.adapter.FirestoreFields.number;
+import static com.shoppr.data.adapter.FirestoreFields.string;
+import static com.shoppr.data.adapter.FirestoreFields.stringList;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.shoppr.model.User;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+@Singleton
+public class UserDocumentMapper implements DocumentMapper<User> {
+	@Inject
+	public UserDocumentMapper() {
+	}
+
+	@Override
+	@Nullable
+	public User fromSnapshot(@NonNull DocumentSnapshot snapshot) {
+		Map<String, Object> data = snapshot.getData();
+		return data != null ? fromMap(data) : null;
+	}
+
+	/**
+	 * Reads a user from raw document data.
+	 */
+	@NonNull
+	public User fromMap(@NonNull Map<String, Object> data) {
+		User user = new User();
+		user.setId(string(data.get("id")));
+		user.setName(string(data.get("name")));
+		user.setEmail(string(data.get("email")));
+		user.setPhoneNumber(string(data.get("phoneNumber")));
+		user.setAddress(string(data.get("address")));
+		user.setFavoritePosts(stringList(data.get("favoritePosts")));
+		user.setAverageRating(number(data.get("averageRating"), 0.0));
+		user.setRatingCount(integer(data.get("ratingCount"), 0));
+		user.setRatingHistogram(ratingHistogram(map(data.get("ratingHistogram"))));
+		user.setLatitude(number(data.get("latitude")));
+		user.setLongitude(number(data.get("longitude")));
+		user.setLocationAddress(string(data.get("locationAddress")));
+		return user;
+	}
+
+	@Override
+	@NonNull
+	public Map<String, Object> toMap(@NonNull User user) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", user.getId());
+		data.put("name", user.getName());
+		data.put("email", user.getEmail());
+		data.put("phoneNumber", user.getPhoneNumber());
+		data.put("address", user.getAddress());
+		data.put("favoritePosts", user.getFavoritePosts());
+		data.put("averageRating", user.getAverageRating());
+		data.put("ratingCount", user.getRatingCount());
+		data.put("latitude", user.getLatitude());
+		data.put("longitude", user.getLongitude());
+		data.put("locationAddress", user.getLocationAddress());
+		return data;
+	}
+
+	// Written by the rating rollup as a map keyed by star, "1" to "5"
+	@NonNull
+	private static int[] ratingHistogram(@Nullable Map<String, Object> data) {
+		int[] histogram = new int[User.RATING_STARS];
+		if (data != null) {
+			for (int star = 1; star <= User.RATING_STARS; star++) {
+				histogram[star - 1] = integer(data.get(String.valueOf(star)), 0);
+			}
+		}
+		return histogram;
+	}
+}
@@ -0,0 +1,50 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.NonNull;
+import androidx.lifecycle.LiveData;
+
+import com.shoppr.domain.paging.PagedListing;
+
+import java.util.List;
+
+/**
+ * A {@link PagedListing} that shows cached rows until its first page arrives from the server.
+ * Loaded pages are written back, so the next visit starts from them.
+ */
+public class CachedPagedListing<T> implements PagedListing<T> {
+
+	private final PagedListing<T> delegate;
+	private final LiveData<List<T>> items;
+
+	public CachedPagedListing(@NonNull PagedListing<T> delegate,
+														@NonNull StaleWhileRevalidateLiveData.CacheReader<List<T>> reader,
+														@NonNull StaleWhileRevalidateLiveData.CacheWriter<List<T>> writer) {
+		this.delegate = delegate;
+		this.items = new StaleWhileRevalidateLiveData<>(delegate.getItems(), reader, writer);
+	}
+
+	@Override
+	public LiveData<List<T>> getItems() {
+		return items;
+	}
+
+	@Override
+	public LiveData<Boolean> isLoading() {
+		return delegate.isLoading();
+	}
+
+	@Override
+	public LiveData<Boolean> hasMore() {
+		return delegate.hasMore();
+	}
+
+	@Override
+	public void loadNextPage() {
+		delegate.loadNextPage();
+	}
+
+	@Override
+	public void refresh() {
+		delegate.refresh();
+	}
+}
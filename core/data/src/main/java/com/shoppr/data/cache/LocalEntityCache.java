@@ -0,0 +1,410 @@
+package com.shoppr.data.cache;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.gson.Gson;
+import com.google.gson.GsonBuilder;
+import com.google.gson.JsonDeserializer;
+import com.google.gson.JsonParseException;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.JsonSerializer;
+import com.shoppr.data.di.CacheExecutor;
+import com.shoppr.data.utils.MainThreadExecutor;
+import com.shoppr.model.GeoBounds;
+import com.shoppr.model.ListingState;
+import com.shoppr.model.Post;
+import com.shoppr.model.Request;
+import com.shoppr.model.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Reads and writes cached posts, requests and users on the cache executor. Reads report
+ * {@code null} when nothing usable is cached and are delivered on the main thread; writes are
+ * fire-and-forget. Rows older than {@link #MAX_AGE_MS} are evicted, as are the least recently
+ * cached rows beyond each table's row limit.
+ */
+@Singleton
+public class LocalEntityCache {
+	private static final String TAG = "LocalEntityCache";
+
+	static final long MAX_AGE_MS = TimeUnit.DAYS.toMillis(7);
+	private static final long EVICTION_INTERVAL_MS = TimeUnit.MINUTES.toMillis(15);
+	private static final int MAX_POSTS = 500;
+	private static final int MAX_REQUESTS = 500;
+	private static final int MAX_USERS = 200;
+	// Also keeps the id lists handed to NOT IN well under SQLite's variable limit
+	private static final int MAX_ROWS_PER_QUERY = 200;
+
+	public interface LoadCallback<T> {
+		void onLoaded(@Nullable T value);
+	}
+
+	private final ShopprCacheDatabase database;
+	private final Executor cacheExecutor;
+	private final Gson gson = new GsonBuilder()
+			.registerTypeAdapter(Date.class, (JsonSerializer<Date>) (date, type, context) -> new JsonPrimitive(date.getTime()))
+			.registerTypeAdapter(Date.class, (JsonDeserializer<Date>) (json, type, context) -> new Date(json.getAsLong()))
+			.create();
+	// Only touched on the cache executor
+	private long lastEvictionAt = 0;
+
+	@Inject
+	public LocalEntityCache(ShopprCacheDatabase database, @CacheExecutor Executor cacheExecutor) {
+		this.database = database;
+		this.cacheExecutor = cacheExecutor;
+		cacheExecutor.execute(this::evictIfDue);
+	}
+
+	// region Posts
+
+	public void loadFeedPosts(@Nullable String currentUserIdToExclude, @NonNull LoadCallback<List<Post>> callback) {
+		load(() -> toPosts(database.postDao().getFeed(
+				ListingState.ACTIVE.name(), nonNull(currentUserIdToExclude), MAX_ROWS_PER_QUERY)), callback);
+	}
+
+	public void loadFeedPostsInBounds(@Nullable String currentUserIdToExclude, @NonNull GeoBounds bounds,
+																		@NonNull LoadCallback<List<Post>> callback) {
+		load(() -> {
+			List<PostEntity> band = database.postDao().getFeedInLatitudeBand(ListingState.ACTIVE.name(),
+					nonNull(currentUserIdToExclude), bounds.south, bounds.north, MAX_ROWS_PER_QUERY);
+			List<PostEntity> inBounds = new ArrayList<>(band.size());
+			for (PostEntity entity : band) {
+				if (entity.latitude != null && entity.longitude != null && bounds.contains(entity.latitude, entity.longitude)) {
+					inBounds.add(entity);
+				}
+			}
+			return toPosts(inBounds);
+		}, callback);
+	}
+
+	public void loadPostsForLister(@NonNull String listerId, int limit, @NonNull LoadCallback<List<Post>> callback) {
+		load(() -> toPosts(database.postDao().getForLister(listerId, limit)), callback);
+	}
+
+	/**
+	 * Cached posts among {@code postIds}, in the order of {@code postIds}.
+	 */
+	public void loadPostsByIds(@NonNull List<String> postIds, @NonNull LoadCallback<List<Post>> callback) {
+		if (postIds.isEmpty()) {
+			callback.onLoaded(null);
+			return;
+		}
+		List<String> ids = new ArrayList<>(postIds);
+		load(() -> {
+			Map<String, PostEntity> byId = new HashMap<>();
+			for (int start = 0; start < ids.size(); start += MAX_ROWS_PER_QUERY) {
+				for (PostEntity entity : database.postDao().getByIds(ids.subList(start, Math.min(ids.size(), start + MAX_ROWS_PER_QUERY)))) {
+					byId.put(entity.id, entity);
+				}
+			}
+			List<PostEntity> ordered = new ArrayList<>(byId.size());
+			for (String id : ids) {
+				PostEntity entity = byId.get(id);
+				if (entity != null) {
+					ordered.add(entity);
+				}
+			}
+			return toPosts(ordered);
+		}, callback);
+	}
+
+	public void loadPost(@NonNull String postId, @NonNull LoadCallback<Post> callback) {
+		load(() -> {
+			PostEntity entity = database.postDao().getById(postId);
+			return entity != null ? fromJson(entity.payload, Post.class) : null;
+		}, callback);
+	}
+
+	/**
+	 * Replaces the cached feed with the given server result.
+	 */
+	public void storeFeedPosts(@Nullable String currentUserIdToExclude, @NonNull List<Post> posts) {
+		List<Post> snapshot = limit(posts);
+		write(() -> database.runInTransaction(() -> {
+			List<PostEntity> entities = toPostEntities(snapshot);
+			database.postDao().upsert(entities);
+			database.postDao().deleteFeedExcept(ListingState.ACTIVE.name(), nonNull(currentUserIdToExclude), idsOfPosts(entities));
+		}));
+	}
+
+	/**
+	 * Stores the newest posts of a lister. Cached posts of the lister that fall within the same
+	 * time span but weren't returned are dropped; with {@code complete} every missing post is.
+	 */
+	public void storePostsForLister(@NonNull String listerId, @NonNull List<Post> posts, boolean complete) {
+		List<Post> snapshot = limit(posts);
+		write(() -> database.runInTransaction(() -> {
+			List<PostEntity> entities = toPostEntities(snapshot);
+			long since = complete ? Long.MIN_VALUE : oldestPostCreatedAt(entities);
+			database.postDao().upsert(entities);
+			database.postDao().deleteForListerExcept(listerId, since, idsOfPosts(entities));
+		}));
+	}
+
+	public void storePosts(@NonNull List<Post> posts) {
+		if (posts.isEmpty()) {
+			return;
+		}
+		List<Post> snapshot = limit(posts);
+		write(() -> database.postDao().upsert(toPostEntities(snapshot)));
+	}
+
+	public void removePost(@NonNull String postId) {
+		write(() -> database.postDao().deleteById(postId));
+	}
+
+	// endregion
+
+	// region Requests
+
+	public void loadRequestsForPost(@NonNull String postId, @NonNull LoadCallback<List<Request>> callback) {
+		load(() -> toRequests(database.requestDao().getForPost(postId)), callback);
+	}
+
+	public void loadRequestsForUser(@NonNull String userId, int limit, @NonNull LoadCallback<List<Request>> callback) {
+		load(() -> toRequests(database.requestDao().getForUser(userId, limit)), callback);
+	}
+
+	public void loadRequest(@NonNull String requestId, @NonNull LoadCallback<Request> callback) {
+		load(() -> {
+			RequestEntity entity = database.requestDao().getById(requestId);
+			return entity != null ? fromJson(entity.payload, Request.class) : null;
+		}, callback);
+	}
+
+	public void storeRequestsForPost(@NonNull String postId, @NonNull List<Request> requests) {
+		List<Request> snapshot = limit(requests);
+		write(() -> database.runInTransaction(() -> {
+			List<RequestEntity> entities = toRequestEntities(snapshot);
+			database.requestDao().upsert(entities);
+			database.requestDao().deleteForPostExcept(postId, idsOfRequests(entities));
+		}));
+	}
+
+	/**
+	 * Same reconciliation as {@link #storePostsForLister}, for requests the user is buyer or seller of.
+	 */
+	public void storeRequestsForUser(@NonNull String userId, @NonNull List<Request> requests, boolean complete) {
+		List<Request> snapshot = limit(requests);
+		write(() -> database.runInTransaction(() -> {
+			List<RequestEntity> entities = toRequestEntities(snapshot);
+			long since = complete ? Long.MIN_VALUE : oldestRequestCreatedAt(entities);
+			database.requestDao().upsert(entities);
+			database.requestDao().deleteForUserExcept(userId, since, idsOfRequests(entities));
+		}));
+	}
+
+	public void storeRequest(@NonNull Request request) {
+		write(() -> database.requestDao().upsert(toRequestEntities(Collections.singletonList(request))));
+	}
+
+	public void removeRequest(@NonNull String requestId) {
+		write(() -> database.requestDao().deleteById(requestId));
+	}
+
+	// endregion
+
+	// region Users
+
+	public void loadUser(@NonNull String userId, @NonNull LoadCallback<User> callback) {
+		load(() -> {
+			UserEntity entity = database.userDao().getById(userId);
+			return entity != null ? fromJson(entity.payload, User.class) : null;
+		}, callback);
+	}
+
+	public void storeUser(@NonNull User user) {
+		if (user.getId() == null) {
+			return;
+		}
+		write(() -> {
+			UserEntity entity = new UserEntity();
+			entity.id = user.getId();
+			entity.payload = gson.toJson(user);
+			entity.cachedAt = System.currentTimeMillis();
+			database.userDao().upsert(entity);
+		});
+	}
+
+	// endregion
+
+	private interface CacheRead<T> {
+		@Nullable
+		T read();
+	}
+
+	private <T> void load(CacheRead<T> read, LoadCallback<T> callback) {
+		cacheExecutor.execute(() -> {
+			T value = null;
+			try {
+				value = read.read();
+			} catch (RuntimeException e) {
+				Log.w(TAG, "Cache read failed.", e);
+			}
+			T result = value;
+			MainThreadExecutor.INSTANCE.execute(() -> callback.onLoaded(result));
+		});
+	}
+
+	private void write(Runnable write) {
+		cacheExecutor.execute(() -> {
+			try {
+				write.run();
+				evictIfDue();
+			} catch (RuntimeException e) {
+				Log.w(TAG, "Cache write failed.", e);
+			}
+		});
+	}
+
+	private void evictIfDue() {
+		long now = System.currentTimeMillis();
+		if (now - lastEvictionAt < EVICTION_INTERVAL_MS) {
+			return;
+		}
+		lastEvictionAt = now;
+		long cutoff = now - MAX_AGE_MS;
+		database.runInTransaction(() -> {
+			database.postDao().deleteOlderThan(cutoff);
+			database.postDao().trimTo(MAX_POSTS);
+			database.requestDao().deleteOlderThan(cutoff);
+			database.requestDao().trimTo(MAX_REQUESTS);
+			database.userDao().deleteOlderThan(cutoff);
+			database.userDao().trimTo(MAX_USERS);
+		});
+	}
+
+	@Nullable
+	private List<Post> toPosts(List<PostEntity> entities) {
+		List<Post> posts = new ArrayList<>(entities.size());
+		for (PostEntity entity : entities) {
+			Post post = fromJson(entity.payload, Post.class);
+			if (post != null) {
+				posts.add(post);
+			}
+		}
+		return posts.isEmpty() ? null : posts;
+	}
+
+	@Nullable
+	private List<Request> toRequests(List<RequestEntity> entities) {
+		List<Request> requests = new ArrayList<>(entities.size());
+		for (RequestEntity entity : entities) {
+			Request request = fromJson(entity.payload, Request.class);
+			if (request != null) {
+				requests.add(request);
+			}
+		}
+		return requests.isEmpty() ? null : requests;
+	}
+
+	@Nullable
+	private <T> T fromJson(String payload, Class<T> type) {
+		try {
+			return gson.fromJson(payload, type);
+		} catch (JsonParseException e) {
+			Log.w(TAG, "Dropping unreadable cache entry.", e);
+			return null;
+		}
+	}
+
+	private List<PostEntity> toPostEntities(List<Post> posts) {
+		long now = System.currentTimeMillis();
+		List<PostEntity> entities = new ArrayList<>(posts.size());
+		for (Post post : posts) {
+			if (post == null || post.getId() == null) {
+				continue;
+			}
+			PostEntity entity = new PostEntity();
+			entity.id = post.getId();
+			entity.listerId = post.getLister() != null ? post.getLister().getId() : null;
+			entity.state = post.getState() != null ? post.getState().name() : null;
+			entity.latitude = post.getLatitude();
+			entity.longitude = post.getLongitude();
+			entity.createdAt = post.getCreatedAt() != null ? post.getCreatedAt().getTime() : null;
+			entity.payload = gson.toJson(post);
+			entity.cachedAt = now;
+			entities.add(entity);
+		}
+		return entities;
+	}
+
+	private List<RequestEntity> toRequestEntities(List<Request> requests) {
+		long now = System.currentTimeMillis();
+		List<RequestEntity> entities = new ArrayList<>(requests.size());
+		for (Request request : requests) {
+			if (request == null || request.getId() == null) {
+				continue;
+			}
+			RequestEntity entity = new RequestEntity();
+			entity.id = request.getId();
+			entity.postId = request.getPostId();
+			entity.buyerId = request.getBuyerId();
+			entity.sellerId = request.getSellerId();
+			entity.createdAt = request.getCreatedAt() != null ? request.getCreatedAt().getTime() : null;
+			entity.payload = gson.toJson(request);
+			entity.cachedAt = now;
+			entities.add(entity);
+		}
+		return entities;
+	}
+
+	private static List<String> idsOfPosts(List<PostEntity> entities) {
+		List<String> ids = new ArrayList<>(entities.size());
+		for (PostEntity entity : entities) {
+			ids.add(entity.id);
+		}
+		return ids;
+	}
+
+	private static List<String> idsOfRequests(List<RequestEntity> entities) {
+		List<String> ids = new ArrayList<>(entities.size());
+		for (RequestEntity entity : entities) {
+			ids.add(entity.id);
+		}
+		return ids;
+	}
+
+	private static long oldestPostCreatedAt(List<PostEntity> entities) {
+		long oldest = Long.MAX_VALUE;
+		for (PostEntity entity : entities) {
+			if (entity.createdAt != null) {
+				oldest = Math.min(oldest, entity.createdAt);
+			}
+		}
+		return oldest;
+	}
+
+	private static long oldestRequestCreatedAt(List<RequestEntity> entities) {
+		long oldest = Long.MAX_VALUE;
+		for (RequestEntity entity : entities) {
+			if (entity.createdAt != null) {
+				oldest = Math.min(oldest, entity.createdAt);
+			}
+		}
+		return oldest;
+	}
+
+	// Copies the list, since it is read later on the cache executor
+	private static <T> List<T> limit(List<T> items) {
+		return new ArrayList<>(items.subList(0, Math.min(items.size(), MAX_ROWS_PER_QUERY)));
+	}
+
+	private static String nonNull(@Nullable String value) {
+		return value != null ? value : "";
+	}
+}
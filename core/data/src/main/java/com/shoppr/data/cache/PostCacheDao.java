@@ -0,0 +1,54 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.Nullable;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface PostCacheDao {
+
+	@Query("SELECT * FROM cached_posts WHERE state = :state AND (listerId IS NULL OR listerId != :excludedListerId) "
+			+ "ORDER BY createdAt DESC LIMIT :limit")
+	List<PostEntity> getFeed(String state, String excludedListerId, int limit);
+
+	@Query("SELECT * FROM cached_posts WHERE state = :state AND latitude BETWEEN :south AND :north "
+			+ "AND (listerId IS NULL OR listerId != :excludedListerId) LIMIT :limit")
+	List<PostEntity> getFeedInLatitudeBand(String state, String excludedListerId, double south, double north, int limit);
+
+	@Query("SELECT * FROM cached_posts WHERE listerId = :listerId ORDER BY createdAt DESC LIMIT :limit")
+	List<PostEntity> getForLister(String listerId, int limit);
+
+	@Query("SELECT * FROM cached_posts WHERE id IN (:ids)")
+	List<PostEntity> getByIds(List<String> ids);
+
+	@Nullable
+	@Query("SELECT * FROM cached_posts WHERE id = :id")
+	PostEntity getById(String id);
+
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void upsert(List<PostEntity> posts);
+
+	@Query("DELETE FROM cached_posts WHERE id = :id")
+	void deleteById(String id);
+
+	@Query("DELETE FROM cached_posts WHERE state = :state AND (listerId IS NULL OR listerId != :excludedListerId) "
+			+ "AND id NOT IN (:keepIds)")
+	void deleteFeedExcept(String state, String excludedListerId, List<String> keepIds);
+
+	/**
+	 * Drops posts of the lister that are at least as new as {@code since} but no longer returned.
+	 */
+	@Query("DELETE FROM cached_posts WHERE listerId = :listerId AND (createdAt IS NULL OR createdAt >= :since) "
+			+ "AND id NOT IN (:keepIds)")
+	void deleteForListerExcept(String listerId, long since, List<String> keepIds);
+
+	@Query("DELETE FROM cached_posts WHERE cachedAt < :cutoff")
+	void deleteOlderThan(long cutoff);
+
+	@Query("DELETE FROM cached_posts WHERE id NOT IN (SELECT id FROM cached_posts ORDER BY cachedAt DESC LIMIT :maxRows)")
+	void trimTo(int maxRows);
+}
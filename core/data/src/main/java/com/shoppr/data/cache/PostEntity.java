@@ -0,0 +1,31 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A cached post. The post itself is stored as JSON; the other columns are the ones the cached
+ * queries filter and sort on.
+ */
+@Entity(tableName = "cached_posts", indices = {@Index("listerId"), @Index("state")})
+public class PostEntity {
+	@PrimaryKey
+	@NonNull
+	public String id = "";
+	@Nullable
+	public String listerId;
+	@Nullable
+	public String state;
+	@Nullable
+	public Double latitude;
+	@Nullable
+	public Double longitude;
+	@Nullable
+	public Long createdAt;
+	@NonNull
+	public String payload = "";
+	public long cachedAt;
+}
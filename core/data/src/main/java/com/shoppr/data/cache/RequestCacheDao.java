@@ -0,0 +1,45 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.Nullable;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+import java.util.List;
+
+@Dao
+public interface RequestCacheDao {
+
+	@Query("SELECT * FROM cached_requests WHERE postId = :postId")
+	List<RequestEntity> getForPost(String postId);
+
+	@Query("SELECT * FROM cached_requests WHERE buyerId = :userId OR sellerId = :userId ORDER BY createdAt DESC LIMIT :limit")
+	List<RequestEntity> getForUser(String userId, int limit);
+
+	@Nullable
+	@Query("SELECT * FROM cached_requests WHERE id = :id")
+	RequestEntity getById(String id);
+
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void upsert(List<RequestEntity> requests);
+
+	@Query("DELETE FROM cached_requests WHERE id = :id")
+	void deleteById(String id);
+
+	@Query("DELETE FROM cached_requests WHERE postId = :postId AND id NOT IN (:keepIds)")
+	void deleteForPostExcept(String postId, List<String> keepIds);
+
+	/**
+	 * Drops requests of the user that are at least as new as {@code since} but no longer returned.
+	 */
+	@Query("DELETE FROM cached_requests WHERE (buyerId = :userId OR sellerId = :userId) "
+			+ "AND (createdAt IS NULL OR createdAt >= :since) AND id NOT IN (:keepIds)")
+	void deleteForUserExcept(String userId, long since, List<String> keepIds);
+
+	@Query("DELETE FROM cached_requests WHERE cachedAt < :cutoff")
+	void deleteOlderThan(long cutoff);
+
+	@Query("DELETE FROM cached_requests WHERE id NOT IN (SELECT id FROM cached_requests ORDER BY cachedAt DESC LIMIT :maxRows)")
+	void trimTo(int maxRows);
+}
@@ -0,0 +1,28 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.room.Entity;
+import androidx.room.Index;
+import androidx.room.PrimaryKey;
+
+/**
+ * A cached request, stored as JSON next to the columns the cached queries filter and sort on.
+ */
+@Entity(tableName = "cached_requests", indices = {@Index("postId"), @Index("buyerId"), @Index("sellerId")})
+public class RequestEntity {
+	@PrimaryKey
+	@NonNull
+	public String id = "";
+	@Nullable
+	public String postId;
+	@Nullable
+	public String buyerId;
+	@Nullable
+	public String sellerId;
+	@Nullable
+	public Long createdAt;
+	@NonNull
+	public String payload = "";
+	public long cachedAt;
+}
@@ -0,0 +1,19 @@
+package com.shoppr.data.cache;
+
+import androidx.room.Database;
+import androidx.room.RoomDatabase;
+
+/**
+ * Local copy of recently seen documents, so screens have something to show before Firestore
+ * answers. Everything in it can be rebuilt from the server, so schema changes simply drop it.
+ */
+@Database(entities = {PostEntity.class, RequestEntity.class, UserEntity.class}, version = 1, exportSchema = false)
+public abstract class ShopprCacheDatabase extends RoomDatabase {
+	public static final String NAME = "shoppr-cache.db";
+
+	public abstract PostCacheDao postDao();
+
+	public abstract RequestCacheDao requestDao();
+
+	public abstract UserCacheDao userDao();
+}
@@ -0,0 +1,77 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+/**
+ * Emits the cached value as soon as it is read, then every value of the server source. The cache
+ * is read when the live data first becomes active, after the server source has been subscribed, so
+ * readers can depend on inputs the server source resolves synchronously. A cached
+ * value arriving after the server has answered is dropped, and a {@code null} from the server
+ * (a failed listener) doesn't replace cached content. Server values are written back through
+ * the given writer.
+ * <p>
+ * Sources of a single entity can pass an evictor instead. Their {@code null} means the entity
+ * doesn't exist, so it replaces the cached value and the cache entry is evicted; such sources
+ * must stay silent on listener failures rather than emit {@code null}.
+ */
+public class StaleWhileRevalidateLiveData<T> extends MediatorLiveData<T> {
+
+	public interface CacheReader<T> {
+		void read(@NonNull LocalEntityCache.LoadCallback<T> callback);
+	}
+
+	public interface CacheWriter<T> {
+		void write(@NonNull T fresh);
+	}
+
+	public interface CacheEvictor {
+		void evict();
+	}
+
+	private final CacheReader<T> reader;
+	private boolean cacheRead = false;
+	private boolean serverAnswered = false;
+
+	public StaleWhileRevalidateLiveData(@NonNull LiveData<T> server, @NonNull CacheReader<T> reader,
+																			@NonNull CacheWriter<T> writer) {
+		this(server, reader, writer, null);
+	}
+
+	public StaleWhileRevalidateLiveData(@NonNull LiveData<T> server, @NonNull CacheReader<T> reader,
+																			@NonNull CacheWriter<T> writer, @Nullable CacheEvictor evictor) {
+		this.reader = reader;
+		addSource(server, value -> {
+			if (value == null) {
+				if (evictor != null) {
+					serverAnswered = true;
+					setValue(null);
+					evictor.evict();
+				} else if (getValue() == null) {
+					setValue(null);
+				}
+				return;
+			}
+			serverAnswered = true;
+			setValue(value);
+			writer.write(value);
+		});
+	}
+
+	@Override
+	protected void onActive() {
+		super.onActive();
+		if (!cacheRead) {
+			cacheRead = true;
+			reader.read(this::onCachedValue);
+		}
+	}
+
+	private void onCachedValue(@Nullable T cached) {
+		if (cached != null && !serverAnswered) {
+			setValue(cached);
+		}
+	}
+}
@@ -0,0 +1,24 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.Nullable;
+import androidx.room.Dao;
+import androidx.room.Insert;
+import androidx.room.OnConflictStrategy;
+import androidx.room.Query;
+
+@Dao
+public interface UserCacheDao {
+
+	@Nullable
+	@Query("SELECT * FROM cached_users WHERE id = :id")
+	UserEntity getById(String id);
+
+	@Insert(onConflict = OnConflictStrategy.REPLACE)
+	void upsert(UserEntity user);
+
+	@Query("DELETE FROM cached_users WHERE cachedAt < :cutoff")
+	void deleteOlderThan(long cutoff);
+
+	@Query("DELETE FROM cached_users WHERE id NOT IN (SELECT id FROM cached_users ORDER BY cachedAt DESC LIMIT :maxRows)")
+	void trimTo(int maxRows);
+}
@@ -0,0 +1,15 @@
+package com.shoppr.data.cache;
+
+import androidx.annotation.NonNull;
+import androidx.room.Entity;
+import androidx.room.PrimaryKey;
+
+@Entity(tableName = "cached_users")
+public class UserEntity {
+	@PrimaryKey
+	@NonNull
+	public String id = "";
+	@NonNull
+	public String payload = "";
+	public long cachedAt;
+}
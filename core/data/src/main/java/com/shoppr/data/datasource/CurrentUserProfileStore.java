@@ -0,0 +1,131 @@
+package com.shoppr.data.datasource;
+
+import android.util.Log;
+
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.shoppr.data.adapter.UserDocumentMapper;
+import com.shoppr.data.cache.LocalEntityCache;
+import com.shoppr.model.User;
+
+import java.util.Map;
+import java.util.Objects;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * The signed-in user's profile, shared by every screen for the life of the process. The document
+ * listener is attached while anyone observes the profile, so one screen going away never ends the
+ * stream for the others, and it goes through the {@link SnapshotListenerRegistry} so a tab switch
+ * picks the lingering listener back up instead of reading the document again. Auth state changes
+ * only restart the listener when the uid changes, and a snapshot whose data is unchanged (a
+ * metadata-only update, a replay after re-attaching) is not emitted again.
+ */
+@Singleton
+public class CurrentUserProfileStore extends ListenerLiveData<User> {
+	private static final String TAG = "CurrentUserProfileStore";
+	private static final String USERS_COLLECTION = "users";
+
+	private final FirebaseFirestore db;
+	private final SnapshotListenerRegistry listenerRegistry;
+	private final UserDocumentMapper userMapper;
+	private final LocalEntityCache localCache;
+
+	@Nullable
+	private User authUser;
+	@Nullable
+	private ListenerRegistration profileRegistration;
+	// Data of the last emitted snapshot; written on the background executor
+	@Nullable
+	private volatile Map<String, Object> lastData;
+
+	@Inject
+	public CurrentUserProfileStore(FirebaseFirestore db, SnapshotListenerRegistry listenerRegistry,
+																 FirebaseAuthDataSourceImpl authDataSource, UserDocumentMapper userMapper,
+																 LocalEntityCache localCache) {
+		this.db = db;
+		this.listenerRegistry = listenerRegistry;
+		this.userMapper = userMapper;
+		this.localCache = localCache;
+		addSource(authDataSource.getDomainUserAuthStateLiveData(), this::onAuthUser);
+	}
+
+	@Override
+	protected void onAttach() {
+		listen();
+	}
+
+	@Override
+	protected void onDetach() {
+		stopListening();
+	}
+
+	private void onAuthUser(@Nullable User user) {
+		String uid = user != null ? user.getId() : null;
+		if (authUser != null && Objects.equals(uid, authUser.getId())) {
+			return;
+		}
+		stopListening();
+		authUser = uid != null ? user : null;
+		lastData = null;
+
+		if (uid == null) {
+			setValue(null);
+			return;
+		}
+		User current = getValue();
+		if (current != null && !uid.equals(current.getId())) {
+			setValue(null);
+		}
+		// The cached profile stands in until the listener's first snapshot
+		localCache.loadUser(uid, cached -> {
+			if (cached != null && getValue() == null && authUser != null && uid.equals(authUser.getId())) {
+				setValue(cached);
+			}
+		});
+		if (isAttached()) {
+			listen();
+		}
+	}
+
+	private void listen() {
+		if (authUser == null || profileRegistration != null) {
+			return;
+		}
+		User fallback = authUser;
+		DocumentReference userRef = db.collection(USERS_COLLECTION).document(fallback.getId());
+		profileRegistration = listenerRegistry.listen(userRef, (snapshot, e) -> {
+			if (e != null) {
+				// Keeps the last known profile; screens treat null as signed out
+				Log.e(TAG, "Error listening to user profile", e);
+				return;
+			}
+			if (snapshot == null || !snapshot.exists()) {
+				postValue(fallback);
+				return;
+			}
+			Map<String, Object> data = snapshot.getData();
+			if (Objects.equals(data, lastData)) {
+				return;
+			}
+			lastData = data;
+			User user = userMapper.fromSnapshot(snapshot);
+			if (user != null) {
+				user.setId(snapshot.getId());
+				localCache.storeUser(user);
+			}
+			postValue(user);
+		});
+	}
+
+	private void stopListening() {
+		if (profileRegistration != null) {
+			profileRegistration.remove();
+			profileRegistration = null;
+		}
+	}
+}
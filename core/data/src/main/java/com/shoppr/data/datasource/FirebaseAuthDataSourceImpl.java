@@ -22,6 +22,8 @@ public class FirebaseAuthDataSourceImpl implements FirebaseAuthDataSource {
 
 	private final MutableLiveData<User> domainUserAuthStateLiveData = new MutableLiveData<>(null);
 	private FirebaseAuth.AuthStateListener authStateListener;
+	// Callers of startObserving that haven't stopped yet; the listener is shared between them
+	private int observerCount = 0;
 
 	@Inject
 	public FirebaseAuthDataSourceImpl(FirebaseAuth firebaseAuthSdk, FirebaseUserMapper userMapper) {
@@ -52,6 +54,9 @@ public class FirebaseAuthDataSourceImpl implements FirebaseAuthDataSource {
 
 	@Override
 	public void startObserving() {
+		if (observerCount++ > 0) {
+			return;
+		}
 		if (authStateListener == null) {
 			authStateListener = authSdk -> {
 				FirebaseUser fUser = authSdk.getCurrentUser();
@@ -65,6 +70,9 @@ public class FirebaseAuthDataSourceImpl implements FirebaseAuthDataSource {
 
 	@Override
 	public void stopObserving() {
+		if (observerCount == 0 || --observerCount > 0) {
+			return;
+		}
 		if (authStateListener != null) {
 			firebaseAuthSdk.removeAuthStateListener(authStateListener);
 			Log.d(TAG, "Stopped observing auth state in FirebaseAuthDataSourceImpl.");
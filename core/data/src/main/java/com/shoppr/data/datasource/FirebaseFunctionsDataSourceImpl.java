@@ -9,6 +9,8 @@ import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.functions.FirebaseFunctionsException;
 import com.shoppr.domain.datasource.FirebaseFunctionsDataSource;
 import com.shoppr.model.ListingType;
+import com.shoppr.model.NegotiationAction;
+import com.shoppr.model.RequestStatus;
 import com.shoppr.model.SuggestedPostDetails;
 
 import java.util.ArrayList;
@@ -23,6 +25,7 @@ import javax.inject.Singleton;
 public class FirebaseFunctionsDataSourceImpl implements FirebaseFunctionsDataSource {
 	private static final String TAG = "FunctionsDataSourceImpl";
 	private static final String CLOUD_FUNCTION_NAME = "generatePostSuggestions";
+	private static final String TRANSITION_FUNCTION_NAME = "transitionRequest";
 	private final FirebaseFunctions functions;
 
 	@Inject
@@ -78,6 +81,40 @@ public class FirebaseFunctionsDataSourceImpl implements FirebaseFunctionsDataSou
 				});
 	}
 
+	@Override
+	public void transitionRequest(
+			@NonNull String requestId,
+			@NonNull RequestStatus expectedStatus,
+			@NonNull NegotiationAction action,
+			@Nullable Double offerAmount,
+			@NonNull TransitionCallbacks callbacks
+	) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("requestId", requestId);
+		data.put("expectedStatus", expectedStatus.name());
+		data.put("action", action.name());
+		if (offerAmount != null) {
+			data.put("offerAmount", offerAmount);
+		}
+
+		functions.getHttpsCallable(TRANSITION_FUNCTION_NAME)
+				.call(data)
+				.addOnSuccessListener(result -> {
+					Object status = result.getData() instanceof Map ? ((Map<?, ?>) result.getData()).get("status") : null;
+					try {
+						callbacks.onSuccess(RequestStatus.valueOf(String.valueOf(status)));
+					} catch (IllegalArgumentException e) {
+						callbacks.onError("Unexpected status from server: " + status);
+					}
+				})
+				.addOnFailureListener(e -> {
+					// Callable errors carry the message thrown by the function, e.g. a stale status
+					callbacks.onError(e instanceof FirebaseFunctionsException && e.getMessage() != null
+							? e.getMessage()
+							: "Failed to update offer: " + e.getMessage());
+				});
+	}
+
 	@SuppressWarnings("unchecked")
 	private SuggestedPostDetails mapToSuggestedPostDetails(Map<String, Object> map) {
 		if (map == null) {
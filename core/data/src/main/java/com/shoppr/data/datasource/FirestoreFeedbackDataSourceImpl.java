@@ -6,113 +6,131 @@ import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 
 import com.google.firebase.firestore.DocumentReference;
-import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
-import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.Transaction;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
+import com.google.firebase.firestore.WriteBatch;
+import com.shoppr.data.adapter.FeedbackDocumentMapper;
 import com.shoppr.domain.datasource.FirestoreFeedbackDataSource;
 import com.shoppr.model.Feedback;
-import com.shoppr.model.User;
+
+import java.util.HashMap;
+import java.util.Map;
 
 import javax.inject.Inject;
 
 public class FirestoreFeedbackDataSourceImpl implements FirestoreFeedbackDataSource {
 
 	private final FirebaseFirestore db;
+	private final SnapshotListenerRegistry listenerRegistry;
+	private final FeedbackDocumentMapper feedbackMapper;
 	private static final String FEEDBACK_COLLECTION = "feedback";
-	private static final String USERS_COLLECTION = "users"; // Added for submitFeedback transaction
+	private static final String USERS_COLLECTION = "users";
+	private static final int RATING_SHARDS = 10;
 
 	@Inject
-	public FirestoreFeedbackDataSourceImpl(FirebaseFirestore db) {
+	public FirestoreFeedbackDataSourceImpl(FirebaseFirestore db, SnapshotListenerRegistry listenerRegistry,
+																				 FeedbackDocumentMapper feedbackMapper) {
 		this.db = db;
+		this.listenerRegistry = listenerRegistry;
+		this.feedbackMapper = feedbackMapper;
 	}
 
-	// Submit feedback using Firestore Transaction
+	// Writes the feedback and its entry in a rating shard together; rollUpRatings folds the shards
+	// into the user's averageRating, ratingCount and ratingHistogram, so reviews never contend on
+	// the user. Both writes are keyed by the feedback id, so a resubmission replaces the rating
+	// instead of counting it twice, without reading anything first
 	@Override
 	public void submitFeedback(@NonNull Feedback feedback, @NonNull SubmitFeedbackCallbacks callbacks) {
-		db.runTransaction((Transaction.Function<Void>) transaction -> {
-					// 1. Get a reference to the user who is being rated
-					DocumentReference userRef = db.collection(USERS_COLLECTION).document(feedback.getRateeId());
-					DocumentSnapshot userSnapshot = transaction.get(userRef);
-					User user = userSnapshot.toObject(User.class);
-
-					if (user == null) {
-						// Use a more specific exception or handle null user appropriately
-						throw new com.google.firebase.firestore.FirebaseFirestoreException("Rated user not found!",
-								com.google.firebase.firestore.FirebaseFirestoreException.Code.NOT_FOUND);
-					}
-
-					// 2. Calculate the new average rating
-					int oldRatingCount = user.getRatingCount();
-					double oldAverageRating = user.getAverageRating();
-					double newAverageRating = ((oldAverageRating * oldRatingCount) + feedback.getRating()) / (oldRatingCount + 1);
-					int newRatingCount = oldRatingCount + 1;
-
-					// 3. Create the new Feedback document reference and set ID
-					DocumentReference feedbackRef = db.collection(FEEDBACK_COLLECTION).document();
-					feedback.setId(feedbackRef.getId());
-
-					// 4. Perform writes within the transaction
-					transaction.set(feedbackRef, feedback);
-					transaction.update(userRef, "averageRating", newAverageRating);
-					transaction.update(userRef, "ratingCount", newRatingCount);
-
-					return null; // Transaction success
-				})
+		DocumentReference feedbackRef = db.collection(FEEDBACK_COLLECTION)
+				.document(Feedback.idFor(feedback.getRequestId(), feedback.getRaterId()));
+		feedback.setId(feedbackRef.getId());
+
+		Map<String, Object> data = feedbackMapper.toMap(feedback);
+		// Tells migrateUserRatings this rating is already in the shards
+		data.put("sharded", true);
+
+		WriteBatch batch = db.batch();
+		batch.set(feedbackRef, data);
+		batch.set(ratingShard(feedback), ratingEntry(feedback), SetOptions.merge());
+		batch.commit()
 				.addOnSuccessListener(aVoid -> callbacks.onSuccess())
 				.addOnFailureListener(e -> callbacks.onError("Failed to submit feedback: " + e.getMessage()));
 	}
 
+	// Feedback always lands in the same shard, so its key is only ever replaced
+	private DocumentReference ratingShard(@NonNull Feedback feedback) {
+		int shard = Math.floorMod(feedback.getId().hashCode(), RATING_SHARDS);
+		return db.collection(USERS_COLLECTION).document(feedback.getRateeId())
+				.collection("ratingShards").document(String.valueOf(shard));
+	}
+
+	private static Map<String, Object> ratingEntry(@NonNull Feedback feedback) {
+		Map<String, Object> ratings = new HashMap<>();
+		ratings.put(feedback.getId(), (double) feedback.getRating());
+
+		Map<String, Object> data = new HashMap<>();
+		data.put("ratings", ratings);
+		data.put("updatedAt", FieldValue.serverTimestamp());
+		return data;
+	}
 
-	// Provides LiveData that listens for feedback status
+	// Provides LiveData that answers whether the rater has given feedback on the request
 	@Override
 	public LiveData<Boolean> hasUserGivenFeedback(@NonNull String requestId, @NonNull String raterId) {
-		return new FeedbackStatusLiveData(db, requestId, raterId);
+		DocumentReference feedbackRef = db.collection(FEEDBACK_COLLECTION).document(Feedback.idFor(requestId, raterId));
+		return new FeedbackStatusLiveData(feedbackRef, listenerRegistry);
 	}
 
-	// Custom LiveData that registers and unregisters the Firestore listener
-	private static class FeedbackStatusLiveData extends LiveData<Boolean> {
-		private final FirebaseFirestore db;
-		private final String requestId;
-		private final String raterId;
-		private ListenerRegistration listenerRegistration;
-
-		FeedbackStatusLiveData(FirebaseFirestore db, String requestId, String raterId) {
-			this.db = db;
-			this.requestId = requestId;
-			this.raterId = raterId;
+	// Feedback is never withdrawn, so a cached document settles the answer without a listener. Only
+	// while no feedback is known does it listen to the one document, which also picks up the
+	// rater's own submission as soon as it is written locally
+	private static class FeedbackStatusLiveData extends ListenerLiveData<Boolean> {
+		private final DocumentReference feedbackRef;
+		private final SnapshotListenerRegistry listenerRegistry;
+		// Bumped on every attach and detach, so a cache read finishing late is ignored
+		private int generation = 0;
+
+		FeedbackStatusLiveData(DocumentReference feedbackRef, SnapshotListenerRegistry listenerRegistry) {
+			this.feedbackRef = feedbackRef;
+			this.listenerRegistry = listenerRegistry;
 			setValue(false); // Initial assumption
 		}
 
 		@Override
-		protected void onActive() {
-			super.onActive();
-			// Register listener when LiveData becomes active
-			Query query = db.collection(FEEDBACK_COLLECTION)
-					.whereEqualTo("requestId", requestId) // Ensure this field name is correct in Firestore
-					.whereEqualTo("raterId", raterId)
-					.limit(1);
-
-			listenerRegistration = query.addSnapshotListener((snapshots, error) -> {
-				if (error != null) {
-					Log.w("FeedbackStatusLiveData", "Listen failed.", error);
-					setValue(false); // Assume false on error
+		protected void onAttach() {
+			if (Boolean.TRUE.equals(getValue())) {
+				return;
+			}
+			int attachGeneration = ++generation;
+			feedbackRef.get(Source.CACHE).addOnCompleteListener(task -> {
+				if (attachGeneration != generation) {
 					return;
 				}
-				// Update value based on whether any matching documents exist
-				setValue(snapshots != null && !snapshots.isEmpty());
+				if (task.isSuccessful() && task.getResult() != null && task.getResult().exists()) {
+					setValue(true);
+				} else {
+					listen();
+				}
 			});
 		}
 
 		@Override
-		protected void onInactive() {
-			super.onInactive();
-			// Unregister listener when LiveData becomes inactive
-			if (listenerRegistration != null) {
-				listenerRegistration.remove();
-				listenerRegistration = null;
-			}
+		protected void onDetach() {
+			generation++;
+		}
+
+		private void listen() {
+			addRegistration(listenerRegistry.listen(feedbackRef, (snapshot, error) -> {
+				if (error != null) {
+					Log.w("FeedbackStatusLiveData", "Listen failed.", error);
+					return; // Keep the last known answer
+				}
+				if (snapshot != null && snapshot.exists()) {
+					postValue(true);
+				}
+			}));
 		}
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,160 @@
+package com.shoppr.data.datasource;
+
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.Query;
+import com.shoppr.data.adapter.DocumentMapper;
+import com.shoppr.data.utils.MainThreadExecutor;
+import com.shoppr.domain.paging.PagedListing;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.function.Function;
+
+/**
+ * Pages through an ordered query behind a live head, a listener over the query's first
+ * {@code pageSize} items, with {@code startAfter} cursors. Each page is a one-shot {@code get()},
+ * so memory and latency depend on the page size rather than on the size of the collection.
+ * Nothing is read until {@link #loadNextPage()}, so the head's items aren't read twice. Pages are
+ * mapped on the given executor; paging state is only touched on the main thread.
+ */
+public class FirestorePagedListing<T> implements PagedListing<T> {
+	private static final String TAG = "FirestorePagedListing";
+
+	private final Query orderedQuery;
+	private final int pageSize;
+	private final DocumentMapper<T> mapper;
+	private final Executor mappingExecutor;
+	private final LiveData<List<T>> head;
+	private final Function<T, Object> orderValue;
+
+	private final MutableLiveData<List<T>> items = new MutableLiveData<>();
+	private final MutableLiveData<Boolean> loading = new MutableLiveData<>(false);
+	private final MutableLiveData<Boolean> hasMore = new MutableLiveData<>(true);
+
+	private final List<T> loadedItems = new ArrayList<>();
+	@Nullable
+	private DocumentSnapshot lastDocument;
+	private boolean pageInFlight = false;
+	private boolean endReached = false;
+	// Bumped on refresh so a page requested before it is dropped when it arrives
+	private int generation = 0;
+
+	/**
+	 * @param orderValue the value of the query's single {@code orderBy} field; the first page starts
+	 *                   at the head's last item's value rather than after it, so items sharing it
+	 *                   aren't skipped, and LiveHeadPagedListing drops the ones the head shows
+	 */
+	public FirestorePagedListing(@NonNull Query orderedQuery, int pageSize, @NonNull DocumentMapper<T> mapper,
+															 @NonNull Executor mappingExecutor, @NonNull LiveData<List<T>> head,
+															 @NonNull Function<T, Object> orderValue) {
+		this.orderedQuery = orderedQuery;
+		this.pageSize = pageSize;
+		this.mapper = mapper;
+		this.mappingExecutor = mappingExecutor;
+		this.head = head;
+		this.orderValue = orderValue;
+	}
+
+	@Override
+	public LiveData<List<T>> getItems() {
+		return items;
+	}
+
+	@Override
+	public LiveData<Boolean> isLoading() {
+		return loading;
+	}
+
+	@Override
+	public LiveData<Boolean> hasMore() {
+		return hasMore;
+	}
+
+	@Override
+	public void loadNextPage() {
+		if (pageInFlight || endReached) {
+			return;
+		}
+		Query page = orderedQuery.limit(pageSize);
+		if (lastDocument != null) {
+			page = page.startAfter(lastDocument);
+		} else {
+			Object headEnd = headEnd();
+			if (headEnd == null) {
+				// A head that isn't full yet holds everything there is
+				return;
+			}
+			page = page.startAt(headEnd);
+		}
+		pageInFlight = true;
+		loading.setValue(true);
+
+		final int requestGeneration = generation;
+		page.get()
+				.addOnSuccessListener(mappingExecutor, snapshots -> {
+					List<DocumentSnapshot> documents = snapshots.getDocuments();
+					List<T> pageItems = new ArrayList<>(documents.size());
+					for (DocumentSnapshot document : documents) {
+						T item = mapper.fromSnapshot(document);
+						if (item != null) {
+							pageItems.add(item);
+						}
+					}
+					DocumentSnapshot pageEnd = documents.isEmpty() ? null : documents.get(documents.size() - 1);
+					int documentCount = documents.size();
+					MainThreadExecutor.INSTANCE.execute(() -> {
+						if (requestGeneration != generation) return;
+						onPageLoaded(pageItems, pageEnd, documentCount);
+					});
+				})
+				.addOnFailureListener(e -> {
+					if (requestGeneration != generation) return;
+					Log.w(TAG, "Failed to load page.", e);
+					pageInFlight = false;
+					loading.setValue(false);
+				});
+	}
+
+	@Override
+	public void refresh() {
+		generation++;
+		loadedItems.clear();
+		lastDocument = null;
+		pageInFlight = false;
+		endReached = false;
+		hasMore.setValue(true);
+		loading.setValue(false);
+		// The head is live, so nothing needs reloading until older items are asked for again
+		items.setValue(new ArrayList<>());
+	}
+
+	@Nullable
+	private Object headEnd() {
+		List<T> headItems = head.getValue();
+		if (headItems == null || headItems.size() < pageSize) {
+			return null;
+		}
+		return orderValue.apply(headItems.get(headItems.size() - 1));
+	}
+
+	private void onPageLoaded(List<T> pageItems, @Nullable DocumentSnapshot pageEnd, int documentCount) {
+		loadedItems.addAll(pageItems);
+		if (pageEnd != null) {
+			lastDocument = pageEnd;
+		}
+		endReached = documentCount < pageSize;
+		pageInFlight = false;
+
+		items.setValue(new ArrayList<>(loadedItems));
+		hasMore.setValue(!endReached);
+		loading.setValue(false);
+	}
+}
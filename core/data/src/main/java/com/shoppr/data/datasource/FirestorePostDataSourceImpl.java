@@ -1,19 +1,37 @@
 package com.shoppr.data.datasource;
 
+import android.util.Log;
+
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.ListenerRegistration;
 import com.google.firebase.firestore.Query;
-import com.google.firebase.firestore.QueryDocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.shoppr.data.adapter.PostDocumentMapper;
+import com.shoppr.data.di.BackgroundExecutor;
+import com.shoppr.data.utils.GeoHashUtils;
+import com.shoppr.data.utils.MainThreadExecutor;
 import com.shoppr.domain.datasource.FirestorePostDataSource;
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ChangeSet;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.ListingState;
 import com.shoppr.model.Post;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executor;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -22,16 +40,31 @@ import javax.inject.Singleton;
 public class FirestorePostDataSourceImpl implements FirestorePostDataSource {
 
 	private final FirebaseFirestore firestore;
+	private final Executor backgroundExecutor;
+	private final PostDocumentMapper postMapper;
+	private final SnapshotListenerRegistry listenerRegistry;
 	private static final String POSTS_COLLECTION = "posts";
+	// Upper bound on parallel geohash range listeners for one viewport
+	private static final int MAX_VIEWPORT_RANGES = 9;
+	// Firestore's limit on the number of values in an 'in' filter
+	private static final int MAX_IN_FILTER_VALUES = 30;
+	// Matches the createdAt DESCENDING queries; a post whose server timestamp is still pending is
+	// the newest, and the id breaks ties so the order is total
+	private static final Comparator<Post> NEWEST_POST_FIRST = Comparator
+			.comparing(Post::getCreatedAt, Comparator.nullsFirst(Comparator.<Date>reverseOrder()))
+			.thenComparing(Post::getId, Comparator.nullsLast(Comparator.<String>naturalOrder()));
 
 	@Inject
-	public FirestorePostDataSourceImpl(FirebaseFirestore firestore) {
+	public FirestorePostDataSourceImpl(FirebaseFirestore firestore, @BackgroundExecutor Executor backgroundExecutor,
+																		 PostDocumentMapper postMapper, SnapshotListenerRegistry listenerRegistry) {
 		this.firestore = firestore;
+		this.backgroundExecutor = backgroundExecutor;
+		this.postMapper = postMapper;
+		this.listenerRegistry = listenerRegistry;
 	}
 
 	@Override
 	public LiveData<List<Post>> getFeedPosts(@Nullable String currentUserIdToExclude) {
-		MutableLiveData<List<Post>> postsLiveData = new MutableLiveData<>();
 		Query query = firestore.collection(POSTS_COLLECTION);
 
 		query = query.whereEqualTo("state", ListingState.ACTIVE);
@@ -39,78 +72,74 @@ public class FirestorePostDataSourceImpl implements FirestorePostDataSource {
 		if (currentUserIdToExclude != null && !currentUserIdToExclude.isEmpty()) {
 			query = query.whereNotEqualTo("lister.id", currentUserIdToExclude);
 		}
+		return listenForPosts(query);
+	}
 
-		query.addSnapshotListener((snapshots, e) -> {
-			if (e != null) {
-				postsLiveData.postValue(null);
-				return;
-			}
-			List<Post> posts = new ArrayList<>();
-			if (snapshots != null) {
-				for (QueryDocumentSnapshot document : snapshots) {
-					posts.add(document.toObject(Post.class));
-				}
-			}
-			postsLiveData.postValue(posts);
-		});
-		return postsLiveData;
+	@Override
+	public LiveData<ChangeSet<Post>> getFeedPostsInBounds(@Nullable String currentUserIdToExclude, @NonNull GeoBounds bounds) {
+		return new ViewportPostsLiveData(firestore, listenerRegistry, postMapper, bounds, currentUserIdToExclude);
 	}
 
 	@Override
 	public LiveData<List<Post>> getPostsForUser(@NonNull String userId) {
-		MutableLiveData<List<Post>> postsLiveData = new MutableLiveData<>();
-		firestore.collection(POSTS_COLLECTION)
+		return listenForPosts(firestore.collection(POSTS_COLLECTION)
 				.whereEqualTo("lister.id", userId)
-				.orderBy("createdAt", Query.Direction.DESCENDING)
-				.addSnapshotListener((snapshots, e) -> {
-					if (e != null) {
-						postsLiveData.postValue(null);
-						return;
-					}
-					List<Post> posts = new ArrayList<>();
-					if (snapshots != null) {
-						for (QueryDocumentSnapshot document : snapshots) {
-							posts.add(document.toObject(Post.class));
-						}
-					}
-					postsLiveData.postValue(posts);
-				});
-		return postsLiveData;
+				.orderBy("createdAt", Query.Direction.DESCENDING));
+	}
+
+	@Override
+	public PagedListing<Post> getPostsForUserPaged(@NonNull String userId, int pageSize) {
+		Query query = firestore.collection(POSTS_COLLECTION)
+				.whereEqualTo("lister.id", userId)
+				.orderBy("createdAt", Query.Direction.DESCENDING);
+		// The newest page stays live so a post that was just created or edited shows up without a refresh
+		LiveData<List<Post>> head = listenForPosts(query.limit(pageSize));
+		PagedListing<Post> tail = new FirestorePagedListing<>(query, pageSize, postMapper, backgroundExecutor,
+				head, Post::getCreatedAt);
+		return new LiveHeadPagedListing<>(head, pageSize, tail, Post::getId, NEWEST_POST_FIRST);
 	}
 
 	@Override
 	public LiveData<List<Post>> getPostsByIds(@NonNull List<String> postIds) {
-		MutableLiveData<List<Post>> postsLiveData = new MutableLiveData<>();
-		if (postIds.isEmpty()) {
-			postsLiveData.postValue(new ArrayList<>());
-			return postsLiveData;
-		}
-		firestore.collection(POSTS_COLLECTION).whereIn("id", postIds)
-				.addSnapshotListener((snapshots, e) -> {
+		return getPostsByIds(new MutableLiveData<>(postIds));
+	}
+
+	@Override
+	public LiveData<List<Post>> getPostsByIds(@NonNull LiveData<List<String>> postIds) {
+		return new PostsByIdsLiveData(firestore, listenerRegistry, postMapper, postIds);
+	}
+
+	// Keeps the last parsed posts and only deserializes documents reported as added or modified
+	private LiveData<List<Post>> listenForPosts(Query query) {
+		return new ListenerLiveData<List<Post>>() {
+			@Override
+			protected void onAttach() {
+				SnapshotDeltaList<Post> posts = new SnapshotDeltaList<>(postMapper::fromSnapshot);
+				addRegistration(listenerRegistry.listen(query, (snapshots, e) -> {
 					if (e != null) {
-						postsLiveData.postValue(null);
+						postValue(null);
 						return;
 					}
-					List<Post> posts = new ArrayList<>();
 					if (snapshots != null) {
-						for (QueryDocumentSnapshot document : snapshots) {
-							posts.add(document.toObject(Post.class));
+						ChangeSet<Post> changeSet = posts.apply(snapshots);
+						if (!changeSet.isEmpty()) {
+							postValue(changeSet.getItems());
 						}
 					}
-					postsLiveData.postValue(posts);
-				});
-		return postsLiveData;
+				}));
+			}
+		};
 	}
 
 	@Override
 	public void getPostById(@NonNull String postId, @NonNull PostOperationCallbacks callbacks) {
 		firestore.collection(POSTS_COLLECTION).document(postId).get()
-				.addOnSuccessListener(documentSnapshot -> {
+				.addOnSuccessListener(backgroundExecutor, documentSnapshot -> {
 					if (documentSnapshot.exists()) {
-						Post post = documentSnapshot.toObject(Post.class);
-						callbacks.onSuccess(post);
+						Post post = postMapper.fromSnapshot(documentSnapshot);
+						MainThreadExecutor.INSTANCE.execute(() -> callbacks.onSuccess(post));
 					} else {
-						callbacks.onNotFound();
+						MainThreadExecutor.INSTANCE.execute(callbacks::onNotFound);
 					}
 				})
 				.addOnFailureListener(e -> callbacks.onError(e.getMessage()));
@@ -118,8 +147,9 @@ public class FirestorePostDataSourceImpl implements FirestorePostDataSource {
 
 	@Override
 	public void createPost(@NonNull Post post, @NonNull PostOperationCallbacks callbacks) {
+		post.setGeohash(GeoHashUtils.encode(post.getLatitude(), post.getLongitude()));
 		firestore.collection(POSTS_COLLECTION)
-				.add(post)
+				.add(postMapper.toMap(post))
 				.addOnSuccessListener(documentReference -> {
 					String newId = documentReference.getId();
 					post.setId(newId);
@@ -137,4 +167,306 @@ public class FirestorePostDataSourceImpl implements FirestorePostDataSource {
 				.addOnSuccessListener(aVoid -> callbacks.onSuccess())
 				.addOnFailureListener(e -> callbacks.onError("Failed to update post state: " + e.getMessage()));
 	}
-}
\ No newline at end of file
+
+	// Listens to one geohash range query per covering range. The ranges are disjoint and ordered, so
+	// the merged list is their concatenation and a range's changes are shifted by the sizes of the
+	// ranges before it. Posts in a covering cell but outside the actual bounds are filtered out.
+	// Snapshots are applied on the background executor; each change set is delivered to the main
+	// thread individually, since postValue could drop intermediate change sets.
+	private static class ViewportPostsLiveData extends ListenerLiveData<ChangeSet<Post>> {
+		private final FirebaseFirestore firestore;
+		private final SnapshotListenerRegistry listenerRegistry;
+		private final PostDocumentMapper postMapper;
+		private final GeoBounds bounds;
+		@Nullable
+		private final String currentUserIdToExclude;
+		private final List<GeoHashUtils.Range> ranges;
+		// Replaced on every attach so callbacks still queued from a previous one are ignored
+		@Nullable
+		private volatile ActiveState activeState;
+
+		private class ActiveState {
+			final List<SnapshotDeltaList<Post>> rangeLists = new ArrayList<>();
+			boolean publishedInitial = false;
+
+			ActiveState() {
+				for (int i = 0; i < ranges.size(); i++) {
+					rangeLists.add(new SnapshotDeltaList<>(postMapper::fromSnapshot,
+							ViewportPostsLiveData.this::isVisible));
+				}
+			}
+		}
+
+		ViewportPostsLiveData(FirebaseFirestore firestore, SnapshotListenerRegistry listenerRegistry, PostDocumentMapper postMapper,
+													GeoBounds bounds, @Nullable String currentUserIdToExclude) {
+			this.firestore = firestore;
+			this.listenerRegistry = listenerRegistry;
+			this.postMapper = postMapper;
+			this.bounds = bounds;
+			this.currentUserIdToExclude = currentUserIdToExclude;
+			this.ranges = GeoHashUtils.coveringRanges(bounds, MAX_VIEWPORT_RANGES);
+		}
+
+		@Override
+		protected void onAttach() {
+			ActiveState state = new ActiveState();
+			activeState = state;
+			for (int i = 0; i < ranges.size(); i++) {
+				final int rangeIndex = i;
+				GeoHashUtils.Range range = ranges.get(i);
+				Query query = firestore.collection(POSTS_COLLECTION)
+						.whereEqualTo("state", ListingState.ACTIVE)
+						.orderBy("geohash")
+						.startAt(range.start)
+						.endAt(range.end + "\uf8ff");
+
+				addRegistration(listenerRegistry.listen(query, (snapshots, e) -> {
+					if (e != null) {
+						Log.w("ViewportPostsLiveData", "Listen failed for range " + range, e);
+						// The listener is dead; settle the range on what it had so the other ranges still publish
+						if (state == activeState) {
+							state.rangeLists.get(rangeIndex).settle();
+							publishInitialIfComplete(state);
+						}
+						return;
+					}
+					if (snapshots != null && state == activeState) {
+						onRangeSnapshot(state, rangeIndex, snapshots);
+					}
+				}));
+			}
+		}
+
+		@Override
+		protected void onDetach() {
+			activeState = null;
+		}
+
+		private boolean isVisible(Post post) {
+			if (post.getId() == null || post.getLatitude() == null || post.getLongitude() == null) {
+				return false;
+			}
+			if (currentUserIdToExclude != null && post.getLister() != null
+					&& currentUserIdToExclude.equals(post.getLister().getId())) {
+				return false;
+			}
+			return bounds.contains(post.getLatitude(), post.getLongitude());
+		}
+
+		private void onRangeSnapshot(ActiveState state, int rangeIndex, QuerySnapshot snapshots) {
+			ChangeSet<Post> rangeChanges = state.rangeLists.get(rangeIndex).apply(snapshots);
+
+			if (!state.publishedInitial) {
+				publishInitialIfComplete(state);
+				return;
+			}
+			if (rangeChanges.isEmpty()) {
+				return;
+			}
+
+			int offset = 0;
+			for (int i = 0; i < rangeIndex; i++) {
+				offset += state.rangeLists.get(i).visibleCount();
+			}
+			List<ChangeSet.Change> changes = new ArrayList<>(rangeChanges.getChanges().size());
+			for (ChangeSet.Change change : rangeChanges.getChanges()) {
+				changes.add(change.offsetBy(offset));
+			}
+			deliver(state, ChangeSet.incremental(mergedItems(state), changes));
+		}
+
+		// Waits for every range to report once so the map doesn't flicker through partial results
+		private void publishInitialIfComplete(ActiveState state) {
+			if (state.publishedInitial) {
+				return;
+			}
+			for (SnapshotDeltaList<Post> rangeList : state.rangeLists) {
+				if (!rangeList.isInitialized()) {
+					return;
+				}
+			}
+			state.publishedInitial = true;
+			deliver(state, ChangeSet.fullReload(mergedItems(state)));
+		}
+
+		private void deliver(ActiveState state, ChangeSet<Post> changeSet) {
+			MainThreadExecutor.INSTANCE.execute(() -> {
+				if (state == activeState) {
+					setValue(changeSet);
+				}
+			});
+		}
+
+		private List<Post> mergedItems(ActiveState state) {
+			List<Post> merged = new ArrayList<>();
+			for (SnapshotDeltaList<Post> rangeList : state.rangeLists) {
+				merged.addAll(rangeList.visibleItems());
+			}
+			return merged;
+		}
+	}
+
+	// Looks up posts by id with one 'in' listener per chunk of at most MAX_IN_FILTER_VALUES ids,
+	// all listening in parallel. When the requested ids change, chunks whose ids are all still
+	// requested keep their listeners; only the remaining ids are chunked and queried again. Results
+	// are emitted in the order of the requested ids once every chunk has reported.
+	private static class PostsByIdsLiveData extends ListenerLiveData<List<Post>> {
+		private final FirebaseFirestore firestore;
+		private final SnapshotListenerRegistry listenerRegistry;
+		private final PostDocumentMapper postMapper;
+		private List<String> requestedIds = new ArrayList<>();
+		// Chunk state is only touched on the main thread
+		private final List<Chunk> chunks = new ArrayList<>();
+
+		private static class Chunk {
+			final List<String> ids;
+			@Nullable
+			ListenerRegistration registration;
+			@Nullable
+			List<Post> results;
+
+			Chunk(List<String> ids) {
+				this.ids = ids;
+			}
+		}
+
+		PostsByIdsLiveData(FirebaseFirestore firestore, SnapshotListenerRegistry listenerRegistry, PostDocumentMapper postMapper,
+											 LiveData<List<String>> postIds) {
+			this.firestore = firestore;
+			this.listenerRegistry = listenerRegistry;
+			this.postMapper = postMapper;
+			addSource(postIds, this::onIdsChanged);
+		}
+
+		@Override
+		protected void onAttach() {
+			// The id source won't re-emit an unchanged value, so listeners dropped on detach are restored here
+			if (!requestedIds.isEmpty()) {
+				syncChunks();
+			}
+		}
+
+		@Override
+		protected void onDetach() {
+			removeAllChunks();
+		}
+
+		private void onIdsChanged(@Nullable List<String> ids) {
+			requestedIds = ids != null ? new ArrayList<>(new LinkedHashSet<>(ids)) : new ArrayList<>();
+			if (requestedIds.isEmpty()) {
+				removeAllChunks();
+				setValue(new ArrayList<>());
+				return;
+			}
+			if (isAttached()) {
+				syncChunks();
+			}
+		}
+
+		private void syncChunks() {
+			Set<String> wanted = new HashSet<>(requestedIds);
+			Set<String> covered = new HashSet<>();
+			List<Chunk> retained = new ArrayList<>();
+			for (Chunk chunk : chunks) {
+				if (wanted.containsAll(chunk.ids)) {
+					retained.add(chunk);
+					covered.addAll(chunk.ids);
+				} else {
+					removeListener(chunk);
+				}
+			}
+
+			List<String> missing = new ArrayList<>();
+			for (String id : requestedIds) {
+				if (!covered.contains(id)) {
+					missing.add(id);
+				}
+			}
+
+			// Many edits leave many small chunks behind; past twice the minimum, start over
+			int minimumChunks = chunkCount(requestedIds.size());
+			if (retained.size() + chunkCount(missing.size()) > 2 * minimumChunks) {
+				for (Chunk chunk : retained) {
+					removeListener(chunk);
+				}
+				retained.clear();
+				missing = requestedIds;
+			}
+
+			chunks.clear();
+			chunks.addAll(retained);
+			for (int start = 0; start < missing.size(); start += MAX_IN_FILTER_VALUES) {
+				Chunk chunk = new Chunk(new ArrayList<>(missing.subList(start, Math.min(missing.size(), start + MAX_IN_FILTER_VALUES))));
+				chunks.add(chunk);
+				listen(chunk);
+			}
+			publishIfComplete();
+		}
+
+		private void listen(Chunk chunk) {
+			SnapshotDeltaList<Post> posts = new SnapshotDeltaList<>(postMapper::fromSnapshot);
+			chunk.registration = listenerRegistry.listen(firestore.collection(POSTS_COLLECTION).whereIn("id", chunk.ids),
+					(snapshots, e) -> {
+						if (e != null) {
+							Log.w("PostsByIdsLiveData", "Listen failed for chunk of " + chunk.ids.size(), e);
+							// The listener is dead; settle the chunk on what it had so the other chunks still publish
+							MainThreadExecutor.INSTANCE.execute(() -> {
+								if (chunk.registration != null && chunk.results == null) {
+									chunk.results = new ArrayList<>();
+									publishIfComplete();
+								}
+							});
+							return;
+						}
+						if (snapshots == null || posts.apply(snapshots).isEmpty()) {
+							return;
+						}
+						List<Post> results = posts.visibleItems();
+						MainThreadExecutor.INSTANCE.execute(() -> {
+							if (chunk.registration != null) {
+								chunk.results = results;
+								publishIfComplete();
+							}
+						});
+					});
+		}
+
+		private void removeAllChunks() {
+			for (Chunk chunk : chunks) {
+				removeListener(chunk);
+			}
+			chunks.clear();
+		}
+
+		private void removeListener(Chunk chunk) {
+			if (chunk.registration != null) {
+				chunk.registration.remove();
+				chunk.registration = null;
+			}
+		}
+
+		private void publishIfComplete() {
+			Map<String, Post> byId = new HashMap<>();
+			for (Chunk chunk : chunks) {
+				if (chunk.results == null) {
+					return;
+				}
+				for (Post post : chunk.results) {
+					byId.put(post.getId(), post);
+				}
+			}
+			List<Post> ordered = new ArrayList<>(requestedIds.size());
+			for (String id : requestedIds) {
+				Post post = byId.get(id);
+				if (post != null) {
+					ordered.add(post);
+				}
+			}
+			setValue(ordered);
+		}
+
+		private static int chunkCount(int idCount) {
+			return (idCount + MAX_IN_FILTER_VALUES - 1) / MAX_IN_FILTER_VALUES;
+		}
+	}
+}
@@ -3,50 +3,117 @@ package com.shoppr.data.datasource;
 import android.util.Log;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
 
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FieldValue;
+import com.google.firebase.firestore.Filter;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.Source;
 import com.google.firebase.firestore.WriteBatch;
+import com.shoppr.data.adapter.ActivityEntryDocumentMapper;
+import com.shoppr.data.adapter.RequestDocumentMapper;
+import com.shoppr.data.di.BackgroundExecutor;
+import com.shoppr.data.utils.MainThreadExecutor;
 import com.shoppr.domain.datasource.FirestoreRequestDataSource;
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.ChangeSet;
 import com.shoppr.model.Request;
+import com.shoppr.model.RequestStatus;
 
 import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Date;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.inject.Inject;
 
 public class FirestoreRequestDataSourceImpl implements FirestoreRequestDataSource {
 
+	// Offers are counted in shards under the post instead of on the post itself, so offers on a
+	// popular listing don't contend on one document. A scheduled function rolls them up.
+	private static final int OFFER_COUNT_SHARDS = 10;
+	// What a buyer can change by submitting an offer again
+	private static final String[] OFFER_FIELDS = {"offerAmount", "offerCurrency", "message"};
+
+	private static final int BUYER_SIDE = 0;
+	private static final int SELLER_SIDE = 1;
+	// Matches the createdAt DESCENDING queries; the id breaks ties so the order is total
+	private static final Comparator<Request> NEWEST_FIRST = Comparator
+			.comparing(Request::getCreatedAt, Comparator.nullsLast(Comparator.<Date>reverseOrder()))
+			.thenComparing(Request::getId, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+	// Matches the activity's createdAt DESCENDING query
+	private static final Comparator<ActivityEntry> NEWEST_ACTIVITY_FIRST = Comparator
+			.comparing(ActivityEntry::getCreatedAt, Comparator.nullsFirst(Comparator.<Date>reverseOrder()))
+			.thenComparing(ActivityEntry::getId, Comparator.nullsLast(Comparator.<String>naturalOrder()));
+
 	private final FirebaseFirestore db;
+	private final Executor backgroundExecutor;
+	private final RequestDocumentMapper requestMapper;
+	private final ActivityEntryDocumentMapper activityMapper;
+	private final SnapshotListenerRegistry listenerRegistry;
 
 	@Inject
-	public FirestoreRequestDataSourceImpl(FirebaseFirestore db) {
+	public FirestoreRequestDataSourceImpl(FirebaseFirestore db, @BackgroundExecutor Executor backgroundExecutor,
+																				RequestDocumentMapper requestMapper, ActivityEntryDocumentMapper activityMapper,
+																				SnapshotListenerRegistry listenerRegistry) {
 		this.db = db;
+		this.backgroundExecutor = backgroundExecutor;
+		this.requestMapper = requestMapper;
+		this.activityMapper = activityMapper;
+		this.listenerRegistry = listenerRegistry;
 	}
 
 	@Override
 	public void createRequest(@NonNull Request request, @NonNull RequestOperationCallbacks callbacks) {
-		WriteBatch batch = db.batch();
-		DocumentReference requestRef;
-
-		if (request.getId() != null && !request.getId().isEmpty()) {
-			requestRef = db.collection("requests").document(request.getId());
-		} else {
-			requestRef = db.collection("requests").document();
-			request.setId(requestRef.getId());
+		if (request.getId() == null || request.getId().isEmpty()) {
+			request.setId(Request.idFor(request.getPostId(), request.getBuyerId()));
 		}
+		DocumentReference requestRef = db.collection("requests").document(request.getId());
+		// Checked the same way as getRequestForPost, so an offer already in the cache can still be
+		// changed offline. If neither the cache nor the server can tell, nothing is written, since a
+		// full write would reset an existing request's status and creation time.
+		requestRef.get(Source.CACHE)
+				.addOnSuccessListener(cached -> {
+					if (cached.exists()) {
+						writeOffer(requestRef, request, true, callbacks);
+					} else {
+						writeOfferAfterServerCheck(requestRef, request, callbacks);
+					}
+				})
+				.addOnFailureListener(e -> writeOfferAfterServerCheck(requestRef, request, callbacks));
+	}
 
-		batch.set(requestRef, request);
-
-		DocumentReference postRef = db.collection("posts").document(request.getPostId());
-		batch.update(postRef, "requests", FieldValue.arrayUnion(requestRef.getId()));
-		batch.update(postRef, "offeringUserIds", FieldValue.arrayUnion(request.getBuyerId()));
+	private void writeOfferAfterServerCheck(DocumentReference requestRef, Request request, RequestOperationCallbacks callbacks) {
+		// Not Source.DEFAULT, which can answer from a cached "doesn't exist" that is out of date
+		requestRef.get(Source.SERVER)
+				.addOnSuccessListener(snapshot -> writeOffer(requestRef, request, snapshot.exists(), callbacks))
+				.addOnFailureListener(e -> callbacks.onError("Failed to submit offer: " + e.getMessage()));
+	}
 
+	// An offer that already exists, e.g. one made from another device, keeps its status, creation
+	// time and history; only the offer itself is replaced
+	private void writeOffer(DocumentReference requestRef, Request request, boolean exists, RequestOperationCallbacks callbacks) {
+		WriteBatch batch = db.batch();
+		if (exists) {
+			batch.set(requestRef, requestMapper.toMap(request), SetOptions.mergeFields(OFFER_FIELDS));
+		} else {
+			batch.set(requestRef, requestMapper.toMap(request));
+		}
+		batch.set(offerCountShard(request), offerCountEntry(request.getId(), true), SetOptions.merge());
+		if (request.getActivityTimeline() != null) {
+			for (ActivityEntry entry : request.getActivityTimeline()) {
+				batch.set(requestRef.collection("activity").document(), activityMapper.toMap(entry));
+			}
+		}
 		batch.commit()
 				.addOnSuccessListener(aVoid -> callbacks.onSuccess(request))
 				.addOnFailureListener(e -> callbacks.onError("Failed to submit offer: " + e.getMessage()));
@@ -55,127 +122,254 @@ public class FirestoreRequestDataSourceImpl implements FirestoreRequestDataSourc
 	@Override
 	public void deleteRequest(@NonNull Request request, @NonNull RequestDeleteCallbacks callbacks) {
 		WriteBatch batch = db.batch();
-
-		DocumentReference requestRef = db.collection("requests").document(request.getId());
-		batch.delete(requestRef);
-
-		DocumentReference postRef = db.collection("posts").document(request.getPostId());
-		batch.update(postRef, "requests", FieldValue.arrayRemove(request.getId()));
-		batch.update(postRef, "offeringUserIds", FieldValue.arrayRemove(request.getBuyerId()));
-
+		batch.delete(db.collection("requests").document(request.getId()));
+		batch.set(offerCountShard(request), offerCountEntry(request.getId(), false), SetOptions.merge());
 		batch.commit()
 				.addOnSuccessListener(aVoid -> callbacks.onSuccess())
 				.addOnFailureListener(e -> callbacks.onError("Failed to withdraw offer: " + e.getMessage()));
 	}
 
+	// A request always lands in the same shard, and rollUpOfferCounts counts the request ids in the
+	// shards, so writing or removing an offer twice doesn't change the count. Must match
+	// offerCountShard in the functions.
+	private DocumentReference offerCountShard(@NonNull Request request) {
+		int shard = Math.floorMod(request.getId().hashCode(), OFFER_COUNT_SHARDS);
+		return db.collection("posts").document(request.getPostId())
+				.collection("offerCountShards").document(String.valueOf(shard));
+	}
+
+	private static Map<String, Object> offerCountEntry(@NonNull String requestId, boolean counted) {
+		Map<String, Object> offers = new HashMap<>();
+		offers.put(requestId, counted ? true : FieldValue.delete());
+		Map<String, Object> data = new HashMap<>();
+		data.put("offers", offers);
+		data.put("updatedAt", FieldValue.serverTimestamp());
+		return data;
+	}
+
 	@Override
 	public void updateRequest(@NonNull Request request, @NonNull RequestUpdateCallbacks callbacks) {
 		if (request.getId() == null) {
 			callbacks.onError("Cannot update request with null ID.");
 			return;
 		}
+		Map<String, Object> data = requestMapper.toMap(request);
+		// The post summary is owned by the sync function; a client copy may be older than it
+		data.remove("postSummary");
 		db.collection("requests").document(request.getId())
-				.set(request)
+				.set(data, SetOptions.merge())
+				.addOnSuccessListener(aVoid -> callbacks.onSuccess())
+				.addOnFailureListener(e -> callbacks.onError("Failed to update request: " + e.getMessage()));
+	}
+
+	@Override
+	public void updateRequestFields(@NonNull String requestId, @Nullable RequestStatus status, @Nullable Double offerAmount,
+									@Nullable String message, @NonNull ActivityEntry entry, @NonNull RequestUpdateCallbacks callbacks) {
+		DocumentReference requestRef = db.collection("requests").document(requestId);
+		Map<String, Object> fields = new HashMap<>();
+		if (status != null) {
+			fields.put("status", status.name());
+		}
+		if (offerAmount != null) {
+			fields.put("offerAmount", offerAmount);
+		}
+		if (message != null) {
+			fields.put("message", message);
+		}
+
+		// One small field update plus one new activity document, however long the negotiation gets
+		WriteBatch batch = db.batch();
+		if (!fields.isEmpty()) {
+			batch.update(requestRef, fields);
+		}
+		batch.set(requestRef.collection("activity").document(), activityMapper.toMap(entry));
+		batch.commit()
 				.addOnSuccessListener(aVoid -> callbacks.onSuccess())
 				.addOnFailureListener(e -> callbacks.onError("Failed to update request: " + e.getMessage()));
 	}
 
 	@Override
 	public LiveData<List<Request>> getRequestsForPost(@NonNull String postId) {
-		MutableLiveData<List<Request>> requestsLiveData = new MutableLiveData<>();
-		db.collection("requests")
-				.whereEqualTo("postId", postId)
-				.addSnapshotListener((value, error) -> {
+		Query query = db.collection("requests").whereEqualTo("postId", postId);
+		return new ListenerLiveData<List<Request>>() {
+			@Override
+			protected void onAttach() {
+				SnapshotDeltaList<Request> requests = new SnapshotDeltaList<>(requestMapper::fromSnapshot);
+				addRegistration(listenerRegistry.listen(query, (value, error) -> {
 					if (error != null) {
 						Log.w("FirestoreRequestDataSource", "Listen failed.", error);
-						requestsLiveData.setValue(new ArrayList<>());
+						postValue(new ArrayList<>());
 						return;
 					}
 					if (value != null) {
-						List<Request> requests = value.toObjects(Request.class);
-						requestsLiveData.setValue(requests);
+						ChangeSet<Request> changeSet = requests.apply(value);
+						if (!changeSet.isEmpty()) {
+							postValue(changeSet.getItems());
+						}
 					}
-				});
-		return requestsLiveData;
+				}));
+			}
+		};
 	}
 
 	@Override
 	public LiveData<List<Request>> getAllRequestsForUser(@NonNull String userId) {
-		MutableLiveData<List<Request>> requestsLiveData = new MutableLiveData<>();
-
-		Query buyerQuery = db.collection("requests").whereEqualTo("buyerId", userId);
-		Query sellerQuery = db.collection("requests").whereEqualTo("sellerId", userId);
+		return mergedRequestsForUser(
+				db.collection("requests").whereEqualTo("buyerId", userId),
+				db.collection("requests").whereEqualTo("sellerId", userId),
+				Integer.MAX_VALUE);
+	}
 
-		// Combine the results of both queries
-		buyerQuery.addSnapshotListener((buyerSnapshots, e1) -> {
-			if (e1 != null) {
-				Log.w("FirestoreRequestDataSource", "Buyer query listen failed.", e1);
-				return;
+	// Buyer and seller sides listen independently and feed one keyed buffer, so a change on either
+	// side costs one sorted insert and one emission
+	private LiveData<List<Request>> mergedRequestsForUser(Query buyerQuery, Query sellerQuery, int limit) {
+		return new ListenerLiveData<List<Request>>() {
+			@Override
+			protected void onAttach() {
+				KeyedMergeBuffer<Request> requests = new KeyedMergeBuffer<>(2, requestMapper::fromSnapshot, NEWEST_FIRST);
+				addRegistration(listenerRegistry.listen(buyerQuery, (buyerSnapshots, e1) -> {
+					if (e1 != null) {
+						Log.w("FirestoreRequestDataSource", "Buyer query listen failed.", e1);
+						return;
+					}
+					if (buyerSnapshots != null && requests.apply(BUYER_SIDE, buyerSnapshots) && requests.isReady()) {
+						postValue(requests.items(limit));
+					}
+				}));
+				addRegistration(listenerRegistry.listen(sellerQuery, (sellerSnapshots, e2) -> {
+					if (e2 != null) {
+						Log.w("FirestoreRequestDataSource", "Seller query listen failed.", e2);
+						return;
+					}
+					if (sellerSnapshots != null && requests.apply(SELLER_SIDE, sellerSnapshots) && requests.isReady()) {
+						postValue(requests.items(limit));
+					}
+				}));
 			}
+		};
+	}
 
-			sellerQuery.addSnapshotListener((sellerSnapshots, e2) -> {
-				if (e2 != null) {
-					Log.w("FirestoreRequestDataSource", "Seller query listen failed.", e2);
-					return;
-				}
-
-				List<Request> allRequests = new ArrayList<>();
-				if (buyerSnapshots != null) {
-					allRequests.addAll(buyerSnapshots.toObjects(Request.class));
-				}
-				if (sellerSnapshots != null) {
-					allRequests.addAll(sellerSnapshots.toObjects(Request.class));
-				}
-
-				// Simple de-duplication in case a user makes an offer to themselves (edge case)
-				List<Request> distinctRequests = allRequests.stream()
-						.distinct().sorted((r1, r2) -> {
-							if (r1.getCreatedAt() != null && r2.getCreatedAt() != null) {
-								return r2.getCreatedAt().compareTo(r1.getCreatedAt());
-							}
-							return 0;
-						}).collect(Collectors.toList());
-
-				requestsLiveData.setValue(distinctRequests);
-			});
-		});
+	@Override
+	public LiveData<List<String>> getOfferedPostIds(@NonNull String buyerId) {
+		// Same query as the buyer side of getAllRequestsForUser, so the two share one listener
+		Query query = db.collection("requests").whereEqualTo("buyerId", buyerId);
+		return new ListenerLiveData<List<String>>() {
+			@Override
+			protected void onAttach() {
+				addRegistration(listenerRegistry.listen(query, (value, error) -> {
+					if (error != null) {
+						Log.w("FirestoreRequestDataSource", "Offered posts listen failed.", error);
+						return;
+					}
+					if (value == null) {
+						return;
+					}
+					List<String> postIds = new ArrayList<>();
+					for (DocumentSnapshot document : value.getDocuments()) {
+						String postId = document.getString("postId");
+						if (postId != null) {
+							postIds.add(postId);
+						}
+					}
+					postValue(postIds);
+				}));
+			}
+		};
+	}
 
-		return requestsLiveData;
+	@Override
+	public PagedListing<Request> getAllRequestsForUserPaged(@NonNull String userId, int pageSize) {
+		Query query = db.collection("requests")
+				.where(Filter.or(
+						Filter.equalTo("buyerId", userId),
+						Filter.equalTo("sellerId", userId)))
+				.orderBy("createdAt", Query.Direction.DESCENDING);
+		// The newest page stays live; each side's newest pageSize requests cover the merged top pageSize
+		LiveData<List<Request>> head = mergedRequestsForUser(
+				db.collection("requests").whereEqualTo("buyerId", userId)
+						.orderBy("createdAt", Query.Direction.DESCENDING).limit(pageSize),
+				db.collection("requests").whereEqualTo("sellerId", userId)
+						.orderBy("createdAt", Query.Direction.DESCENDING).limit(pageSize),
+				pageSize);
+		PagedListing<Request> tail = new FirestorePagedListing<>(query, pageSize, requestMapper, backgroundExecutor,
+				head, Request::getCreatedAt);
+		return new LiveHeadPagedListing<>(head, pageSize, tail, Request::getId, NEWEST_FIRST);
 	}
 
 	@Override
 	public LiveData<Request> getRequestById(@NonNull String requestId) {
-		MutableLiveData<Request> requestLiveData = new MutableLiveData<>();
-		db.collection("requests").document(requestId)
-				.addSnapshotListener((snapshot, e) -> {
+		DocumentReference requestRef = db.collection("requests").document(requestId);
+		return new ListenerLiveData<Request>() {
+			@Override
+			protected void onAttach() {
+				addRegistration(listenerRegistry.listen(requestRef, (snapshot, e) -> {
 					if (e != null) {
+						// Not a null: that would read as a deleted request and evict the cached copy
 						Log.w("FirestoreRequestDataSource", "Listen failed.", e);
-						requestLiveData.setValue(null);
 						return;
 					}
 					if (snapshot != null && snapshot.exists()) {
-						requestLiveData.setValue(snapshot.toObject(Request.class));
+						postValue(requestMapper.fromSnapshot(snapshot));
 					} else {
-						requestLiveData.setValue(null);
+						postValue(null);
+					}
+				}));
+			}
+		};
+	}
+
+	@Override
+	public PagedListing<ActivityEntry> getRequestActivityPaged(@NonNull String requestId, int pageSize) {
+		Query query = db.collection("requests").document(requestId).collection("activity")
+				.orderBy("createdAt", Query.Direction.DESCENDING);
+		Query headQuery = query.limit(pageSize);
+		// The newest page is live so entries added by either side show up without a reload
+		LiveData<List<ActivityEntry>> head = new ListenerLiveData<List<ActivityEntry>>() {
+			@Override
+			protected void onAttach() {
+				SnapshotDeltaList<ActivityEntry> entries = new SnapshotDeltaList<>(activityMapper::fromSnapshot);
+				addRegistration(listenerRegistry.listen(headQuery, (value, error) -> {
+					if (error != null) {
+						Log.w("FirestoreRequestDataSource", "Activity listen failed.", error);
+						return;
+					}
+					if (value != null) {
+						ChangeSet<ActivityEntry> changeSet = entries.apply(value);
+						if (!changeSet.isEmpty()) {
+							postValue(changeSet.getItems());
+						}
 					}
-				});
-		return requestLiveData;
+				}));
+			}
+		};
+		PagedListing<ActivityEntry> tail = new FirestorePagedListing<>(query, pageSize, activityMapper, backgroundExecutor,
+				head, ActivityEntry::getCreatedAt);
+		return new LiveHeadPagedListing<>(head, pageSize, tail, ActivityEntry::getId, NEWEST_ACTIVITY_FIRST);
 	}
 
 	@Override
 	public void getRequestForPost(String userId, String postId, @NonNull SingleRequestCallback callbacks) {
-		db.collection("requests")
-				.whereEqualTo("buyerId", userId)
-				.whereEqualTo("postId", postId)
-				.limit(1)
-				.get()
-				.addOnSuccessListener(queryDocumentSnapshots -> {
-					if (queryDocumentSnapshots != null && !queryDocumentSnapshots.isEmpty()) {
-						callbacks.onSuccess(queryDocumentSnapshots.getDocuments().get(0).toObject(Request.class));
+		DocumentReference requestRef = db.collection("requests").document(Request.idFor(postId, userId));
+		// A cached offer answers immediately; only a cache miss or a cached absence asks the server,
+		// since an offer may have been made from another device
+		requestRef.get(Source.CACHE)
+				.addOnSuccessListener(backgroundExecutor, snapshot -> {
+					if (snapshot.exists()) {
+						Request request = requestMapper.fromSnapshot(snapshot);
+						MainThreadExecutor.INSTANCE.execute(() -> callbacks.onSuccess(request));
 					} else {
-						callbacks.onSuccess(null);
+						fetchRequestFromServer(requestRef, callbacks);
 					}
 				})
+				.addOnFailureListener(e -> fetchRequestFromServer(requestRef, callbacks));
+	}
+
+	private void fetchRequestFromServer(DocumentReference requestRef, SingleRequestCallback callbacks) {
+		requestRef.get()
+				.addOnSuccessListener(backgroundExecutor, snapshot -> {
+					Request request = requestMapper.fromSnapshot(snapshot);
+					MainThreadExecutor.INSTANCE.execute(() -> callbacks.onSuccess(request));
+				})
 				.addOnFailureListener(e -> callbacks.onError("Error fetching request: " + e.getMessage()));
 	}
 }
\ No newline at end of file
@@ -5,8 +5,15 @@ import android.util.Log;
 import androidx.annotation.NonNull;
 
 import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
 import com.google.firebase.firestore.FirebaseFirestore;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.shoppr.data.adapter.ActivityEntryDocumentMapper;
+import com.shoppr.data.adapter.TransactionDocumentMapper;
 import com.shoppr.domain.datasource.FirestoreTransactionDataSource;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.ListingState;
+import com.shoppr.model.RequestStatus;
 import com.shoppr.model.Transaction;
 
 import javax.inject.Inject;
@@ -14,12 +21,17 @@ import javax.inject.Inject;
 public class FirestoreTransactionDataSourceImpl implements FirestoreTransactionDataSource {
 	private final static String TAG = "FirestoreTransactionDataSource";
 	private final FirebaseFirestore db;
+	private final TransactionDocumentMapper transactionMapper;
+	private final ActivityEntryDocumentMapper activityMapper;
 	private static final String TRANSACTION_COLLECTION = "transactions";
 
 
 	@Inject
-	public FirestoreTransactionDataSourceImpl(FirebaseFirestore db) {
+	public FirestoreTransactionDataSourceImpl(FirebaseFirestore db, TransactionDocumentMapper transactionMapper,
+											  ActivityEntryDocumentMapper activityMapper) {
 		this.db = db;
+		this.transactionMapper = transactionMapper;
+		this.activityMapper = activityMapper;
 	}
 
 	public void getTransactions() {
@@ -37,7 +49,7 @@ public class FirestoreTransactionDataSourceImpl implements FirestoreTransactionD
 
 		transaction.setId(newTransactionRef.getId());
 
-		newTransactionRef.set(transaction)
+		newTransactionRef.set(transactionMapper.toMap(transaction))
 				.addOnSuccessListener(aVoid -> {
 					callbacks.onSuccess(transaction);
 				})
@@ -45,4 +57,34 @@ public class FirestoreTransactionDataSourceImpl implements FirestoreTransactionD
 					callbacks.onError("Failed to create transaction: " + e.getMessage());
 				});
 	}
+
+	@Override
+	public void completeCheckout(@NonNull Transaction transaction, @NonNull ActivityEntry paymentEntry,
+								 @NonNull CreateTransactionCallbacks callbacks) {
+		// The request id is the idempotency key: one request is paid for at most once
+		transaction.setId(transaction.getRequestId());
+		DocumentReference transactionRef = db.collection(TRANSACTION_COLLECTION).document(transaction.getRequestId());
+		DocumentReference requestRef = db.collection("requests").document(transaction.getRequestId());
+		DocumentReference postRef = db.collection("posts").document(transaction.getPostId());
+
+		db.runTransaction((com.google.firebase.firestore.Transaction.Function<Transaction>) firestoreTransaction -> {
+					DocumentSnapshot existing = firestoreTransaction.get(transactionRef);
+					if (existing.exists()) {
+						// An earlier attempt committed; its outcome just never reached us
+						return transactionMapper.fromSnapshot(existing);
+					}
+					DocumentSnapshot request = firestoreTransaction.get(requestRef);
+					if (!RequestStatus.SELLER_ACCEPTED.name().equals(request.getString("status"))) {
+						throw new FirebaseFirestoreException("This offer is no longer awaiting payment.",
+								FirebaseFirestoreException.Code.FAILED_PRECONDITION);
+					}
+					firestoreTransaction.set(transactionRef, transactionMapper.toMap(transaction));
+					firestoreTransaction.update(requestRef, "status", RequestStatus.COMPLETED.name());
+					firestoreTransaction.set(requestRef.collection("activity").document(), activityMapper.toMap(paymentEntry));
+					firestoreTransaction.update(postRef, "state", ListingState.COMPLETED.name());
+					return transaction;
+				})
+				.addOnSuccessListener(callbacks::onSuccess)
+				.addOnFailureListener(e -> callbacks.onError("Failed to complete purchase: " + e.getMessage()));
+	}
 }
\ No newline at end of file
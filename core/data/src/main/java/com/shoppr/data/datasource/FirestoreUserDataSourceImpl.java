@@ -7,11 +7,17 @@ import com.google.firebase.firestore.DocumentReference;
 import com.google.firebase.firestore.FieldValue;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.firestore.SetOptions;
+import com.google.firebase.firestore.WriteBatch;
+import com.shoppr.data.adapter.UserDocumentMapper;
+import com.shoppr.data.di.BackgroundExecutor;
+import com.shoppr.data.utils.MainThreadExecutor;
 import com.shoppr.domain.datasource.FirestoreUserDataSource;
 import com.shoppr.model.User;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.Executor;
 
 import javax.inject.Inject;
 import javax.inject.Singleton;
@@ -20,11 +26,16 @@ import javax.inject.Singleton;
 public class FirestoreUserDataSourceImpl implements FirestoreUserDataSource {
 	private static final String TAG = "FirestoreUserDSImpl";
 	private final FirebaseFirestore firestore;
+	private final Executor backgroundExecutor;
+	private final UserDocumentMapper userMapper;
 	private static final String USERS_COLLECTION = "users";
 
 	@Inject
-	public FirestoreUserDataSourceImpl(FirebaseFirestore firestore) {
+	public FirestoreUserDataSourceImpl(FirebaseFirestore firestore, @BackgroundExecutor Executor backgroundExecutor,
+																		 UserDocumentMapper userMapper) {
 		this.firestore = firestore;
+		this.backgroundExecutor = backgroundExecutor;
+		this.userMapper = userMapper;
 	}
 
 	@Override
@@ -36,14 +47,14 @@ public class FirestoreUserDataSourceImpl implements FirestoreUserDataSource {
 			@NonNull UserCallbacks callbacks
 	) {
 		DocumentReference userDocRef = firestore.collection(USERS_COLLECTION).document(uid);
-		userDocRef.get().addOnSuccessListener(documentSnapshot -> {
+		userDocRef.get().addOnSuccessListener(backgroundExecutor, documentSnapshot -> {
 			if (documentSnapshot.exists()) {
-				User user = documentSnapshot.toObject(User.class);
+				User user = userMapper.fromSnapshot(documentSnapshot);
 				if (user != null) {
 					user.setId(documentSnapshot.getId());
-					callbacks.onSuccess(user);
+					MainThreadExecutor.INSTANCE.execute(() -> callbacks.onSuccess(user));
 				} else {
-					callbacks.onError("Error mapping user data.");
+					MainThreadExecutor.INSTANCE.execute(() -> callbacks.onError("Error mapping user data."));
 				}
 			} else {
 				// User doesn't exist, create a new one
@@ -53,7 +64,7 @@ public class FirestoreUserDataSourceImpl implements FirestoreUserDataSource {
 						.email(email)
 						// photoUrl would be set here if it was part of your User model
 						.build();
-				userDocRef.set(newUser).addOnSuccessListener(aVoid -> {
+				userDocRef.set(userMapper.toMap(newUser)).addOnSuccessListener(aVoid -> {
 					callbacks.onSuccess(newUser);
 				}).addOnFailureListener(e -> {
 					callbacks.onError("Failed to create user profile: " + e.getMessage());
@@ -86,12 +97,20 @@ public class FirestoreUserDataSourceImpl implements FirestoreUserDataSource {
 	@Override
 	public void updateUserFavorites(
 			@NonNull String uid,
-			@NonNull String postId,
-			boolean shouldAdd,
+			@NonNull List<String> addedPostIds,
+			@NonNull List<String> removedPostIds,
 			@NonNull OperationCallbacks callbacks
 	) {
-		firestore.collection(USERS_COLLECTION).document(uid)
-				.update("favoritePosts", shouldAdd ? FieldValue.arrayUnion(postId) : FieldValue.arrayRemove(postId))
+		DocumentReference userRef = firestore.collection(USERS_COLLECTION).document(uid);
+		// One update can't both union and remove on the same field, so the batch holds one of each
+		WriteBatch batch = firestore.batch();
+		if (!addedPostIds.isEmpty()) {
+			batch.update(userRef, "favoritePosts", FieldValue.arrayUnion(addedPostIds.toArray()));
+		}
+		if (!removedPostIds.isEmpty()) {
+			batch.update(userRef, "favoritePosts", FieldValue.arrayRemove(removedPostIds.toArray()));
+		}
+		batch.commit()
 				.addOnSuccessListener(aVoid -> callbacks.onSuccess())
 				.addOnFailureListener(e -> callbacks.onError("Failed to update favorites: " + e.getMessage()));
 	}
@@ -99,13 +118,13 @@ public class FirestoreUserDataSourceImpl implements FirestoreUserDataSource {
 	@Override
 	public void getUserById(String userId, @NonNull FirestoreUserDataSource.GetUserByIdCallbacks callbacks) {
 		firestore.collection("users").document(userId).get()
-				.addOnSuccessListener(documentSnapshot -> {
+				.addOnSuccessListener(backgroundExecutor, documentSnapshot -> {
+					User user = null;
 					if (documentSnapshot != null && documentSnapshot.exists()) {
-						User user = documentSnapshot.toObject(User.class);
-						callbacks.onSuccess(user);
-					} else {
-						callbacks.onSuccess(null);
+						user = userMapper.fromSnapshot(documentSnapshot);
 					}
+					User result = user;
+					MainThreadExecutor.INSTANCE.execute(() -> callbacks.onSuccess(result));
 				})
 				.addOnFailureListener(e -> callbacks.onError("Error fetching user: " + e.getMessage()));
 	}
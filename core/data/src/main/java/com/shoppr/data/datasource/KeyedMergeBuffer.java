@@ -0,0 +1,147 @@
+package com.shoppr.data.datasource;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Merges the results of several queries into one list keyed by document id. The list stays sorted
+ * as documents change, so applying a change costs a binary search and one insert instead of a
+ * re-sort. A document returned by more than one query appears once and only leaves the list when
+ * every query that returned it has dropped it.
+ */
+class KeyedMergeBuffer<T> {
+
+	private static class Entry<T> {
+		T item;
+		int sources;
+	}
+
+	private final int allSources;
+	private final Function<DocumentSnapshot, T> mapper;
+	private final Comparator<T> order;
+	private final Map<String, Entry<T>> entries = new HashMap<>();
+	private final List<T> sorted = new ArrayList<>();
+	private int initializedSources = 0;
+
+	/**
+	 * @param order must be a total order (e.g. break ties by id) so an item can be found again by
+	 *              binary search
+	 */
+	KeyedMergeBuffer(int sourceCount, @NonNull Function<DocumentSnapshot, T> mapper, @NonNull Comparator<T> order) {
+		this.allSources = (1 << sourceCount) - 1;
+		this.mapper = mapper;
+		this.order = order;
+	}
+
+	/**
+	 * Whether every source has delivered its first snapshot.
+	 */
+	boolean isReady() {
+		return initializedSources == allSources;
+	}
+
+	/**
+	 * Applies one source's snapshot and returns whether the merged list changed.
+	 */
+	boolean apply(int source, @NonNull QuerySnapshot snapshot) {
+		if (!isInitialized(source)) {
+			// The first snapshot may be a replay whose document changes are relative to another
+			// listener's history, so it is read in full
+			markInitialized(source);
+			for (DocumentSnapshot document : snapshot.getDocuments()) {
+				upsert(source, document.getId(), mapper.apply(document));
+			}
+			return true;
+		}
+
+		boolean changed = false;
+		for (DocumentChange change : snapshot.getDocumentChanges()) {
+			if (change.getType() == DocumentChange.Type.REMOVED) {
+				changed |= remove(source, change.getDocument().getId());
+			} else {
+				changed |= upsert(source, change.getDocument().getId(), mapper.apply(change.getDocument()));
+			}
+		}
+		return changed;
+	}
+
+	boolean isInitialized(int source) {
+		return (initializedSources & (1 << source)) != 0;
+	}
+
+	void markInitialized(int source) {
+		initializedSources |= 1 << source;
+	}
+
+	/**
+	 * Adds or replaces the source's item for {@code key}; a {@code null} item, one the mapper
+	 * couldn't read, counts as removed from the source.
+	 */
+	boolean upsert(int source, @NonNull String key, @Nullable T item) {
+		if (item == null) {
+			return remove(source, key);
+		}
+		Entry<T> entry = entries.get(key);
+		if (entry == null) {
+			entry = new Entry<>();
+			entries.put(key, entry);
+		} else {
+			removeSorted(entry.item);
+		}
+		entry.item = item;
+		entry.sources |= 1 << source;
+		insertSorted(item);
+		return true;
+	}
+
+	/**
+	 * Removes {@code key} from the source; the item leaves the list once no source has it.
+	 */
+	boolean remove(int source, @NonNull String key) {
+		Entry<T> entry = entries.get(key);
+		if (entry == null) {
+			return false;
+		}
+		entry.sources &= ~(1 << source);
+		if (entry.sources != 0) {
+			return false;
+		}
+		entries.remove(key);
+		removeSorted(entry.item);
+		return true;
+	}
+
+	@NonNull
+	List<T> items() {
+		return new ArrayList<>(sorted);
+	}
+
+	@NonNull
+	List<T> items(int limit) {
+		return new ArrayList<>(sorted.subList(0, Math.min(limit, sorted.size())));
+	}
+
+	private void insertSorted(T item) {
+		int index = Collections.binarySearch(sorted, item, order);
+		sorted.add(index < 0 ? -index - 1 : index, item);
+	}
+
+	private void removeSorted(T item) {
+		int index = Collections.binarySearch(sorted, item, order);
+		if (index >= 0) {
+			sorted.remove(index);
+		}
+	}
+}
@@ -0,0 +1,85 @@
+package com.shoppr.data.datasource;
+
+import androidx.lifecycle.MediatorLiveData;
+
+import com.google.firebase.firestore.ListenerRegistration;
+import com.shoppr.data.utils.RealtimeStreamPolicy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Live data backed by snapshot listeners. Listeners are attached only while the live data has
+ * active observers and the app is in the foreground, and removed otherwise. Subclasses register
+ * them in {@link #onAttach()} through {@link #addRegistration}; since a stream can be attached
+ * again later, each attach has to start over from a first, full snapshot.
+ */
+abstract class ListenerLiveData<T> extends MediatorLiveData<T> implements RealtimeStreamPolicy.Stream {
+
+	private final List<ListenerRegistration> registrations = new ArrayList<>();
+	private boolean attached = false;
+
+	protected abstract void onAttach();
+
+	/**
+	 * Called after the listeners of the current attach were removed.
+	 */
+	protected void onDetach() {
+	}
+
+	protected final void addRegistration(ListenerRegistration registration) {
+		registrations.add(registration);
+	}
+
+	protected final boolean isAttached() {
+		return attached;
+	}
+
+	@Override
+	protected void onActive() {
+		super.onActive();
+		RealtimeStreamPolicy.INSTANCE.register(this);
+		if (!RealtimeStreamPolicy.INSTANCE.isPaused()) {
+			attach();
+		}
+	}
+
+	@Override
+	protected void onInactive() {
+		super.onInactive();
+		RealtimeStreamPolicy.INSTANCE.unregister(this);
+		detach();
+	}
+
+	@Override
+	public void pause() {
+		detach();
+	}
+
+	@Override
+	public void resume() {
+		if (hasActiveObservers()) {
+			attach();
+		}
+	}
+
+	private void attach() {
+		if (attached) {
+			return;
+		}
+		attached = true;
+		onAttach();
+	}
+
+	private void detach() {
+		if (!attached) {
+			return;
+		}
+		attached = false;
+		for (ListenerRegistration registration : registrations) {
+			registration.remove();
+		}
+		registrations.clear();
+		onDetach();
+	}
+}
@@ -0,0 +1,170 @@
+package com.shoppr.data.datasource;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.shoppr.domain.paging.PagedListing;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * A paged list whose newest items stay live. The head is a listener over the first
+ * {@code headSize} items; older items come from one-shot pages and are shown after the head.
+ * Changes near the top of the list therefore arrive without reloading pages, and each head
+ * change or loaded page produces exactly one emission. Pages start where the head ended when the
+ * first one was asked for, so items the head drops off its bottom after that are kept until a
+ * refresh; otherwise they would fall between the head and the pages.
+ */
+class LiveHeadPagedListing<T> implements PagedListing<T> {
+
+	private final LiveData<List<T>> head;
+	private final int headSize;
+	private final PagedListing<T> tail;
+	private final Function<T, String> key;
+	private final Comparator<T> order;
+	private final MediatorLiveData<List<T>> items = new MediatorLiveData<>();
+	private final MediatorLiveData<Boolean> hasMore = new MediatorLiveData<>();
+	private final Map<String, T> droppedFromHead = new LinkedHashMap<>();
+	@Nullable
+	private List<T> previousHead;
+	private boolean paging = false;
+
+	LiveHeadPagedListing(@NonNull LiveData<List<T>> head, int headSize, @NonNull PagedListing<T> tail,
+											 @NonNull Function<T, String> key, @NonNull Comparator<T> order) {
+		this.head = head;
+		this.headSize = headSize;
+		this.tail = tail;
+		this.key = key;
+		this.order = order;
+		items.addSource(head, this::onHeadChanged);
+		items.addSource(tail.getItems(), tailItems -> publish());
+		hasMore.addSource(head, headItems -> updateHasMore());
+		hasMore.addSource(tail.hasMore(), tailHasMore -> updateHasMore());
+	}
+
+	@Override
+	public LiveData<List<T>> getItems() {
+		return items;
+	}
+
+	@Override
+	public LiveData<Boolean> isLoading() {
+		return tail.isLoading();
+	}
+
+	@Override
+	public LiveData<Boolean> hasMore() {
+		return hasMore;
+	}
+
+	@Override
+	public void loadNextPage() {
+		paging = true;
+		tail.loadNextPage();
+	}
+
+	@Override
+	public void refresh() {
+		paging = false;
+		droppedFromHead.clear();
+		tail.refresh();
+	}
+
+	private void onHeadChanged(List<T> headItems) {
+		if (paging && previousHead != null && headItems != null) {
+			droppedFromHead.putAll(droppedOffBottom(previousHead, headItems));
+		}
+		previousHead = headItems;
+		publish();
+	}
+
+	// A head shorter than its limit already holds everything
+	private void updateHasMore() {
+		List<T> headItems = head.getValue();
+		if (headItems == null) {
+			return;
+		}
+		hasMore.setValue(headItems.size() >= headSize && !Boolean.FALSE.equals(tail.hasMore().getValue()));
+	}
+
+	private void publish() {
+		List<T> headItems = head.getValue();
+		if (headItems == null) {
+			return;
+		}
+		List<T> tailItems = tail.getItems().getValue();
+		items.setValue(merge(headItems, new ArrayList<>(droppedFromHead.values()),
+				tailItems != null ? tailItems : new ArrayList<>()));
+	}
+
+	/**
+	 * Items of the previous head that the current one no longer holds but that sort after its last
+	 * item, i.e. that newer items pushed out rather than ones that were deleted.
+	 */
+	@NonNull
+	Map<String, T> droppedOffBottom(@NonNull List<T> previous, @NonNull List<T> current) {
+		Map<String, T> dropped = new LinkedHashMap<>();
+		if (current.isEmpty() || current.size() < headSize) {
+			return dropped;
+		}
+		Set<String> currentKeys = keysOf(current);
+		T last = current.get(current.size() - 1);
+		for (T item : previous) {
+			if (!currentKeys.contains(key.apply(item)) && order.compare(item, last) > 0) {
+				dropped.put(key.apply(item), item);
+			}
+		}
+		return dropped;
+	}
+
+	/**
+	 * The head followed by whatever sorts after it among the dropped and paged items. A head
+	 * shorter than its limit already holds everything; otherwise only items that sort after it are
+	 * added, so an item that moved into the head isn't shown twice. A dropped item came from the
+	 * live head, so it wins over an older paged copy.
+	 */
+	@NonNull
+	List<T> merge(@NonNull List<T> headItems, @NonNull List<T> droppedItems, @NonNull List<T> tailItems) {
+		List<T> merged = new ArrayList<>(headItems);
+		if (headItems.isEmpty() || headItems.size() < headSize) {
+			return merged;
+		}
+		Set<String> seen = keysOf(headItems);
+		T last = headItems.get(headItems.size() - 1);
+		List<T> after = new ArrayList<>();
+		for (T item : droppedItems) {
+			if (seen.add(key.apply(item)) && order.compare(item, last) > 0) {
+				after.add(item);
+			}
+		}
+		boolean slotIn = !after.isEmpty();
+		for (T item : tailItems) {
+			if (seen.add(key.apply(item)) && order.compare(item, last) > 0) {
+				after.add(item);
+			}
+		}
+		// Pages are already in order; only dropped items need slotting in
+		if (slotIn) {
+			after.sort(order);
+		}
+		merged.addAll(after);
+		return merged;
+	}
+
+	private Set<String> keysOf(List<T> items) {
+		Set<String> keys = new HashSet<>();
+		for (T item : items) {
+			keys.add(key.apply(item));
+		}
+		return keys;
+	}
+}
@@ -0,0 +1,153 @@
+package com.shoppr.data.datasource;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentChange;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.shoppr.model.ChangeSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Mirrors a query's results in memory and applies each new snapshot through its document changes,
+ * so only added or modified documents are deserialized. Items rejected by the optional filter are
+ * kept in the mirror (Firestore's change positions count them) but left out of the emitted list.
+ */
+class SnapshotDeltaList<T> {
+
+	private static class Entry<T> {
+		final T item;
+		final boolean visible;
+
+		Entry(T item, boolean visible) {
+			this.item = item;
+			this.visible = visible;
+		}
+	}
+
+	private final Function<DocumentSnapshot, T> mapper;
+	@Nullable
+	private final Predicate<T> filter;
+	private final List<Entry<T>> entries = new ArrayList<>();
+	private boolean initialized = false;
+
+	SnapshotDeltaList(@NonNull Function<DocumentSnapshot, T> mapper, @Nullable Predicate<T> filter) {
+		this.mapper = mapper;
+		this.filter = filter;
+	}
+
+	SnapshotDeltaList(@NonNull Function<DocumentSnapshot, T> mapper) {
+		this(mapper, null);
+	}
+
+	boolean isInitialized() {
+		return initialized;
+	}
+
+	/**
+	 * Marks the list initialized for a listener that failed and won't report again. A list that
+	 * never received a snapshot settles as empty; one that did keeps its last items.
+	 */
+	void settle() {
+		initialized = true;
+	}
+
+	@NonNull
+	ChangeSet<T> apply(@NonNull QuerySnapshot snapshot) {
+		if (!initialized) {
+			initialized = true;
+			entries.clear();
+			for (DocumentSnapshot document : snapshot.getDocuments()) {
+				entries.add(toEntry(document));
+			}
+			return ChangeSet.fullReload(visibleItems());
+		}
+
+		List<ChangeSet.Change> changes = new ArrayList<>();
+		for (DocumentChange change : snapshot.getDocumentChanges()) {
+			switch (change.getType()) {
+				case ADDED: {
+					Entry<T> added = toEntry(change.getDocument());
+					entries.add(change.getNewIndex(), added);
+					if (added.visible) {
+						changes.add(ChangeSet.Change.inserted(visibleIndexOf(change.getNewIndex())));
+					}
+					break;
+				}
+				case REMOVED: {
+					int visibleIndex = visibleIndexOf(change.getOldIndex());
+					Entry<T> removed = entries.remove(change.getOldIndex());
+					if (removed.visible) {
+						changes.add(ChangeSet.Change.removed(visibleIndex));
+					}
+					break;
+				}
+				case MODIFIED: {
+					int oldVisibleIndex = visibleIndexOf(change.getOldIndex());
+					Entry<T> previous = entries.remove(change.getOldIndex());
+					Entry<T> updated = toEntry(change.getDocument());
+					entries.add(change.getNewIndex(), updated);
+					int newVisibleIndex = visibleIndexOf(change.getNewIndex());
+
+					if (previous.visible && updated.visible) {
+						changes.add(oldVisibleIndex == newVisibleIndex
+								? ChangeSet.Change.changed(newVisibleIndex)
+								: ChangeSet.Change.moved(oldVisibleIndex, newVisibleIndex));
+					} else if (previous.visible) {
+						changes.add(ChangeSet.Change.removed(oldVisibleIndex));
+					} else if (updated.visible) {
+						changes.add(ChangeSet.Change.inserted(newVisibleIndex));
+					}
+					break;
+				}
+			}
+		}
+		return ChangeSet.incremental(visibleItems(), changes);
+	}
+
+	int visibleCount() {
+		int count = 0;
+		for (Entry<T> entry : entries) {
+			if (entry.visible) {
+				count++;
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Current visible items without touching any snapshot.
+	 */
+	@NonNull
+	List<T> visibleItems() {
+		List<T> items = new ArrayList<>(entries.size());
+		for (Entry<T> entry : entries) {
+			if (entry.visible) {
+				items.add(entry.item);
+			}
+		}
+		return items;
+	}
+
+	private Entry<T> toEntry(DocumentSnapshot document) {
+		T item = mapper.apply(document);
+		boolean visible = item != null && (filter == null || filter.test(item));
+		return new Entry<>(item, visible);
+	}
+
+	// Position among visible entries of the entry at (or inserted at) the given mirror index
+	private int visibleIndexOf(int index) {
+		int visibleIndex = 0;
+		for (int i = 0; i < index; i++) {
+			if (entries.get(i).visible) {
+				visibleIndex++;
+			}
+		}
+		return visibleIndex;
+	}
+}
@@ -0,0 +1,172 @@
+package com.shoppr.data.datasource;
+
+import android.os.Handler;
+import android.os.Looper;
+import android.util.Log;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.google.firebase.firestore.DocumentReference;
+import com.google.firebase.firestore.DocumentSnapshot;
+import com.google.firebase.firestore.EventListener;
+import com.google.firebase.firestore.FirebaseFirestoreException;
+import com.google.firebase.firestore.ListenerRegistration;
+import com.google.firebase.firestore.Query;
+import com.google.firebase.firestore.QuerySnapshot;
+import com.shoppr.data.di.BackgroundExecutor;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executor;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * Shares one Firestore listener between every subscriber of the same query or document. Queries
+ * and document references compare equal when they describe the same target, so they serve as the
+ * key directly. A subscriber joining a running listener is replayed its latest snapshot. When the
+ * last subscriber leaves, the listener lingers for {@link #LINGER_MS} so that a screen coming
+ * right back (a tab switch, a configuration change) doesn't pay for a fresh listen.
+ * <p>
+ * Subscribers are called on the background executor, like listeners registered on it directly.
+ */
+@Singleton
+public class SnapshotListenerRegistry {
+	private static final String TAG = "SnapshotListenerRegistry";
+	static final long LINGER_MS = 10_000;
+
+	private interface Attach<T> {
+		ListenerRegistration attach(EventListener<T> sharedListener);
+	}
+
+	private final Executor backgroundExecutor;
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+	// Guarded by this
+	private final Map<Object, SharedListener<?>> listeners = new HashMap<>();
+
+	@Inject
+	public SnapshotListenerRegistry(@BackgroundExecutor Executor backgroundExecutor) {
+		this.backgroundExecutor = backgroundExecutor;
+	}
+
+	@NonNull
+	public ListenerRegistration listen(@NonNull Query query, @NonNull EventListener<QuerySnapshot> listener) {
+		return acquire(query, listener, shared -> query.addSnapshotListener(backgroundExecutor, shared));
+	}
+
+	@NonNull
+	public ListenerRegistration listen(@NonNull DocumentReference document, @NonNull EventListener<DocumentSnapshot> listener) {
+		return acquire(document, listener, shared -> document.addSnapshotListener(backgroundExecutor, shared));
+	}
+
+	@SuppressWarnings("unchecked")
+	private synchronized <T> ListenerRegistration acquire(Object key, EventListener<T> listener, Attach<T> attach) {
+		SharedListener<T> shared = (SharedListener<T>) listeners.get(key);
+		if (shared == null) {
+			shared = new SharedListener<>(key);
+			listeners.put(key, shared);
+			shared.registration = attach.attach(shared);
+		}
+		mainHandler.removeCallbacks(shared.teardown);
+
+		Subscriber<T> subscriber = new Subscriber<>(listener);
+		shared.subscribers.add(subscriber);
+		// Always queued, even without a snapshot yet: one may be fanning out right now without this subscriber
+		SharedListener<T> owner = shared;
+		backgroundExecutor.execute(() -> owner.replay(subscriber));
+		return () -> release(owner, subscriber);
+	}
+
+	private synchronized <T> void release(SharedListener<T> shared, Subscriber<T> subscriber) {
+		if (subscriber.removed) {
+			return;
+		}
+		subscriber.removed = true;
+		shared.subscribers.remove(subscriber);
+		if (shared.subscribers.isEmpty()) {
+			mainHandler.postDelayed(shared.teardown, LINGER_MS);
+		}
+	}
+
+	private synchronized void tearDown(SharedListener<?> shared) {
+		if (!shared.subscribers.isEmpty()) {
+			return;
+		}
+		if (listeners.get(shared.key) == shared) {
+			listeners.remove(shared.key);
+		}
+		if (shared.registration != null) {
+			shared.registration.remove();
+			shared.registration = null;
+		}
+	}
+
+	private synchronized void forget(SharedListener<?> shared) {
+		if (listeners.get(shared.key) == shared) {
+			listeners.remove(shared.key);
+		}
+	}
+
+	private static class Subscriber<T> {
+		final EventListener<T> listener;
+		volatile boolean removed = false;
+		// Only touched on the background executor
+		boolean received = false;
+
+		Subscriber(EventListener<T> listener) {
+			this.listener = listener;
+		}
+
+		void deliver(@Nullable T value, @Nullable FirebaseFirestoreException error) {
+			if (removed) {
+				return;
+			}
+			received = true;
+			listener.onEvent(value, error);
+		}
+	}
+
+	private class SharedListener<T> implements EventListener<T> {
+		final Object key;
+		final List<Subscriber<T>> subscribers = new CopyOnWriteArrayList<>();
+		final Runnable teardown = () -> tearDown(this);
+		@Nullable
+		ListenerRegistration registration;
+		@Nullable
+		volatile T latest;
+
+		SharedListener(Object key) {
+			this.key = key;
+		}
+
+		@Override
+		public void onEvent(@Nullable T value, @Nullable FirebaseFirestoreException error) {
+			if (error != null) {
+				// Firestore ends a listener after an error; the next subscriber starts a new one
+				Log.w(TAG, "Shared listener failed.", error);
+				forget(this);
+				for (Subscriber<T> subscriber : subscribers) {
+					subscriber.deliver(null, error);
+				}
+				return;
+			}
+			latest = value;
+			for (Subscriber<T> subscriber : subscribers) {
+				subscriber.deliver(value, null);
+			}
+		}
+
+		// Runs on the background executor after any snapshot already queued there, so a subscriber
+		// that got a live snapshot first is not handed an older one
+		void replay(Subscriber<T> subscriber) {
+			T value = latest;
+			if (!subscriber.received && value != null) {
+				subscriber.deliver(value, null);
+			}
+		}
+	}
+}
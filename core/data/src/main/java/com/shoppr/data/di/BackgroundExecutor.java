@@ -0,0 +1,17 @@
+package com.shoppr.data.di;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import javax.inject.Qualifier;
+
+/**
+ * The serial background executor Firestore listeners and task callbacks are registered with,
+ * so document mapping stays off the main thread.
+ */
+@Qualifier
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface BackgroundExecutor {
+}
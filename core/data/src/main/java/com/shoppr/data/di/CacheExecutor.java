@@ -0,0 +1,17 @@
+package com.shoppr.data.di;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import javax.inject.Qualifier;
+
+/**
+ * The serial executor the local entity cache reads and writes on, kept apart from
+ * {@link BackgroundExecutor} so disk access never delays snapshot mapping.
+ */
+@Qualifier
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CacheExecutor {
+}
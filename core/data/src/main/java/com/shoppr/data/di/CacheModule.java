@@ -0,0 +1,28 @@
+package com.shoppr.data.di;
+
+import android.content.Context;
+
+import androidx.room.Room;
+
+import com.shoppr.data.cache.ShopprCacheDatabase;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.android.qualifiers.ApplicationContext;
+import dagger.hilt.components.SingletonComponent;
+
+@Module
+@InstallIn(SingletonComponent.class)
+public class CacheModule {
+
+	@Provides
+	@Singleton
+	public ShopprCacheDatabase provideCacheDatabase(@ApplicationContext Context context) {
+		return Room.databaseBuilder(context, ShopprCacheDatabase.class, ShopprCacheDatabase.NAME)
+				.fallbackToDestructiveMigration()
+				.build();
+	}
+}
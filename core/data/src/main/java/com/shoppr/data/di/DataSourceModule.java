@@ -4,12 +4,17 @@ import com.google.firebase.auth.FirebaseAuth;
 import com.google.firebase.firestore.FirebaseFirestore;
 import com.google.firebase.functions.FirebaseFunctions;
 import com.google.firebase.storage.FirebaseStorage;
+import com.shoppr.data.adapter.ActivityEntryDocumentMapper;
 import com.shoppr.data.adapter.FirebaseUserToUserMapper;
+import com.shoppr.data.adapter.PostDocumentMapper;
+import com.shoppr.data.adapter.RequestDocumentMapper;
+import com.shoppr.data.adapter.UserDocumentMapper;
 import com.shoppr.data.datasource.FirebaseAuthDataSourceImpl;
 import com.shoppr.data.datasource.FirebaseFunctionsDataSourceImpl;
 import com.shoppr.data.datasource.FirebaseStorageDataSourceImpl;
 import com.shoppr.data.datasource.FirestorePostDataSourceImpl;
 import com.shoppr.data.datasource.FirestoreRequestDataSourceImpl;
+import com.shoppr.data.datasource.SnapshotListenerRegistry;
 import com.shoppr.data.datasource.FirestoreUserDataSourceImpl;
 import com.shoppr.domain.datasource.FirebaseAuthDataSource;
 import com.shoppr.domain.datasource.FirebaseFunctionsDataSource;
@@ -18,6 +23,8 @@ import com.shoppr.domain.datasource.FirestorePostDataSource;
 import com.shoppr.domain.datasource.FirestoreRequestDataSource;
 import com.shoppr.domain.datasource.FirestoreUserDataSource;
 
+import java.util.concurrent.Executor;
+
 import javax.inject.Singleton;
 
 import dagger.Module;
@@ -41,20 +48,26 @@ public class DataSourceModule {
 
 	@Provides
 	@Singleton
-	public FirestoreUserDataSource provideFirebaseUserDataSource() {
-		return new FirestoreUserDataSourceImpl(firestore);
+	public FirestoreUserDataSource provideFirebaseUserDataSource(@BackgroundExecutor Executor backgroundExecutor,
+																															 UserDocumentMapper userMapper) {
+		return new FirestoreUserDataSourceImpl(firestore, backgroundExecutor, userMapper);
 	}
 
 	@Provides
 	@Singleton
-	public FirestorePostDataSource provideFirestorePostDataSource() {
-		return new FirestorePostDataSourceImpl(firestore);
+	public FirestorePostDataSource provideFirestorePostDataSource(@BackgroundExecutor Executor backgroundExecutor,
+																																PostDocumentMapper postMapper,
+																																SnapshotListenerRegistry listenerRegistry) {
+		return new FirestorePostDataSourceImpl(firestore, backgroundExecutor, postMapper, listenerRegistry);
 	}
 
 	@Provides
 	@Singleton
-	public FirestoreRequestDataSource provideFirestoreRequestDataSource() {
-		return new FirestoreRequestDataSourceImpl(firestore);
+	public FirestoreRequestDataSource provideFirestoreRequestDataSource(@BackgroundExecutor Executor backgroundExecutor,
+																																			RequestDocumentMapper requestMapper,
+																																			ActivityEntryDocumentMapper activityMapper,
+																																			SnapshotListenerRegistry listenerRegistry) {
+		return new FirestoreRequestDataSourceImpl(firestore, backgroundExecutor, requestMapper, activityMapper, listenerRegistry);
 	}
 
 	@Provides
@@ -0,0 +1,39 @@
+package com.shoppr.data.di;
+
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+
+import javax.inject.Singleton;
+
+import dagger.Module;
+import dagger.Provides;
+import dagger.hilt.InstallIn;
+import dagger.hilt.components.SingletonComponent;
+
+@Module
+@InstallIn(SingletonComponent.class)
+public class ExecutorModule {
+
+	// Single-threaded on purpose: snapshots of one listener must be applied in the order they arrive
+	@Provides
+	@Singleton
+	@BackgroundExecutor
+	public Executor provideBackgroundExecutor() {
+		return Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "firestore-mapping");
+			thread.setPriority(Thread.NORM_PRIORITY - 1);
+			return thread;
+		});
+	}
+
+	@Provides
+	@Singleton
+	@CacheExecutor
+	public Executor provideCacheExecutor() {
+		return Executors.newSingleThreadExecutor(runnable -> {
+			Thread thread = new Thread(runnable, "entity-cache");
+			thread.setPriority(Thread.NORM_PRIORITY - 1);
+			return thread;
+		});
+	}
+}
@@ -1,5 +1,7 @@
 package com.shoppr.data.di;
 
+import com.shoppr.data.cache.LocalEntityCache;
+import com.shoppr.data.datasource.CurrentUserProfileStore;
 import com.shoppr.data.datasource.FirebaseAuthDataSourceImpl;
 import com.shoppr.data.datasource.FirebaseFunctionsDataSourceImpl;
 import com.shoppr.data.datasource.FirebaseStorageDataSourceImpl;
@@ -9,6 +11,8 @@ import com.shoppr.data.datasource.FirestoreRequestDataSourceImpl;
 import com.shoppr.data.datasource.FirestoreTransactionDataSourceImpl;
 import com.shoppr.data.datasource.FirestoreUserDataSourceImpl;
 import com.shoppr.data.repository.AuthenticationRepositoryImpl;
+import com.shoppr.data.repository.CheckoutRepositoryImpl;
+import com.shoppr.data.repository.FavoritesStore;
 import com.shoppr.data.repository.FeedbackRepositoryImpl;
 import com.shoppr.data.repository.LLMRepositoryImpl;
 import com.shoppr.data.repository.PostRepositoryImpl;
@@ -16,6 +20,7 @@ import com.shoppr.data.repository.RequestRepositoryImpl;
 import com.shoppr.data.repository.TransactionRepositoryImpl;
 import com.shoppr.data.repository.UserRepositoryImpl;
 import com.shoppr.domain.repository.AuthenticationRepository;
+import com.shoppr.domain.repository.CheckoutRepository;
 import com.shoppr.domain.repository.FeedbackRepository;
 import com.shoppr.domain.repository.LLMRepository;
 import com.shoppr.domain.repository.PostRepository;
@@ -42,14 +47,18 @@ public class RepositoryModule {
 
 	@Provides
 	@Singleton
-	public UserRepository provideUserRepository(FirestoreUserDataSourceImpl firestoreUserDataSourceImpl, FirebaseAuthDataSourceImpl firebaseAuthDataSourceImpl) {
-		return new UserRepositoryImpl(firestoreUserDataSourceImpl, firebaseAuthDataSourceImpl);
+	public UserRepository provideUserRepository(FirestoreUserDataSourceImpl firestoreUserDataSourceImpl, FirebaseAuthDataSourceImpl firebaseAuthDataSourceImpl,
+																							CurrentUserProfileStore profileStore, FavoritesStore favoritesStore,
+																							LocalEntityCache localCache) {
+		return new UserRepositoryImpl(firestoreUserDataSourceImpl, firebaseAuthDataSourceImpl, profileStore, favoritesStore,
+				localCache);
 	}
 
 	@Provides
 	@Singleton
-	public PostRepository providePostRepository(FirestorePostDataSourceImpl firestoreUserDataSourceImpl, FirebaseStorageDataSourceImpl firebaseStorageDataSourceImpl) {
-		return new PostRepositoryImpl(firestoreUserDataSourceImpl, firebaseStorageDataSourceImpl);
+	public PostRepository providePostRepository(FirestorePostDataSourceImpl firestoreUserDataSourceImpl, FirebaseStorageDataSourceImpl firebaseStorageDataSourceImpl,
+																							LocalEntityCache localCache) {
+		return new PostRepositoryImpl(firestoreUserDataSourceImpl, firebaseStorageDataSourceImpl, localCache);
 	}
 
 	@Provides
@@ -60,8 +69,10 @@ public class RepositoryModule {
 
 	@Provides
 	@Singleton
-	public RequestRepository provideRequestRepository(FirestoreRequestDataSourceImpl firestoreRequestDataSourceImpl) {
-		return new RequestRepositoryImpl(firestoreRequestDataSourceImpl);
+	public RequestRepository provideRequestRepository(FirestoreRequestDataSourceImpl firestoreRequestDataSourceImpl,
+																										FirebaseFunctionsDataSourceImpl firebaseFunctionsDataSourceImpl,
+																										LocalEntityCache localCache) {
+		return new RequestRepositoryImpl(firestoreRequestDataSourceImpl, firebaseFunctionsDataSourceImpl, localCache);
 	}
 
 	@Provides
@@ -70,6 +81,12 @@ public class RepositoryModule {
 		return new TransactionRepositoryImpl(firestoreTransactionDataSourceImpl);
 	}
 
+	@Provides
+	@Singleton
+	public CheckoutRepository provideCheckoutRepository(FirestoreTransactionDataSourceImpl firestoreTransactionDataSourceImpl) {
+		return new CheckoutRepositoryImpl(firestoreTransactionDataSourceImpl);
+	}
+
 	@Provides
 	@Singleton
 	public FeedbackRepository provideFeedbackRepository(FirestoreFeedbackDataSourceImpl firestoreFeedbackDataSourceImpl) {
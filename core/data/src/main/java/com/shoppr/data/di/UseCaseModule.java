@@ -1,15 +1,19 @@
 package com.shoppr.data.di;
 
+import com.shoppr.data.usecase.CompleteCheckoutUseCaseImpl;
 import com.shoppr.data.usecase.CreateTransactionUseCaseImpl;
 import com.shoppr.data.usecase.DeleteOfferUseCaseImpl;
 import com.shoppr.data.usecase.GetAllRequestsUseCaseImpl;
 import com.shoppr.data.usecase.GetCurrentDeviceLocationUseCaseImpl;
 import com.shoppr.data.usecase.GetCurrentUserUseCaseImpl;
+import com.shoppr.data.usecase.GetFavoritePostIdsUseCaseImpl;
 import com.shoppr.data.usecase.GetFavoritePostsUseCaseImpl;
 import com.shoppr.data.usecase.GetLLMSuggestionsUseCaseImpl;
 import com.shoppr.data.usecase.GetMapPostsUseCaseImpl;
 import com.shoppr.data.usecase.GetMyPostsUseCaseImpl;
+import com.shoppr.data.usecase.GetOfferedPostIdsUseCaseImpl;
 import com.shoppr.data.usecase.GetPostByIdUseCaseImpl;
+import com.shoppr.data.usecase.GetRequestActivityUseCaseImpl;
 import com.shoppr.data.usecase.GetRequestByIdUseCaseImpl;
 import com.shoppr.data.usecase.GetRequestForPostUseCaseImpl;
 import com.shoppr.data.usecase.GetUserByIdUseCaseImpl;
@@ -19,19 +23,24 @@ import com.shoppr.data.usecase.MakeOfferUseCaseImpl;
 import com.shoppr.data.usecase.SavePostUseCaseImpl;
 import com.shoppr.data.usecase.SubmitFeedbackUseCaseImpl;
 import com.shoppr.data.usecase.ToggleFavoriteUseCaseImpl;
+import com.shoppr.data.usecase.TransitionRequestUseCaseImpl;
 import com.shoppr.data.usecase.UpdatePostStateUseCaseImpl;
 import com.shoppr.data.usecase.UpdateRequestUseCaseImpl;
 import com.shoppr.data.usecase.UpdateUserDefaultLocationUseCaseImpl;
+import com.shoppr.domain.usecase.CompleteCheckoutUseCase;
 import com.shoppr.domain.usecase.CreateTransactionUseCase;
 import com.shoppr.domain.usecase.DeleteOfferUseCase;
 import com.shoppr.domain.usecase.GetAllRequestsUseCase;
 import com.shoppr.domain.usecase.GetCurrentDeviceLocationUseCase;
 import com.shoppr.domain.usecase.GetCurrentUserUseCase;
+import com.shoppr.domain.usecase.GetFavoritePostIdsUseCase;
 import com.shoppr.domain.usecase.GetFavoritePostsUseCase;
 import com.shoppr.domain.usecase.GetLLMSuggestionsUseCase;
 import com.shoppr.domain.usecase.GetMapPostsUseCase;
 import com.shoppr.domain.usecase.GetMyPostsUseCase;
+import com.shoppr.domain.usecase.GetOfferedPostIdsUseCase;
 import com.shoppr.domain.usecase.GetPostByIdUseCase;
+import com.shoppr.domain.usecase.GetRequestActivityUseCase;
 import com.shoppr.domain.usecase.GetRequestByIdUseCase;
 import com.shoppr.domain.usecase.GetRequestForPostUseCase;
 import com.shoppr.domain.usecase.GetUserByIdUseCase;
@@ -41,6 +50,7 @@ import com.shoppr.domain.usecase.MakeOfferUseCase;
 import com.shoppr.domain.usecase.SavePostUseCase;
 import com.shoppr.domain.usecase.SubmitFeedbackUseCase;
 import com.shoppr.domain.usecase.ToggleFavoriteUseCase;
+import com.shoppr.domain.usecase.TransitionRequestUseCase;
 import com.shoppr.domain.usecase.UpdatePostStateUseCase;
 import com.shoppr.domain.usecase.UpdateRequestUseCase;
 import com.shoppr.domain.usecase.UpdateUserDefaultLocationUseCase;
@@ -117,12 +127,24 @@ public abstract class UseCaseModule {
 	@Binds
 	public abstract GetAllRequestsUseCase bindGetAllRequestsUseCase(GetAllRequestsUseCaseImpl impl);
 
+	@Binds
+	public abstract GetOfferedPostIdsUseCase bindGetOfferedPostIdsUseCase(GetOfferedPostIdsUseCaseImpl impl);
+
+	@Binds
+	public abstract GetFavoritePostIdsUseCase bindGetFavoritePostIdsUseCase(GetFavoritePostIdsUseCaseImpl impl);
+
 	@Binds
 	public abstract GetRequestByIdUseCase bindGetRequestByIdUseCase(GetRequestByIdUseCaseImpl impl);
 
 	@Binds
 	public abstract UpdateRequestUseCase bindUpdateRequestUseCase(UpdateRequestUseCaseImpl impl);
 
+	@Binds
+	public abstract GetRequestActivityUseCase bindGetRequestActivityUseCase(GetRequestActivityUseCaseImpl impl);
+
+	@Binds
+	public abstract TransitionRequestUseCase bindTransitionRequestUseCase(TransitionRequestUseCaseImpl impl);
+
 	@Binds
 	public abstract DeleteOfferUseCase bindDeleteOfferUseCase(DeleteOfferUseCaseImpl impl);
 
@@ -132,6 +154,9 @@ public abstract class UseCaseModule {
 	@Binds
 	public abstract CreateTransactionUseCase bindCreateTransactionUseCase(CreateTransactionUseCaseImpl impl);
 
+	@Binds
+	public abstract CompleteCheckoutUseCase bindCompleteCheckoutUseCase(CompleteCheckoutUseCaseImpl impl);
+
 	@Binds
 	public abstract SubmitFeedbackUseCase bindSubmitFeedbackUseCase(SubmitFeedbackUseCaseImpl impl);
 
@@ -0,0 +1,36 @@
+package com.shoppr.data.repository;
+
+import androidx.annotation.NonNull;
+
+import com.shoppr.domain.datasource.FirestoreTransactionDataSource;
+import com.shoppr.domain.repository.CheckoutRepository;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.Transaction;
+
+import javax.inject.Inject;
+
+public class CheckoutRepositoryImpl implements CheckoutRepository {
+
+	private final FirestoreTransactionDataSource firestoreTransactionDataSource;
+
+	@Inject
+	public CheckoutRepositoryImpl(FirestoreTransactionDataSource firestoreTransactionDataSource) {
+		this.firestoreTransactionDataSource = firestoreTransactionDataSource;
+	}
+
+	@Override
+	public void completeCheckout(@NonNull Transaction transaction, @NonNull ActivityEntry paymentEntry,
+								 @NonNull CheckoutCallbacks callbacks) {
+		firestoreTransactionDataSource.completeCheckout(transaction, paymentEntry, new FirestoreTransactionDataSource.CreateTransactionCallbacks() {
+			@Override
+			public void onSuccess(@NonNull Transaction transaction) {
+				callbacks.onSuccess(transaction);
+			}
+
+			@Override
+			public void onError(@NonNull String message) {
+				callbacks.onError(message);
+			}
+		});
+	}
+}
@@ -0,0 +1,117 @@
+package com.shoppr.data.repository;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * The favorite toggles behind {@link FavoritesStore}: toggles not written yet, coalesced per post,
+ * and written ones the profile doesn't reflect yet. Kept apart from the store's timing and
+ * threading so the coalescing can be tested on its own.
+ */
+final class FavoriteEdits {
+
+	/**
+	 * The net change of the toggles taken by one {@link #flush}.
+	 */
+	static final class Flush {
+		final List<String> added = new ArrayList<>();
+		final List<String> removed = new ArrayList<>();
+		// Desired state per post, as handed to settle once the write is done
+		final Map<String, Boolean> written;
+
+		Flush(@NonNull Map<String, Boolean> written) {
+			this.written = written;
+		}
+
+		boolean isEmpty() {
+			return added.isEmpty() && removed.isEmpty();
+		}
+	}
+
+	// Desired state per post, not yet written
+	private final Map<String, Boolean> pending = new LinkedHashMap<>();
+	// Written, but not yet confirmed by the profile
+	private final Map<String, Boolean> inFlight = new LinkedHashMap<>();
+
+	void toggle(@NonNull String postId, @NonNull List<String> profileIds) {
+		pending.put(postId, !effectiveIds(profileIds).contains(postId));
+	}
+
+	/**
+	 * Takes the pending toggles. Posts toggled back to where they started are left out of the net
+	 * change; if anything is left, the toggles stay applied as in flight until {@link #settle}.
+	 */
+	@NonNull
+	Flush flush(@NonNull List<String> profileIds) {
+		List<String> baseIds = baseIds(profileIds);
+		Flush flush = new Flush(new LinkedHashMap<>(pending));
+		for (Map.Entry<String, Boolean> entry : pending.entrySet()) {
+			// Toggled an even number of times: nothing to write
+			if (entry.getValue() != baseIds.contains(entry.getKey())) {
+				(entry.getValue() ? flush.added : flush.removed).add(entry.getKey());
+			}
+		}
+		pending.clear();
+		if (!flush.isEmpty()) {
+			inFlight.putAll(flush.written);
+		}
+		return flush;
+	}
+
+	// The write has reached the local cache by now, so the profile reflects it if it succeeded
+	// and has reverted it if it failed; either way the overlay can go. A later toggle of the same
+	// post that is in flight itself stays
+	void settle(@NonNull Flush flush) {
+		for (Map.Entry<String, Boolean> entry : flush.written.entrySet()) {
+			if (Objects.equals(inFlight.get(entry.getKey()), entry.getValue())) {
+				inFlight.remove(entry.getKey());
+			}
+		}
+	}
+
+	void discardPending() {
+		pending.clear();
+	}
+
+	/**
+	 * Drops the written toggles, for when they no longer belong to the signed-in user.
+	 */
+	void discardInFlight() {
+		inFlight.clear();
+	}
+
+	/**
+	 * The profile's ids with writes in flight and pending toggles applied.
+	 */
+	@NonNull
+	List<String> effectiveIds(@NonNull List<String> profileIds) {
+		List<String> ids = baseIds(profileIds);
+		apply(ids, pending);
+		return ids;
+	}
+
+	@NonNull
+	private List<String> baseIds(@NonNull List<String> profileIds) {
+		List<String> ids = new ArrayList<>(profileIds);
+		apply(ids, inFlight);
+		return ids;
+	}
+
+	private static void apply(@NonNull List<String> ids, @NonNull Map<String, Boolean> changes) {
+		for (Map.Entry<String, Boolean> change : changes.entrySet()) {
+			if (change.getValue()) {
+				if (!ids.contains(change.getKey())) {
+					ids.add(change.getKey());
+				}
+			} else {
+				ids.removeAll(Collections.singleton(change.getKey()));
+			}
+		}
+	}
+}
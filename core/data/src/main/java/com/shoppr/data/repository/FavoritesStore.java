@@ -0,0 +1,163 @@
+package com.shoppr.data.repository;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+
+import com.shoppr.data.datasource.CurrentUserProfileStore;
+import com.shoppr.domain.datasource.FirestoreUserDataSource;
+import com.shoppr.domain.repository.UserRepository;
+import com.shoppr.model.User;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import javax.inject.Inject;
+import javax.inject.Singleton;
+
+/**
+ * The signed-in user's favorite post ids with optimistic toggling. A toggle shows in
+ * {@link #getFavoritePostIds()} at once and is held for {@link #FLUSH_DELAY_MS}; toggles made in
+ * that window are coalesced per post and only the net change is written, as one batch. If the
+ * write fails the local change is dropped again, which rolls the ids back to the profile's.
+ * <p>
+ * Main thread only.
+ */
+@Singleton
+public class FavoritesStore {
+	static final long FLUSH_DELAY_MS = 500;
+
+	private final FirestoreUserDataSource firestoreUserDataSource;
+	private final CurrentUserProfileStore profileStore;
+	private final Handler mainHandler = new Handler(Looper.getMainLooper());
+	private final Runnable flush = this::flush;
+	private final MediatorLiveData<List<String>> favoritePostIds = new MediatorLiveData<>();
+
+	private final FavoriteEdits edits = new FavoriteEdits();
+	private final List<UserRepository.OperationCallbacks> pendingCallbacks = new ArrayList<>();
+	@Nullable
+	private String pendingUserId;
+	// Whose toggles are in flight; they are dropped when the signed-in user changes
+	@Nullable
+	private String inFlightUserId;
+
+	@Inject
+	public FavoritesStore(FirestoreUserDataSource firestoreUserDataSource, CurrentUserProfileStore profileStore) {
+		this.firestoreUserDataSource = firestoreUserDataSource;
+		this.profileStore = profileStore;
+		favoritePostIds.addSource(profileStore, user -> {
+			String userId = user != null ? user.getId() : null;
+			if (pendingUserId != null && !pendingUserId.equals(userId)) {
+				// Signed out or switched accounts before the flush; those toggles no longer apply
+				discardPending("User not logged in.");
+			}
+			if (inFlightUserId != null && !inFlightUserId.equals(userId)) {
+				// Neither do the ones still being written; they must not show over another profile
+				edits.discardInFlight();
+				inFlightUserId = null;
+			}
+			publish();
+		});
+	}
+
+	/**
+	 * Favorite post ids with unsaved toggles applied; emits only when the ids change.
+	 */
+	@NonNull
+	public LiveData<List<String>> getFavoritePostIds() {
+		return favoritePostIds;
+	}
+
+	public void toggle(@NonNull String postId, @NonNull UserRepository.OperationCallbacks callbacks) {
+		User user = profileStore.getValue();
+		if (user == null || user.getId() == null) {
+			callbacks.onError("User not logged in.");
+			return;
+		}
+		pendingUserId = user.getId();
+		edits.toggle(postId, profileIds());
+		pendingCallbacks.add(callbacks);
+		publish();
+
+		mainHandler.removeCallbacks(flush);
+		mainHandler.postDelayed(flush, FLUSH_DELAY_MS);
+	}
+
+	private void flush() {
+		String userId = pendingUserId;
+		List<UserRepository.OperationCallbacks> callbacks = new ArrayList<>(pendingCallbacks);
+		FavoriteEdits.Flush changes = edits.flush(profileIds());
+		pendingCallbacks.clear();
+		pendingUserId = null;
+
+		if (userId == null || changes.isEmpty()) {
+			publish();
+			for (UserRepository.OperationCallbacks callback : callbacks) {
+				callback.onSuccess();
+			}
+			return;
+		}
+
+		inFlightUserId = userId;
+		publish();
+		firestoreUserDataSource.updateUserFavorites(userId, changes.added, changes.removed, new FirestoreUserDataSource.OperationCallbacks() {
+			@Override
+			public void onSuccess() {
+				settle(userId, changes);
+				for (UserRepository.OperationCallbacks callback : callbacks) {
+					callback.onSuccess();
+				}
+			}
+
+			@Override
+			public void onError(@NonNull String message) {
+				settle(userId, changes);
+				for (UserRepository.OperationCallbacks callback : callbacks) {
+					callback.onError(message);
+				}
+			}
+		});
+	}
+
+	private void settle(@NonNull String userId, @NonNull FavoriteEdits.Flush changes) {
+		// After a user change the toggles were cleared already
+		if (userId.equals(inFlightUserId)) {
+			edits.settle(changes);
+			publish();
+		}
+	}
+
+	private void discardPending(@NonNull String message) {
+		mainHandler.removeCallbacks(flush);
+		List<UserRepository.OperationCallbacks> callbacks = new ArrayList<>(pendingCallbacks);
+		edits.discardPending();
+		pendingCallbacks.clear();
+		pendingUserId = null;
+		for (UserRepository.OperationCallbacks callback : callbacks) {
+			callback.onError(message);
+		}
+	}
+
+	private void publish() {
+		List<String> ids = effectiveIds();
+		if (!ids.equals(favoritePostIds.getValue())) {
+			favoritePostIds.setValue(ids);
+		}
+	}
+
+	@NonNull
+	private List<String> effectiveIds() {
+		return edits.effectiveIds(profileIds());
+	}
+
+	@NonNull
+	private List<String> profileIds() {
+		User user = profileStore.getValue();
+		return user != null && user.getFavoritePosts() != null ? user.getFavoritePosts() : Collections.<String>emptyList();
+	}
+}
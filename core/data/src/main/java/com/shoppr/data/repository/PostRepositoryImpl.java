@@ -6,12 +6,20 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.data.cache.CachedPagedListing;
+import com.shoppr.data.cache.LocalEntityCache;
+import com.shoppr.data.cache.StaleWhileRevalidateLiveData;
 import com.shoppr.domain.datasource.FirebaseStorageDataSource;
 import com.shoppr.domain.datasource.FirestorePostDataSource;
+import com.shoppr.domain.paging.PagedListing;
 import com.shoppr.domain.repository.PostRepository;
+import com.shoppr.model.ChangeSet;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.ListingState;
 import com.shoppr.model.Post;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import javax.inject.Inject;
@@ -22,29 +30,75 @@ public class PostRepositoryImpl implements PostRepository {
 
 	private final FirestorePostDataSource firestorePostDataSource;
 	private final FirebaseStorageDataSource firebaseStorageDataSource;
+	private final LocalEntityCache localCache;
 
 	@Inject
 	public PostRepositoryImpl(
 			FirestorePostDataSource firestorePostDataSource,
-			FirebaseStorageDataSource firebaseStorageDataSource
+			FirebaseStorageDataSource firebaseStorageDataSource,
+			LocalEntityCache localCache
 	) {
 		this.firestorePostDataSource = firestorePostDataSource;
 		this.firebaseStorageDataSource = firebaseStorageDataSource;
+		this.localCache = localCache;
 	}
 
+	// Reads below serve cached rows first and replace them once the server answers
+
 	@Override
 	public LiveData<List<Post>> getFeedPosts(@Nullable String currentUserIdToExclude) {
-		return firestorePostDataSource.getFeedPosts(currentUserIdToExclude);
+		return new StaleWhileRevalidateLiveData<>(
+				firestorePostDataSource.getFeedPosts(currentUserIdToExclude),
+				callback -> localCache.loadFeedPosts(currentUserIdToExclude, callback),
+				posts -> localCache.storeFeedPosts(currentUserIdToExclude, posts));
+	}
+
+	@Override
+	public LiveData<ChangeSet<Post>> getFeedPostsInBounds(@Nullable String currentUserIdToExclude, @NonNull GeoBounds bounds) {
+		return new StaleWhileRevalidateLiveData<>(
+				firestorePostDataSource.getFeedPostsInBounds(currentUserIdToExclude, bounds),
+				callback -> localCache.loadFeedPostsInBounds(currentUserIdToExclude, bounds,
+						posts -> callback.onLoaded(posts != null ? ChangeSet.fullReload(posts) : null)),
+				changeSet -> localCache.storePosts(changedPosts(changeSet)));
 	}
 
 	@Override
 	public LiveData<List<Post>> getPostsForUser(@NonNull String userId) {
-		return firestorePostDataSource.getPostsForUser(userId);
+		return new StaleWhileRevalidateLiveData<>(
+				firestorePostDataSource.getPostsForUser(userId),
+				callback -> localCache.loadPostsForLister(userId, Integer.MAX_VALUE, callback),
+				posts -> localCache.storePostsForLister(userId, posts, true));
+	}
+
+	@Override
+	public PagedListing<Post> getPostsForUserPaged(@NonNull String userId, int pageSize) {
+		return new CachedPagedListing<>(
+				firestorePostDataSource.getPostsForUserPaged(userId, pageSize),
+				callback -> localCache.loadPostsForLister(userId, pageSize, callback),
+				posts -> localCache.storePostsForLister(userId, posts, false));
 	}
 
 	@Override
 	public LiveData<List<Post>> getPostsByIds(@NonNull List<String> postIds) {
-		return firestorePostDataSource.getPostsByIds(postIds);
+		return new StaleWhileRevalidateLiveData<>(
+				firestorePostDataSource.getPostsByIds(postIds),
+				callback -> localCache.loadPostsByIds(postIds, callback),
+				localCache::storePosts);
+	}
+
+	@Override
+	public LiveData<List<Post>> getPostsByIds(@NonNull LiveData<List<String>> postIds) {
+		return new StaleWhileRevalidateLiveData<>(
+				firestorePostDataSource.getPostsByIds(postIds),
+				callback -> {
+					List<String> ids = postIds.getValue();
+					if (ids == null || ids.isEmpty()) {
+						callback.onLoaded(null);
+					} else {
+						localCache.loadPostsByIds(ids, callback);
+					}
+				},
+				localCache::storePosts);
 	}
 
 	@Override
@@ -52,16 +106,25 @@ public class PostRepositoryImpl implements PostRepository {
 		firestorePostDataSource.getPostById(postId, new FirestorePostDataSource.PostOperationCallbacks() {
 			@Override
 			public void onSuccess(@NonNull Post post) {
+				localCache.storePosts(Collections.singletonList(post));
 				callbacks.onSuccess(post);
 			}
 
 			@Override
 			public void onError(@NonNull String message) {
-				callbacks.onError(message);
+				// Offline: fall back to the cached copy if there is one
+				localCache.loadPost(postId, cached -> {
+					if (cached != null) {
+						callbacks.onSuccess(cached);
+					} else {
+						callbacks.onError(message);
+					}
+				});
 			}
 
 			@Override
 			public void onNotFound() {
+				localCache.removePost(postId);
 				callbacks.onNotFound();
 			}
 		});
@@ -112,4 +175,19 @@ public class PostRepositoryImpl implements PostRepository {
 			}
 		});
 	}
-}
\ No newline at end of file
+
+	// Posts a change set inserted or updated; removals are left to eviction
+	private static List<Post> changedPosts(ChangeSet<Post> changeSet) {
+		List<Post> items = changeSet.getItems();
+		if (changeSet.isFullReload()) {
+			return items;
+		}
+		List<Post> changed = new ArrayList<>();
+		for (ChangeSet.Change change : changeSet.getChanges()) {
+			if (change.type != ChangeSet.Type.REMOVED && change.toIndex < items.size()) {
+				changed.add(items.get(change.toIndex));
+			}
+		}
+		return changed;
+	}
+}
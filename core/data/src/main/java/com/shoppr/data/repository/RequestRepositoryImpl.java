@@ -4,9 +4,17 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.data.cache.CachedPagedListing;
+import com.shoppr.data.cache.LocalEntityCache;
+import com.shoppr.data.cache.StaleWhileRevalidateLiveData;
+import com.shoppr.domain.datasource.FirebaseFunctionsDataSource;
 import com.shoppr.domain.datasource.FirestoreRequestDataSource;
+import com.shoppr.domain.paging.PagedListing;
 import com.shoppr.domain.repository.RequestRepository;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.NegotiationAction;
 import com.shoppr.model.Request;
+import com.shoppr.model.RequestStatus;
 
 import java.util.List;
 
@@ -17,10 +25,15 @@ import javax.inject.Singleton;
 public class RequestRepositoryImpl implements RequestRepository {
 
 	private final FirestoreRequestDataSource firestoreRequestDataSource;
+	private final FirebaseFunctionsDataSource functionsDataSource;
+	private final LocalEntityCache localCache;
 
 	@Inject
-	public RequestRepositoryImpl(FirestoreRequestDataSource firestoreRequestDataSource) {
+	public RequestRepositoryImpl(FirestoreRequestDataSource firestoreRequestDataSource,
+								 FirebaseFunctionsDataSource functionsDataSource, LocalEntityCache localCache) {
 		this.firestoreRequestDataSource = firestoreRequestDataSource;
+		this.functionsDataSource = functionsDataSource;
+		this.localCache = localCache;
 	}
 
 	@Override
@@ -43,6 +56,9 @@ public class RequestRepositoryImpl implements RequestRepository {
 		firestoreRequestDataSource.deleteRequest(request, new FirestoreRequestDataSource.RequestDeleteCallbacks() {
 			@Override
 			public void onSuccess() {
+				if (request.getId() != null) {
+					localCache.removeRequest(request.getId());
+				}
 				callbacks.onSuccess();
 			}
 
@@ -68,19 +84,81 @@ public class RequestRepositoryImpl implements RequestRepository {
 		});
 	}
 
+	@Override
+	public void updateRequestFields(@NonNull String requestId, @Nullable RequestStatus status, @Nullable Double offerAmount,
+									@Nullable String message, @NonNull ActivityEntry entry, @NonNull RequestUpdateCallbacks callbacks) {
+		firestoreRequestDataSource.updateRequestFields(requestId, status, offerAmount, message, entry,
+				new FirestoreRequestDataSource.RequestUpdateCallbacks() {
+					@Override
+					public void onSuccess() {
+						callbacks.onSuccess();
+					}
+
+					@Override
+					public void onError(@NonNull String message) {
+						callbacks.onError(message);
+					}
+				});
+	}
+
+	@Override
+	public void transitionRequest(@NonNull String requestId, @NonNull RequestStatus expectedStatus, @NonNull NegotiationAction action,
+								  @Nullable Double offerAmount, @NonNull RequestTransitionCallbacks callbacks) {
+		functionsDataSource.transitionRequest(requestId, expectedStatus, action, offerAmount,
+				new FirebaseFunctionsDataSource.TransitionCallbacks() {
+					@Override
+					public void onSuccess(@NonNull RequestStatus newStatus) {
+						callbacks.onSuccess(newStatus);
+					}
+
+					@Override
+					public void onError(@NonNull String message) {
+						callbacks.onError(message);
+					}
+				});
+	}
+
 	@Override
 	public LiveData<List<Request>> getRequestsForPost(@NonNull String postId) {
-		return firestoreRequestDataSource.getRequestsForPost(postId);
+		return new StaleWhileRevalidateLiveData<>(
+				firestoreRequestDataSource.getRequestsForPost(postId),
+				callback -> localCache.loadRequestsForPost(postId, callback),
+				requests -> localCache.storeRequestsForPost(postId, requests));
 	}
 
 	@Override
 	public LiveData<List<Request>> getAllRequestsForUser(@NonNull String userId) {
-		return firestoreRequestDataSource.getAllRequestsForUser(userId);
+		return new StaleWhileRevalidateLiveData<>(
+				firestoreRequestDataSource.getAllRequestsForUser(userId),
+				callback -> localCache.loadRequestsForUser(userId, Integer.MAX_VALUE, callback),
+				requests -> localCache.storeRequestsForUser(userId, requests, true));
+	}
+
+	@Override
+	public LiveData<List<String>> getOfferedPostIds(@NonNull String buyerId) {
+		return firestoreRequestDataSource.getOfferedPostIds(buyerId);
+	}
+
+	@Override
+	public PagedListing<Request> getAllRequestsForUserPaged(@NonNull String userId, int pageSize) {
+		return new CachedPagedListing<>(
+				firestoreRequestDataSource.getAllRequestsForUserPaged(userId, pageSize),
+				callback -> localCache.loadRequestsForUser(userId, pageSize, callback),
+				requests -> localCache.storeRequestsForUser(userId, requests, false));
 	}
 
 	@Override
 	public LiveData<Request> getRequestById(@NonNull String requestId) {
-		return firestoreRequestDataSource.getRequestById(requestId);
+		return new StaleWhileRevalidateLiveData<>(
+				firestoreRequestDataSource.getRequestById(requestId),
+				callback -> localCache.loadRequest(requestId, callback),
+				localCache::storeRequest,
+				() -> localCache.removeRequest(requestId));
+	}
+
+	@Override
+	public PagedListing<ActivityEntry> getRequestActivityPaged(@NonNull String requestId, int pageSize) {
+		return firestoreRequestDataSource.getRequestActivityPaged(requestId, pageSize);
 	}
 
 	@Override
@@ -1,15 +1,11 @@
 package com.shoppr.data.repository;
 
-import android.util.Log;
-
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
-import androidx.lifecycle.Transformations;
 
-import com.google.firebase.firestore.FirebaseFirestore;
-import com.google.firebase.firestore.ListenerRegistration;
+import com.shoppr.data.cache.LocalEntityCache;
+import com.shoppr.data.datasource.CurrentUserProfileStore;
 import com.shoppr.domain.datasource.FirebaseAuthDataSource;
 import com.shoppr.domain.datasource.FirestoreUserDataSource;
 import com.shoppr.domain.repository.UserRepository;
@@ -22,51 +18,25 @@ import javax.inject.Singleton;
 
 @Singleton
 public class UserRepositoryImpl implements UserRepository {
-	private static final String TAG = "UserRepositoryImpl";
-
 	private final FirestoreUserDataSource firestoreUserDataSource;
 	private final FirebaseAuthDataSource firebaseAuthDataSource;
+	private final LocalEntityCache localCache;
 	private final LiveData<User> fullUserProfile;
-	private ListenerRegistration userProfileListenerRegistration;
+	private final FavoritesStore favoritesStore;
 
 	@Inject
 	public UserRepositoryImpl(
 			FirestoreUserDataSource firestoreUserDataSource,
-			FirebaseAuthDataSource firebaseAuthDataSource
+			FirebaseAuthDataSource firebaseAuthDataSource,
+			CurrentUserProfileStore profileStore,
+			FavoritesStore favoritesStore,
+			LocalEntityCache localCache
 	) {
 		this.firestoreUserDataSource = firestoreUserDataSource;
 		this.firebaseAuthDataSource = firebaseAuthDataSource;
-
-		this.fullUserProfile = Transformations.switchMap(firebaseAuthDataSource.getDomainUserAuthStateLiveData(), authUser -> {
-			if (userProfileListenerRegistration != null) {
-				userProfileListenerRegistration.remove();
-			}
-
-			if (authUser == null || authUser.getId() == null) {
-				return new MutableLiveData<>(null);
-			}
-
-			MutableLiveData<User> firestoreUserLiveData = new MutableLiveData<>();
-			userProfileListenerRegistration = FirebaseFirestore.getInstance().collection("users").document(authUser.getId())
-					.addSnapshotListener((snapshot, e) -> {
-						if (e != null) {
-							Log.e(TAG, "Error listening to user profile", e);
-							firestoreUserLiveData.postValue(null);
-							return;
-						}
-
-						if (snapshot != null && snapshot.exists()) {
-							User user = snapshot.toObject(User.class);
-							if (user != null) {
-								user.setId(snapshot.getId());
-							}
-							firestoreUserLiveData.postValue(user);
-						} else {
-							firestoreUserLiveData.postValue(authUser);
-						}
-					});
-			return firestoreUserLiveData;
-		});
+		this.localCache = localCache;
+		this.fullUserProfile = profileStore;
+		this.favoritesStore = favoritesStore;
 	}
 
 	@Override
@@ -74,6 +44,11 @@ public class UserRepositoryImpl implements UserRepository {
 		return fullUserProfile;
 	}
 
+	@Override
+	public LiveData<List<String>> getFavoritePostIds() {
+		return favoritesStore.getFavoritePostIds();
+	}
+
 	@Override
 	public void getOrCreateUserProfile(
 			@NonNull String uid,
@@ -102,11 +77,8 @@ public class UserRepositoryImpl implements UserRepository {
 
 	@Override
 	public void stopObservingUserProfile() {
+		// Only releases this caller's hold; the profile stream itself lives as long as it is observed
 		firebaseAuthDataSource.stopObserving();
-		if (userProfileListenerRegistration != null) {
-			userProfileListenerRegistration.remove();
-			userProfileListenerRegistration = null;
-		}
 	}
 
 	@Override
@@ -137,26 +109,7 @@ public class UserRepositoryImpl implements UserRepository {
 
 	@Override
 	public void toggleFavoriteStatus(@NonNull String postId, @NonNull OperationCallbacks callbacks) {
-		User currentUser = fullUserProfile.getValue();
-		if (currentUser == null || currentUser.getId() == null) {
-			callbacks.onError("User not logged in.");
-			return;
-		}
-
-		List<String> favorites = currentUser.getFavoritePosts();
-		boolean shouldAdd = favorites == null || !favorites.contains(postId);
-
-		firestoreUserDataSource.updateUserFavorites(currentUser.getId(), postId, shouldAdd, new FirestoreUserDataSource.OperationCallbacks() {
-			@Override
-			public void onSuccess() {
-				callbacks.onSuccess();
-			}
-
-			@Override
-			public void onError(@NonNull String message) {
-				callbacks.onError(message);
-			}
-		});
+		favoritesStore.toggle(postId, callbacks);
 	}
 
 	@Override
@@ -164,12 +117,26 @@ public class UserRepositoryImpl implements UserRepository {
 		firestoreUserDataSource.getUserById(userId, new FirestoreUserDataSource.GetUserByIdCallbacks() {
 			@Override
 			public void onSuccess(@Nullable User user) {
+				if (user != null) {
+					localCache.storeUser(user);
+				}
 				callbacks.onSuccess(user);
 			}
 
 			@Override
 			public void onError(@NonNull String message) {
-				callbacks.onError(message);
+				if (userId == null) {
+					callbacks.onError(message);
+					return;
+				}
+				// Offline: fall back to the cached copy if there is one
+				localCache.loadUser(userId, cached -> {
+					if (cached != null) {
+						callbacks.onSuccess(cached);
+					} else {
+						callbacks.onError(message);
+					}
+				});
 			}
 		});
 	}
@@ -0,0 +1,35 @@
+package com.shoppr.data.usecase;
+
+import androidx.annotation.NonNull;
+
+import com.shoppr.domain.repository.CheckoutRepository;
+import com.shoppr.domain.usecase.CompleteCheckoutUseCase;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.Transaction;
+
+import javax.inject.Inject;
+
+public class CompleteCheckoutUseCaseImpl implements CompleteCheckoutUseCase {
+
+	private final CheckoutRepository checkoutRepository;
+
+	@Inject
+	public CompleteCheckoutUseCaseImpl(CheckoutRepository checkoutRepository) {
+		this.checkoutRepository = checkoutRepository;
+	}
+
+	@Override
+	public void execute(@NonNull Transaction transaction, @NonNull ActivityEntry paymentEntry, @NonNull CompleteCheckoutCallbacks callbacks) {
+		checkoutRepository.completeCheckout(transaction, paymentEntry, new CheckoutRepository.CheckoutCallbacks() {
+			@Override
+			public void onSuccess(@NonNull Transaction transaction) {
+				callbacks.onSuccess(transaction);
+			}
+
+			@Override
+			public void onError(@NonNull String message) {
+				callbacks.onError(message);
+			}
+		});
+	}
+}
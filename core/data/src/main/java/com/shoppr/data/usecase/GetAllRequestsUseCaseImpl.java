@@ -2,9 +2,12 @@ package com.shoppr.data.usecase;
 
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.domain.repository.PostRepository;
 import com.shoppr.domain.repository.RequestRepository;
 import com.shoppr.domain.usecase.GetAllRequestsUseCase;
 import com.shoppr.model.Request;
+import com.shoppr.model.RequestWithPost;
 
 import java.util.List;
 
@@ -12,15 +15,46 @@ import javax.inject.Inject;
 
 public class GetAllRequestsUseCaseImpl implements GetAllRequestsUseCase {
 
+	private static final int PAGE_SIZE = 20;
+
 	private final RequestRepository requestRepository;
+	private final PostRepository postRepository;
 
 	@Inject
-	public GetAllRequestsUseCaseImpl(RequestRepository requestRepository) {
+	public GetAllRequestsUseCaseImpl(RequestRepository requestRepository, PostRepository postRepository) {
 		this.requestRepository = requestRepository;
+		this.postRepository = postRepository;
 	}
 
 	@Override
-	public LiveData<List<Request>> execute(String userId) {
-		return requestRepository.getAllRequestsForUser(userId);
+	public PagedListing<RequestWithPost> execute(String userId) {
+		PagedListing<Request> requests = requestRepository.getAllRequestsForUserPaged(userId, PAGE_SIZE);
+		LiveData<List<RequestWithPost>> joined = new RequestPostJoinLiveData(requests.getItems(), postRepository);
+		return new PagedListing<RequestWithPost>() {
+			@Override
+			public LiveData<List<RequestWithPost>> getItems() {
+				return joined;
+			}
+
+			@Override
+			public LiveData<Boolean> isLoading() {
+				return requests.isLoading();
+			}
+
+			@Override
+			public LiveData<Boolean> hasMore() {
+				return requests.hasMore();
+			}
+
+			@Override
+			public void loadNextPage() {
+				requests.loadNextPage();
+			}
+
+			@Override
+			public void refresh() {
+				requests.refresh();
+			}
+		};
 	}
-}
\ No newline at end of file
+}
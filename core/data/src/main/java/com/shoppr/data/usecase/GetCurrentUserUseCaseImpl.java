@@ -11,6 +11,9 @@ import javax.inject.Inject;
 public class GetCurrentUserUseCaseImpl implements GetCurrentUserUseCase {
 
 	private final UserRepository userRepository;
+	// Each view model gets its own instance, so this is that view model's hold on the shared
+	// stream; repeated starts or stops (e.g. onStop followed by onCleared) don't unbalance it
+	private boolean observing = false;
 
     @Inject
 		public GetCurrentUserUseCaseImpl(UserRepository userRepository) {
@@ -24,11 +27,17 @@ public class GetCurrentUserUseCaseImpl implements GetCurrentUserUseCase {
 
     @Override
     public void startObserving() {
-			userRepository.startObservingUserProfile();
+			if (!observing) {
+				observing = true;
+				userRepository.startObservingUserProfile();
+			}
     }
 
     @Override
     public void stopObserving() {
-			userRepository.stopObservingUserProfile();
+			if (observing) {
+				observing = false;
+				userRepository.stopObservingUserProfile();
+			}
     }
 }
\ No newline at end of file
@@ -0,0 +1,25 @@
+package com.shoppr.data.usecase;
+
+import androidx.lifecycle.LiveData;
+
+import com.shoppr.domain.repository.UserRepository;
+import com.shoppr.domain.usecase.GetFavoritePostIdsUseCase;
+
+import java.util.List;
+
+import javax.inject.Inject;
+
+public class GetFavoritePostIdsUseCaseImpl implements GetFavoritePostIdsUseCase {
+
+	private final UserRepository userRepository;
+
+	@Inject
+	public GetFavoritePostIdsUseCaseImpl(UserRepository userRepository) {
+		this.userRepository = userRepository;
+	}
+
+	@Override
+	public LiveData<List<String>> execute() {
+		return userRepository.getFavoritePostIds();
+	}
+}
@@ -1,46 +1,37 @@
 package com.shoppr.data.usecase; // Or your implementation package
 
 import androidx.lifecycle.LiveData;
-import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.Transformations;
 
 import com.shoppr.domain.repository.PostRepository;
-import com.shoppr.domain.usecase.GetCurrentUserUseCase;
+import com.shoppr.domain.usecase.GetFavoritePostIdsUseCase;
 import com.shoppr.domain.usecase.GetFavoritePostsUseCase;
 import com.shoppr.model.Post;
 
-import java.util.Collections;
 import java.util.List;
 
 import javax.inject.Inject;
 
 public class GetFavoritePostsUseCaseImpl implements GetFavoritePostsUseCase {
 
-	private final GetCurrentUserUseCase getCurrentUserUseCase;
+	private final GetFavoritePostIdsUseCase getFavoritePostIdsUseCase;
 	private final PostRepository postRepository;
 
 	@Inject
 	public GetFavoritePostsUseCaseImpl(
-			GetCurrentUserUseCase getCurrentUserUseCase,
+			GetFavoritePostIdsUseCase getFavoritePostIdsUseCase,
 			PostRepository postRepository
 	) {
-		this.getCurrentUserUseCase = getCurrentUserUseCase;
+		this.getFavoritePostIdsUseCase = getFavoritePostIdsUseCase;
 		this.postRepository = postRepository;
 	}
 
 	@Override
 	public LiveData<List<Post>> execute() {
-		// This is a powerful pattern. We observe the user's profile.
-		// Whenever it changes, we start a new query to get their favorite posts.
-		return Transformations.switchMap(getCurrentUserUseCase.getFullUserProfile(), user -> {
-			if (user == null || user.getFavoritePosts() == null || user.getFavoritePosts().isEmpty()) {
-				// If there's no user or they have no favorites, return an empty list.
-				MutableLiveData<List<Post>> emptyResult = new MutableLiveData<>();
-				emptyResult.setValue(Collections.emptyList());
-				return emptyResult;
-			}
-			// If they have favorites, ask the PostRepository to fetch them.
-			return postRepository.getPostsByIds(user.getFavoritePosts());
-		});
+		// Reads the optimistic ids, so an unfavorited post leaves the list before the write lands;
+		// changes only re-query the affected ids
+		LiveData<List<String>> favoritePostIds = Transformations.distinctUntilChanged(
+				getFavoritePostIdsUseCase.execute());
+		return postRepository.getPostsByIds(favoritePostIds);
 	}
-}
\ No newline at end of file
+}
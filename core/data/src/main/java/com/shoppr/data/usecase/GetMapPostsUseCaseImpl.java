@@ -1,9 +1,12 @@
 package com.shoppr.data.usecase;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 
 import com.shoppr.domain.repository.PostRepository;
 import com.shoppr.domain.usecase.GetMapPostsUseCase;
+import com.shoppr.model.ChangeSet;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.Post;
 
 import java.util.List;
@@ -23,4 +26,9 @@ public class GetMapPostsUseCaseImpl implements GetMapPostsUseCase {
 	public LiveData<List<Post>> execute(String currentUserIdToExclude) {
 		return postRepository.getFeedPosts(currentUserIdToExclude);
 	}
+
+	@Override
+	public LiveData<ChangeSet<Post>> execute(String currentUserIdToExclude, @NonNull GeoBounds visibleBounds) {
+		return postRepository.getFeedPostsInBounds(currentUserIdToExclude, visibleBounds);
+	}
 }
\ No newline at end of file
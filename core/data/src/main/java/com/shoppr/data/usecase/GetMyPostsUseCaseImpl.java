@@ -1,17 +1,16 @@
 package com.shoppr.data.usecase;
 
-import androidx.lifecycle.LiveData;
-
+import com.shoppr.domain.paging.PagedListing;
 import com.shoppr.domain.repository.PostRepository;
 import com.shoppr.domain.usecase.GetMyPostsUseCase;
 import com.shoppr.model.Post;
 
-import java.util.List;
-
 import javax.inject.Inject;
 
 public class GetMyPostsUseCaseImpl implements GetMyPostsUseCase {
 
+    private static final int PAGE_SIZE = 20;
+
     private final PostRepository postRepository;
 
     @Inject
@@ -20,7 +19,7 @@ public class GetMyPostsUseCaseImpl implements GetMyPostsUseCase {
     }
 
     @Override
-		public LiveData<List<Post>> execute(String userId) {
-			return postRepository.getPostsForUser(userId);
+		public PagedListing<Post> execute(String userId) {
+			return postRepository.getPostsForUserPaged(userId, PAGE_SIZE);
     }
 }
\ No newline at end of file
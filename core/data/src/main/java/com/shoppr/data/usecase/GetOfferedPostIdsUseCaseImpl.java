@@ -0,0 +1,38 @@
+package com.shoppr.data.usecase;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+import androidx.lifecycle.Transformations;
+
+import com.shoppr.domain.repository.RequestRepository;
+import com.shoppr.domain.usecase.GetCurrentUserUseCase;
+import com.shoppr.domain.usecase.GetOfferedPostIdsUseCase;
+
+import java.util.Collections;
+import java.util.List;
+
+import javax.inject.Inject;
+
+public class GetOfferedPostIdsUseCaseImpl implements GetOfferedPostIdsUseCase {
+
+	private final GetCurrentUserUseCase getCurrentUserUseCase;
+	private final RequestRepository requestRepository;
+
+	@Inject
+	public GetOfferedPostIdsUseCaseImpl(GetCurrentUserUseCase getCurrentUserUseCase, RequestRepository requestRepository) {
+		this.getCurrentUserUseCase = getCurrentUserUseCase;
+		this.requestRepository = requestRepository;
+	}
+
+	@Override
+	public LiveData<List<String>> execute() {
+		LiveData<String> userId = Transformations.distinctUntilChanged(
+				Transformations.map(getCurrentUserUseCase.getFullUserProfile(), user -> user != null ? user.getId() : null));
+		return Transformations.switchMap(userId, id -> {
+			if (id == null) {
+				return new MutableLiveData<>(Collections.emptyList());
+			}
+			return requestRepository.getOfferedPostIds(id);
+		});
+	}
+}
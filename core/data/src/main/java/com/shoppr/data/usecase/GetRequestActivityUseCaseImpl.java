@@ -0,0 +1,27 @@
+package com.shoppr.data.usecase;
+
+import androidx.annotation.NonNull;
+
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.domain.repository.RequestRepository;
+import com.shoppr.domain.usecase.GetRequestActivityUseCase;
+import com.shoppr.model.ActivityEntry;
+
+import javax.inject.Inject;
+
+public class GetRequestActivityUseCaseImpl implements GetRequestActivityUseCase {
+
+	private static final int PAGE_SIZE = 20;
+
+	private final RequestRepository requestRepository;
+
+	@Inject
+	public GetRequestActivityUseCaseImpl(RequestRepository requestRepository) {
+		this.requestRepository = requestRepository;
+	}
+
+	@Override
+	public PagedListing<ActivityEntry> execute(@NonNull String requestId) {
+		return requestRepository.getRequestActivityPaged(requestId, PAGE_SIZE);
+	}
+}
@@ -0,0 +1,80 @@
+package com.shoppr.data.usecase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MediatorLiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.shoppr.domain.repository.PostRepository;
+import com.shoppr.model.Post;
+import com.shoppr.model.PostSummary;
+import com.shoppr.model.Request;
+import com.shoppr.model.RequestWithPost;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Joins a list of requests with their posts. Requests that carry a post summary are joined with it
+ * directly. For the others, the distinct post ids go to
+ * {@link PostRepository#getPostsByIds(LiveData)}, which looks them up in chunked queries that stay
+ * in place as the list grows, instead of one read per request. Rows keep the order of the
+ * requests; a post that doesn't exist gives a row without a post.
+ */
+class RequestPostJoinLiveData extends MediatorLiveData<List<RequestWithPost>> {
+
+	private final MutableLiveData<List<String>> postIds = new MutableLiveData<>();
+	@Nullable
+	private List<Request> requests;
+	@Nullable
+	private List<Post> posts;
+
+	RequestPostJoinLiveData(@NonNull LiveData<List<Request>> requestsSource, @NonNull PostRepository postRepository) {
+		addSource(requestsSource, this::onRequestsChanged);
+		// Each emission answers the ids most recently set, since the lookup re-syncs on every change
+		addSource(postRepository.getPostsByIds(postIds), found -> {
+			if (found == null) {
+				return;
+			}
+			posts = found;
+			publish();
+		});
+	}
+
+	private void onRequestsChanged(@Nullable List<Request> newRequests) {
+		requests = newRequests != null ? newRequests : new ArrayList<>();
+		LinkedHashSet<String> ids = new LinkedHashSet<>();
+		for (Request request : requests) {
+			if (request.getPostId() != null && request.getPostSummary() == null) {
+				ids.add(request.getPostId());
+			}
+		}
+		List<String> idList = new ArrayList<>(ids);
+		if (posts != null && idList.equals(postIds.getValue())) {
+			publish();
+		} else {
+			postIds.setValue(idList);
+		}
+	}
+
+	private void publish() {
+		if (requests == null || posts == null) {
+			return;
+		}
+		Map<String, Post> byId = new HashMap<>();
+		for (Post post : posts) {
+			byId.put(post.getId(), post);
+		}
+		List<RequestWithPost> rows = new ArrayList<>(requests.size());
+		for (Request request : requests) {
+			PostSummary summary = request.getPostSummary();
+			Post post = summary != null ? summary.toPost(request.getPostId()) : byId.get(request.getPostId());
+			rows.add(new RequestWithPost(request, post));
+		}
+		setValue(rows);
+	}
+}
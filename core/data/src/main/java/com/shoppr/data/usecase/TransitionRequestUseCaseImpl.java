@@ -0,0 +1,37 @@
+package com.shoppr.data.usecase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.shoppr.domain.repository.RequestRepository;
+import com.shoppr.domain.usecase.TransitionRequestUseCase;
+import com.shoppr.model.NegotiationAction;
+import com.shoppr.model.RequestStatus;
+
+import javax.inject.Inject;
+
+public class TransitionRequestUseCaseImpl implements TransitionRequestUseCase {
+
+	private final RequestRepository requestRepository;
+
+	@Inject
+	public TransitionRequestUseCaseImpl(RequestRepository requestRepository) {
+		this.requestRepository = requestRepository;
+	}
+
+	@Override
+	public void execute(@NonNull String requestId, @NonNull RequestStatus expectedStatus, @NonNull NegotiationAction action,
+						@Nullable Double offerAmount, @NonNull TransitionRequestCallbacks callbacks) {
+		requestRepository.transitionRequest(requestId, expectedStatus, action, offerAmount, new RequestRepository.RequestTransitionCallbacks() {
+			@Override
+			public void onSuccess(@NonNull RequestStatus newStatus) {
+				callbacks.onSuccess(newStatus);
+			}
+
+			@Override
+			public void onError(@NonNull String message) {
+				callbacks.onError(message);
+			}
+		});
+	}
+}
@@ -1,10 +1,12 @@
 package com.shoppr.data.usecase;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
 import com.shoppr.domain.repository.RequestRepository;
 import com.shoppr.domain.usecase.UpdateRequestUseCase;
-import com.shoppr.model.Request;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.RequestStatus;
 
 import javax.inject.Inject;
 
@@ -18,8 +20,9 @@ public class UpdateRequestUseCaseImpl implements UpdateRequestUseCase {
 	}
 
 	@Override
-	public void execute(@NonNull Request request, @NonNull UpdateRequestCallbacks callbacks) {
-		requestRepository.updateRequest(request, new RequestRepository.RequestUpdateCallbacks() {
+	public void execute(@NonNull String requestId, @Nullable RequestStatus status, @Nullable Double offerAmount,
+						@Nullable String message, @NonNull ActivityEntry entry, @NonNull UpdateRequestCallbacks callbacks) {
+		requestRepository.updateRequestFields(requestId, status, offerAmount, message, entry, new RequestRepository.RequestUpdateCallbacks() {
 			@Override
 			public void onSuccess() {
 				callbacks.onSuccess();
@@ -31,4 +34,4 @@ public class UpdateRequestUseCaseImpl implements UpdateRequestUseCase {
 			}
 		});
 	}
-}
\ No newline at end of file
+}
@@ -0,0 +1,253 @@
+package com.shoppr.data.utils;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.shoppr.model.GeoBounds;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.TreeSet;
+
+/**
+ * Geohash encoding plus the range covering used by viewport queries. A bounding box is
+ * covered with the finest geohash cells that keep the number of range queries small;
+ * cells that are adjacent in geohash order are merged into a single range.
+ */
+public final class GeoHashUtils {
+
+	private static final String BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+
+	/** Precision stored on posts; roughly 5m x 5m cells. */
+	public static final int STORAGE_PRECISION = 9;
+
+	/** Finest precision considered when covering a viewport. */
+	private static final int MAX_QUERY_PRECISION = 7;
+
+	/** Upper bound on cells enumerated for a single candidate precision. */
+	private static final int MAX_CELLS_PER_PRECISION = 64;
+
+	private GeoHashUtils() {
+	}
+
+	/**
+	 * An inclusive lexicographic range of geohash prefixes. Every geohash that starts with a
+	 * prefix between {@link #start} and {@link #end} lies inside the range.
+	 */
+	public static final class Range {
+		public final String start;
+		public final String end;
+
+		Range(String start, String end) {
+			this.start = start;
+			this.end = end;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof Range)) return false;
+			Range range = (Range) o;
+			return start.equals(range.start) && end.equals(range.end);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(start, end);
+		}
+
+		@NonNull
+		@Override
+		public String toString() {
+			return "[" + start + ", " + end + "]";
+		}
+	}
+
+	@NonNull
+	public static String encode(double latitude, double longitude, int precision) {
+		double minLat = -90, maxLat = 90;
+		double minLon = -180, maxLon = 180;
+		StringBuilder hash = new StringBuilder(precision);
+		boolean evenBit = true;
+		int bit = 0;
+		int index = 0;
+
+		while (hash.length() < precision) {
+			if (evenBit) {
+				double mid = (minLon + maxLon) / 2;
+				if (longitude >= mid) {
+					index = (index << 1) + 1;
+					minLon = mid;
+				} else {
+					index = index << 1;
+					maxLon = mid;
+				}
+			} else {
+				double mid = (minLat + maxLat) / 2;
+				if (latitude >= mid) {
+					index = (index << 1) + 1;
+					minLat = mid;
+				} else {
+					index = index << 1;
+					maxLat = mid;
+				}
+			}
+			evenBit = !evenBit;
+
+			if (++bit == 5) {
+				hash.append(BASE32.charAt(index));
+				bit = 0;
+				index = 0;
+			}
+		}
+		return hash.toString();
+	}
+
+	@Nullable
+	public static String encode(@Nullable Double latitude, @Nullable Double longitude) {
+		if (latitude == null || longitude == null) {
+			return null;
+		}
+		return encode(latitude, longitude, STORAGE_PRECISION);
+	}
+
+	/**
+	 * Covers {@code bounds} at the finest precision that needs no more than {@code maxRanges}
+	 * range queries. When none fits, the coarsest candidate's ranges are merged across their
+	 * smallest gaps until {@code maxRanges} remain; the merged ranges also cover the cells in those
+	 * gaps, so callers have to filter results by the actual bounds.
+	 */
+	@NonNull
+	public static List<Range> coveringRanges(@NonNull GeoBounds bounds, int maxRanges) {
+		List<Range> fallback = null;
+		for (int precision = MAX_QUERY_PRECISION; precision >= 1; precision--) {
+			if (countCells(bounds, precision) > MAX_CELLS_PER_PRECISION) {
+				continue;
+			}
+			List<Range> ranges = mergeAdjacent(cellsCovering(bounds, precision));
+			if (ranges.size() <= maxRanges) {
+				return ranges;
+			}
+			fallback = ranges;
+		}
+		return clamp(fallback != null ? fallback : mergeAdjacent(cellsCovering(bounds, 1)), maxRanges);
+	}
+
+	private static double cellWidth(int precision) {
+		int lonBits = (5 * precision + 1) / 2;
+		return 360.0 / (1L << lonBits);
+	}
+
+	private static double cellHeight(int precision) {
+		int latBits = (5 * precision) / 2;
+		return 180.0 / (1L << latBits);
+	}
+
+	private static long countCells(GeoBounds bounds, int precision) {
+		long rows = span(bounds.south, bounds.north, -90, cellHeight(precision));
+		if (bounds.crossesAntimeridian()) {
+			long cols = span(bounds.west, 180, -180, cellWidth(precision))
+					+ span(-180, bounds.east, -180, cellWidth(precision));
+			return rows * cols;
+		}
+		return rows * span(bounds.west, bounds.east, -180, cellWidth(precision));
+	}
+
+	private static long span(double from, double to, double origin, double size) {
+		long first = (long) Math.floor((from - origin) / size);
+		long last = (long) Math.floor((Math.nextDown(to) - origin) / size);
+		return Math.max(1, last - first + 1);
+	}
+
+	private static TreeSet<String> cellsCovering(GeoBounds bounds, int precision) {
+		TreeSet<String> cells = new TreeSet<>();
+		if (bounds.crossesAntimeridian()) {
+			addCells(cells, bounds.south, bounds.north, bounds.west, 180, precision);
+			addCells(cells, bounds.south, bounds.north, -180, bounds.east, precision);
+		} else {
+			addCells(cells, bounds.south, bounds.north, bounds.west, bounds.east, precision);
+		}
+		return cells;
+	}
+
+	private static void addCells(TreeSet<String> cells, double south, double north,
+															 double west, double east, int precision) {
+		double height = cellHeight(precision);
+		double width = cellWidth(precision);
+		double top = Math.min(Math.nextDown(north), Math.nextDown(90.0));
+		double right = Math.min(Math.nextDown(east), Math.nextDown(180.0));
+		for (double lat = Math.max(south, -90); ; lat += height) {
+			double rowLat = Math.min(lat, top);
+			for (double lon = Math.max(west, -180); ; lon += width) {
+				double cellLon = Math.min(lon, right);
+				cells.add(encode(rowLat, cellLon, precision));
+				if (cellLon >= right) break;
+			}
+			if (rowLat >= top) break;
+		}
+	}
+
+	private static List<Range> mergeAdjacent(TreeSet<String> cells) {
+		List<Range> ranges = new ArrayList<>();
+		String start = null;
+		String end = null;
+		for (String cell : cells) {
+			if (start != null && cell.equals(increment(end))) {
+				end = cell;
+				continue;
+			}
+			if (start != null) {
+				ranges.add(new Range(start, end));
+			}
+			start = cell;
+			end = cell;
+		}
+		if (start != null) {
+			ranges.add(new Range(start, end));
+		}
+		return ranges;
+	}
+
+	private static List<Range> clamp(List<Range> ranges, int maxRanges) {
+		List<Range> clamped = new ArrayList<>(ranges);
+		while (clamped.size() > Math.max(1, maxRanges)) {
+			int closest = 0;
+			long smallestGap = Long.MAX_VALUE;
+			for (int i = 0; i + 1 < clamped.size(); i++) {
+				long gap = value(clamped.get(i + 1).start) - value(clamped.get(i).end);
+				if (gap < smallestGap) {
+					smallestGap = gap;
+					closest = i;
+				}
+			}
+			clamped.set(closest, new Range(clamped.get(closest).start, clamped.get(closest + 1).end));
+			clamped.remove(closest + 1);
+		}
+		return clamped;
+	}
+
+	/** Position of {@code hash} among the geohashes of its precision. */
+	private static long value(String hash) {
+		long value = 0;
+		for (int i = 0; i < hash.length(); i++) {
+			value = value * BASE32.length() + BASE32.indexOf(hash.charAt(i));
+		}
+		return value;
+	}
+
+	/** Returns the geohash that follows {@code hash} at the same precision, or null at the end. */
+	@Nullable
+	private static String increment(String hash) {
+		char[] chars = hash.toCharArray();
+		for (int i = chars.length - 1; i >= 0; i--) {
+			int index = BASE32.indexOf(chars[i]);
+			if (index < BASE32.length() - 1) {
+				chars[i] = BASE32.charAt(index + 1);
+				return new String(chars);
+			}
+			chars[i] = BASE32.charAt(0);
+		}
+		return null;
+	}
+}
@@ -0,0 +1,27 @@
+package com.shoppr.data.utils;
+
+import android.os.Handler;
+import android.os.Looper;
+
+import androidx.annotation.NonNull;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Hands results mapped on the background executor back to the main thread, for callbacks and
+ * LiveData updates that must not be coalesced the way {@code postValue} coalesces them.
+ */
+public final class MainThreadExecutor implements Executor {
+
+	public static final MainThreadExecutor INSTANCE = new MainThreadExecutor();
+
+	private final Handler handler = new Handler(Looper.getMainLooper());
+
+	private MainThreadExecutor() {
+	}
+
+	@Override
+	public void execute(@NonNull Runnable command) {
+		handler.post(command);
+	}
+}
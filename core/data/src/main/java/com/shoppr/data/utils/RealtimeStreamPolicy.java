@@ -0,0 +1,79 @@
+package com.shoppr.data.utils;
+
+import androidx.annotation.MainThread;
+import androidx.annotation.NonNull;
+import androidx.lifecycle.DefaultLifecycleObserver;
+import androidx.lifecycle.LifecycleOwner;
+import androidx.lifecycle.ProcessLifecycleOwner;
+
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Process-wide switch for real-time streams. While the app is in the background every registered
+ * stream is paused, which detaches its listeners even if something still observes it forever;
+ * streams pick up again when the app returns to the foreground. Installed once from the
+ * application.
+ */
+public final class RealtimeStreamPolicy implements DefaultLifecycleObserver {
+
+	public static final RealtimeStreamPolicy INSTANCE = new RealtimeStreamPolicy();
+
+	/**
+	 * A stream that can stop and restart its listeners.
+	 */
+	public interface Stream {
+		void pause();
+
+		void resume();
+	}
+
+	// Main thread only
+	private final Set<Stream> activeStreams = new LinkedHashSet<>();
+	private boolean paused = false;
+	private boolean installed = false;
+
+	private RealtimeStreamPolicy() {
+	}
+
+	@MainThread
+	public void install() {
+		if (installed) {
+			return;
+		}
+		installed = true;
+		ProcessLifecycleOwner.get().getLifecycle().addObserver(this);
+	}
+
+	@MainThread
+	public boolean isPaused() {
+		return paused;
+	}
+
+	@MainThread
+	public void register(@NonNull Stream stream) {
+		activeStreams.add(stream);
+	}
+
+	@MainThread
+	public void unregister(@NonNull Stream stream) {
+		activeStreams.remove(stream);
+	}
+
+	@Override
+	public void onStart(@NonNull LifecycleOwner owner) {
+		paused = false;
+		for (Stream stream : new ArrayList<>(activeStreams)) {
+			stream.resume();
+		}
+	}
+
+	@Override
+	public void onStop(@NonNull LifecycleOwner owner) {
+		paused = true;
+		for (Stream stream : new ArrayList<>(activeStreams)) {
+			stream.pause();
+		}
+	}
+}
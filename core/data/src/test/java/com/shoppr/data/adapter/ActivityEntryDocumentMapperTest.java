@@ -0,0 +1,85 @@
+package com.shoppr.data.adapter;
+
+import com.google.firebase.firestore.util.CustomClassMapper;
+import com.shoppr.model.ActivityEntry;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class ActivityEntryDocumentMapperTest {
+
+	private final ActivityEntryDocumentMapper mapper = new ActivityEntryDocumentMapper();
+
+	@Test
+	public void fromMap_readsEveryField() {
+		Date createdAt = new Date(1_700_000_000_000L);
+
+		ActivityEntry entry = mapper.fromMap(entryData(createdAt));
+
+		assertEquals("user-1", entry.getActorId());
+		assertEquals("Ada", entry.getActorName());
+		assertEquals("Offered $20.00", entry.getDescription());
+		assertEquals(createdAt, entry.getCreatedAt());
+	}
+
+	@Test
+	public void fromMap_missingOrMistypedFields_areNull() {
+		Map<String, Object> data = new HashMap<>();
+		data.put("actorId", 7L);
+		data.put("createdAt", "yesterday");
+
+		ActivityEntry entry = mapper.fromMap(data);
+
+		assertNull(entry.getActorId());
+		assertNull(entry.getActorName());
+		assertNull(entry.getDescription());
+		assertNull(entry.getCreatedAt());
+	}
+
+	@Test
+	public void toMap_roundTripsThroughFromMap() {
+		ActivityEntry original = mapper.fromMap(entryData(new Date(1_700_000_000_000L)));
+
+		ActivityEntry read = mapper.fromMap(mapper.toMap(original));
+
+		assertEquals(original.getActorId(), read.getActorId());
+		assertEquals(original.getActorName(), read.getActorName());
+		assertEquals(original.getDescription(), read.getDescription());
+	}
+
+	@Test
+	public void toMap_dateIsAlwaysLeftToTheServer() {
+		ActivityEntry unset = new ActivityEntry("user-1", "Ada", "Offered $20.00");
+		ActivityEntry clientDated = new ActivityEntry("user-1", "Ada", "Offered $20.00", new Date());
+
+		assertFalse(mapper.toMap(unset).get("createdAt") instanceof Date);
+		assertNotNull(mapper.toMap(clientDated).get("createdAt"));
+		assertFalse(mapper.toMap(clientDated).get("createdAt") instanceof Date);
+	}
+
+	@Test
+	public void fromMap_matchesTheBeanMapping() {
+		Map<String, Object> data = entryData(new Date(1_700_000_000_000L));
+
+		ActivityEntry handWritten = mapper.fromMap(data);
+		// What DocumentSnapshot.toObject hands the snapshot's data to
+		ActivityEntry reflective = CustomClassMapper.convertToCustomClass(data, ActivityEntry.class, null);
+
+		assertEquals(reflective.getDescription(), handWritten.getDescription());
+		assertEquals(reflective.getCreatedAt(), handWritten.getCreatedAt());
+	}
+
+	static Map<String, Object> entryData(Date createdAt) {
+		Map<String, Object> data = new HashMap<>();
+		data.put("actorId", "user-1");
+		data.put("actorName", "Ada");
+		data.put("description", "Offered $20.00");
+		data.put("createdAt", createdAt);
+		return data;
+	}
+}
@@ -0,0 +1,68 @@
+package com.shoppr.data.adapter;
+
+import com.google.firebase.firestore.util.CustomClassMapper;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.User;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Times the hand-written mappers against the reflective bean mapping that
+ * {@code DocumentSnapshot.toObject} delegates to. A DocumentSnapshot can't be built on the JVM,
+ * but toObject only hands the snapshot's data map to {@link CustomClassMapper}, so both sides
+ * start from the same map and the timings compare the mapping itself. Results are printed rather
+ * than asserted, since they depend on the machine; UserDocumentMapperTest and
+ * ActivityEntryDocumentMapperTest check that both mappings agree.
+ * <p>
+ * Left out of the regular unit test run. To run it:
+ * {@code ./gradlew :core:data:testDebugUnitTest -Pbenchmarks --tests '*DocumentMapperBenchmark'}
+ */
+public class DocumentMapperBenchmark {
+	private static final int WARMUP_ITERATIONS = 20_000;
+	private static final int MEASURED_ITERATIONS = 200_000;
+
+	// Keeps the mapped results observable so the timed loops aren't optimized away
+	private static volatile int sink;
+
+	@Test
+	public void user() {
+		Map<String, Object> data = UserDocumentMapperTest.userData();
+		UserDocumentMapper mapper = new UserDocumentMapper();
+		compare("User", data, mapper::fromMap,
+				map -> CustomClassMapper.convertToCustomClass(map, User.class, null));
+	}
+
+	@Test
+	public void activityEntry() {
+		Map<String, Object> data = ActivityEntryDocumentMapperTest.entryData(new Date(1_700_000_000_000L));
+		ActivityEntryDocumentMapper mapper = new ActivityEntryDocumentMapper();
+		compare("ActivityEntry", data, mapper::fromMap,
+				map -> CustomClassMapper.convertToCustomClass(map, ActivityEntry.class, null));
+	}
+
+	private static <T> void compare(String name, Map<String, Object> data,
+																	Function<Map<String, Object>, T> handWritten,
+																	Function<Map<String, Object>, T> reflective) {
+		run(data, handWritten, WARMUP_ITERATIONS);
+		run(data, reflective, WARMUP_ITERATIONS);
+		double handWrittenNs = run(data, handWritten, MEASURED_ITERATIONS);
+		double reflectiveNs = run(data, reflective, MEASURED_ITERATIONS);
+		System.out.printf("%s: hand-written %.0f ns/op, bean mapping %.0f ns/op (%.1fx)%n",
+				name, handWrittenNs, reflectiveNs, reflectiveNs / handWrittenNs);
+	}
+
+	private static <T> double run(Map<String, Object> data, Function<Map<String, Object>, T> mapping, int iterations) {
+		int hashes = 0;
+		long start = System.nanoTime();
+		for (int i = 0; i < iterations; i++) {
+			hashes += mapping.apply(data).hashCode();
+		}
+		long elapsed = System.nanoTime() - start;
+		sink = hashes;
+		return (double) elapsed / iterations;
+	}
+}
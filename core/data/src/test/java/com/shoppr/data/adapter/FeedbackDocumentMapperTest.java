@@ -0,0 +1,62 @@
+package com.shoppr.data.adapter;
+
+import com.shoppr.model.Feedback;
+
+import org.junit.Test;
+
+import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class FeedbackDocumentMapperTest {
+
+	private final FeedbackDocumentMapper mapper = new FeedbackDocumentMapper();
+
+	@Test
+	public void toMap_roundTripsThroughFromMap() {
+		Feedback original = new Feedback();
+		original.setId("request-1_user-1");
+		original.setRequestId("request-1");
+		original.setRaterId("user-1");
+		original.setRateeId("user-2");
+		original.setRating(4.5f);
+		original.setComment("Smooth handover");
+		original.setCreatedAt(new Date(1_700_000_000_000L));
+
+		Feedback read = mapper.fromMap(mapper.toMap(original));
+
+		assertEquals(original.getId(), read.getId());
+		assertEquals(original.getRequestId(), read.getRequestId());
+		assertEquals(original.getRaterId(), read.getRaterId());
+		assertEquals(original.getRateeId(), read.getRateeId());
+		assertEquals(original.getRating(), read.getRating(), 0);
+		assertEquals(original.getComment(), read.getComment());
+		assertEquals(original.getCreatedAt(), read.getCreatedAt());
+	}
+
+	@Test
+	public void toMap_writesTheRatingAsADouble() {
+		Feedback feedback = new Feedback();
+		feedback.setRating(3f);
+
+		assertEquals(3.0, mapper.toMap(feedback).get("rating"));
+	}
+
+	@Test
+	public void toMap_unsetDate_isLeftToTheServer() {
+		Object createdAt = mapper.toMap(new Feedback()).get("createdAt");
+
+		assertNotNull(createdAt);
+		assertFalse(createdAt instanceof Date);
+	}
+
+	@Test
+	public void fromMap_readsFirestoreNumberTypes() {
+		Map<String, Object> data = new HashMap<>();
+		data.put("rating", 4L);
+
+		assertEquals(4f, mapper.fromMap(data).getRating(), 0);
+	}
+}
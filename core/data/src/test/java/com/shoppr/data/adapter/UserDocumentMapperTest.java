@@ -0,0 +1,139 @@
+package com.shoppr.data.adapter;
+
+import com.google.firebase.firestore.util.CustomClassMapper;
+import com.shoppr.model.User;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import static org.junit.Assert.*;
+
+public class UserDocumentMapperTest {
+
+	private final UserDocumentMapper mapper = new UserDocumentMapper();
+
+	@Test
+	public void fromMap_readsEveryField() {
+		User user = mapper.fromMap(userData());
+
+		assertEquals("user-1", user.getId());
+		assertEquals("Ada", user.getName());
+		assertEquals("ada@example.com", user.getEmail());
+		assertEquals("+15550100", user.getPhoneNumber());
+		assertEquals("1 Main St", user.getAddress());
+		assertEquals(Arrays.asList("post-1", "post-2"), user.getFavoritePosts());
+		assertEquals(4.5, user.getAverageRating(), 0);
+		assertEquals(12, user.getRatingCount());
+		assertEquals(Double.valueOf(40.7128), user.getLatitude());
+		assertEquals(Double.valueOf(-74.006), user.getLongitude());
+		assertEquals("New York", user.getLocationAddress());
+	}
+
+	@Test
+	public void fromMap_readsFirestoreNumberTypes() {
+		// Firestore hands back whole numbers as Long and fractions as Double
+		Map<String, Object> data = new HashMap<>();
+		data.put("averageRating", 4L);
+		data.put("ratingCount", 7L);
+		data.put("latitude", 12L);
+
+		User user = mapper.fromMap(data);
+
+		assertEquals(4.0, user.getAverageRating(), 0);
+		assertEquals(7, user.getRatingCount());
+		assertEquals(Double.valueOf(12), user.getLatitude());
+	}
+
+	@Test
+	public void fromMap_missingOrMistypedFields_fallBackInsteadOfFailing() {
+		Map<String, Object> data = new HashMap<>();
+		data.put("name", 42L);
+		data.put("favoritePosts", Arrays.asList("post-1", 7L, null));
+		data.put("averageRating", "4.5");
+		data.put("ratingHistogram", "not a map");
+
+		User user = mapper.fromMap(data);
+
+		assertNull(user.getId());
+		assertNull(user.getName());
+		assertEquals(Collections.singletonList("post-1"), user.getFavoritePosts());
+		assertEquals(0.0, user.getAverageRating(), 0);
+		assertEquals(0, user.getRatingCount());
+		assertNull(user.getLatitude());
+		assertArrayEquals(new int[User.RATING_STARS], user.getRatingHistogram());
+	}
+
+	@Test
+	public void fromMap_readsRatingHistogramByStar() {
+		Map<String, Object> histogram = new HashMap<>();
+		histogram.put("1", 1L);
+		histogram.put("3", 4L);
+		histogram.put("5", 9L);
+		// Stars outside 1..5 are ignored
+		histogram.put("6", 100L);
+		Map<String, Object> data = new HashMap<>();
+		data.put("ratingHistogram", histogram);
+
+		User user = mapper.fromMap(data);
+
+		assertArrayEquals(new int[]{1, 0, 4, 0, 9}, user.getRatingHistogram());
+	}
+
+	@Test
+	public void toMap_roundTripsThroughFromMap() {
+		User original = mapper.fromMap(userData());
+
+		Map<String, Object> written = mapper.toMap(original);
+		User read = mapper.fromMap(written);
+
+		assertEquals(original.getId(), read.getId());
+		assertEquals(original.getName(), read.getName());
+		assertEquals(original.getEmail(), read.getEmail());
+		assertEquals(original.getPhoneNumber(), read.getPhoneNumber());
+		assertEquals(original.getAddress(), read.getAddress());
+		assertEquals(original.getFavoritePosts(), read.getFavoritePosts());
+		assertEquals(original.getAverageRating(), read.getAverageRating(), 0);
+		assertEquals(original.getRatingCount(), read.getRatingCount());
+		assertEquals(original.getLatitude(), read.getLatitude());
+		assertEquals(original.getLongitude(), read.getLongitude());
+		assertEquals(original.getLocationAddress(), read.getLocationAddress());
+	}
+
+	@Test
+	public void toMap_leavesTheRollupHistogramToTheServer() {
+		assertFalse(mapper.toMap(mapper.fromMap(userData())).containsKey("ratingHistogram"));
+	}
+
+	@Test
+	public void fromMap_matchesTheBeanMapping() {
+		Map<String, Object> data = userData();
+
+		User handWritten = mapper.fromMap(data);
+		// What DocumentSnapshot.toObject hands the snapshot's data to
+		User reflective = CustomClassMapper.convertToCustomClass(data, User.class, null);
+
+		assertEquals(reflective.getName(), handWritten.getName());
+		assertEquals(reflective.getFavoritePosts(), handWritten.getFavoritePosts());
+		assertEquals(reflective.getRatingCount(), handWritten.getRatingCount());
+	}
+
+	static Map<String, Object> userData() {
+		Map<String, Object> data = new HashMap<>();
+		data.put("id", "user-1");
+		data.put("name", "Ada");
+		data.put("email", "ada@example.com");
+		data.put("phoneNumber", "+15550100");
+		data.put("address", "1 Main St");
+		data.put("favoritePosts", Arrays.asList("post-1", "post-2"));
+		data.put("averageRating", 4.5);
+		data.put("ratingCount", 12L);
+		data.put("latitude", 40.7128);
+		data.put("longitude", -74.006);
+		data.put("locationAddress", "New York");
+		return data;
+	}
+}
@@ -0,0 +1,79 @@
+package com.shoppr.data.datasource;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+
+import static org.junit.Assert.*;
+
+public class KeyedMergeBufferTest {
+
+	private static final int BUYER = 0;
+	private static final int SELLER = 1;
+
+	// Items are their own keys here; the snapshot mapper isn't used by the keyed operations
+	private final KeyedMergeBuffer<String> buffer = new KeyedMergeBuffer<>(2, document -> null,
+			Comparator.<String>naturalOrder());
+
+	@Test
+	public void isReady_onceEverySourceIsInitialized() {
+		assertFalse(buffer.isReady());
+
+		buffer.markInitialized(BUYER);
+		assertTrue(buffer.isInitialized(BUYER));
+		assertFalse(buffer.isReady());
+
+		buffer.markInitialized(SELLER);
+		assertTrue(buffer.isReady());
+	}
+
+	@Test
+	public void upsert_keepsTheItemsSorted() {
+		buffer.upsert(BUYER, "c", "c");
+		buffer.upsert(SELLER, "a", "a");
+		buffer.upsert(BUYER, "b", "b");
+
+		assertEquals(Arrays.asList("a", "b", "c"), buffer.items());
+		assertEquals(Arrays.asList("a", "b"), buffer.items(2));
+		assertEquals(Arrays.asList("a", "b", "c"), buffer.items(10));
+	}
+
+	@Test
+	public void upsert_replacingAnItem_movesItToItsNewPosition() {
+		buffer.upsert(BUYER, "1", "b");
+		buffer.upsert(BUYER, "2", "c");
+
+		buffer.upsert(BUYER, "2", "a");
+
+		assertEquals(Arrays.asList("a", "b"), buffer.items());
+	}
+
+	@Test
+	public void itemFromBothSources_appearsOnceAndStaysUntilBothDropIt() {
+		buffer.upsert(BUYER, "r1", "a");
+		buffer.upsert(SELLER, "r1", "a");
+		assertEquals(Collections.singletonList("a"), buffer.items());
+
+		assertFalse(buffer.remove(BUYER, "r1"));
+		assertEquals(Collections.singletonList("a"), buffer.items());
+
+		assertTrue(buffer.remove(SELLER, "r1"));
+		assertTrue(buffer.items().isEmpty());
+	}
+
+	@Test
+	public void remove_unknownKey_changesNothing() {
+		assertFalse(buffer.remove(BUYER, "missing"));
+	}
+
+	@Test
+	public void upsert_unreadableItem_countsAsRemoved() {
+		buffer.upsert(BUYER, "r1", "a");
+
+		assertTrue(buffer.upsert(BUYER, "r1", null));
+
+		assertTrue(buffer.items().isEmpty());
+	}
+}
@@ -0,0 +1,102 @@
+package com.shoppr.data.datasource;
+
+import androidx.lifecycle.LiveData;
+import androidx.lifecycle.MutableLiveData;
+
+import com.shoppr.domain.paging.PagedListing;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class LiveHeadPagedListingTest {
+
+	// An item's first letter is its key and its position; the rest tells copies of it apart
+	private static final Function<String, String> KEY = item -> item.substring(0, 1);
+
+	private final LiveHeadPagedListing<String> listing = new LiveHeadPagedListing<>(
+			new MutableLiveData<>(), 3, new EmptyTail(), KEY, Comparator.comparing(KEY));
+
+	@Test
+	public void merge_headShorterThanItsLimit_ignoresPages() {
+		List<String> merged = listing.merge(Arrays.asList("a", "b"), Collections.singletonList("c"),
+				Collections.singletonList("d"));
+
+		assertEquals(Arrays.asList("a", "b"), merged);
+	}
+
+	@Test
+	public void merge_skipsPagedItemsTheHeadShowsOrSortsAfter() {
+		List<String> merged = listing.merge(Arrays.asList("a", "c", "d"), Collections.emptyList(),
+				Arrays.asList("b", "d", "e", "f"));
+
+		assertEquals(Arrays.asList("a", "c", "d", "e", "f"), merged);
+	}
+
+	@Test
+	public void merge_slotsDroppedItemsInBeforeThePages() {
+		List<String> merged = listing.merge(Arrays.asList("a", "b", "c"), Arrays.asList("e", "d"),
+				Arrays.asList("e", "f"));
+
+		assertEquals(Arrays.asList("a", "b", "c", "d", "e", "f"), merged);
+	}
+
+	@Test
+	public void merge_droppedCopyWinsOverPagedCopy() {
+		List<String> merged = listing.merge(Arrays.asList("a", "b", "c"), Collections.singletonList("d2"),
+				Arrays.asList("d1", "e"));
+
+		assertEquals(Arrays.asList("a", "b", "c", "d2", "e"), merged);
+	}
+
+	@Test
+	public void droppedOffBottom_keepsItemsPushedOutByNewerOnes() {
+		Map<String, String> dropped = listing.droppedOffBottom(Arrays.asList("b", "c", "d"), Arrays.asList("0", "a", "b"));
+
+		assertEquals(Arrays.asList("c", "d"), new ArrayList<>(dropped.values()));
+	}
+
+	@Test
+	public void droppedOffBottom_ignoresDeletedItems() {
+		// b was deleted and e moved up from beyond the head
+		assertTrue(listing.droppedOffBottom(Arrays.asList("a", "b", "c"), Arrays.asList("a", "c", "e")).isEmpty());
+	}
+
+	@Test
+	public void droppedOffBottom_headShorterThanItsLimit_dropsNothing() {
+		assertTrue(listing.droppedOffBottom(Arrays.asList("a", "b", "c"), Arrays.asList("a", "b")).isEmpty());
+	}
+
+	private static class EmptyTail implements PagedListing<String> {
+		@Override
+		public LiveData<List<String>> getItems() {
+			return new MutableLiveData<>();
+		}
+
+		@Override
+		public LiveData<Boolean> isLoading() {
+			return new MutableLiveData<>(false);
+		}
+
+		@Override
+		public LiveData<Boolean> hasMore() {
+			return new MutableLiveData<>(false);
+		}
+
+		@Override
+		public void loadNextPage() {
+		}
+
+		@Override
+		public void refresh() {
+		}
+	}
+}
@@ -0,0 +1,113 @@
+package com.shoppr.data.repository;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FavoriteEditsTest {
+
+	private final FavoriteEdits edits = new FavoriteEdits();
+
+	@Test
+	public void toggle_showsAtOnce() {
+		List<String> profile = Collections.singletonList("a");
+
+		edits.toggle("b", profile);
+		edits.toggle("a", profile);
+
+		assertEquals(Collections.singletonList("b"), edits.effectiveIds(profile));
+	}
+
+	@Test
+	public void flush_coalescesTogglesPerPost() {
+		List<String> profile = Collections.singletonList("a");
+		edits.toggle("b", profile);
+		edits.toggle("c", profile);
+		edits.toggle("b", profile);
+		edits.toggle("a", profile);
+
+		FavoriteEdits.Flush flush = edits.flush(profile);
+
+		assertEquals(Collections.singletonList("c"), flush.added);
+		assertEquals(Collections.singletonList("a"), flush.removed);
+	}
+
+	@Test
+	public void flush_evenNumberOfToggles_writesNothing() {
+		List<String> profile = Collections.singletonList("a");
+		edits.toggle("a", profile);
+		edits.toggle("a", profile);
+
+		FavoriteEdits.Flush flush = edits.flush(profile);
+
+		assertTrue(flush.isEmpty());
+		assertEquals(profile, edits.effectiveIds(profile));
+	}
+
+	@Test
+	public void inFlight_staysAppliedUntilSettled() {
+		List<String> profile = Collections.singletonList("a");
+		edits.toggle("b", profile);
+		FavoriteEdits.Flush flush = edits.flush(profile);
+
+		// The profile hasn't caught up with the write yet
+		assertEquals(Arrays.asList("a", "b"), edits.effectiveIds(profile));
+
+		edits.settle(flush);
+		assertEquals(profile, edits.effectiveIds(profile));
+	}
+
+	@Test
+	public void settle_keepsALaterWriteOfTheSamePost() {
+		List<String> profile = Collections.emptyList();
+		edits.toggle("a", profile);
+		FavoriteEdits.Flush first = edits.flush(profile);
+		edits.toggle("a", profile);
+		FavoriteEdits.Flush second = edits.flush(profile);
+
+		assertEquals(Collections.singletonList("a"), second.removed);
+		edits.settle(first);
+
+		assertEquals(Collections.emptyList(), edits.effectiveIds(Collections.singletonList("a")));
+	}
+
+	@Test
+	public void flush_comparesAgainstWritesInFlight() {
+		List<String> profile = Collections.emptyList();
+		edits.toggle("a", profile);
+		edits.flush(profile);
+
+		// Toggling "a" again while the add is in flight is a removal, not a no-op
+		edits.toggle("a", profile);
+		FavoriteEdits.Flush flush = edits.flush(profile);
+
+		assertEquals(Collections.singletonList("a"), flush.removed);
+	}
+
+	@Test
+	public void discardPending_keepsWritesInFlight() {
+		List<String> profile = Collections.emptyList();
+		edits.toggle("a", profile);
+		edits.flush(profile);
+		edits.toggle("b", profile);
+
+		edits.discardPending();
+
+		assertEquals(Collections.singletonList("a"), edits.effectiveIds(profile));
+	}
+
+	@Test
+	public void discardInFlight_dropsWritesOfThePreviousUser() {
+		List<String> profile = Collections.emptyList();
+		edits.toggle("a", profile);
+		edits.flush(profile);
+
+		edits.discardInFlight();
+
+		assertEquals(Collections.emptyList(), edits.effectiveIds(profile));
+	}
+}
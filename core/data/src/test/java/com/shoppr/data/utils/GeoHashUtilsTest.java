@@ -0,0 +1,93 @@
+package com.shoppr.data.utils;
+
+import com.shoppr.model.GeoBounds;
+
+import org.junit.Test;
+
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class GeoHashUtilsTest {
+
+	@Test
+	public void encode_matchesReferenceGeohash() {
+		assertEquals("u4pruydqqvj", GeoHashUtils.encode(57.64911, 10.40744, 11));
+		assertEquals("u4pruydqq", GeoHashUtils.encode(57.64911, 10.40744));
+	}
+
+	@Test
+	public void encode_withoutPosition_returnsNull() {
+		assertNull(GeoHashUtils.encode(null, 10.40744));
+		assertNull(GeoHashUtils.encode(57.64911, null));
+	}
+
+	@Test
+	public void coveringRanges_cityViewport_coversEveryPointInBounds() {
+		GeoBounds bounds = new GeoBounds(40.70, -74.02, 40.80, -73.93);
+		List<GeoHashUtils.Range> ranges = GeoHashUtils.coveringRanges(bounds, 9);
+
+		assertTrue(ranges.size() <= 9);
+		assertCovers(ranges, bounds);
+	}
+
+	@Test
+	public void coveringRanges_worldViewport_isClampedToMaxRanges() {
+		GeoBounds bounds = new GeoBounds(-80, -170, 80, 170);
+
+		for (int maxRanges = 1; maxRanges <= 9; maxRanges++) {
+			List<GeoHashUtils.Range> ranges = GeoHashUtils.coveringRanges(bounds, maxRanges);
+			assertTrue("Got " + ranges.size() + " ranges for a limit of " + maxRanges, ranges.size() <= maxRanges);
+			assertCovers(ranges, bounds);
+		}
+	}
+
+	@Test
+	public void coveringRanges_acrossAntimeridian_isClampedAndCoversBothSides() {
+		GeoBounds bounds = new GeoBounds(-20, 170, 20, -170);
+		List<GeoHashUtils.Range> ranges = GeoHashUtils.coveringRanges(bounds, 2);
+
+		assertTrue(ranges.size() <= 2);
+		assertCovers(ranges, bounds);
+	}
+
+	@Test
+	public void coveringRanges_rangesAreOrderedAndDisjoint() {
+		GeoBounds bounds = new GeoBounds(-80, -170, 80, 170);
+		List<GeoHashUtils.Range> ranges = GeoHashUtils.coveringRanges(bounds, 4);
+
+		for (int i = 0; i < ranges.size(); i++) {
+			assertTrue(ranges.get(i).start.compareTo(ranges.get(i).end) <= 0);
+			if (i > 0) {
+				assertTrue(ranges.get(i - 1).end.compareTo(ranges.get(i).start) < 0);
+			}
+		}
+	}
+
+	private static void assertCovers(List<GeoHashUtils.Range> ranges, GeoBounds bounds) {
+		double width = bounds.crossesAntimeridian()
+				? bounds.east + 360 - bounds.west : bounds.east - bounds.west;
+		for (int row = 0; row <= 10; row++) {
+			double latitude = bounds.south + (bounds.north - bounds.south) * row / 10;
+			for (int col = 0; col <= 10; col++) {
+				double longitude = bounds.west + width * col / 10;
+				if (longitude > 180) {
+					longitude -= 360;
+				}
+				String hash = GeoHashUtils.encode(latitude, longitude, GeoHashUtils.STORAGE_PRECISION);
+				assertTrue(hash + " at " + latitude + "," + longitude + " is outside " + ranges,
+						isCovered(ranges, hash));
+			}
+		}
+	}
+
+	private static boolean isCovered(List<GeoHashUtils.Range> ranges, String hash) {
+		for (GeoHashUtils.Range range : ranges) {
+			String prefix = hash.substring(0, range.start.length());
+			if (prefix.compareTo(range.start) >= 0 && prefix.compareTo(range.end) <= 0) {
+				return true;
+			}
+		}
+		return false;
+	}
+}
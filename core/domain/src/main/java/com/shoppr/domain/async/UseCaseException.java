@@ -0,0 +1,12 @@
+package com.shoppr.domain.async;
+
+import androidx.annotation.NonNull;
+
+/**
+ * The error a callback-style use case reported, carried through a future.
+ */
+public class UseCaseException extends RuntimeException {
+	public UseCaseException(@NonNull String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,81 @@
+package com.shoppr.domain.async;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.shoppr.domain.usecase.GetPostByIdUseCase;
+import com.shoppr.domain.usecase.GetUserByIdUseCase;
+import com.shoppr.model.Post;
+import com.shoppr.model.User;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+/**
+ * {@link CompletableFuture} views of the callback-style use cases, so a screen can start loads
+ * that don't depend on each other at the same time and combine them when all have arrived.
+ * <p>
+ * A future completes on the thread the use case calls back on (the main thread), so stages
+ * attached without an executor run there too and can set LiveData values directly. Reported
+ * errors complete the future exceptionally with a {@link UseCaseException}.
+ */
+public final class UseCaseFutures {
+
+	private UseCaseFutures() {
+	}
+
+	/**
+	 * The post, or {@code null} if it doesn't exist.
+	 */
+	@NonNull
+	public static CompletableFuture<Post> postById(@NonNull GetPostByIdUseCase useCase, @NonNull String postId) {
+		CompletableFuture<Post> future = new CompletableFuture<>();
+		useCase.execute(postId, new GetPostByIdUseCase.GetPostByIdCallbacks() {
+			@Override
+			public void onSuccess(@NonNull Post post) {
+				future.complete(post);
+			}
+
+			@Override
+			public void onError(@NonNull String message) {
+				future.completeExceptionally(new UseCaseException(message));
+			}
+
+			@Override
+			public void onNotFound() {
+				future.complete(null);
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * The user, or {@code null} if there is no such user.
+	 */
+	@NonNull
+	public static CompletableFuture<User> userById(@NonNull GetUserByIdUseCase useCase, @NonNull String userId) {
+		CompletableFuture<User> future = new CompletableFuture<>();
+		useCase.execute(userId, new GetUserByIdUseCase.GetUserByIdCallbacks() {
+			@Override
+			public void onSuccess(@Nullable User user) {
+				future.complete(user);
+			}
+
+			@Override
+			public void onError(@NonNull String message) {
+				future.completeExceptionally(new UseCaseException(message));
+			}
+		});
+		return future;
+	}
+
+	/**
+	 * The message to show for a failed future, unwrapping the {@link CompletionException} that
+	 * dependent stages wrap errors in.
+	 */
+	@NonNull
+	public static String messageOf(@NonNull Throwable error) {
+		Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+		return cause.getMessage() != null ? cause.getMessage() : cause.toString();
+	}
+}
@@ -3,6 +3,8 @@ package com.shoppr.domain.datasource;
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 
+import com.shoppr.model.NegotiationAction;
+import com.shoppr.model.RequestStatus;
 import com.shoppr.model.SuggestedPostDetails;
 
 public interface FirebaseFunctionsDataSource {
@@ -13,10 +15,28 @@ public interface FirebaseFunctionsDataSource {
 		void onError(@NonNull String message);
 	}
 
+	interface TransitionCallbacks {
+		void onSuccess(@NonNull RequestStatus newStatus);
+
+		void onError(@NonNull String message);
+	}
+
 	void getPostSuggestions(
 			@NonNull String text,
 			@Nullable String baseOfferPrice,
 			@Nullable String baseOfferCurrency,
 			@NonNull LLMCallbacks callbacks
 	);
+
+	/**
+	 * Applies the action on the server, in one transaction, if the request is still in
+	 * {@code expectedStatus}.
+	 */
+	void transitionRequest(
+			@NonNull String requestId,
+			@NonNull RequestStatus expectedStatus,
+			@NonNull NegotiationAction action,
+			@Nullable Double offerAmount,
+			@NonNull TransitionCallbacks callbacks
+	);
 }
\ No newline at end of file
@@ -4,6 +4,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ChangeSet;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.ListingState;
 import com.shoppr.model.Post;
 
@@ -33,16 +36,34 @@ public interface FirestorePostDataSource {
      */
     LiveData<List<Post>> getFeedPosts(@Nullable String currentUserIdToExclude);
 
+    /**
+     * Fetches active posts inside the given bounds, excluding posts by the current user.
+     * Only the geohash ranges covering the bounds are listened to, and each emission carries the
+     * row-level changes since the previous one.
+     */
+    LiveData<ChangeSet<Post>> getFeedPostsInBounds(@Nullable String currentUserIdToExclude, @NonNull GeoBounds bounds);
+
     /**
      * Fetches all posts created by a specific user.
      */
     LiveData<List<Post>> getPostsForUser(@NonNull String userId);
 
+    /**
+     * Pages through a user's posts, newest first.
+     */
+    PagedListing<Post> getPostsForUserPaged(@NonNull String userId, int pageSize);
+
     /**
      * Fetches a list of posts based on a list of post IDs.
      */
     LiveData<List<Post>> getPostsByIds(@NonNull List<String> postIds);
 
+    /**
+     * Like {@link #getPostsByIds(List)}, following the ids as they change. Posts come back in the
+     * order of the ids; ids without a post are skipped.
+     */
+    LiveData<List<Post>> getPostsByIds(@NonNull LiveData<List<String>> postIds);
+
     /**
      * Fetches a single post by its ID.
      */
@@ -4,7 +4,10 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ActivityEntry;
 import com.shoppr.model.Request;
+import com.shoppr.model.RequestStatus;
 
 import java.util.List;
 
@@ -40,13 +43,36 @@ public interface FirestoreRequestDataSource {
 
 	LiveData<List<Request>> getAllRequestsForUser(@NonNull String userId);
 
+	PagedListing<Request> getAllRequestsForUserPaged(@NonNull String userId, int pageSize);
+
+	/**
+	 * Ids of the posts the buyer currently has an offer on.
+	 */
+	LiveData<List<String>> getOfferedPostIds(@NonNull String buyerId);
+
+	/**
+	 * The request, live. Emits {@code null} once the request doesn't exist; listener failures keep
+	 * the last value.
+	 */
 	LiveData<Request> getRequestById(@NonNull String requestId);
 
+	/**
+	 * The request's activity, newest first. The newest page stays live.
+	 */
+	PagedListing<ActivityEntry> getRequestActivityPaged(@NonNull String requestId, int pageSize);
+
 	void createRequest(@NonNull Request request, @NonNull RequestOperationCallbacks callbacks);
 
 	void deleteRequest(@NonNull Request request, @NonNull RequestDeleteCallbacks callbacks);
 
 	void updateRequest(@NonNull Request request, @NonNull RequestUpdateCallbacks callbacks);
 
+	/**
+	 * Writes only the given fields and adds the entry to the request's activity, in one batch.
+	 * Null fields are left as they are.
+	 */
+	void updateRequestFields(@NonNull String requestId, @Nullable RequestStatus status, @Nullable Double offerAmount,
+							 @Nullable String message, @NonNull ActivityEntry entry, @NonNull RequestUpdateCallbacks callbacks);
+
 	void getRequestForPost(String userId, String postId, @NonNull SingleRequestCallback callbacks);
 }
\ No newline at end of file
@@ -2,6 +2,7 @@ package com.shoppr.domain.datasource;
 
 import androidx.annotation.NonNull;
 
+import com.shoppr.model.ActivityEntry;
 import com.shoppr.model.Transaction;
 
 public interface FirestoreTransactionDataSource {
@@ -14,4 +15,12 @@ public interface FirestoreTransactionDataSource {
 	void getTransactions();
 
 	void createTransaction(@NonNull Transaction transaction, @NonNull CreateTransactionCallbacks callbacks);
+
+	/**
+	 * Records the payment, completes the request with the entry in its activity and marks the post
+	 * completed, all in one commit. The transaction is keyed by its request, so retrying after an
+	 * unknown outcome returns the stored transaction instead of charging twice.
+	 */
+	void completeCheckout(@NonNull Transaction transaction, @NonNull ActivityEntry paymentEntry,
+						  @NonNull CreateTransactionCallbacks callbacks);
 }
\ No newline at end of file
@@ -5,6 +5,8 @@ import androidx.annotation.Nullable;
 
 import com.shoppr.model.User;
 
+import java.util.List;
+
 public interface FirestoreUserDataSource {
 
     /**
@@ -53,12 +55,12 @@ public interface FirestoreUserDataSource {
     );
 
     /**
-     * Atomically adds or removes a postId from the user's favoritePosts list.
+     * Atomically adds and removes postIds in the user's favoritePosts list, as one batched write.
      */
     void updateUserFavorites(
         @NonNull String uid,
-        @NonNull String postId,
-        boolean shouldAdd,
+        @NonNull List<String> addedPostIds,
+        @NonNull List<String> removedPostIds,
         @NonNull OperationCallbacks callbacks
     );
 
@@ -0,0 +1,32 @@
+package com.shoppr.domain.paging;
+
+import androidx.lifecycle.LiveData;
+
+import java.util.List;
+
+/**
+ * A list that is loaded one page at a time. {@link #getItems()} emits every page loaded so far,
+ * in order; screens call {@link #loadNextPage()} as the user nears the end of the list.
+ */
+public interface PagedListing<T> {
+
+	LiveData<List<T>> getItems();
+
+	LiveData<Boolean> isLoading();
+
+	/**
+	 * Emits {@code false} once a page comes back shorter than the page size.
+	 */
+	LiveData<Boolean> hasMore();
+
+	/**
+	 * Loads the page after the last one received. Ignored while a page is in flight or when
+	 * there are no more pages.
+	 */
+	void loadNextPage();
+
+	/**
+	 * Drops every loaded page and loads the first page again.
+	 */
+	void refresh();
+}
@@ -0,0 +1,21 @@
+package com.shoppr.domain.repository;
+
+import androidx.annotation.NonNull;
+
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.Transaction;
+
+public interface CheckoutRepository {
+	interface CheckoutCallbacks {
+		void onSuccess(@NonNull Transaction transaction);
+
+		void onError(@NonNull String message);
+	}
+
+	/**
+	 * Writes the transaction, completes the request and the post in one commit. Safe to retry:
+	 * a request that was already paid for returns its existing transaction.
+	 */
+	void completeCheckout(@NonNull Transaction transaction, @NonNull ActivityEntry paymentEntry,
+						  @NonNull CheckoutCallbacks callbacks);
+}
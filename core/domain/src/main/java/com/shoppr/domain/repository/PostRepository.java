@@ -6,6 +6,9 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ChangeSet;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.ListingState;
 import com.shoppr.model.Post;
 
@@ -15,10 +18,16 @@ public interface PostRepository {
 
 	LiveData<List<Post>> getFeedPosts(@Nullable String currentUserIdToExclude);
 
+	LiveData<ChangeSet<Post>> getFeedPostsInBounds(@Nullable String currentUserIdToExclude, @NonNull GeoBounds bounds);
+
 	LiveData<List<Post>> getPostsForUser(@NonNull String userId);
 
+	PagedListing<Post> getPostsForUserPaged(@NonNull String userId, int pageSize);
+
 	LiveData<List<Post>> getPostsByIds(@NonNull List<String> postIds);
 
+	LiveData<List<Post>> getPostsByIds(@NonNull LiveData<List<String>> postIds);
+
 	interface GetPostByIdCallbacks {
 		void onSuccess(@NonNull Post post);
 		void onError(@NonNull String message);
@@ -4,7 +4,11 @@ import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.NegotiationAction;
 import com.shoppr.model.Request;
+import com.shoppr.model.RequestStatus;
 
 import java.util.List;
 
@@ -27,6 +31,12 @@ public interface RequestRepository {
 		void onError(@NonNull String message);
 	}
 
+	interface RequestTransitionCallbacks {
+		void onSuccess(@NonNull RequestStatus newStatus);
+
+		void onError(@NonNull String message);
+	}
+
 	interface SingleRequestCallback {
 		void onSuccess(@Nullable Request request);
 
@@ -37,13 +47,39 @@ public interface RequestRepository {
 
 	LiveData<List<Request>> getAllRequestsForUser(@NonNull String userId);
 
+	PagedListing<Request> getAllRequestsForUserPaged(@NonNull String userId, int pageSize);
+
+	/**
+	 * Ids of the posts the buyer currently has an offer on.
+	 */
+	LiveData<List<String>> getOfferedPostIds(@NonNull String buyerId);
+
 	LiveData<Request> getRequestById(@NonNull String requestId);
 
+	/**
+	 * The request's activity, newest first.
+	 */
+	PagedListing<ActivityEntry> getRequestActivityPaged(@NonNull String requestId, int pageSize);
+
 	void createRequest(@NonNull Request request, @NonNull RequestCreationCallbacks callback);
 
 	void deleteRequest(@NonNull Request request, @NonNull RequestDeletionCallbacks callbacks);
 
 	void updateRequest(@NonNull Request request, @NonNull RequestUpdateCallbacks callbacks);
 
+	/**
+	 * Updates the given fields and records the entry in the request's activity. Null fields are
+	 * left as they are.
+	 */
+	void updateRequestFields(@NonNull String requestId, @Nullable RequestStatus status, @Nullable Double offerAmount,
+							 @Nullable String message, @NonNull ActivityEntry entry, @NonNull RequestUpdateCallbacks callbacks);
+
+	/**
+	 * Applies a buyer or seller action server-side. Fails without writing if the request is no
+	 * longer in {@code expectedStatus}.
+	 */
+	void transitionRequest(@NonNull String requestId, @NonNull RequestStatus expectedStatus, @NonNull NegotiationAction action,
+						   @Nullable Double offerAmount, @NonNull RequestTransitionCallbacks callbacks);
+
 	void getRequestForPost(String userId, String postId, SingleRequestCallback callbacks);
 }
\ No newline at end of file
@@ -6,10 +6,17 @@ import androidx.lifecycle.LiveData;
 
 import com.shoppr.model.User;
 
+import java.util.List;
+
 public interface UserRepository {
 
     LiveData<User> getFullUserProfile();
 
+    /**
+     * The current user's favorite post ids, including toggles that are still being saved.
+     */
+    LiveData<List<String>> getFavoritePostIds();
+
     interface OperationCallbacks {
         void onSuccess();
 
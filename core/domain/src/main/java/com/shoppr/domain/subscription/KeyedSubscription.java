@@ -0,0 +1,76 @@
+package com.shoppr.domain.subscription;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Holds at most one downstream subscription (a query's live data, a paged listing) for a key such
+ * as a user id or a map viewport. Setting the key again only tears the subscription down and
+ * creates a new one when the key actually changed, so an upstream that emits often (e.g. the user
+ * profile, whose favorites and location change) can drive it directly. A {@code null} key means
+ * no subscription.
+ * <p>
+ * Not thread-safe; meant to be driven from the main thread by a view model.
+ */
+public final class KeyedSubscription<K, S> {
+
+	private final Function<K, S> subscribe;
+	private final Consumer<S> unsubscribe;
+	@Nullable
+	private K key;
+	@Nullable
+	private S subscription;
+
+	/**
+	 * @param subscribe   creates the subscription for a non-null key
+	 * @param unsubscribe releases a subscription created by {@code subscribe}
+	 */
+	public KeyedSubscription(@NonNull Function<K, S> subscribe, @NonNull Consumer<S> unsubscribe) {
+		this.subscribe = subscribe;
+		this.unsubscribe = unsubscribe;
+	}
+
+	/**
+	 * Subscribes for {@code newKey}, replacing the current subscription only if the key differs.
+	 *
+	 * @return whether the subscription was replaced
+	 */
+	public boolean setKey(@Nullable K newKey) {
+		if (Objects.equals(newKey, key) && (newKey == null || subscription != null)) {
+			return false;
+		}
+		clear();
+		key = newKey;
+		if (newKey != null) {
+			subscription = subscribe.apply(newKey);
+		}
+		return true;
+	}
+
+	/**
+	 * Releases the current subscription, if any. The next {@link #setKey} subscribes again even
+	 * for the same key.
+	 */
+	public void clear() {
+		S current = subscription;
+		key = null;
+		subscription = null;
+		if (current != null) {
+			unsubscribe.accept(current);
+		}
+	}
+
+	@Nullable
+	public K getKey() {
+		return key;
+	}
+
+	@Nullable
+	public S get() {
+		return subscription;
+	}
+}
@@ -0,0 +1,21 @@
+package com.shoppr.domain.usecase;
+
+import androidx.annotation.NonNull;
+
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.Transaction;
+
+public interface CompleteCheckoutUseCase {
+
+	interface CompleteCheckoutCallbacks {
+		void onSuccess(@NonNull Transaction transaction);
+
+		void onError(@NonNull String message);
+	}
+
+	/**
+	 * Pays for an accepted offer: records the transaction and completes the request and the post
+	 * together. Retrying after a failure never records a second payment.
+	 */
+	void execute(@NonNull Transaction transaction, @NonNull ActivityEntry paymentEntry, @NonNull CompleteCheckoutCallbacks callbacks);
+}
@@ -1,11 +1,12 @@
 package com.shoppr.domain.usecase;
 
-import androidx.lifecycle.LiveData;
-
-import com.shoppr.model.Request;
-
-import java.util.List;
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.RequestWithPost;
 
 public interface GetAllRequestsUseCase {
-	LiveData<List<Request>> execute(String userId);
-}
\ No newline at end of file
+	/**
+	 * Pages through the user's requests, each joined with its post. A page is only emitted once
+	 * the posts it needs have been looked up.
+	 */
+	PagedListing<RequestWithPost> execute(String userId);
+}
@@ -0,0 +1,13 @@
+package com.shoppr.domain.usecase;
+
+import androidx.lifecycle.LiveData;
+
+import java.util.List;
+
+public interface GetFavoritePostIdsUseCase {
+	/**
+	 * Ids of the current user's favorite posts. Toggles show here at once, before they are saved,
+	 * and are rolled back if saving fails. Empty while signed out.
+	 */
+	LiveData<List<String>> execute();
+}
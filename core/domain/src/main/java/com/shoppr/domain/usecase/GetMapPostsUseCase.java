@@ -1,11 +1,19 @@
 package com.shoppr.domain.usecase;
 
+import androidx.annotation.NonNull;
 import androidx.lifecycle.LiveData;
 
+import com.shoppr.model.ChangeSet;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.Post;
 
 import java.util.List;
 
 public interface GetMapPostsUseCase {
 	LiveData<List<Post>> execute(String currentUserIdToExclude);
+
+	/**
+	 * Returns only the posts inside the visible map area, as incremental change sets.
+	 */
+	LiveData<ChangeSet<Post>> execute(String currentUserIdToExclude, @NonNull GeoBounds visibleBounds);
 }
\ No newline at end of file
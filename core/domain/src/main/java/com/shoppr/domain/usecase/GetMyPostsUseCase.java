@@ -1,11 +1,8 @@
 package com.shoppr.domain.usecase;
 
-import androidx.lifecycle.LiveData;
-
+import com.shoppr.domain.paging.PagedListing;
 import com.shoppr.model.Post;
 
-import java.util.List;
-
 public interface GetMyPostsUseCase {
-	LiveData<List<Post>> execute(String userId);
+	PagedListing<Post> execute(String userId);
 }
\ No newline at end of file
@@ -0,0 +1,12 @@
+package com.shoppr.domain.usecase;
+
+import androidx.lifecycle.LiveData;
+
+import java.util.List;
+
+public interface GetOfferedPostIdsUseCase {
+	/**
+	 * Ids of the posts the current user has an open offer on. Empty while signed out.
+	 */
+	LiveData<List<String>> execute();
+}
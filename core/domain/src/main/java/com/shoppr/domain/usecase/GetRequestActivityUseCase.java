@@ -0,0 +1,13 @@
+package com.shoppr.domain.usecase;
+
+import androidx.annotation.NonNull;
+
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.model.ActivityEntry;
+
+public interface GetRequestActivityUseCase {
+	/**
+	 * Pages through a request's activity, newest first. The newest page stays live.
+	 */
+	PagedListing<ActivityEntry> execute(@NonNull String requestId);
+}
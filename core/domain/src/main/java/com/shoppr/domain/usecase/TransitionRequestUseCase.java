@@ -0,0 +1,24 @@
+package com.shoppr.domain.usecase;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import com.shoppr.model.NegotiationAction;
+import com.shoppr.model.RequestStatus;
+
+public interface TransitionRequestUseCase {
+
+	interface TransitionRequestCallbacks {
+		void onSuccess(@NonNull RequestStatus newStatus);
+
+		void onError(@NonNull String message);
+	}
+
+	/**
+	 * Accepts, rejects, counters or edits an offer. The server validates the move against the
+	 * request's current status, so an action based on a stale status fails instead of overwriting
+	 * the other party's.
+	 */
+	void execute(@NonNull String requestId, @NonNull RequestStatus expectedStatus, @NonNull NegotiationAction action,
+				 @Nullable Double offerAmount, @NonNull TransitionRequestCallbacks callbacks);
+}
@@ -1,8 +1,10 @@
 package com.shoppr.domain.usecase;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 
-import com.shoppr.model.Request;
+import com.shoppr.model.ActivityEntry;
+import com.shoppr.model.RequestStatus;
 
 public interface UpdateRequestUseCase {
 
@@ -12,5 +14,10 @@ public interface UpdateRequestUseCase {
 		void onError(@NonNull String message);
 	}
 
-	void execute(@NonNull Request request, @NonNull UpdateRequestCallbacks callbacks);
-}
\ No newline at end of file
+	/**
+	 * Updates only the given fields of the request and adds the entry to its activity. Null
+	 * fields are left as they are.
+	 */
+	void execute(@NonNull String requestId, @Nullable RequestStatus status, @Nullable Double offerAmount,
+				 @Nullable String message, @NonNull ActivityEntry entry, @NonNull UpdateRequestCallbacks callbacks);
+}
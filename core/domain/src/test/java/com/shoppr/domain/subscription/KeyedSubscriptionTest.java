@@ -0,0 +1,83 @@
+package com.shoppr.domain.subscription;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class KeyedSubscriptionTest {
+
+	private final List<String> subscribed = new ArrayList<>();
+	private final List<String> unsubscribed = new ArrayList<>();
+	private final KeyedSubscription<String, String> subscription = new KeyedSubscription<>(
+			key -> {
+				subscribed.add(key);
+				return "subscription:" + key;
+			},
+			unsubscribed::add);
+
+	@Test
+	public void setKey_subscribesForTheKey() {
+		assertTrue(subscription.setKey("user-1"));
+
+		assertEquals("user-1", subscription.getKey());
+		assertEquals("subscription:user-1", subscription.get());
+		assertEquals(Collections.singletonList("user-1"), subscribed);
+	}
+
+	@Test
+	public void setKey_sameKey_keepsTheSubscription() {
+		subscription.setKey("user-1");
+
+		assertFalse(subscription.setKey("user-1"));
+		assertFalse(subscription.setKey(new String("user-1")));
+
+		assertEquals(Collections.singletonList("user-1"), subscribed);
+		assertTrue(unsubscribed.isEmpty());
+	}
+
+	@Test
+	public void setKey_changedKey_replacesTheSubscription() {
+		subscription.setKey("user-1");
+
+		assertTrue(subscription.setKey("user-2"));
+
+		assertEquals(Arrays.asList("user-1", "user-2"), subscribed);
+		assertEquals(Collections.singletonList("subscription:user-1"), unsubscribed);
+		assertEquals("subscription:user-2", subscription.get());
+	}
+
+	@Test
+	public void setKey_null_releasesTheSubscription() {
+		subscription.setKey("user-1");
+
+		assertTrue(subscription.setKey(null));
+		assertFalse(subscription.setKey(null));
+
+		assertNull(subscription.getKey());
+		assertNull(subscription.get());
+		assertEquals(Collections.singletonList("subscription:user-1"), unsubscribed);
+	}
+
+	@Test
+	public void clear_thenSameKey_subscribesAgain() {
+		subscription.setKey("user-1");
+		subscription.clear();
+
+		assertTrue(subscription.setKey("user-1"));
+
+		assertEquals(Arrays.asList("user-1", "user-1"), subscribed);
+		assertEquals(Collections.singletonList("subscription:user-1"), unsubscribed);
+	}
+
+	@Test
+	public void clear_withoutSubscription_doesNothing() {
+		subscription.clear();
+
+		assertTrue(unsubscribed.isEmpty());
+	}
+}
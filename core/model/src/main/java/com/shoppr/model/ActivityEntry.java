@@ -6,6 +6,7 @@ import android.os.Parcelable;
 import java.util.Date;
 
 public class ActivityEntry implements Parcelable {
+	private String id;
 	private String actorId;
 	private String actorName;
 	private String description;
@@ -27,6 +28,14 @@ public class ActivityEntry implements Parcelable {
 		this.createdAt = createdAt;
 	}
 
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
 	public String getActorId() {
 		return actorId;
 	}
@@ -60,6 +69,7 @@ public class ActivityEntry implements Parcelable {
 	}
 
 	protected ActivityEntry(Parcel in) {
+		id = in.readString();
 		actorId = in.readString();
 		actorName = in.readString();
 		description = in.readString();
@@ -86,6 +96,7 @@ public class ActivityEntry implements Parcelable {
 
 	@Override
 	public void writeToParcel(Parcel dest, int flags) {
+		dest.writeString(id);
 		dest.writeString(actorId);
 		dest.writeString(actorName);
 		dest.writeString(description);
@@ -0,0 +1,155 @@
+package com.shoppr.model;
+
+import androidx.annotation.NonNull;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+
+/**
+ * The current contents of a list together with the positional changes that produced it from the
+ * previous emission, so adapters can notify exactly the rows that changed instead of re-diffing.
+ * A change set with {@link #isFullReload()} carries no changes; the whole list should be replaced.
+ */
+public class ChangeSet<T> {
+
+	public enum Type {
+		INSERTED,
+		REMOVED,
+		CHANGED,
+		// The item moved from fromIndex to toIndex; its contents may have changed as well
+		MOVED
+	}
+
+	public static class Change {
+		public final Type type;
+		public final int fromIndex;
+		public final int toIndex;
+
+		private Change(Type type, int fromIndex, int toIndex) {
+			this.type = type;
+			this.fromIndex = fromIndex;
+			this.toIndex = toIndex;
+		}
+
+		public static Change inserted(int index) {
+			return new Change(Type.INSERTED, -1, index);
+		}
+
+		public static Change removed(int index) {
+			return new Change(Type.REMOVED, index, -1);
+		}
+
+		public static Change changed(int index) {
+			return new Change(Type.CHANGED, index, index);
+		}
+
+		public static Change moved(int fromIndex, int toIndex) {
+			return new Change(Type.MOVED, fromIndex, toIndex);
+		}
+
+		/**
+		 * Returns this change with both positions shifted, for lists that are a section of a longer one.
+		 */
+		public Change offsetBy(int offset) {
+			return new Change(type,
+					fromIndex < 0 ? fromIndex : fromIndex + offset,
+					toIndex < 0 ? toIndex : toIndex + offset);
+		}
+	}
+
+	private final List<T> items;
+	private final List<Change> changes;
+	private final boolean fullReload;
+
+	private ChangeSet(List<T> items, List<Change> changes, boolean fullReload) {
+		this.items = Collections.unmodifiableList(items);
+		this.changes = Collections.unmodifiableList(changes);
+		this.fullReload = fullReload;
+	}
+
+	public static <T> ChangeSet<T> fullReload(@NonNull List<T> items) {
+		return new ChangeSet<>(items, Collections.emptyList(), true);
+	}
+
+	/**
+	 * @param changes applied in order; each position refers to the list as left by the previous change.
+	 */
+	public static <T> ChangeSet<T> incremental(@NonNull List<T> items, @NonNull List<Change> changes) {
+		return new ChangeSet<>(items, changes, false);
+	}
+
+	@NonNull
+	public List<T> getItems() {
+		return items;
+	}
+
+	@NonNull
+	public List<Change> getChanges() {
+		return changes;
+	}
+
+	public boolean isFullReload() {
+		return fullReload;
+	}
+
+	public boolean isEmpty() {
+		return !fullReload && changes.isEmpty();
+	}
+
+	/**
+	 * Whether the changes lead from {@code previousItems} to this change set's items, compared by
+	 * {@code key}. Undoing the changes on the new items gives the list they were computed from; only
+	 * removed items are unknown, and any item is accepted in their place.
+	 */
+	public boolean follows(@NonNull List<T> previousItems, @NonNull Function<T, ?> key) {
+		if (fullReload) {
+			return true;
+		}
+		List<Object> keys = new ArrayList<>(items.size());
+		for (T item : items) {
+			keys.add(key.apply(item));
+		}
+		// A removed item's key is unknown; this marks its slot
+		Object removed = new Object();
+		for (int i = changes.size() - 1; i >= 0; i--) {
+			Change change = changes.get(i);
+			if (!undo(keys, change, removed)) {
+				return false;
+			}
+		}
+		if (keys.size() != previousItems.size()) {
+			return false;
+		}
+		for (int i = 0; i < keys.size(); i++) {
+			Object expected = keys.get(i);
+			if (expected != removed && !Objects.equals(expected, key.apply(previousItems.get(i)))) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	private static boolean undo(List<Object> keys, Change change, Object removed) {
+		switch (change.type) {
+			case INSERTED:
+				if (change.toIndex < 0 || change.toIndex >= keys.size()) return false;
+				keys.remove(change.toIndex);
+				return true;
+			case REMOVED:
+				if (change.fromIndex < 0 || change.fromIndex > keys.size()) return false;
+				keys.add(change.fromIndex, removed);
+				return true;
+			case MOVED:
+				if (change.toIndex < 0 || change.toIndex >= keys.size() || change.fromIndex < 0 || change.fromIndex >= keys.size()) {
+					return false;
+				}
+				keys.add(change.fromIndex, keys.remove(change.toIndex));
+				return true;
+			default:
+				return change.toIndex >= 0 && change.toIndex < keys.size();
+		}
+	}
+}
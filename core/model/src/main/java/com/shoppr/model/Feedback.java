@@ -18,6 +18,14 @@ public class Feedback {
 	public Feedback() {
 	}
 
+	/**
+	 * Id of the feedback a user gives on a request. A user rates a request at most once, so the
+	 * id can be derived instead of looked up with a query.
+	 */
+	public static String idFor(String requestId, String raterId) {
+		return requestId + "_" + raterId;
+	}
+
 	public String getId() {
 		return id;
 	}
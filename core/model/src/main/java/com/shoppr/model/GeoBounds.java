@@ -0,0 +1,64 @@
+package com.shoppr.model;
+
+import androidx.annotation.NonNull;
+
+import java.util.Objects;
+
+/**
+ * A latitude/longitude rectangle, typically the area currently visible on the map.
+ * When {@code west > east} the rectangle crosses the antimeridian.
+ */
+public class GeoBounds {
+	public final double south;
+	public final double west;
+	public final double north;
+	public final double east;
+
+	public GeoBounds(double south, double west, double north, double east) {
+		this.south = south;
+		this.west = west;
+		this.north = north;
+		this.east = east;
+	}
+
+	public boolean crossesAntimeridian() {
+		return west > east;
+	}
+
+	public boolean contains(double latitude, double longitude) {
+		if (latitude < south || latitude > north) {
+			return false;
+		}
+		if (crossesAntimeridian()) {
+			return longitude >= west || longitude <= east;
+		}
+		return longitude >= west && longitude <= east;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o) return true;
+		if (!(o instanceof GeoBounds)) return false;
+		GeoBounds that = (GeoBounds) o;
+		return Double.compare(that.south, south) == 0
+				&& Double.compare(that.west, west) == 0
+				&& Double.compare(that.north, north) == 0
+				&& Double.compare(that.east, east) == 0;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(south, west, north, east);
+	}
+
+	@NonNull
+	@Override
+	public String toString() {
+		return "GeoBounds{" +
+				"south=" + south +
+				", west=" + west +
+				", north=" + north +
+				", east=" + east +
+				'}';
+	}
+}
@@ -0,0 +1,100 @@
+package com.shoppr.model;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * The part of a {@link User} a post carries about its lister. Kept to what post cards and
+ * details display, so a post's size doesn't depend on the lister's profile (e.g. favorites).
+ */
+public class ListerSummary implements Parcelable {
+	private String id;
+	private String name;
+	private double averageRating = 0.0;
+	private int ratingCount = 0;
+
+	public ListerSummary() {
+	}
+
+	public ListerSummary(String id, String name, double averageRating, int ratingCount) {
+		this.id = id;
+		this.name = name;
+		this.averageRating = averageRating;
+		this.ratingCount = ratingCount;
+	}
+
+	protected ListerSummary(Parcel in) {
+		id = in.readString();
+		name = in.readString();
+		averageRating = in.readDouble();
+		ratingCount = in.readInt();
+	}
+
+	@Nullable
+	public static ListerSummary from(@Nullable User user) {
+		if (user == null) {
+			return null;
+		}
+		return new ListerSummary(user.getId(), user.getName(), user.getAverageRating(), user.getRatingCount());
+	}
+
+	public static final Creator<ListerSummary> CREATOR = new Creator<ListerSummary>() {
+		@Override
+		public ListerSummary createFromParcel(Parcel in) {
+			return new ListerSummary(in);
+		}
+
+		@Override
+		public ListerSummary[] newArray(int size) {
+			return new ListerSummary[size];
+		}
+	};
+
+	public String getId() {
+		return id;
+	}
+
+	public void setId(String id) {
+		this.id = id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public void setName(String name) {
+		this.name = name;
+	}
+
+	public double getAverageRating() {
+		return averageRating;
+	}
+
+	public void setAverageRating(double averageRating) {
+		this.averageRating = averageRating;
+	}
+
+	public int getRatingCount() {
+		return ratingCount;
+	}
+
+	public void setRatingCount(int ratingCount) {
+		this.ratingCount = ratingCount;
+	}
+
+	@Override
+	public int describeContents() {
+		return 0;
+	}
+
+	@Override
+	public void writeToParcel(@NonNull Parcel dest, int flags) {
+		dest.writeString(id);
+		dest.writeString(name);
+		dest.writeDouble(averageRating);
+		dest.writeInt(ratingCount);
+	}
+}
@@ -0,0 +1,11 @@
+package com.shoppr.model;
+
+/**
+ * What a buyer or seller does to a request. The server decides the resulting {@link RequestStatus}.
+ */
+public enum NegotiationAction {
+	ACCEPT,
+	REJECT,
+	COUNTER,    // Needs an offer amount
+	EDIT_OFFER  // Needs an offer amount; buyer only, while the seller hasn't answered
+}
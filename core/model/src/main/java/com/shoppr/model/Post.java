@@ -21,9 +21,8 @@ public class Post implements Parcelable {
 	private ListingType type;
 	private List<String> imageUrl;
 	private List<String> categories;
-	private User lister;
-	private List<String> requests;
-	private List<String> offeringUserIds;
+	private ListerSummary lister;
+	private int offerCount;
 
 	@Nullable
 	private Double latitude;
@@ -31,6 +30,8 @@ public class Post implements Parcelable {
 	private Double longitude;
 	@Nullable
 	private String postAddress;
+	@Nullable
+	private String geohash;
 
 	@ServerTimestamp
 	private Date createdAt;
@@ -39,9 +40,7 @@ public class Post implements Parcelable {
 
 	public Post() {
 		this.imageUrl = new ArrayList<>();
-		this.requests = new ArrayList<>();
 		this.categories = new ArrayList<>();
-		this.offeringUserIds = new ArrayList<>();
 	}
 
 	private Post(Builder builder) {
@@ -55,10 +54,11 @@ public class Post implements Parcelable {
 		this.imageUrl = builder.imageUrl != null ? new ArrayList<>(builder.imageUrl) : new ArrayList<>();
 		this.categories = builder.categories != null ? new ArrayList<>(builder.categories) : new ArrayList<>(); // Changed to handle List
 		this.lister = builder.lister;
-		this.requests = builder.requests != null ? new ArrayList<>(builder.requests) : new ArrayList<>();
+		this.offerCount = builder.offerCount;
 		this.latitude = builder.latitude;
 		this.longitude = builder.longitude;
 		this.postAddress = builder.postAddress;
+		this.geohash = builder.geohash;
 		this.createdAt = builder.createdAt;
 		this.updatedAt = builder.updatedAt;
 	}
@@ -71,8 +71,8 @@ public class Post implements Parcelable {
 		currency = in.readString();
 		imageUrl = in.createStringArrayList();
 		categories = in.createStringArrayList();
-		requests = in.createStringArrayList();
-		offeringUserIds = in.createStringArrayList();
+		offerCount = in.readInt();
+		lister = in.readParcelable(ListerSummary.class.getClassLoader());
 		if (in.readByte() == 0) {
 			latitude = null;
 		} else {
@@ -84,6 +84,7 @@ public class Post implements Parcelable {
 			longitude = in.readDouble();
 		}
 		postAddress = in.readString();
+		geohash = in.readString();
 	}
 
 	@Override
@@ -95,8 +96,8 @@ public class Post implements Parcelable {
 		dest.writeString(currency);
 		dest.writeStringList(imageUrl);
 		dest.writeStringList(categories);
-		dest.writeStringList(requests);
-		dest.writeStringList(offeringUserIds);
+		dest.writeInt(offerCount);
+		dest.writeParcelable(lister, flags);
 		if (latitude == null) {
 			dest.writeByte((byte) 0);
 		} else {
@@ -110,6 +111,7 @@ public class Post implements Parcelable {
 			dest.writeDouble(longitude);
 		}
 		dest.writeString(postAddress);
+		dest.writeString(geohash);
 	}
 
 	@Override
@@ -202,28 +204,24 @@ public class Post implements Parcelable {
 		this.categories = categories;
 	}
 
-	public User getLister() {
+	public ListerSummary getLister() {
 		return lister;
 	}
 
-	public void setLister(User lister) {
+	public void setLister(ListerSummary lister) {
 		this.lister = lister;
 	}
 
-	public List<String> getRequests() {
-		return requests;
-	}
-
-	public void setRequests(List<String> requests) {
-		this.requests = requests;
+	/**
+	 * Number of open offers, rolled up periodically from the post's counter shards, so it can lag
+	 * behind the offers themselves by a few minutes.
+	 */
+	public int getOfferCount() {
+		return offerCount;
 	}
 
-	public List<String> getOfferingUserIds() {
-		return offeringUserIds;
-	}
-
-	public void setOfferingUserIds(List<String> offeringUserIds) {
-		this.offeringUserIds = offeringUserIds;
+	public void setOfferCount(int offerCount) {
+		this.offerCount = offerCount;
 	}
 
 	@Nullable
@@ -253,6 +251,19 @@ public class Post implements Parcelable {
 		this.postAddress = postAddress;
 	}
 
+	/**
+	 * Geohash of the post's coordinates, written alongside them so map queries can be
+	 * bounded to the visible area with prefix range queries.
+	 */
+	@Nullable
+	public String getGeohash() {
+		return geohash;
+	}
+
+	public void setGeohash(@Nullable String geohash) {
+		this.geohash = geohash;
+	}
+
 	public Date getCreatedAt() {
 		return createdAt;
 	}
@@ -280,14 +291,16 @@ public class Post implements Parcelable {
 		private ListingType type;
 		private List<String> imageUrl = new ArrayList<>();
 		private List<String> categories = new ArrayList<>(); // Changed to List<String>
-		private User lister;
-		private List<String> requests = new ArrayList<>();
+		private ListerSummary lister;
+		private int offerCount;
 		@Nullable
 		private Double latitude;
 		@Nullable
 		private Double longitude;
 		@Nullable
 		private String postAddress;
+		@Nullable
+		private String geohash;
 		private Date createdAt;
 		private Date updatedAt;
 
@@ -336,13 +349,13 @@ public class Post implements Parcelable {
 			return this;
 		}
 
-		public Builder lister(User lister) {
+		public Builder lister(ListerSummary lister) {
 			this.lister = lister;
 			return this;
 		}
 
-		public Builder requests(List<String> requests) {
-			this.requests = requests;
+		public Builder offerCount(int offerCount) {
+			this.offerCount = offerCount;
 			return this;
 		}
 
@@ -361,6 +374,11 @@ public class Post implements Parcelable {
 			return this;
 		}
 
+		public Builder geohash(@Nullable String geohash) {
+			this.geohash = geohash;
+			return this;
+		}
+
 		public Builder createdAt(Date createdAt) {
 			this.createdAt = createdAt;
 			return this;
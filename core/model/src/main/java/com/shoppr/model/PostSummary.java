@@ -0,0 +1,161 @@
+package com.shoppr.model;
+
+import android.os.Parcel;
+import android.os.Parcelable;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The part of a {@link Post} a request carries, so request lists and details can render from the
+ * request document alone. Written when the offer is made and kept in sync by the
+ * syncRequestPostSummaries function when the post changes.
+ */
+public class PostSummary implements Parcelable {
+	private String title;
+	@Nullable
+	private String imageUrl;
+	private String price;
+	private String currency;
+	private String listerId;
+	private String listerName;
+	private ListingState state;
+
+	public PostSummary() {
+	}
+
+	protected PostSummary(Parcel in) {
+		title = in.readString();
+		imageUrl = in.readString();
+		price = in.readString();
+		currency = in.readString();
+		listerId = in.readString();
+		listerName = in.readString();
+		state = (ListingState) in.readSerializable();
+	}
+
+	@Nullable
+	public static PostSummary from(@Nullable Post post) {
+		if (post == null) {
+			return null;
+		}
+		PostSummary summary = new PostSummary();
+		summary.title = post.getTitle();
+		summary.imageUrl = post.getImageUrl() != null && !post.getImageUrl().isEmpty() ? post.getImageUrl().get(0) : null;
+		summary.price = post.getPrice();
+		summary.currency = post.getCurrency();
+		summary.listerId = post.getLister() != null ? post.getLister().getId() : null;
+		summary.listerName = post.getLister() != null ? post.getLister().getName() : null;
+		summary.state = post.getState();
+		return summary;
+	}
+
+	/**
+	 * A partial post to render with until the full post is loaded. Fields the summary doesn't
+	 * carry, such as the description or the lister's rating, are left empty.
+	 */
+	@NonNull
+	public Post toPost(String postId) {
+		List<String> imageUrls = new ArrayList<>();
+		if (imageUrl != null) {
+			imageUrls.add(imageUrl);
+		}
+		return new Post.Builder()
+				.id(postId)
+				.title(title)
+				.imageUrl(imageUrls)
+				.price(price)
+				.currency(currency)
+				.state(state)
+				.lister(new ListerSummary(listerId, listerName, 0.0, 0))
+				.build();
+	}
+
+	public static final Creator<PostSummary> CREATOR = new Creator<PostSummary>() {
+		@Override
+		public PostSummary createFromParcel(Parcel in) {
+			return new PostSummary(in);
+		}
+
+		@Override
+		public PostSummary[] newArray(int size) {
+			return new PostSummary[size];
+		}
+	};
+
+	public String getTitle() {
+		return title;
+	}
+
+	public void setTitle(String title) {
+		this.title = title;
+	}
+
+	@Nullable
+	public String getImageUrl() {
+		return imageUrl;
+	}
+
+	public void setImageUrl(@Nullable String imageUrl) {
+		this.imageUrl = imageUrl;
+	}
+
+	public String getPrice() {
+		return price;
+	}
+
+	public void setPrice(String price) {
+		this.price = price;
+	}
+
+	public String getCurrency() {
+		return currency;
+	}
+
+	public void setCurrency(String currency) {
+		this.currency = currency;
+	}
+
+	public String getListerId() {
+		return listerId;
+	}
+
+	public void setListerId(String listerId) {
+		this.listerId = listerId;
+	}
+
+	public String getListerName() {
+		return listerName;
+	}
+
+	public void setListerName(String listerName) {
+		this.listerName = listerName;
+	}
+
+	public ListingState getState() {
+		return state;
+	}
+
+	public void setState(ListingState state) {
+		this.state = state;
+	}
+
+	@Override
+	public int describeContents() {
+		return 0;
+	}
+
+	@Override
+	public void writeToParcel(@NonNull Parcel dest, int flags) {
+		dest.writeString(title);
+		dest.writeString(imageUrl);
+		dest.writeString(price);
+		dest.writeString(currency);
+		dest.writeString(listerId);
+		dest.writeString(listerName);
+		dest.writeSerializable(state);
+	}
+}
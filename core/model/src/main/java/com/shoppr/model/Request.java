@@ -3,6 +3,8 @@ package com.shoppr.model;
 import android.os.Parcel;
 import android.os.Parcelable;
 
+import androidx.annotation.Nullable;
+
 import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
@@ -19,6 +21,8 @@ public class Request implements Parcelable {
 	private RequestStatus status;
 	private Date createdAt;
 	private List<ActivityEntry> activityTimeline;
+	@Nullable
+	private PostSummary postSummary;
 
 	public Request() {
 		this.activityTimeline = new ArrayList<>();
@@ -35,6 +39,7 @@ public class Request implements Parcelable {
 		this.status = builder.status;
 		this.createdAt = builder.createdAt;
 		this.activityTimeline = builder.activityTimeline != null ? new ArrayList<>(builder.activityTimeline) : new ArrayList<>();
+		this.postSummary = builder.postSummary;
 	}
 
 	protected Request(Parcel in) {
@@ -54,6 +59,7 @@ public class Request implements Parcelable {
 		createdAt = tmpDate == -1 ? null : new Date(tmpDate);
 		// This correctly reads the list of ActivityEntry objects
 		activityTimeline = in.createTypedArrayList(ActivityEntry.CREATOR);
+		postSummary = in.readParcelable(PostSummary.class.getClassLoader());
 	}
 
 	public static final Creator<Request> CREATOR = new Creator<Request>() {
@@ -90,6 +96,15 @@ public class Request implements Parcelable {
 		dest.writeSerializable(status);
 		dest.writeLong(createdAt != null ? createdAt.getTime() : -1);
 		dest.writeTypedList(activityTimeline);
+		dest.writeParcelable(postSummary, flags);
+	}
+
+	/**
+	 * Id of the request a buyer makes on a post. A buyer has at most one request per post, so the
+	 * id can be derived instead of looked up with a query.
+	 */
+	public static String idFor(String postId, String buyerId) {
+		return postId + "_" + buyerId;
 	}
 
 	public String getId() {
@@ -172,6 +187,18 @@ public class Request implements Parcelable {
 		this.activityTimeline = activityTimeline;
 	}
 
+	/**
+	 * Copy of the post's display fields; {@code null} on requests made before it was introduced.
+	 */
+	@Nullable
+	public PostSummary getPostSummary() {
+		return postSummary;
+	}
+
+	public void setPostSummary(@Nullable PostSummary postSummary) {
+		this.postSummary = postSummary;
+	}
+
 	public static class Builder {
 		private String id;
 		private String postId;
@@ -183,6 +210,7 @@ public class Request implements Parcelable {
 		private RequestStatus status;
 		private Date createdAt;
 		private List<ActivityEntry> activityTimeline;
+		private PostSummary postSummary;
 
 		public Builder id(String id) {
 			this.id = id;
@@ -234,6 +262,11 @@ public class Request implements Parcelable {
 			return this;
 		}
 
+		public Builder postSummary(PostSummary postSummary) {
+			this.postSummary = postSummary;
+			return this;
+		}
+
 		public Request build() {
 			return new Request(this);
 		}
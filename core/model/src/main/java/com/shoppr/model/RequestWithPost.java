@@ -0,0 +1,30 @@
+package com.shoppr.model;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+
+/**
+ * A request joined with the post it was made on. The post is {@code null} when it no longer
+ * exists, e.g. the lister deleted it, so lists can show a placeholder instead of dropping the row.
+ */
+public class RequestWithPost {
+	@NonNull
+	private final Request request;
+	@Nullable
+	private final Post post;
+
+	public RequestWithPost(@NonNull Request request, @Nullable Post post) {
+		this.request = request;
+		this.post = post;
+	}
+
+	@NonNull
+	public Request getRequest() {
+		return request;
+	}
+
+	@Nullable
+	public Post getPost() {
+		return post;
+	}
+}
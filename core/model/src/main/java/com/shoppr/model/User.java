@@ -10,6 +10,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 public class User implements Parcelable {
+	public static final int RATING_STARS = 5;
+
 	private String id;
 	private String name;
 	private String email;
@@ -18,6 +20,8 @@ public class User implements Parcelable {
 	private List<String> favoritePosts;
 	private double averageRating = 0.0;
 	private int ratingCount = 0;
+	// Number of ratings per star; index 0 holds the one-star ratings
+	private int[] ratingHistogram = new int[RATING_STARS];
 
 	@Nullable
 	private Double latitude;
@@ -41,6 +45,7 @@ public class User implements Parcelable {
 		this.favoritePosts = builder.favoritePosts != null ? new ArrayList<>(builder.favoritePosts) : new ArrayList<>();
 		this.averageRating = builder.averageRating;
 		this.ratingCount = builder.ratingCount;
+		this.ratingHistogram = builder.ratingHistogram.clone();
 	}
 
 	protected User(Parcel in) {
@@ -52,6 +57,7 @@ public class User implements Parcelable {
 		favoritePosts = in.createStringArrayList();
 		averageRating = in.readDouble();
 		ratingCount = in.readInt();
+		ratingHistogram = in.createIntArray();
 		if (in.readByte() == 0) {
 			latitude = null;
 		} else {
@@ -168,6 +174,15 @@ public class User implements Parcelable {
 		this.ratingCount = ratingCount;
 	}
 
+	@NonNull
+	public int[] getRatingHistogram() {
+		return ratingHistogram;
+	}
+
+	public void setRatingHistogram(@NonNull int[] ratingHistogram) {
+		this.ratingHistogram = ratingHistogram;
+	}
+
 	@Override
 	public int describeContents() {
 		return 0;
@@ -183,6 +198,7 @@ public class User implements Parcelable {
 		dest.writeStringList(favoritePosts);
 		dest.writeDouble(averageRating);
 		dest.writeInt(ratingCount);
+		dest.writeIntArray(ratingHistogram);
 		if (latitude == null) {
 			dest.writeByte((byte) 0);
 		} else {
@@ -207,6 +223,7 @@ public class User implements Parcelable {
 		private List<String> favoritePosts = new ArrayList<>();
 		private double averageRating = 0.0;
 		private int ratingCount = 0;
+		private int[] ratingHistogram = new int[RATING_STARS];
 		@Nullable
 		private Double latitude;
 		@Nullable
@@ -254,6 +271,11 @@ public class User implements Parcelable {
 			return this;
 		}
 
+		public Builder ratingHistogram(@NonNull int[] ratingHistogram) {
+			this.ratingHistogram = ratingHistogram;
+			return this;
+		}
+
 		public Builder latitude(@Nullable Double latitude) {
 			this.latitude = latitude;
 			return this;
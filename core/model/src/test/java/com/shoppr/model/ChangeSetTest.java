@@ -0,0 +1,83 @@
+package com.shoppr.model;
+
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Function;
+
+import static org.junit.Assert.*;
+
+public class ChangeSetTest {
+
+	private static final Function<String, String> ID = item -> item;
+
+	@Test
+	public void follows_fullReload_followsAnyList() {
+		ChangeSet<String> changeSet = ChangeSet.fullReload(Arrays.asList("a", "b"));
+
+		assertTrue(changeSet.follows(Collections.emptyList(), ID));
+		assertTrue(changeSet.follows(Arrays.asList("x", "y", "z"), ID));
+	}
+
+	@Test
+	public void follows_insertRemoveAndChange_followsTheListTheyWereComputedFrom() {
+		// [a, b, c] -> remove b -> [a, c] -> insert d at 0 -> [d, a, c] -> change c
+		ChangeSet<String> changeSet = ChangeSet.incremental(Arrays.asList("d", "a", "c"), Arrays.asList(
+				ChangeSet.Change.removed(1),
+				ChangeSet.Change.inserted(0),
+				ChangeSet.Change.changed(2)));
+
+		assertTrue(changeSet.follows(Arrays.asList("a", "b", "c"), ID));
+		// The removed item is unknown to the change set, so any item fits its slot
+		assertTrue(changeSet.follows(Arrays.asList("a", "x", "c"), ID));
+	}
+
+	@Test
+	public void follows_sameSizeButDifferentItems_doesNotFollow() {
+		ChangeSet<String> changeSet = ChangeSet.incremental(Arrays.asList("a", "b", "c"),
+				Collections.singletonList(ChangeSet.Change.changed(1)));
+
+		assertTrue(changeSet.follows(Arrays.asList("a", "b", "c"), ID));
+		assertFalse(changeSet.follows(Arrays.asList("x", "y", "z"), ID));
+		assertFalse(changeSet.follows(Arrays.asList("b", "a", "c"), ID));
+	}
+
+	@Test
+	public void follows_move_followsTheListBeforeTheMove() {
+		// [a, b, c] -> move a to the end -> [b, c, a]
+		ChangeSet<String> changeSet = ChangeSet.incremental(Arrays.asList("b", "c", "a"),
+				Collections.singletonList(ChangeSet.Change.moved(0, 2)));
+
+		assertTrue(changeSet.follows(Arrays.asList("a", "b", "c"), ID));
+		assertFalse(changeSet.follows(Arrays.asList("b", "c", "a"), ID));
+	}
+
+	@Test
+	public void follows_emptyPreviousList_doesNotFollowAnUpdate() {
+		ChangeSet<String> changeSet = ChangeSet.incremental(Arrays.asList("a", "b"),
+				Collections.singletonList(ChangeSet.Change.inserted(1)));
+
+		assertFalse(changeSet.follows(Collections.emptyList(), ID));
+		assertTrue(changeSet.follows(Collections.singletonList("a"), ID));
+	}
+
+	@Test
+	public void follows_positionsOutOfRange_doesNotFollow() {
+		ChangeSet<String> changeSet = ChangeSet.incremental(Collections.singletonList("a"),
+				Collections.singletonList(ChangeSet.Change.inserted(3)));
+
+		assertFalse(changeSet.follows(Collections.<String>emptyList(), ID));
+	}
+
+	@Test
+	public void follows_keysByTheGivenFunction() {
+		List<Integer> previous = Arrays.asList(10, 20);
+		ChangeSet<Integer> changeSet = ChangeSet.incremental(Arrays.asList(11, 21),
+				Arrays.asList(ChangeSet.Change.changed(0), ChangeSet.Change.changed(1)));
+
+		assertTrue(changeSet.follows(previous, value -> value / 10));
+		assertFalse(changeSet.follows(previous, value -> value));
+	}
+}
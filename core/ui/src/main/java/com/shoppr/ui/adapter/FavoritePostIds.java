@@ -0,0 +1,84 @@
+package com.shoppr.ui.adapter;
+
+import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
+import androidx.recyclerview.widget.RecyclerView;
+
+import com.shoppr.model.Post;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Favorite post ids held by a post adapter. Lookups hit a hash set, and an update only notifies
+ * the rows whose favorite state actually changed, with {@link #PAYLOAD} so they rebind just the
+ * favorite button instead of the whole card.
+ */
+public final class FavoritePostIds {
+	public static final Object PAYLOAD = new Object();
+
+	private Set<String> ids = Collections.emptySet();
+
+	public boolean contains(@Nullable String postId) {
+		return postId != null && ids.contains(postId);
+	}
+
+	public void update(@Nullable Collection<String> newIds, @NonNull List<Post> items,
+										 @NonNull RecyclerView.Adapter<?> adapter) {
+		for (int position : replace(newIds, items)) {
+			adapter.notifyItemChanged(position, PAYLOAD);
+		}
+	}
+
+	/**
+	 * Replaces the ids and returns the positions in {@code items} whose favorite state changed.
+	 */
+	@NonNull
+	List<Integer> replace(@Nullable Collection<String> newIds, @NonNull List<Post> items) {
+		Set<String> oldIds = ids;
+		ids = newIds != null ? new HashSet<>(newIds) : Collections.emptySet();
+
+		// Ids in exactly one of the two sets; usually just the one that was toggled
+		Set<String> toggled = new HashSet<>();
+		for (String id : oldIds) {
+			if (!ids.contains(id)) {
+				toggled.add(id);
+			}
+		}
+		for (String id : ids) {
+			if (!oldIds.contains(id)) {
+				toggled.add(id);
+			}
+		}
+		if (toggled.isEmpty()) {
+			return Collections.emptyList();
+		}
+		List<Integer> positions = new ArrayList<>();
+		for (int i = 0; i < items.size(); i++) {
+			String postId = items.get(i).getId();
+			if (postId != null && toggled.contains(postId)) {
+				positions.add(i);
+			}
+		}
+		return positions;
+	}
+
+	/**
+	 * Whether a bind with these payloads only needs the favorite state refreshed.
+	 */
+	public static boolean isFavoriteOnly(@NonNull List<Object> payloads) {
+		if (payloads.isEmpty()) {
+			return false;
+		}
+		for (Object payload : payloads) {
+			if (payload != PAYLOAD) {
+				return false;
+			}
+		}
+		return true;
+	}
+}
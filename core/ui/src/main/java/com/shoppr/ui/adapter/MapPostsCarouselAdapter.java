@@ -4,28 +4,34 @@ import android.view.LayoutInflater;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
-import androidx.recyclerview.widget.DiffUtil;
-import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
 
 import com.shoppr.core.ui.R;
 import com.shoppr.core.ui.databinding.ListItemMapPostPeekBinding;
+import com.shoppr.model.ChangeSet;
 import com.shoppr.model.Post;
 import com.shoppr.ui.utils.FormattingUtils;
 import com.shoppr.ui.utils.ImageLoader;
 
 import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
-import java.util.Objects;
+import java.util.Set;
 
-public class MapPostsCarouselAdapter extends ListAdapter<Post, MapPostsCarouselAdapter.PostViewHolder> {
+/**
+ * Carousel under the map. Rows are updated from {@link ChangeSet}s produced by the feed listener,
+ * so a change to one post rebinds only that post's card.
+ */
+public class MapPostsCarouselAdapter extends RecyclerView.Adapter<MapPostsCarouselAdapter.PostViewHolder> {
 
 	private final OnPostClickListener postClickListener;
 	private final OnFavoriteClickListener favoriteClickListener;
 	private final OnMakeAnOfferClickListener makeAnOfferClickListener;
-	private List<String> favoritePostIds = Collections.emptyList();
-	private String currentUserId;
+	private final FavoritePostIds favoritePostIds = new FavoritePostIds();
+	private Set<String> offeredPostIds = Collections.emptySet();
+	private List<Post> posts = Collections.emptyList();
 
 	public interface OnPostClickListener {
 		void onPostClick(Post post);
@@ -44,35 +50,79 @@ public class MapPostsCarouselAdapter extends ListAdapter<Post, MapPostsCarouselA
 			OnFavoriteClickListener favoriteClickListener,
 			OnMakeAnOfferClickListener makeAnOfferClickListener
 	) {
-		super(PostDiffCallback.INSTANCE);
 		this.postClickListener = postClickListener;
 		this.favoriteClickListener = favoriteClickListener;
 		this.makeAnOfferClickListener = makeAnOfferClickListener;
 	}
 
-	public void setFavoritePostIds(List<String> newFavoritePostIds) {
-		// Get a copy of the old list before updating
-		List<String> oldFavoritePostIds = this.favoritePostIds;
-		this.favoritePostIds = newFavoritePostIds != null ? newFavoritePostIds : Collections.emptyList();
+	@NonNull
+	public List<Post> getCurrentList() {
+		return posts;
+	}
 
-		// Loop through the currently visible items to find what changed
-		for (int i = 0; i < getItemCount(); i++) {
-			Post post = getItem(i);
-			if (post != null && post.getId() != null) {
-				boolean wasFavorite = oldFavoritePostIds.contains(post.getId());
-				boolean isFavorite = this.favoritePostIds.contains(post.getId());
-
-				// If the favorite status of this specific item has changed,
-				// notify the adapter to only rebind this one item.
-				if (wasFavorite != isFavorite) {
-					notifyItemChanged(i);
-				}
+	public void submitList(@Nullable List<Post> newPosts) {
+		this.posts = newPosts != null ? newPosts : Collections.emptyList();
+		notifyDataSetChanged();
+	}
+
+	public void applyChangeSet(@Nullable ChangeSet<Post> changeSet) {
+		if (changeSet == null) {
+			return;
+		}
+		if (changeSet.isFullReload() || !followsCurrentList(changeSet)) {
+			submitList(changeSet.getItems());
+			return;
+		}
+		this.posts = changeSet.getItems();
+		for (ChangeSet.Change change : changeSet.getChanges()) {
+			switch (change.type) {
+				case INSERTED:
+					notifyItemInserted(change.toIndex);
+					break;
+				case REMOVED:
+					notifyItemRemoved(change.fromIndex);
+					break;
+				case CHANGED:
+					notifyItemChanged(change.toIndex);
+					break;
+				case MOVED:
+					notifyItemMoved(change.fromIndex, change.toIndex);
+					notifyItemChanged(change.toIndex);
+					break;
 			}
 		}
 	}
 
-	public void setCurrentUserId(String currentUserId) {
-		this.currentUserId = currentUserId;
+	// An incremental change set only applies on top of the list it was computed from, e.g. not
+	// after the view was recreated and the adapter started empty, or after a list of the same size
+	// was submitted in between
+	private boolean followsCurrentList(ChangeSet<Post> changeSet) {
+		return changeSet.follows(posts, Post::getId);
+	}
+
+	@Override
+	public int getItemCount() {
+		return posts.size();
+	}
+
+	private Post getItem(int position) {
+		return posts.get(position);
+	}
+
+	public void setFavoritePostIds(@Nullable List<String> newFavoritePostIds) {
+		favoritePostIds.update(newFavoritePostIds, posts, this);
+	}
+
+	public void setOfferedPostIds(@Nullable List<String> newOfferedPostIds) {
+		Set<String> oldOfferedPostIds = this.offeredPostIds;
+		this.offeredPostIds = newOfferedPostIds != null ? new HashSet<>(newOfferedPostIds) : Collections.emptySet();
+
+		for (int i = 0; i < getItemCount(); i++) {
+			String postId = getItem(i).getId();
+			if (postId != null && oldOfferedPostIds.contains(postId) != offeredPostIds.contains(postId)) {
+				notifyItemChanged(i);
+			}
+		}
 	}
 
 	@NonNull
@@ -87,7 +137,17 @@ public class MapPostsCarouselAdapter extends ListAdapter<Post, MapPostsCarouselA
 	public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
 		Post post = getItem(position);
 		boolean isFavorite = favoritePostIds.contains(post.getId());
-		holder.bind(post, isFavorite, currentUserId, postClickListener, favoriteClickListener, makeAnOfferClickListener);
+		boolean hasOffer = offeredPostIds.contains(post.getId());
+		holder.bind(post, isFavorite, hasOffer, postClickListener, favoriteClickListener, makeAnOfferClickListener);
+	}
+
+	@Override
+	public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+		if (FavoritePostIds.isFavoriteOnly(payloads)) {
+			holder.bindFavorite(favoritePostIds.contains(getItem(position).getId()));
+		} else {
+			super.onBindViewHolder(holder, position, payloads);
+		}
 	}
 
 	static class PostViewHolder extends RecyclerView.ViewHolder {
@@ -101,7 +161,7 @@ public class MapPostsCarouselAdapter extends ListAdapter<Post, MapPostsCarouselA
 		public void bind(
 				final Post post,
 				boolean isFavorite,
-				String currentUserId,
+				boolean hasOffer,
 				final OnPostClickListener postClickListener,
 				final OnFavoriteClickListener favoriteClickListener,
 				final OnMakeAnOfferClickListener makeAnOfferClickListener
@@ -116,15 +176,7 @@ public class MapPostsCarouselAdapter extends ListAdapter<Post, MapPostsCarouselA
 			String imageUrl = (post.getImageUrl() != null && !post.getImageUrl().isEmpty()) ? post.getImageUrl().get(0) : null;
 			ImageLoader.loadImage(binding.postImage, imageUrl);
 
-			if (isFavorite) {
-				binding.buttonFavorite.setIconResource(R.drawable.ic_favorite_filled);
-			} else {
-				binding.buttonFavorite.setIconResource(R.drawable.ic_favorite_outline);
-			}
-
-			boolean hasOffer = currentUserId != null &&
-					post.getOfferingUserIds() != null &&
-					post.getOfferingUserIds().contains(currentUserId);
+			bindFavorite(isFavorite);
 
 			if (hasOffer) {
 				// State when an offer has been made
@@ -155,19 +207,9 @@ public class MapPostsCarouselAdapter extends ListAdapter<Post, MapPostsCarouselA
 			binding.buttonMakeAnOffer.setOnClickListener(v -> makeAnOfferClickListener.onMakeAnOfferClick(post));
 			itemView.setOnClickListener(v -> postClickListener.onPostClick(post));
 		}
-	}
-
-	private static class PostDiffCallback extends DiffUtil.ItemCallback<Post> {
-		public static final PostDiffCallback INSTANCE = new PostDiffCallback();
-
-		@Override
-		public boolean areItemsTheSame(@NonNull Post oldItem, @NonNull Post newItem) {
-			return Objects.equals(oldItem.getId(), newItem.getId());
-		}
 
-		@Override
-		public boolean areContentsTheSame(@NonNull Post oldItem, @NonNull Post newItem) {
-			return Objects.equals(oldItem, newItem);
+		void bindFavorite(boolean isFavorite) {
+			binding.buttonFavorite.setIconResource(isFavorite ? R.drawable.ic_favorite_filled : R.drawable.ic_favorite_outline);
 		}
 	}
 }
\ No newline at end of file
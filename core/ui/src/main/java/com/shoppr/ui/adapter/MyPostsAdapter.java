@@ -5,6 +5,7 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
@@ -21,6 +22,8 @@ import java.util.Objects;
 public class MyPostsAdapter extends ListAdapter<Post, MyPostsAdapter.PostViewHolder> {
 
 	private final OnPostClickListener listener;
+	@Nullable
+	private OnLoadMoreListener loadMoreListener;
 
 	public interface OnPostClickListener {
 		void onPostClicked(@NonNull Post post);
@@ -31,6 +34,10 @@ public class MyPostsAdapter extends ListAdapter<Post, MyPostsAdapter.PostViewHol
 		this.listener = listener;
 	}
 
+	public void setOnLoadMoreListener(@Nullable OnLoadMoreListener loadMoreListener) {
+		this.loadMoreListener = loadMoreListener;
+	}
+
 	@NonNull
 	@Override
 	public PostViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -45,6 +52,7 @@ public class MyPostsAdapter extends ListAdapter<Post, MyPostsAdapter.PostViewHol
 		if (post != null) {
 			holder.bind(post);
 		}
+		OnLoadMoreListener.onItemBound(loadMoreListener, position, getItemCount());
 	}
 
 	static class PostViewHolder extends RecyclerView.ViewHolder {
@@ -84,13 +92,9 @@ public class MyPostsAdapter extends ListAdapter<Post, MyPostsAdapter.PostViewHol
 				binding.chipGroupCategory.setVisibility(View.GONE);
 			}
 
-			if (post.getRequests() != null) {
-				String offersText = post.getRequests().size() + " Offer" + (post.getRequests().size() != 1 ? "s" : "");
-				binding.textPostItemOffersCount.setText(offersText);
-				binding.textPostItemOffersCount.setVisibility(View.VISIBLE);
-			} else {
-				binding.textPostItemOffersCount.setVisibility(View.GONE);
-			}
+			int offerCount = post.getOfferCount();
+			binding.textPostItemOffersCount.setText(offerCount + " Offer" + (offerCount != 1 ? "s" : ""));
+			binding.textPostItemOffersCount.setVisibility(View.VISIBLE);
 
 			String imageUrl = (post.getImageUrl() != null && !post.getImageUrl().isEmpty()) ? post.getImageUrl().get(0) : null;
 			ImageLoader.loadImage(binding.imagePostItem, imageUrl);
@@ -113,8 +117,7 @@ public class MyPostsAdapter extends ListAdapter<Post, MyPostsAdapter.PostViewHol
 					Objects.equals(oldItem.getPrice(), newItem.getPrice()) &&
 					Objects.equals(oldItem.getCategories(), newItem.getCategories()) &&
 					Objects.equals(oldItem.getImageUrl(), newItem.getImageUrl()) &&
-					(oldItem.getRequests() != null ? oldItem.getRequests().size() : 0) ==
-							(newItem.getRequests() != null ? newItem.getRequests().size() : 0);
+					oldItem.getOfferCount() == newItem.getOfferCount();
 		}
 	}
 }
\ No newline at end of file
@@ -0,0 +1,17 @@
+package com.shoppr.ui.adapter;
+
+/**
+ * Notified by paged adapters when a row close to the end of the list is bound,
+ * so the next page can be requested before the user reaches the bottom.
+ */
+public interface OnLoadMoreListener {
+	int PREFETCH_DISTANCE = 5;
+
+	void onLoadMore();
+
+	static void onItemBound(OnLoadMoreListener listener, int position, int itemCount) {
+		if (listener != null && position >= itemCount - PREFETCH_DISTANCE) {
+			listener.onLoadMore();
+		}
+	}
+}
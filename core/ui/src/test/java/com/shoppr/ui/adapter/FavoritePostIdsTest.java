@@ -0,0 +1,77 @@
+package com.shoppr.ui.adapter;
+
+import com.shoppr.model.Post;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+public class FavoritePostIdsTest {
+
+	private final FavoritePostIds favorites = new FavoritePostIds();
+
+	@Test
+	public void contains_looksUpTheCurrentIds() {
+		favorites.replace(Arrays.asList("a", "b"), Collections.emptyList());
+
+		assertTrue(favorites.contains("a"));
+		assertFalse(favorites.contains("c"));
+		assertFalse(favorites.contains(null));
+	}
+
+	@Test
+	public void replace_returnsOnlyThePositionsWhoseStateChanged() {
+		List<Post> items = posts("a", "b", "c", "d");
+		favorites.replace(Arrays.asList("a", "b"), items);
+
+		// "b" was removed and "c" added; "a" and "d" are unchanged
+		List<Integer> positions = favorites.replace(Arrays.asList("a", "c"), items);
+
+		assertEquals(Arrays.asList(1, 2), positions);
+	}
+
+	@Test
+	public void replace_sameIds_changesNothing() {
+		List<Post> items = posts("a", "b");
+		favorites.replace(Collections.singletonList("a"), items);
+
+		assertTrue(favorites.replace(Collections.singletonList("a"), items).isEmpty());
+	}
+
+	@Test
+	public void replace_null_clearsTheIds() {
+		List<Post> items = posts("a", "b");
+		favorites.replace(Arrays.asList("a", "b"), items);
+
+		assertEquals(Arrays.asList(0, 1), favorites.replace(null, items));
+		assertFalse(favorites.contains("a"));
+	}
+
+	@Test
+	public void replace_toggledPostNotInItems_returnsNoPositions() {
+		assertTrue(favorites.replace(Collections.singletonList("x"), posts("a")).isEmpty());
+	}
+
+	@Test
+	public void isFavoriteOnly_onlyForFavoritePayloads() {
+		assertTrue(FavoritePostIds.isFavoriteOnly(Collections.singletonList(FavoritePostIds.PAYLOAD)));
+		assertTrue(FavoritePostIds.isFavoriteOnly(Arrays.asList(FavoritePostIds.PAYLOAD, FavoritePostIds.PAYLOAD)));
+		assertFalse(FavoritePostIds.isFavoriteOnly(Collections.emptyList()));
+		assertFalse(FavoritePostIds.isFavoriteOnly(Arrays.asList(FavoritePostIds.PAYLOAD, new Object())));
+	}
+
+	private static List<Post> posts(String... ids) {
+		List<Post> posts = new ArrayList<>();
+		for (String id : ids) {
+			Post post = new Post();
+			post.setId(id);
+			posts.add(post);
+		}
+		return posts;
+	}
+}
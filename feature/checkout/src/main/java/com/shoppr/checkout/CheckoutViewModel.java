@@ -8,27 +8,22 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.SavedStateHandle;
 import androidx.lifecycle.ViewModel;
 
-import com.shoppr.domain.usecase.CreateTransactionUseCase;
+import com.shoppr.domain.async.UseCaseFutures;
+import com.shoppr.domain.usecase.CompleteCheckoutUseCase;
 import com.shoppr.domain.usecase.GetPostByIdUseCase;
 import com.shoppr.domain.usecase.GetRequestByIdUseCase;
 import com.shoppr.domain.usecase.GetUserByIdUseCase;
-import com.shoppr.domain.usecase.UpdatePostStateUseCase;
-import com.shoppr.domain.usecase.UpdateRequestUseCase;
 import com.shoppr.model.ActivityEntry;
 import com.shoppr.model.Event;
-import com.shoppr.model.ListingState;
 import com.shoppr.model.PaymentMethod;
 import com.shoppr.model.Post;
 import com.shoppr.model.Request;
-import com.shoppr.model.RequestStatus;
 import com.shoppr.model.Transaction;
 import com.shoppr.model.TransactionStatus;
 import com.shoppr.model.User;
 import com.shoppr.ui.utils.FormattingUtils;
 
-import java.util.ArrayList;
-import java.util.Date;
-import java.util.List;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -40,11 +35,17 @@ public class CheckoutViewModel extends ViewModel {
 	private final GetRequestByIdUseCase getRequestByIdUseCase;
 	private final GetPostByIdUseCase getPostByIdUseCase;
 	private final GetUserByIdUseCase getUserByIdUseCase;
-	private final UpdateRequestUseCase updateRequestUseCase;
-	private final CreateTransactionUseCase createTransactionUseCase;
-	private final UpdatePostStateUseCase updatePostStateUseCase;
+	private final CompleteCheckoutUseCase completeCheckoutUseCase;
 	private final SavedStateHandle savedStateHandle;
 
+	private LiveData<Request> requestSource;
+	@Nullable
+	private Post checkoutPost;
+	@Nullable
+	private User checkoutSeller;
+	@Nullable
+	private CompletableFuture<Void> pendingLoad;
+
 	private final MediatorLiveData<CheckoutState> _checkoutState = new MediatorLiveData<>();
 	public LiveData<CheckoutState> getCheckoutState() {
 		return _checkoutState;
@@ -65,14 +66,12 @@ public class CheckoutViewModel extends ViewModel {
 	public CheckoutViewModel(
 			GetRequestByIdUseCase getRequestByIdUseCase,
 			GetPostByIdUseCase getPostByIdUseCase,
-			GetUserByIdUseCase getUserByIdUseCase, UpdateRequestUseCase updateRequestUseCase, CreateTransactionUseCase createTransactionUseCase, UpdatePostStateUseCase updatePostStateUseCase,
+			GetUserByIdUseCase getUserByIdUseCase, CompleteCheckoutUseCase completeCheckoutUseCase,
 			SavedStateHandle savedStateHandle) {
 		this.getRequestByIdUseCase = getRequestByIdUseCase;
 		this.getPostByIdUseCase = getPostByIdUseCase;
 		this.getUserByIdUseCase = getUserByIdUseCase;
-		this.updateRequestUseCase = updateRequestUseCase;
-		this.createTransactionUseCase = createTransactionUseCase;
-		this.updatePostStateUseCase = updatePostStateUseCase;
+		this.completeCheckoutUseCase = completeCheckoutUseCase;
 		this.savedStateHandle = savedStateHandle;
 
 		loadCheckoutDetails();
@@ -82,7 +81,7 @@ public class CheckoutViewModel extends ViewModel {
 		String requestId = savedStateHandle.get("requestId");
 		if (requestId == null) return;
 
-		LiveData<Request> requestSource = getRequestByIdUseCase.execute(requestId);
+		requestSource = getRequestByIdUseCase.execute(requestId);
 
 		_checkoutState.addSource(requestSource, request -> {
 			if (request != null) {
@@ -92,33 +91,31 @@ public class CheckoutViewModel extends ViewModel {
 		});
 	}
 
+	// The post and seller don't change during checkout, so they load once; later request updates
+	// are published with them. The seller id is on the request, so both load at the same time.
 	private void fetchPostAndSeller(Request request) {
-		getPostByIdUseCase.execute(request.getPostId(), new GetPostByIdUseCase.GetPostByIdCallbacks() {
-			@Override
-			public void onSuccess(@NonNull Post post) {
-				// Now that we have the post, fetch the seller's details
-				getUserByIdUseCase.execute(post.getLister().getId(), new GetUserByIdUseCase.GetUserByIdCallbacks() {
-					@Override
-					public void onSuccess(@Nullable User seller) {
-						if (seller != null) {
-							_checkoutState.setValue(new CheckoutState(post, request, seller));
-						}
-					}
-
-					@Override
-					public void onError(@NonNull String message) { /* Handle error */ }
-
-
-				});
-			}
-
-			@Override
-			public void onError(@NonNull String message) { /* Handle error */ }
-
-			@Override
-			public void onNotFound() {
-				/* Handle not found */
+		if (checkoutPost != null && checkoutSeller != null) {
+			_checkoutState.setValue(new CheckoutState(checkoutPost, request, checkoutSeller));
+			return;
+		}
+		if (pendingLoad != null && !pendingLoad.isDone()) {
+			// Publishes the latest request when it completes
+			return;
+		}
+		CompletableFuture<Post> post = UseCaseFutures.postById(getPostByIdUseCase, request.getPostId());
+		CompletableFuture<User> seller = UseCaseFutures.userById(getUserByIdUseCase, request.getSellerId());
+		pendingLoad = post.thenAcceptBoth(seller, (loadedPost, loadedSeller) -> {
+			if (loadedPost == null || loadedSeller == null) {
+				_errorEvent.setValue(new Event<>("This listing is no longer available."));
+				return;
 			}
+			checkoutPost = loadedPost;
+			checkoutSeller = loadedSeller;
+			Request latest = requestSource.getValue();
+			_checkoutState.setValue(new CheckoutState(loadedPost, latest != null ? latest : request, loadedSeller));
+		}).exceptionally(error -> {
+			_errorEvent.setValue(new Event<>(UseCaseFutures.messageOf(error)));
+			return null;
 		});
 	}
 
@@ -142,52 +139,19 @@ public class CheckoutViewModel extends ViewModel {
 				.status(TransactionStatus.PROCESSING)
 				.build();
 
-		createTransactionUseCase.execute(transaction, new CreateTransactionUseCase.CreateTransactionCallbacks() {
-			@Override
-			public void onSuccess(@NonNull Transaction createdTransaction) {
-				updateRequestToCompleted(currentState, createdTransaction);
-			}
-
-			@Override
-			public void onError(@NonNull String message) {
-				_errorEvent.setValue(new Event<>(message));
-			}
-		});
-	}
-
-	private void updateRequestToCompleted(CheckoutState state, Transaction transaction) {
-		Request requestToUpdate = state.getRequest();
-
 		String description = String.format("Paid %s via %s",
 				FormattingUtils.formatCurrency(transaction.getCurrency(), transaction.getTotalAmount()),
-				transaction.getPaymentMethod().toString().toLowerCase());
-
+				paymentMethod.toString().toLowerCase());
 		ActivityEntry paymentEntry = new ActivityEntry(
-				requestToUpdate.getBuyerId(),
+				transaction.getBuyerId(),
 				"You",
 				description);
-		paymentEntry.setCreatedAt(new Date());
-
-		List<ActivityEntry> newTimeline = new ArrayList<>(requestToUpdate.getActivityTimeline());
-		newTimeline.add(paymentEntry);
-
-		requestToUpdate.setStatus(RequestStatus.COMPLETED);
-		requestToUpdate.setActivityTimeline(newTimeline);
 
-		updateRequestUseCase.execute(requestToUpdate, new UpdateRequestUseCase.UpdateRequestCallbacks() {
+		// One commit for the payment, the request and the post; a retry can't pay twice
+		completeCheckoutUseCase.execute(transaction, paymentEntry, new CompleteCheckoutUseCase.CompleteCheckoutCallbacks() {
 			@Override
-			public void onSuccess() {
-				updatePostStateUseCase.execute(state.getPost().getId(), ListingState.COMPLETED, new UpdatePostStateUseCase.UpdatePostStateCallbacks() {
-					@Override
-					public void onSuccess() {
-						_purchaseCompleteEvent.setValue(new Event<>(true));
-					}
-
-					@Override
-					public void onError(@NonNull String message) {
-						_errorEvent.setValue(new Event<>(message));
-					}
-				});
+			public void onSuccess(@NonNull Transaction completedTransaction) {
+				_purchaseCompleteEvent.setValue(new Event<>(true));
 			}
 
 			@Override
@@ -196,4 +160,4 @@ public class CheckoutViewModel extends ViewModel {
 			}
 		});
 	}
-}
\ No newline at end of file
+}
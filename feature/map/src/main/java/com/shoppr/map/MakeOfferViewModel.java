@@ -10,15 +10,16 @@ import com.shoppr.domain.usecase.DeleteOfferUseCase;
 import com.shoppr.domain.usecase.GetCurrentUserUseCase;
 import com.shoppr.domain.usecase.GetRequestForPostUseCase;
 import com.shoppr.domain.usecase.MakeOfferUseCase;
+import com.shoppr.domain.usecase.UpdateRequestUseCase;
 import com.shoppr.model.ActivityEntry;
 import com.shoppr.model.Event;
 import com.shoppr.model.Post;
+import com.shoppr.model.PostSummary;
 import com.shoppr.model.Request;
 import com.shoppr.model.RequestStatus;
 import com.shoppr.model.User;
 import com.shoppr.ui.utils.FormattingUtils;
 
-import java.util.ArrayList;
 import java.util.Date;
 import java.util.List;
 
@@ -33,6 +34,7 @@ public class MakeOfferViewModel extends ViewModel {
 	private final GetCurrentUserUseCase getCurrentUserUseCase;
 	private final GetRequestForPostUseCase getRequestForPostUseCase;
 	private final DeleteOfferUseCase deleteOfferUseCase;
+	private final UpdateRequestUseCase updateRequestUseCase;
 	private final MutableLiveData<Request> _existingRequest = new MutableLiveData<>();
 
 	public LiveData<Request> getExistingRequest() {
@@ -58,11 +60,12 @@ public class MakeOfferViewModel extends ViewModel {
 	}
 
 	@Inject
-	public MakeOfferViewModel(MakeOfferUseCase makeOfferUseCase, GetCurrentUserUseCase getCurrentUserUseCase, GetRequestForPostUseCase getRequestForPostUseCase, DeleteOfferUseCase deleteOfferUseCase) {
+	public MakeOfferViewModel(MakeOfferUseCase makeOfferUseCase, GetCurrentUserUseCase getCurrentUserUseCase, GetRequestForPostUseCase getRequestForPostUseCase, DeleteOfferUseCase deleteOfferUseCase, UpdateRequestUseCase updateRequestUseCase) {
 		this.makeOfferUseCase = makeOfferUseCase;
 		this.getCurrentUserUseCase = getCurrentUserUseCase;
 		this.getRequestForPostUseCase = getRequestForPostUseCase;
 		this.deleteOfferUseCase = deleteOfferUseCase;
+		this.updateRequestUseCase = updateRequestUseCase;
 	}
 
 	public void loadExistingOffer(String postId) {
@@ -99,7 +102,6 @@ public class MakeOfferViewModel extends ViewModel {
 		}
 
 		try {
-			Request offerToSubmit;
 			Request existingOffer = _existingRequest.getValue();
 
 			if (existingOffer != null) {
@@ -109,41 +111,43 @@ public class MakeOfferViewModel extends ViewModel {
 						currentUser.getName(),
 						description
 				);
-				updateEntry.setCreatedAt(new Date());
-
-				// Get the existing timeline and add the new entry
-				List<ActivityEntry> newTimeline = new ArrayList<>(existingOffer.getActivityTimeline() != null ? existingOffer.getActivityTimeline() : new ArrayList<>());
-
-				// Add the new entry to the new list
-				newTimeline.add(updateEntry);
-
-				// Update the existing offer object's fields
-				existingOffer.setOfferAmount(Double.parseDouble(offerPrice));
-				existingOffer.setMessage(note);
-				// Set the new list back on the object
-				existingOffer.setActivityTimeline(newTimeline);
-				offerToSubmit = existingOffer;
-			} else {
-				String description = String.format("Offered %s", FormattingUtils.formatCurrency(post.getCurrency(), Double.parseDouble(offerPrice)));
-				ActivityEntry initialEntry = new ActivityEntry(
-						currentUser.getId(),
-						currentUser.getName(),
-						description,
-						new Date()
-				);
-				offerToSubmit = new Request.Builder()
-						.postId(post.getId())
-						.buyerId(currentUser.getId())
-						.sellerId(post.getLister().getId())
-						.offerAmount(Double.parseDouble(offerPrice))
-						.offerCurrency(post.getCurrency())
-						.message(note)
-						.status(RequestStatus.SELLER_PENDING)
-						.activityTimeline(List.of(initialEntry))
-						.createdAt(new Date())
-						.build();
+
+				// Only the amount and note change; the entry is added to the offer's activity
+				updateRequestUseCase.execute(existingOffer.getId(), null, Double.parseDouble(offerPrice), note, updateEntry,
+						new UpdateRequestUseCase.UpdateRequestCallbacks() {
+							@Override
+							public void onSuccess() {
+								_offerSubmittedEvent.setValue(new Event<>(true));
+							}
+
+							@Override
+							public void onError(@NonNull String message) {
+								_errorEvent.setValue(new Event<>(message));
+							}
+						});
+				return;
 			}
 
+			String description = String.format("Offered %s", FormattingUtils.formatCurrency(post.getCurrency(), Double.parseDouble(offerPrice)));
+			ActivityEntry initialEntry = new ActivityEntry(
+					currentUser.getId(),
+					currentUser.getName(),
+					description
+			);
+			Request offerToSubmit = new Request.Builder()
+					.id(Request.idFor(post.getId(), currentUser.getId()))
+					.postId(post.getId())
+					.buyerId(currentUser.getId())
+					.sellerId(post.getLister().getId())
+					.offerAmount(Double.parseDouble(offerPrice))
+					.offerCurrency(post.getCurrency())
+					.message(note)
+					.status(RequestStatus.SELLER_PENDING)
+					.activityTimeline(List.of(initialEntry))
+					.postSummary(PostSummary.from(post))
+					.createdAt(new Date())
+					.build();
+
 			makeOfferUseCase.execute(offerToSubmit, new MakeOfferUseCase.MakeOfferCallbacks() {
 				@Override
 				public void onSuccess(@NonNull Request createdRequest) {
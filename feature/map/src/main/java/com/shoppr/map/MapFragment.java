@@ -28,11 +28,11 @@ import com.google.android.gms.maps.model.LatLng;
 import com.google.android.gms.maps.model.LatLngBounds;
 import com.google.maps.android.clustering.Cluster;
 import com.shoppr.map.databinding.FragmentMapBinding;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.Post;
 import com.shoppr.ui.BaseFragment;
 import com.shoppr.ui.adapter.MapPostsCarouselAdapter;
 
-import java.util.Collections;
 import java.util.List;
 
 import dagger.hilt.android.AndroidEntryPoint;
@@ -41,6 +41,7 @@ import dagger.hilt.android.AndroidEntryPoint;
 public class MapFragment extends BaseFragment<FragmentMapBinding> implements
 		OnMapReadyCallback,
 		GoogleMap.OnCameraMoveStartedListener,
+		GoogleMap.OnCameraIdleListener,
 		MapPostsCarouselAdapter.OnPostClickListener,
 		MapPostsCarouselAdapter.OnFavoriteClickListener,
 		MapPostsCarouselAdapter.OnMakeAnOfferClickListener,
@@ -107,6 +108,7 @@ public class MapFragment extends BaseFragment<FragmentMapBinding> implements
 		this.googleMap = googleMap;
 		if (getContext() != null) {
 			postClusterManager = new PostClusterManager(getContext(), googleMap, this, this);
+			postClusterManager.setOnCameraIdleListener(this);
 		}
 		googleMap.setOnCameraMoveStartedListener(this);
 		updateMapMyLocationUI(viewModel.locationPermissionGranted.getValue());
@@ -119,6 +121,15 @@ public class MapFragment extends BaseFragment<FragmentMapBinding> implements
 		}
 	}
 
+	@Override
+	public void onCameraIdle() {
+		if (googleMap == null) return;
+		LatLngBounds visible = googleMap.getProjection().getVisibleRegion().latLngBounds;
+		viewModel.onCameraIdle(new GeoBounds(
+				visible.southwest.latitude, visible.southwest.longitude,
+				visible.northeast.latitude, visible.northeast.longitude));
+	}
+
 	private void setupCarousel() {
 		carouselAdapter = new MapPostsCarouselAdapter(this, this, this);
 		binding.postsCarouselRecyclerView.setLayoutManager(new LinearLayoutManager(getContext(), LinearLayoutManager.HORIZONTAL, false));
@@ -145,27 +156,19 @@ public class MapFragment extends BaseFragment<FragmentMapBinding> implements
 	}
 
 	private void observeViewModel() {
-		// Main observer for posts, driving both the map and the carousel
+		// The map re-clusters from the full list, the carousel applies only the rows that changed
 		viewModel.getMapPosts().observe(getViewLifecycleOwner(), posts -> {
 			if (postClusterManager != null) {
 				postClusterManager.setPosts(posts);
 			}
-			carouselAdapter.submitList(posts);
 			binding.postsCarouselRecyclerView.setVisibility(posts == null || posts.isEmpty() ? View.GONE : View.VISIBLE);
 		});
 
-		viewModel.currentUserProfileLiveData.observe(getViewLifecycleOwner(), user -> {
-			if (user != null) {
-				carouselAdapter.setCurrentUserId(user.getId());
-				if (user.getFavoritePosts() != null) {
-					carouselAdapter.setFavoritePostIds(user.getFavoritePosts());
-				} else {
-					carouselAdapter.setFavoritePostIds(Collections.emptyList());
-				}
-			} else {
-				carouselAdapter.setCurrentUserId(null);
-			}
-		});
+		viewModel.getMapPostChanges().observe(getViewLifecycleOwner(), carouselAdapter::applyChangeSet);
+
+		viewModel.favoritePostIds.observe(getViewLifecycleOwner(), carouselAdapter::setFavoritePostIds);
+
+		viewModel.offeredPostIds.observe(getViewLifecycleOwner(), carouselAdapter::setOfferedPostIds);
 
 		viewModel.getMapCenterEvent().observe(getViewLifecycleOwner(), event -> {
 			LatLng location = event.getContentIfNotHandled();
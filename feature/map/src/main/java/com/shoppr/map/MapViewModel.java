@@ -1,6 +1,8 @@
 package com.shoppr.map;
 
 import android.app.Application;
+import android.os.Handler;
+import android.os.Looper;
 
 import androidx.annotation.NonNull;
 import androidx.annotation.Nullable;
@@ -10,16 +12,22 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 
 import com.google.android.gms.maps.model.LatLng;
+import com.shoppr.domain.subscription.KeyedSubscription;
 import com.shoppr.domain.usecase.GetCurrentDeviceLocationUseCase;
 import com.shoppr.domain.usecase.GetCurrentUserUseCase;
+import com.shoppr.domain.usecase.GetFavoritePostIdsUseCase;
 import com.shoppr.domain.usecase.GetMapPostsUseCase;
+import com.shoppr.domain.usecase.GetOfferedPostIdsUseCase;
 import com.shoppr.domain.usecase.ToggleFavoriteUseCase;
 import com.shoppr.domain.usecase.UpdateUserDefaultLocationUseCase;
+import com.shoppr.model.ChangeSet;
 import com.shoppr.model.Event;
+import com.shoppr.model.GeoBounds;
 import com.shoppr.model.Post;
 import com.shoppr.model.User;
 
 import java.util.List;
+import java.util.Objects;
 
 import javax.inject.Inject;
 
@@ -28,6 +36,7 @@ import dagger.hilt.android.lifecycle.HiltViewModel;
 @HiltViewModel
 public class MapViewModel extends AndroidViewModel {
 	private static final String TAG = "MapViewModel";
+	private static final long CAMERA_IDLE_DEBOUNCE_MS = 300;
 
 	private final GetCurrentUserUseCase getCurrentUserUseCase;
 	private final GetCurrentDeviceLocationUseCase getCurrentDeviceLocationUseCase;
@@ -35,6 +44,8 @@ public class MapViewModel extends AndroidViewModel {
 	private final GetMapPostsUseCase getMapPostsUseCase;
 	private final ToggleFavoriteUseCase toggleFavoriteUseCase;
 	public final LiveData<User> currentUserProfileLiveData;
+	public final LiveData<List<String>> offeredPostIds;
+	public final LiveData<List<String>> favoritePostIds;
 
 	private final MediatorLiveData<List<Post>> _mapPosts = new MediatorLiveData<>();
 
@@ -42,6 +53,15 @@ public class MapViewModel extends AndroidViewModel {
 		return _mapPosts;
 	}
 
+	private final MutableLiveData<ChangeSet<Post>> _mapPostChanges = new MutableLiveData<>();
+
+	/**
+	 * Same posts as {@link #getMapPosts()}, with the row-level changes since the previous emission.
+	 */
+	public LiveData<ChangeSet<Post>> getMapPostChanges() {
+		return _mapPostChanges;
+	}
+
 	private final MutableLiveData<Event<Integer>> _scrollCarouselToPositionEvent = new MutableLiveData<>();
 
 	public LiveData<Event<Integer>> getScrollCarouselToPositionEvent() {
@@ -71,7 +91,16 @@ public class MapViewModel extends AndroidViewModel {
 
 	private boolean isMapManuallyMoved = false;
 	private boolean initialMapCenterAttempted = false;
-	private LiveData<List<Post>> currentPostsSource = null;
+	// The feed query only depends on who is looking and where, not on the rest of the profile
+	private final KeyedSubscription<MapPostsQuery, LiveData<ChangeSet<Post>>> postsSubscription;
+	@Nullable
+	private String currentUserId = null;
+	@Nullable
+	private GeoBounds visibleBounds = null;
+
+	private final Handler cameraIdleHandler = new Handler(Looper.getMainLooper());
+	@Nullable
+	private Runnable pendingBoundsUpdate = null;
 
 	@Inject
 	public MapViewModel(@NonNull Application application,
@@ -79,7 +108,9 @@ public class MapViewModel extends AndroidViewModel {
 											GetCurrentDeviceLocationUseCase getCurrentDeviceLocationUseCase,
 											UpdateUserDefaultLocationUseCase updateUserDefaultLocationUseCase,
 											GetMapPostsUseCase getMapPostsUseCase,
-											ToggleFavoriteUseCase toggleFavoriteUseCase) {
+											ToggleFavoriteUseCase toggleFavoriteUseCase,
+											GetOfferedPostIdsUseCase getOfferedPostIdsUseCase,
+											GetFavoritePostIdsUseCase getFavoritePostIdsUseCase) {
 		super(application);
 		this.getCurrentUserUseCase = getCurrentUserUseCase;
 		this.getCurrentDeviceLocationUseCase = getCurrentDeviceLocationUseCase;
@@ -87,9 +118,13 @@ public class MapViewModel extends AndroidViewModel {
 		this.getMapPostsUseCase = getMapPostsUseCase;
 		this.toggleFavoriteUseCase = toggleFavoriteUseCase;
 		this.currentUserProfileLiveData = this.getCurrentUserUseCase.getFullUserProfile();
+		this.offeredPostIds = getOfferedPostIdsUseCase.execute();
+		this.favoritePostIds = getFavoritePostIdsUseCase.execute();
+		this.postsSubscription = new KeyedSubscription<>(this::subscribeToPosts, _mapPosts::removeSource);
 
 		_mapPosts.addSource(currentUserProfileLiveData, user -> {
-			loadPostsForMap(user != null ? user.getId() : null);
+			currentUserId = user != null ? user.getId() : null;
+			loadPostsForMap();
 			if (user != null) {
 				if (!initialMapCenterAttempted && user.getLatitude() != null && user.getLongitude() != null) {
 					_mapCenterEvent.postValue(new Event<>(new LatLng(user.getLatitude(), user.getLongitude())));
@@ -106,12 +141,32 @@ public class MapViewModel extends AndroidViewModel {
 		});
 	}
 
-	private void loadPostsForMap(@Nullable String currentUserId) {
-		if (currentPostsSource != null) {
-			_mapPosts.removeSource(currentPostsSource);
+	// Posts are only requested once the map has reported what it is showing
+	private void loadPostsForMap() {
+		if (visibleBounds != null) {
+			postsSubscription.setKey(new MapPostsQuery(currentUserId, visibleBounds));
+		}
+	}
+
+	private LiveData<ChangeSet<Post>> subscribeToPosts(@NonNull MapPostsQuery query) {
+		LiveData<ChangeSet<Post>> source = getMapPostsUseCase.execute(query.userId, query.bounds);
+		_mapPosts.addSource(source, changeSet -> {
+			_mapPostChanges.setValue(changeSet);
+			_mapPosts.setValue(changeSet.getItems());
+		});
+		return source;
+	}
+
+	public void onCameraIdle(@NonNull GeoBounds bounds) {
+		if (pendingBoundsUpdate != null) {
+			cameraIdleHandler.removeCallbacks(pendingBoundsUpdate);
 		}
-		currentPostsSource = getMapPostsUseCase.execute(currentUserId);
-		_mapPosts.addSource(currentPostsSource, _mapPosts::setValue);
+		pendingBoundsUpdate = () -> {
+			pendingBoundsUpdate = null;
+			visibleBounds = bounds;
+			loadPostsForMap();
+		};
+		cameraIdleHandler.postDelayed(pendingBoundsUpdate, CAMERA_IDLE_DEBOUNCE_MS);
 	}
 
 	public void onMapFragmentStarted() {
@@ -215,6 +270,32 @@ public class MapViewModel extends AndroidViewModel {
 	@Override
 	protected void onCleared() {
 		super.onCleared();
+		cameraIdleHandler.removeCallbacksAndMessages(null);
 		getCurrentUserUseCase.stopObserving();
 	}
+
+	private static final class MapPostsQuery {
+		@Nullable
+		final String userId;
+		@NonNull
+		final GeoBounds bounds;
+
+		MapPostsQuery(@Nullable String userId, @NonNull GeoBounds bounds) {
+			this.userId = userId;
+			this.bounds = bounds;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o) return true;
+			if (!(o instanceof MapPostsQuery)) return false;
+			MapPostsQuery that = (MapPostsQuery) o;
+			return Objects.equals(userId, that.userId) && bounds.equals(that.bounds);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(userId, bounds);
+		}
+	}
 }
\ No newline at end of file
@@ -25,6 +25,8 @@ public class PostClusterManager {
     private final ClusterManager<PostClusterItem> clusterManager;
     private final OnPostMarkerClickListener markerClickListener;
     private final OnPostClusterClickListener clusterClickListener; // New listener for clusters
+    @Nullable
+    private GoogleMap.OnCameraIdleListener cameraIdleListener;
 
     public interface OnPostMarkerClickListener {
         void onPostMarkerClicked(@NonNull Post post);
@@ -87,10 +89,20 @@ public class PostClusterManager {
             }
         });
 
-        googleMap.setOnCameraIdleListener(clusterManager);
+        // The cluster manager owns the map's single camera idle slot, so other listeners chain through it
+        googleMap.setOnCameraIdleListener(() -> {
+            clusterManager.onCameraIdle();
+            if (cameraIdleListener != null) {
+                cameraIdleListener.onCameraIdle();
+            }
+        });
         googleMap.setOnMarkerClickListener(clusterManager);
     }
 
+    public void setOnCameraIdleListener(@Nullable GoogleMap.OnCameraIdleListener listener) {
+        this.cameraIdleListener = listener;
+    }
+
     public void setPosts(@Nullable List<Post> posts) {
         clusterManager.clearItems();
         if (posts != null && !posts.isEmpty()) {
@@ -114,6 +126,7 @@ public class PostClusterManager {
             clusterManager.setOnClusterClickListener(null);
             clusterManager.clearItems();
         }
+        cameraIdleListener = null;
     }
 
     private static class PostClusterRenderer extends DefaultClusterRenderer<PostClusterItem> {
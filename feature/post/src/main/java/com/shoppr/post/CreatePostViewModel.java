@@ -12,6 +12,7 @@ import com.shoppr.domain.usecase.GetCurrentUserUseCase;
 import com.shoppr.domain.usecase.GetLLMSuggestionsUseCase;
 import com.shoppr.domain.usecase.SavePostUseCase;
 import com.shoppr.model.Event;
+import com.shoppr.model.ListerSummary;
 import com.shoppr.model.ListingState;
 import com.shoppr.model.LocationData;
 import com.shoppr.model.Post;
@@ -109,7 +110,7 @@ public class CreatePostViewModel extends ViewModel {
 				.price(finalPrice)
 				.currency(finalCurrency)
 				.categories(suggestions.getCategories())
-				.lister(currentUser)
+				.lister(ListerSummary.from(currentUser))
 				.type(suggestions.getListingType())
 				.state(ListingState.ACTIVE)
 				.latitude(currentUser.getLatitude())
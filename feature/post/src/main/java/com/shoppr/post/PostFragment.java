@@ -116,6 +116,7 @@ public class PostFragment extends BaseFragment<FragmentPostBinding> implements M
 
 	private void setupRecyclerView() {
 		myPostsAdapter = new MyPostsAdapter(this);
+		myPostsAdapter.setOnLoadMoreListener(viewModel::loadMorePosts);
 		binding.recyclerViewMyPosts.setLayoutManager(new LinearLayoutManager(getContext()));
 		binding.recyclerViewMyPosts.setAdapter(myPostsAdapter);
 	}
@@ -6,6 +6,8 @@ import androidx.lifecycle.MediatorLiveData;
 import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.ViewModel;
 
+import com.shoppr.domain.paging.PagedListing;
+import com.shoppr.domain.subscription.KeyedSubscription;
 import com.shoppr.domain.usecase.GetCurrentUserUseCase;
 import com.shoppr.domain.usecase.GetMyPostsUseCase;
 import com.shoppr.model.Event;
@@ -32,7 +34,7 @@ public class PostFragmentViewModel extends ViewModel {
 	private final MediatorLiveData<List<Post>> _posts = new MediatorLiveData<>();
 	public LiveData<List<Post>> posts = _posts;
 
-	private final MutableLiveData<Boolean> _isLoading = new MutableLiveData<>(false);
+	private final MediatorLiveData<Boolean> _isLoading = new MediatorLiveData<>();
 	public LiveData<Boolean> isLoading = _isLoading;
 
 	private final MutableLiveData<Event<String>> _errorMessage = new MutableLiveData<>();
@@ -43,7 +45,8 @@ public class PostFragmentViewModel extends ViewModel {
 		return _navigationCommand;
 	}
 
-	private LiveData<List<Post>> currentPostsSource = null;
+	// Keyed by user id, so profile changes other than signing in as someone else keep the listing
+	private final KeyedSubscription<String, PagedListing<Post>> postsSubscription;
 
 	@Inject
 	public PostFragmentViewModel(
@@ -53,32 +56,49 @@ public class PostFragmentViewModel extends ViewModel {
 		this.getCurrentUserUseCase = getCurrentUserUseCase;
 		this.getMyPostsUseCase = getMyPostsUseCase;
 		this.currentUserProfileLiveData = this.getCurrentUserUseCase.getFullUserProfile();
+		this.postsSubscription = new KeyedSubscription<>(this::subscribeToPosts, this::unsubscribeFromPosts);
 
 		_posts.addSource(this.currentUserProfileLiveData, user -> {
-			if (user != null && user.getId() != null) {
-				fetchUserPosts(user.getId());
-			} else {
+			String userId = user != null ? user.getId() : null;
+			postsSubscription.setKey(userId);
+			if (userId == null) {
 				_posts.setValue(new ArrayList<>());
 			}
 		});
 	}
 
-	private void fetchUserPosts(@NonNull String userId) {
-		_isLoading.setValue(true);
-		if (currentPostsSource != null) {
-			_posts.removeSource(currentPostsSource);
-		}
-		currentPostsSource = getMyPostsUseCase.execute(userId);
-		_posts.addSource(currentPostsSource, postList -> {
-			_isLoading.setValue(false);
-			_posts.setValue(postList != null ? postList : new ArrayList<>());
-		});
+	private PagedListing<Post> subscribeToPosts(@NonNull String userId) {
+		PagedListing<Post> listing = getMyPostsUseCase.execute(userId);
+		_posts.addSource(listing.getItems(), postList ->
+				_posts.setValue(postList != null ? postList : new ArrayList<>()));
+		_isLoading.addSource(listing.isLoading(), _isLoading::setValue);
+		return listing;
+	}
+
+	private void unsubscribeFromPosts(@NonNull PagedListing<Post> listing) {
+		_posts.removeSource(listing.getItems());
+		_isLoading.removeSource(listing.isLoading());
 	}
 
 	public void refreshPosts() {
+		PagedListing<Post> listing = postsSubscription.get();
+		if (listing != null) {
+			listing.refresh();
+		} else {
+			resubscribeToPosts();
+		}
+	}
+
+	// Picks the listing back up after stopObservingUser, which dropped it
+	private void resubscribeToPosts() {
 		User currentUser = currentUserProfileLiveData.getValue();
-		if (currentUser != null && currentUser.getId() != null) {
-			fetchUserPosts(currentUser.getId());
+		postsSubscription.setKey(currentUser != null ? currentUser.getId() : null);
+	}
+
+	public void loadMorePosts() {
+		PagedListing<Post> listing = postsSubscription.get();
+		if (listing != null) {
+			listing.loadNextPage();
 		}
 	}
 
@@ -88,14 +108,12 @@ public class PostFragmentViewModel extends ViewModel {
 
 	public void startObservingUser() {
 		getCurrentUserUseCase.startObserving();
+		resubscribeToPosts();
 	}
 
 	public void stopObservingUser() {
 		getCurrentUserUseCase.stopObserving();
-		if (currentPostsSource != null) {
-			_posts.removeSource(currentPostsSource);
-			currentPostsSource = null;
-		}
+		postsSubscription.clear();
 	}
 
 	@Override
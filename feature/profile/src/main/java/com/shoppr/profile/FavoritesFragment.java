@@ -80,6 +80,7 @@ public class FavoritesFragment extends BaseFragment<FragmentFavoritesBinding> im
 			binding.textViewNoFavorites.setVisibility(posts.isEmpty() ? View.VISIBLE : View.GONE);
 			binding.recyclerViewFavorites.setVisibility(posts.isEmpty() ? View.GONE : View.VISIBLE);
 		});
+		viewModel.getFavoritePostIds().observe(getViewLifecycleOwner(), favoritesAdapter::setFavoritePostIds);
 	}
 
 	@Override
@@ -5,6 +5,7 @@ import androidx.lifecycle.LiveData;
 import androidx.lifecycle.ViewModel;
 
 import com.shoppr.domain.usecase.GetCurrentUserUseCase;
+import com.shoppr.domain.usecase.GetFavoritePostIdsUseCase;
 import com.shoppr.domain.usecase.GetFavoritePostsUseCase;
 import com.shoppr.domain.usecase.ToggleFavoriteUseCase;
 import com.shoppr.model.Post;
@@ -24,12 +25,14 @@ public class FavoritesViewModel extends ViewModel {
 	private final GetFavoritePostsUseCase getFavoritePostsUseCase;
 
 	private final LiveData<List<Post>> favoritePosts;
+	private final LiveData<List<String>> favoritePostIds;
 
 	@Inject
 	public FavoritesViewModel(
 			GetCurrentUserUseCase getCurrentUserUseCase,
 			ToggleFavoriteUseCase toggleFavoriteUseCase,
-			GetFavoritePostsUseCase getFavoritePostsUseCase
+			GetFavoritePostsUseCase getFavoritePostsUseCase,
+			GetFavoritePostIdsUseCase getFavoritePostIdsUseCase
 	) {
 		this.getCurrentUserUseCase = getCurrentUserUseCase;
 		this.toggleFavoriteUseCase = toggleFavoriteUseCase;
@@ -38,6 +41,7 @@ public class FavoritesViewModel extends ViewModel {
 		// The LiveData is initialized by executing the use case.
 		// It will automatically update when the user's favorites change.
 		this.favoritePosts = this.getFavoritePostsUseCase.execute();
+		this.favoritePostIds = getFavoritePostIdsUseCase.execute();
 	}
 
 	public void onFragmentStarted() {
@@ -64,6 +68,13 @@ public class FavoritesViewModel extends ViewModel {
 		return favoritePosts;
 	}
 
+	/**
+	 * Favorite post ids including unsaved toggles, so a heart updates before the list does.
+	 */
+	public LiveData<List<String>> getFavoritePostIds() {
+		return favoritePostIds;
+	}
+
 	/**
 	 * Unfavorites a post. On this screen, the post is always a favorite,
 	 * so isCurrentlyFavorite is always true.
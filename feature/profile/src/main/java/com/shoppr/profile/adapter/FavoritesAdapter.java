@@ -5,6 +5,7 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
 import androidx.recyclerview.widget.RecyclerView;
@@ -13,6 +14,7 @@ import com.google.android.material.chip.Chip;
 import com.shoppr.core.ui.R;
 import com.shoppr.core.ui.databinding.ListItemPostBinding;
 import com.shoppr.model.Post;
+import com.shoppr.ui.adapter.FavoritePostIds;
 import com.shoppr.ui.utils.FormattingUtils;
 import com.shoppr.ui.utils.ImageLoader;
 
@@ -23,6 +25,9 @@ public class FavoritesAdapter extends ListAdapter<Post, FavoritesAdapter.PostVie
 
 	private final OnPostClickListener postClickListener;
 	private final OnFavoriteClickListener favoriteClickListener;
+	private final FavoritePostIds favoritePostIds = new FavoritePostIds();
+	// Every listed post is a favorite until the ids say otherwise, e.g. right after unfavoriting
+	private boolean favoritePostIdsKnown = false;
 
 	public interface OnPostClickListener {
 		void onPostClicked(@NonNull Post post);
@@ -38,6 +43,15 @@ public class FavoritesAdapter extends ListAdapter<Post, FavoritesAdapter.PostVie
 		this.favoriteClickListener = favoriteClickListener;
 	}
 
+	public void setFavoritePostIds(@Nullable List<String> favoritePostIds) {
+		favoritePostIdsKnown = favoritePostIds != null;
+		this.favoritePostIds.update(favoritePostIds, getCurrentList(), this);
+	}
+
+	private boolean isFavorite(@NonNull Post post) {
+		return !favoritePostIdsKnown || favoritePostIds.contains(post.getId());
+	}
+
 	@NonNull
 	@Override
 	public PostViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -50,7 +64,17 @@ public class FavoritesAdapter extends ListAdapter<Post, FavoritesAdapter.PostVie
 	public void onBindViewHolder(@NonNull PostViewHolder holder, int position) {
 		Post post = getItem(position);
 		if (post != null) {
-			holder.bind(post);
+			holder.bind(post, isFavorite(post));
+		}
+	}
+
+	@Override
+	public void onBindViewHolder(@NonNull PostViewHolder holder, int position, @NonNull List<Object> payloads) {
+		Post post = getItem(position);
+		if (post != null && FavoritePostIds.isFavoriteOnly(payloads)) {
+			holder.bindFavorite(isFavorite(post));
+		} else {
+			super.onBindViewHolder(holder, position, payloads);
 		}
 	}
 
@@ -66,7 +90,7 @@ public class FavoritesAdapter extends ListAdapter<Post, FavoritesAdapter.PostVie
 			this.favoriteClickListener = favoriteClickListener;
 		}
 
-		public void bind(final Post post) {
+		public void bind(final Post post, boolean isFavorite) {
 			binding.textPostItemTitle.setText(post.getTitle());
 			binding.textPostItemDescription.setText(post.getDescription());
 
@@ -90,17 +114,12 @@ public class FavoritesAdapter extends ListAdapter<Post, FavoritesAdapter.PostVie
 				binding.chipGroupCategory.setVisibility(View.GONE);
 			}
 
-			if (post.getRequests() != null) {
-				String offersText = post.getRequests().size() + " Offer" + (post.getRequests().size() != 1 ? "s" : "");
-				binding.textPostItemOffersCount.setText(offersText);
-				binding.textPostItemOffersCount.setVisibility(View.VISIBLE);
-			} else {
-				binding.textPostItemOffersCount.setVisibility(View.GONE);
-			}
+			int offerCount = post.getOfferCount();
+			binding.textPostItemOffersCount.setText(offerCount + " Offer" + (offerCount != 1 ? "s" : ""));
+			binding.textPostItemOffersCount.setVisibility(View.VISIBLE);
 
 			binding.buttonFavorite.setVisibility(View.VISIBLE);
-			binding.buttonFavorite.setText("In Favorites");
-			binding.buttonFavorite.setIconResource(R.drawable.ic_favorite_filled);
+			bindFavorite(isFavorite);
 			binding.buttonFavorite.setOnClickListener(v -> favoriteClickListener.onFavoriteClick(post));
 
 			String imageUrl = (post.getImageUrl() != null && !post.getImageUrl().isEmpty()) ? post.getImageUrl().get(0) : null;
@@ -108,6 +127,16 @@ public class FavoritesAdapter extends ListAdapter<Post, FavoritesAdapter.PostVie
 
 			itemView.setOnClickListener(v -> postClickListener.onPostClicked(post));
 		}
+
+		void bindFavorite(boolean isFavorite) {
+			if (isFavorite) {
+				binding.buttonFavorite.setText("In Favorites");
+				binding.buttonFavorite.setIconResource(R.drawable.ic_favorite_filled);
+			} else {
+				binding.buttonFavorite.setText("Add to favorites");
+				binding.buttonFavorite.setIconResource(R.drawable.ic_favorite_outline);
+			}
+		}
 	}
 
 	public static class PostDiffCallback extends DiffUtil.ItemCallback<Post> {
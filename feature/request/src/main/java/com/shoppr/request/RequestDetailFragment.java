@@ -17,7 +17,7 @@ import androidx.recyclerview.widget.LinearLayoutManager;
 import com.google.android.material.chip.Chip;
 import com.google.android.material.dialog.MaterialAlertDialogBuilder;
 import com.google.android.material.textfield.TextInputEditText;
-import com.shoppr.model.User;
+import com.shoppr.model.ListerSummary;
 import com.shoppr.navigation.NavigationRoute;
 import com.shoppr.navigation.Navigator;
 import com.shoppr.request.adapter.ActivityTimelineAdapter;
@@ -72,6 +72,7 @@ public class RequestDetailFragment extends BaseFragment<FragmentRequestDetailBin
 		binding.buttonCounter.setOnClickListener(v -> showOfferDialog("Make a Counter Offer", false));
 		binding.buttonEditOffer.setOnClickListener(v -> showOfferDialog("Edit Your Offer", true));
 		binding.buttonGiveSellerFeedback.setOnClickListener(v -> showSellerFeedbackDialog());
+		binding.buttonLoadEarlierActivity.setOnClickListener(v -> viewModel.loadEarlierActivity());
 	}
 
 	private void observeViewModel() {
@@ -82,6 +83,11 @@ public class RequestDetailFragment extends BaseFragment<FragmentRequestDetailBin
 			}
 		});
 
+		viewModel.getTimeline().observe(getViewLifecycleOwner(), timelineAdapter::submitList);
+
+		viewModel.getHasEarlierActivity().observe(getViewLifecycleOwner(), hasEarlier ->
+				binding.buttonLoadEarlierActivity.setVisibility(Boolean.TRUE.equals(hasEarlier) ? View.VISIBLE : View.GONE));
+
 		viewModel.getActionSuccessEvent().observe(getViewLifecycleOwner(), event -> {
 			String status = event.getContentIfNotHandled();
 			if (status != null) {
@@ -129,7 +135,7 @@ public class RequestDetailFragment extends BaseFragment<FragmentRequestDetailBin
 		binding.imageListerAvatar.setImageResource(com.shoppr.core.ui.R.drawable.ic_account_circle);
 
 		// Lister Rating
-		User lister = state.getPost().getLister();
+		ListerSummary lister = state.getPost().getLister();
 		if (lister != null && lister.getRatingCount() > 0) {
 			binding.layoutListerRating.setVisibility(View.VISIBLE);
 			binding.ratingBarLister.setRating((float) lister.getAverageRating());
@@ -160,7 +166,6 @@ public class RequestDetailFragment extends BaseFragment<FragmentRequestDetailBin
 				state.getRequest().getBuyerId(),
 				state.getPost().getLister().getId() // Ensure correct ID is used
 		);
-		timelineAdapter.submitList(state.getRequest().getActivityTimeline());
 
 		// Action Bar (Negotiation)
 		binding.actionButtonBar.setVisibility(state.showActionButtons ? View.VISIBLE : View.GONE);
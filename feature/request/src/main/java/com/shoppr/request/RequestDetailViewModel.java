@@ -8,23 +8,27 @@ import androidx.lifecycle.MutableLiveData;
 import androidx.lifecycle.SavedStateHandle;
 import androidx.lifecycle.ViewModel;
 
+import com.shoppr.domain.async.UseCaseFutures;
+import com.shoppr.domain.paging.PagedListing;
 import com.shoppr.domain.usecase.GetCurrentUserUseCase;
 import com.shoppr.domain.usecase.GetPostByIdUseCase;
+import com.shoppr.domain.usecase.GetRequestActivityUseCase;
 import com.shoppr.domain.usecase.GetRequestByIdUseCase;
 import com.shoppr.domain.usecase.HasUserGivenFeedbackUseCase;
-import com.shoppr.domain.usecase.UpdateRequestUseCase;
+import com.shoppr.domain.usecase.TransitionRequestUseCase;
 import com.shoppr.model.ActivityEntry;
 import com.shoppr.model.Event;
+import com.shoppr.model.NegotiationAction;
 import com.shoppr.model.Post;
 import com.shoppr.model.Request;
 import com.shoppr.model.RequestStatus;
 import com.shoppr.model.User;
-import com.shoppr.ui.utils.FormattingUtils;
 
 import java.util.ArrayList;
-import java.util.Date;
+import java.util.Collections;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
 
 import javax.inject.Inject;
 
@@ -35,9 +39,10 @@ public class RequestDetailViewModel extends ViewModel {
 
 	// --- Use Cases ---
 	private final GetRequestByIdUseCase getRequestByIdUseCase;
+	private final GetRequestActivityUseCase getRequestActivityUseCase;
 	private final GetPostByIdUseCase getPostByIdUseCase;
 	private final GetCurrentUserUseCase getCurrentUserUseCase;
-	private final UpdateRequestUseCase updateRequestUseCase;
+	private final TransitionRequestUseCase transitionRequestUseCase;
 	private final HasUserGivenFeedbackUseCase hasUserGivenFeedbackUseCase;
 	private final SavedStateHandle savedStateHandle;
 
@@ -46,6 +51,11 @@ public class RequestDetailViewModel extends ViewModel {
 	private LiveData<User> userSource;
 	private final MutableLiveData<Post> postSource = new MutableLiveData<>();
 	private LiveData<Boolean> feedbackCheckSource;
+	@Nullable
+	private String feedbackListenerKey;
+	@Nullable
+	private CompletableFuture<Post> pendingPost;
+	private PagedListing<ActivityEntry> activityListing;
 
 	// --- State & Events ---
 	private final MediatorLiveData<RequestDetailState> _requestDetailState = new MediatorLiveData<>();
@@ -54,6 +64,21 @@ public class RequestDetailViewModel extends ViewModel {
 		return _requestDetailState;
 	}
 
+	private final MediatorLiveData<List<ActivityEntry>> _timeline = new MediatorLiveData<>();
+
+	/**
+	 * The request's activity, oldest first.
+	 */
+	public LiveData<List<ActivityEntry>> getTimeline() {
+		return _timeline;
+	}
+
+	private final MutableLiveData<Boolean> _hasEarlierActivity = new MutableLiveData<>(false);
+
+	public LiveData<Boolean> getHasEarlierActivity() {
+		return _hasEarlierActivity;
+	}
+
 	// Other events...
 	private final MutableLiveData<Event<String>> _actionSuccessEvent = new MutableLiveData<>();
 
@@ -76,15 +101,17 @@ public class RequestDetailViewModel extends ViewModel {
 	@Inject
 	public RequestDetailViewModel(
 			GetRequestByIdUseCase getRequestByIdUseCase,
+			GetRequestActivityUseCase getRequestActivityUseCase,
 			GetPostByIdUseCase getPostByIdUseCase,
 			GetCurrentUserUseCase getCurrentUserUseCase,
-			UpdateRequestUseCase updateRequestUseCase,
+			TransitionRequestUseCase transitionRequestUseCase,
 			HasUserGivenFeedbackUseCase hasUserGivenFeedbackUseCase,
 			SavedStateHandle savedStateHandle) {
 		this.getRequestByIdUseCase = getRequestByIdUseCase;
+		this.getRequestActivityUseCase = getRequestActivityUseCase;
 		this.getPostByIdUseCase = getPostByIdUseCase;
 		this.getCurrentUserUseCase = getCurrentUserUseCase;
-		this.updateRequestUseCase = updateRequestUseCase;
+		this.transitionRequestUseCase = transitionRequestUseCase;
 		this.hasUserGivenFeedbackUseCase = hasUserGivenFeedbackUseCase;
 		this.savedStateHandle = savedStateHandle;
 
@@ -107,44 +134,79 @@ public class RequestDetailViewModel extends ViewModel {
 		_requestDetailState.addSource(userSource, user -> fetchPostIfNeeded(requestSource.getValue(), user));
 		_requestDetailState.addSource(postSource, post -> combineAllData());
 		_requestDetailState.addSource(feedbackCheckSource, hasRated -> combineAllData());
+
+		activityListing = getRequestActivityUseCase.execute(requestId);
+		_timeline.addSource(activityListing.getItems(), entries -> combineTimeline());
+		_timeline.addSource(activityListing.hasMore(), hasMore -> combineTimeline());
+		_timeline.addSource(requestSource, request -> combineTimeline());
 	}
 
-	// Trigger post fetch
+	public void loadEarlierActivity() {
+		if (activityListing != null) {
+			activityListing.loadNextPage();
+		}
+	}
+
+	// Pages arrive newest first and are shown oldest first. Entries from the request's legacy
+	// activityTimeline array predate the activity subcollection, so they go before all of them
+	private void combineTimeline() {
+		List<ActivityEntry> entries = activityListing.getItems().getValue();
+		if (entries == null) {
+			return;
+		}
+		boolean hasMore = Boolean.TRUE.equals(activityListing.hasMore().getValue());
+		List<ActivityEntry> timeline = new ArrayList<>();
+		Request request = requestSource.getValue();
+		if (!hasMore && request != null && request.getActivityTimeline() != null) {
+			timeline.addAll(request.getActivityTimeline());
+		}
+		List<ActivityEntry> oldestFirst = new ArrayList<>(entries);
+		Collections.reverse(oldestFirst);
+		timeline.addAll(oldestFirst);
+		_hasEarlierActivity.setValue(hasMore);
+		_timeline.setValue(timeline);
+	}
+
+	// The feedback check only needs ids that are on the request, so it starts right away instead of
+	// waiting for the post; the post loads alongside it
 	private void fetchPostIfNeeded(@Nullable Request request, @Nullable User user) {
 		if (request != null && user != null && request.getPostId() != null) {
+			initializeFeedbackListener(request, user);
 			Post currentPost = postSource.getValue();
-			if (currentPost == null || !Objects.equals(currentPost.getId(), request.getPostId())) {
-				getPostByIdUseCase.execute(request.getPostId(), new GetPostByIdUseCase.GetPostByIdCallbacks() {
-					@Override
-					public void onSuccess(@NonNull Post post) {
-						postSource.setValue(post); // Triggers combineAllData via observer
-						initializeFeedbackListener(request, user, post); // Init listener *after* post load
-						// No need to explicitly call combineAllData here, postSource observer does it.
-					}
-
-					@Override
-					public void onError(@NonNull String message) {
-						_errorEvent.setValue(new Event<>(message));
-					}
-
-					@Override
-					public void onNotFound() {
+			boolean postLoading = pendingPost != null && !pendingPost.isDone();
+			if ((currentPost == null || !Objects.equals(currentPost.getId(), request.getPostId())) && !postLoading) {
+				if (request.getPostSummary() != null) {
+					// Render from the request's own copy of the post while the full post loads
+					postSource.setValue(request.getPostSummary().toPost(request.getPostId()));
+				}
+				pendingPost = UseCaseFutures.postById(getPostByIdUseCase, request.getPostId());
+				pendingPost.whenComplete((post, error) -> {
+					if (error != null) {
+						_errorEvent.setValue(new Event<>(UseCaseFutures.messageOf(error)));
+					} else if (post == null) {
 						_errorEvent.setValue(new Event<>("Not found"));
+					} else {
+						postSource.setValue(post); // Triggers combineAllData via observer
 					}
 				});
-			} else {
-				// If post already loaded, just ensure listener is correct for current state
-				initializeFeedbackListener(request, user, currentPost);
 			}
 		}
 	}
 
 	// Initialize or reset the feedback listener source
-	private void initializeFeedbackListener(Request request, User user, Post post) {
-		boolean isSeller = user.getId().equals(post.getLister().getId());
-		LiveData<Boolean> newSource;
+	private void initializeFeedbackListener(Request request, User user) {
+		boolean isSeller = user.getId().equals(request.getSellerId());
+		boolean needsListener = isSeller && request.getStatus() == RequestStatus.COMPLETED;
+		String listenerKey = needsListener ? request.getId() + "/" + user.getId() : null;
 
-		if (isSeller && request.getStatus() == RequestStatus.COMPLETED) {
+		// Request updates that don't change what is checked keep the current source
+		if (feedbackCheckSource != null && Objects.equals(listenerKey, feedbackListenerKey)) {
+			combineAllData();
+			return;
+		}
+
+		LiveData<Boolean> newSource;
+		if (needsListener) {
 			// Conditions met: get the *actual* listening LiveData
 			newSource = hasUserGivenFeedbackUseCase.execute(request.getId(), user.getId());
 		} else {
@@ -152,19 +214,10 @@ public class RequestDetailViewModel extends ViewModel {
 			newSource = new MutableLiveData<>(false);
 		}
 
-		// Only swap source if it's actually different
-		if (feedbackCheckSource != newSource) {
-			_requestDetailState.removeSource(feedbackCheckSource); // Remove old one
-			feedbackCheckSource = newSource;
-			_requestDetailState.addSource(feedbackCheckSource, hasRated -> combineAllData()); // Add new one
-			// If the new source is the static 'false', trigger combine immediately
-			if (newSource instanceof MutableLiveData && newSource.getValue() == Boolean.FALSE) {
-				combineAllData();
-			}
-		} else {
-			// If source is the same, still might need to recombine if request/user changed
-			combineAllData();
-		}
+		_requestDetailState.removeSource(feedbackCheckSource); // Remove old one
+		feedbackCheckSource = newSource;
+		feedbackListenerKey = listenerKey;
+		_requestDetailState.addSource(feedbackCheckSource, hasRated -> combineAllData()); // Add new one
 	}
 
 	// Combine all available data - Called whenever ANY source changes
@@ -184,23 +237,16 @@ public class RequestDetailViewModel extends ViewModel {
 		if (currentState == null) return;
 		RequestStatus currentStatus = currentState.getRequest().getStatus();
 
-		if (currentState.isCurrentUserSeller) {
-			if (currentStatus == RequestStatus.SELLER_PENDING) {
-				updateRequest(RequestStatus.SELLER_ACCEPTED, "Accepted the offer", null);
-			} else if (currentStatus == RequestStatus.BUYER_ACCEPTED) {
-				updateRequest(RequestStatus.SELLER_ACCEPTED, "Confirmed the deal", null);
-			}
-		} else if (currentState.isCurrentUserBuyer) {
-			if (currentStatus == RequestStatus.BUYER_PENDING) {
-				updateRequest(RequestStatus.BUYER_ACCEPTED, "Accepted the counter-offer", null);
-			} else if (currentStatus == RequestStatus.SELLER_ACCEPTED) {
-				_navigateToCheckoutEvent.setValue(new Event<>(true));
-			}
+		if (currentState.isCurrentUserBuyer && currentStatus == RequestStatus.SELLER_ACCEPTED) {
+			// The buyer confirms by paying
+			_navigateToCheckoutEvent.setValue(new Event<>(true));
+		} else {
+			transitionRequest(NegotiationAction.ACCEPT, null);
 		}
 	}
 
 	public void rejectOffer() {
-		updateRequest(RequestStatus.REJECTED, "Rejected the offer", null);
+		transitionRequest(NegotiationAction.REJECT, null);
 	}
 
 	public void editOffer(String newPrice) {
@@ -210,52 +256,32 @@ public class RequestDetailViewModel extends ViewModel {
 			return;
 		}
 		try {
-			double newAmount = Double.parseDouble(newPrice);
-			String description = String.format("Edited offer to %s",
-					FormattingUtils.formatCurrency(currentState.getRequest().getOfferCurrency(), newAmount));
-			updateRequest(RequestStatus.SELLER_PENDING, description, newAmount);
+			transitionRequest(NegotiationAction.EDIT_OFFER, Double.parseDouble(newPrice));
 		} catch (NumberFormatException e) {
 			_errorEvent.setValue(new Event<>("Invalid price format."));
 		}
 	}
 
 	public void counterOffer(String newPrice) {
-		RequestDetailState currentState = _requestDetailState.getValue();
-		if (currentState == null) return;
 		try {
-			double newAmount = Double.parseDouble(newPrice);
-			String description = String.format("Countered with %s",
-					FormattingUtils.formatCurrency(currentState.getRequest().getOfferCurrency(), newAmount));
-			RequestStatus nextStatus = currentState.isCurrentUserSeller ? RequestStatus.BUYER_PENDING : RequestStatus.SELLER_PENDING;
-			updateRequest(nextStatus, description, newAmount);
+			transitionRequest(NegotiationAction.COUNTER, Double.parseDouble(newPrice));
 		} catch (NumberFormatException e) {
 			_errorEvent.setValue(new Event<>("Invalid price format."));
 		}
 	}
 
-	private void updateRequest(RequestStatus newStatus, String activityDescription, @Nullable Double newOfferAmount) {
+	// The server checks the move against the status this screen showed and applies it in one
+	// transaction; the request listener then picks up the result
+	private void transitionRequest(NegotiationAction action, @Nullable Double newOfferAmount) {
 		RequestDetailState currentState = _requestDetailState.getValue();
 		if (currentState == null) {
 			return;
 		}
+		Request request = currentState.getRequest();
 
-		Request requestToUpdate = currentState.getRequest();
-		User currentUser = currentState.getCurrentUser();
-
-		ActivityEntry newEntry = new ActivityEntry(currentUser.getId(), currentUser.getName(), activityDescription);
-		newEntry.setCreatedAt(new Date());
-		List<ActivityEntry> newTimeline = new ArrayList<>(requestToUpdate.getActivityTimeline() != null ? requestToUpdate.getActivityTimeline() : new ArrayList<>());
-		newTimeline.add(newEntry);
-
-		requestToUpdate.setStatus(newStatus);
-		requestToUpdate.setActivityTimeline(newTimeline);
-		if (newOfferAmount != null) {
-			requestToUpdate.setOfferAmount(newOfferAmount);
-		}
-
-		updateRequestUseCase.execute(requestToUpdate, new UpdateRequestUseCase.UpdateRequestCallbacks() {
+		transitionRequestUseCase.execute(request.getId(), request.getStatus(), action, newOfferAmount, new TransitionRequestUseCase.TransitionRequestCallbacks() {
 			@Override
-			public void onSuccess() {
+			public void onSuccess(@NonNull RequestStatus newStatus) {
 				String successMessage;
 				switch (newStatus) {
 					case BUYER_ACCEPTED:
@@ -41,6 +41,7 @@ public class RequestFragment extends BaseFragment<FragmentRequestBinding> implem
 
 	private void setupRecyclerView() {
 		requestsAdapter = new RequestsAdapter(this); // Pass `this` as the listener
+		requestsAdapter.setOnLoadMoreListener(viewModel::loadMoreRequests);
 		binding.recyclerViewRequests.setLayoutManager(new LinearLayoutManager(getContext()));
 		binding.recyclerViewRequests.setAdapter(requestsAdapter);
 	}
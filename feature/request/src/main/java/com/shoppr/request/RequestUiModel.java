@@ -1,6 +1,8 @@
 package com.shoppr.request;
 
 
+import androidx.annotation.Nullable;
+
 import com.shoppr.model.Post;
 import com.shoppr.model.Request;
 
@@ -8,9 +10,10 @@ import com.shoppr.model.Request;
 public class RequestUiModel {
 
 	private final Request request;
+	@Nullable
 	private final Post post;
 
-	public RequestUiModel(Request request, Post post) {
+	public RequestUiModel(Request request, @Nullable Post post) {
 		this.request = request;
 		this.post = post;
 	}
@@ -19,6 +22,10 @@ public class RequestUiModel {
 		return request;
 	}
 
+	/**
+	 * {@code null} when the post no longer exists.
+	 */
+	@Nullable
 	public Post getPost() {
 		return post;
 	}
@@ -27,11 +27,16 @@ public class ActivityTimelineAdapter extends ListAdapter<ActivityEntry, Activity
 	}
 
 	public void setActorIds(String currentUserId, String buyerId, String sellerId) {
+		boolean changed = !Objects.equals(this.currentUserId, currentUserId)
+				|| !Objects.equals(this.buyerId, buyerId)
+				|| !Objects.equals(this.sellerId, sellerId);
 		this.currentUserId = currentUserId;
 		this.buyerId = buyerId;
 		this.sellerId = sellerId;
-		// We can optionally call notifyDataSetChanged() here if IDs might change
-		// after the list is submitted, but it's often not needed.
+		// The timeline is submitted separately and may already be bound without roles
+		if (changed && getItemCount() > 0) {
+			notifyDataSetChanged();
+		}
 	}
 
 
@@ -120,6 +125,10 @@ public class ActivityTimelineAdapter extends ListAdapter<ActivityEntry, Activity
 	private static final DiffUtil.ItemCallback<ActivityEntry> DIFF_CALLBACK = new DiffUtil.ItemCallback<ActivityEntry>() {
 		@Override
 		public boolean areItemsTheSame(@NonNull ActivityEntry oldItem, @NonNull ActivityEntry newItem) {
+			// Entries from the legacy timeline array have no id
+			if (oldItem.getId() != null || newItem.getId() != null) {
+				return Objects.equals(oldItem.getId(), newItem.getId());
+			}
 			return oldItem == newItem;
 		}
 
@@ -6,6 +6,7 @@ import android.view.View;
 import android.view.ViewGroup;
 
 import androidx.annotation.NonNull;
+import androidx.annotation.Nullable;
 import androidx.core.content.ContextCompat;
 import androidx.recyclerview.widget.DiffUtil;
 import androidx.recyclerview.widget.ListAdapter;
@@ -15,6 +16,7 @@ import com.shoppr.model.Post;
 import com.shoppr.model.Request;
 import com.shoppr.request.RequestUiModel;
 import com.shoppr.request.databinding.ListItemRequestBinding;
+import com.shoppr.ui.adapter.OnLoadMoreListener;
 import com.shoppr.ui.utils.FormattingUtils;
 import com.shoppr.ui.utils.ImageLoader;
 
@@ -27,6 +29,8 @@ public class RequestsAdapter extends ListAdapter<RequestUiModel, RequestsAdapter
 
 	private final OnRequestClickListener clickListener;
 	private String currentUserId;
+	@Nullable
+	private OnLoadMoreListener loadMoreListener;
 
 	public RequestsAdapter(OnRequestClickListener clickListener) {
 		super(DIFF_CALLBACK);
@@ -37,6 +41,10 @@ public class RequestsAdapter extends ListAdapter<RequestUiModel, RequestsAdapter
 		this.currentUserId = currentUserId;
 	}
 
+	public void setOnLoadMoreListener(@Nullable OnLoadMoreListener loadMoreListener) {
+		this.loadMoreListener = loadMoreListener;
+	}
+
 	@NonNull
 	@Override
 	public RequestViewHolder onCreateViewHolder(@NonNull ViewGroup parent, int viewType) {
@@ -51,6 +59,7 @@ public class RequestsAdapter extends ListAdapter<RequestUiModel, RequestsAdapter
 		if (item != null) {
 			holder.bind(item, currentUserId, clickListener);
 		}
+		OnLoadMoreListener.onItemBound(loadMoreListener, position, getItemCount());
 	}
 
 	static class RequestViewHolder extends RecyclerView.ViewHolder {
@@ -65,29 +74,16 @@ public class RequestsAdapter extends ListAdapter<RequestUiModel, RequestsAdapter
 			Request request = uiModel.getRequest();
 			Post post = uiModel.getPost();
 
-			binding.textPostTitle.setText(post.getTitle());
-
-			if (currentUserId != null && post.getLister() != null && currentUserId.equals(post.getLister().getId())) {
-				binding.textListerName.setText("Your listing");
-			} else if (post.getLister() != null && post.getLister().getName() != null) {
-				String listerText = "Listed by " + post.getLister().getName();
-				binding.textListerName.setText(listerText);
+			if (post != null) {
+				bindPost(post, currentUserId);
 			} else {
+				// The post was deleted; the request itself is still shown
+				binding.textPostTitle.setText("Listing no longer available");
 				binding.textListerName.setVisibility(View.GONE);
+				binding.textListPrice.setVisibility(View.GONE);
+				ImageLoader.loadImage(binding.imagePost, null);
 			}
 
-			if (post.getPrice() != null && !post.getPrice().isEmpty()) {
-				String listPriceText = String.format("List price: %s", FormattingUtils.formatCurrency(post.getCurrency(), Double.parseDouble(post.getPrice())));
-				binding.textListPrice.setText(listPriceText);
-				binding.textListPrice.setVisibility(View.VISIBLE);
-			} else {
-				binding.textListPrice.setText("No base offer");
-			}
-
-			String imageUrl = (post.getImageUrl() != null && !post.getImageUrl().isEmpty())
-					? post.getImageUrl().get(0) : null;
-			ImageLoader.loadImage(binding.imagePost, imageUrl);
-
 			if (currentUserId != null && currentUserId.equals(request.getBuyerId())) {
 				binding.textOfferLabel.setText("Your offer");
 			} else {
@@ -158,6 +154,32 @@ public class RequestsAdapter extends ListAdapter<RequestUiModel, RequestsAdapter
 
 			itemView.setOnClickListener(v -> listener.onRequestClicked(uiModel));
 		}
+
+		private void bindPost(Post post, String currentUserId) {
+			binding.textPostTitle.setText(post.getTitle());
+
+			binding.textListerName.setVisibility(View.VISIBLE);
+			if (currentUserId != null && post.getLister() != null && currentUserId.equals(post.getLister().getId())) {
+				binding.textListerName.setText("Your listing");
+			} else if (post.getLister() != null && post.getLister().getName() != null) {
+				String listerText = "Listed by " + post.getLister().getName();
+				binding.textListerName.setText(listerText);
+			} else {
+				binding.textListerName.setVisibility(View.GONE);
+			}
+
+			binding.textListPrice.setVisibility(View.VISIBLE);
+			if (post.getPrice() != null && !post.getPrice().isEmpty()) {
+				String listPriceText = String.format("List price: %s", FormattingUtils.formatCurrency(post.getCurrency(), Double.parseDouble(post.getPrice())));
+				binding.textListPrice.setText(listPriceText);
+			} else {
+				binding.textListPrice.setText("No base offer");
+			}
+
+			String imageUrl = (post.getImageUrl() != null && !post.getImageUrl().isEmpty())
+					? post.getImageUrl().get(0) : null;
+			ImageLoader.loadImage(binding.imagePost, imageUrl);
+		}
 	}
 
 	private static final DiffUtil.ItemCallback<RequestUiModel> DIFF_CALLBACK = new DiffUtil.ItemCallback<RequestUiModel>() {
@@ -169,7 +191,17 @@ public class RequestsAdapter extends ListAdapter<RequestUiModel, RequestsAdapter
 		@Override
 		public boolean areContentsTheSame(@NonNull RequestUiModel oldItem, @NonNull RequestUiModel newItem) {
 			return Objects.equals(oldItem.getRequest().getStatus(), newItem.getRequest().getStatus()) &&
-					Objects.equals(oldItem.getRequest().getOfferAmount(), newItem.getRequest().getOfferAmount());
+					Objects.equals(oldItem.getRequest().getOfferAmount(), newItem.getRequest().getOfferAmount()) &&
+					samePostContent(oldItem.getPost(), newItem.getPost());
+		}
+
+		private boolean samePostContent(Post oldPost, Post newPost) {
+			if (oldPost == null || newPost == null) {
+				return oldPost == newPost;
+			}
+			return Objects.equals(oldPost.getTitle(), newPost.getTitle()) &&
+					Objects.equals(oldPost.getPrice(), newPost.getPrice()) &&
+					Objects.equals(oldPost.getImageUrl(), newPost.getImageUrl());
 		}
 	};
 }
\ No newline at end of file
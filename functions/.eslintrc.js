@@ -19,6 +19,7 @@ module.exports = {
     ignorePatterns: [
         "/lib/**/*", // Ignore built files.
         "/generated/**/*", // Ignore generated files.
+        "/lib-test/**/*", // Ignore compiled tests.
     ],
     plugins: [
         "@typescript-eslint",
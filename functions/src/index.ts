@@ -1,6 +1,8 @@
 // functions/src/index.ts
 
 import {onCall, HttpsError} from "firebase-functions/v2/https";
+import {onSchedule} from "firebase-functions/v2/scheduler";
+import {onDocumentDeleted, onDocumentWritten} from "firebase-functions/v2/firestore";
 import * as logger from "firebase-functions/logger";
 import {
   GoogleGenerativeAI,
@@ -13,6 +15,11 @@ import {
   Part,
 } from "@google/generative-ai";
 import {defineString} from "firebase-functions/params";
+import {initializeApp} from "firebase-admin/app";
+import {getFirestore, FieldPath, FieldValue, Timestamp} from "firebase-admin/firestore";
+
+initializeApp();
+const db = getFirestore();
 
 const geminiApiKeyParam = defineString("SECRETS_GEMINI_API_KEY");
 const META_PROMPT_MODEL_NAME = "gemini-2.5-pro";
@@ -232,3 +239,911 @@ JSON Output:
     throw new HttpsError("internal", "Unexpected error with AI service: " + error.message);
   }
 });
+
+const LISTER_SUMMARY_FIELDS = ["id", "name", "averageRating", "ratingCount"];
+const MIGRATION_PAGE_SIZE = 300;
+
+interface ListerSummary {
+  id: string | null;
+  name: string | null;
+  averageRating: number;
+  ratingCount: number;
+}
+
+interface MigrationResponse {
+  scanned: number;
+  updated: number;
+}
+
+/**
+ * Reduces an embedded lister to the summary fields posts carry.
+ * @param {Record<string, unknown>} lister The embedded lister map.
+ * @return {ListerSummary | null} The summary, or null if nothing needs rewriting.
+ */
+function toListerSummary(lister: Record<string, unknown>): ListerSummary | null {
+  const extraFields = Object.keys(lister).filter((key) => !LISTER_SUMMARY_FIELDS.includes(key));
+  if (extraFields.length === 0) {
+    return null;
+  }
+  return {
+    id: typeof lister.id === "string" ? lister.id : null,
+    name: typeof lister.name === "string" ? lister.name : null,
+    averageRating: typeof lister.averageRating === "number" ? lister.averageRating : 0,
+    ratingCount: typeof lister.ratingCount === "number" ? lister.ratingCount : 0,
+  };
+}
+
+/**
+ * One-off migration for posts written while they embedded the lister's whole user document.
+ * Rewrites `lister` to the summary fields only. Safe to re-run; posts already migrated are skipped.
+ * Restricted to callers with the `admin` custom claim.
+ */
+export const migratePostListers = onCall<void, Promise<MigrationResponse>>({timeoutSeconds: 540}, async (request) => {
+  if (request.auth?.token.admin !== true) {
+    throw new HttpsError("permission-denied", "Only admins can run migrations.");
+  }
+
+  let scanned = 0;
+  let updated = 0;
+  const writer = db.bulkWriter();
+  let lastId: string | null = null;
+
+  for (;;) {
+    let page = db.collection("posts").orderBy(FieldPath.documentId()).limit(MIGRATION_PAGE_SIZE);
+    if (lastId !== null) {
+      page = page.startAfter(lastId);
+    }
+    const snapshot = await page.get();
+    if (snapshot.empty) {
+      break;
+    }
+    for (const doc of snapshot.docs) {
+      scanned++;
+      const lister = doc.get("lister");
+      if (lister === null || typeof lister !== "object") {
+        continue;
+      }
+      const summary = toListerSummary(lister as Record<string, unknown>);
+      if (summary !== null) {
+        writer.update(doc.ref, {lister: summary});
+        updated++;
+      }
+    }
+    lastId = snapshot.docs[snapshot.docs.length - 1].id;
+    if (snapshot.size < MIGRATION_PAGE_SIZE) {
+      break;
+    }
+  }
+
+  await writer.close();
+  logger.info(`migratePostListers - Scanned ${scanned} posts, rewrote ${updated} listers.`);
+  return {scanned, updated};
+});
+
+const GEOHASH_BASE32 = "0123456789bcdefghjkmnpqrstuvwxyz";
+// Must match GeoHashUtils.STORAGE_PRECISION on the client
+const GEOHASH_PRECISION = 9;
+
+/**
+ * Encodes a position as a geohash, bit for bit like GeoHashUtils.encode on the client.
+ * @param {number} latitude The latitude.
+ * @param {number} longitude The longitude.
+ * @param {number} precision The number of characters.
+ * @return {string} The geohash.
+ */
+function encodeGeohash(latitude: number, longitude: number, precision: number): string {
+  let minLat = -90;
+  let maxLat = 90;
+  let minLon = -180;
+  let maxLon = 180;
+  let hash = "";
+  let evenBit = true;
+  let bit = 0;
+  let index = 0;
+
+  while (hash.length < precision) {
+    if (evenBit) {
+      const mid = (minLon + maxLon) / 2;
+      if (longitude >= mid) {
+        index = index * 2 + 1;
+        minLon = mid;
+      } else {
+        index = index * 2;
+        maxLon = mid;
+      }
+    } else {
+      const mid = (minLat + maxLat) / 2;
+      if (latitude >= mid) {
+        index = index * 2 + 1;
+        minLat = mid;
+      } else {
+        index = index * 2;
+        maxLat = mid;
+      }
+    }
+    evenBit = !evenBit;
+
+    if (++bit === 5) {
+      hash += GEOHASH_BASE32.charAt(index);
+      bit = 0;
+      index = 0;
+    }
+  }
+  return hash;
+}
+
+/**
+ * One-off migration for posts written before posts carried a `geohash`. The map only queries
+ * geohash ranges, so such posts never show up on it. Computes the geohash from `latitude` and
+ * `longitude`; posts without a position are left alone. Safe to re-run; posts whose geohash is
+ * already correct are skipped. Restricted to callers with the `admin` custom claim.
+ */
+export const backfillPostGeohashes = onCall<void, Promise<MigrationResponse>>({timeoutSeconds: 540}, async (request) => {
+  if (request.auth?.token.admin !== true) {
+    throw new HttpsError("permission-denied", "Only admins can run migrations.");
+  }
+
+  let scanned = 0;
+  let updated = 0;
+  const writer = db.bulkWriter();
+  let lastId: string | null = null;
+
+  for (;;) {
+    let page = db.collection("posts").orderBy(FieldPath.documentId()).limit(MIGRATION_PAGE_SIZE);
+    if (lastId !== null) {
+      page = page.startAfter(lastId);
+    }
+    const snapshot = await page.get();
+    if (snapshot.empty) {
+      break;
+    }
+    for (const doc of snapshot.docs) {
+      scanned++;
+      const latitude = doc.get("latitude");
+      const longitude = doc.get("longitude");
+      if (typeof latitude !== "number" || typeof longitude !== "number") {
+        continue;
+      }
+      const geohash = encodeGeohash(latitude, longitude, GEOHASH_PRECISION);
+      if (doc.get("geohash") !== geohash) {
+        writer.update(doc.ref, {geohash});
+        updated++;
+      }
+    }
+    lastId = snapshot.docs[snapshot.docs.length - 1].id;
+    if (snapshot.size < MIGRATION_PAGE_SIZE) {
+      break;
+    }
+  }
+
+  await writer.close();
+  logger.info(`backfillPostGeohashes - Scanned ${scanned} posts, set ${updated} geohashes.`);
+  return {scanned, updated};
+});
+
+const OFFER_COUNT_SHARDS = "offerCountShards";
+const OFFER_COUNT_ROLLUP_STATE = "functionState/offerCountRollup";
+// Roll-ups re-read shards this far before the previous run. A shard's server timestamp is taken
+// before its write commits, so a write can become visible after a run whose window it falls in.
+// Re-summing a post or user is idempotent, so the overlap only costs a few repeated reads.
+const ROLLUP_OVERLAP_MS = 60 * 1000;
+
+const OFFER_COUNT_SHARD_COUNT = 10;
+
+/**
+ * The shard a request's offer is counted in. Mirrors the client, which takes the request id's
+ * Java String.hashCode modulo the shard count, so an offer is always added to and removed from
+ * the same shard.
+ * @param {string} requestId The request.
+ * @return {string} The shard document id.
+ */
+function offerCountShard(requestId: string): string {
+  let hash = 0;
+  for (let i = 0; i < requestId.length; i++) {
+    hash = (Math.imul(hash, 31) + requestId.charCodeAt(i)) | 0;
+  }
+  return String(((hash % OFFER_COUNT_SHARD_COUNT) + OFFER_COUNT_SHARD_COUNT) % OFFER_COUNT_SHARD_COUNT);
+}
+
+/**
+ * Sums a post's offer count shards: the request ids in each shard's `offers` map, plus the
+ * `count` that shards written by older clients carry.
+ * @param {FirebaseFirestore.DocumentReference} postRef The post.
+ * @return {Promise<number>} The total, never negative.
+ */
+async function sumOfferCountShards(postRef: FirebaseFirestore.DocumentReference): Promise<number> {
+  const shards = await postRef.collection(OFFER_COUNT_SHARDS).get();
+  let total = 0;
+  shards.forEach((shard) => {
+    const count = shard.get("count");
+    total += typeof count === "number" ? count : 0;
+    const offers = shard.get("offers");
+    if (offers !== null && typeof offers === "object") {
+      total += Object.values(offers as Record<string, unknown>).filter((offered) => offered === true).length;
+    }
+  });
+  return Math.max(0, total);
+}
+
+/**
+ * Copies the offer count shards that changed since the previous run, less the overlap margin, onto
+ * their posts. Clients only ever write the shards, so each post document is written at most once
+ * per run no matter how many offers it received.
+ */
+export const rollUpOfferCounts = onSchedule("every 5 minutes", async () => {
+  const stateRef = db.doc(OFFER_COUNT_ROLLUP_STATE);
+  const state = await stateRef.get();
+  const lastRunAt: Timestamp = state.get("lastRunAt") ?? Timestamp.fromMillis(0);
+  const since = Timestamp.fromMillis(Math.max(0, lastRunAt.toMillis() - ROLLUP_OVERLAP_MS));
+  const now = Timestamp.now();
+
+  const changedShards = await db.collectionGroup(OFFER_COUNT_SHARDS)
+    .where("updatedAt", ">", since)
+    .where("updatedAt", "<=", now)
+    .get();
+
+  const postRefs = new Map<string, FirebaseFirestore.DocumentReference>();
+  changedShards.forEach((shard) => {
+    const postRef = shard.ref.parent.parent;
+    if (postRef) {
+      postRefs.set(postRef.path, postRef);
+    }
+  });
+
+  const writer = db.bulkWriter();
+  writer.onWriteError((error) => {
+    // The post was deleted after the offer; nothing to roll up
+    if (error.code === 5) {
+      return false;
+    }
+    return error.failedAttempts < 5;
+  });
+  for (const postRef of postRefs.values()) {
+    writer.update(postRef, {offerCount: await sumOfferCountShards(postRef)});
+  }
+  await writer.close();
+
+  await stateRef.set({lastRunAt: now});
+  logger.info(`rollUpOfferCounts - Updated ${postRefs.size} posts from ${changedShards.size} shards.`);
+});
+
+/**
+ * One-off migration for posts that still carry the `requests` and `offeringUserIds` arrays.
+ * Counts each offering buyer's request in the shard the client would remove it from, sets
+ * `offerCount` and drops both arrays. Posts with only the `requests` array get its size as a
+ * plain shard count. Run it after backfillRequestIds so the request ids are final.
+ * Restricted to callers with the `admin` custom claim.
+ */
+export const migratePostOffers = onCall<void, Promise<MigrationResponse>>({timeoutSeconds: 540}, async (request) => {
+  if (request.auth?.token.admin !== true) {
+    throw new HttpsError("permission-denied", "Only admins can run migrations.");
+  }
+
+  let scanned = 0;
+  let updated = 0;
+  let lastId: string | null = null;
+
+  for (;;) {
+    let page = db.collection("posts").orderBy(FieldPath.documentId()).limit(MIGRATION_PAGE_SIZE);
+    if (lastId !== null) {
+      page = page.startAfter(lastId);
+    }
+    const snapshot = await page.get();
+    if (snapshot.empty) {
+      break;
+    }
+    for (const doc of snapshot.docs) {
+      scanned++;
+      const legacyRequests = doc.get("requests");
+      const offeringUserIds = doc.get("offeringUserIds");
+      if (legacyRequests === undefined && offeringUserIds === undefined) {
+        continue;
+      }
+      // Shard and post change together, so a re-run never counts the same offers twice
+      const batch = db.batch();
+      const buyerIds = Array.isArray(offeringUserIds) ?
+        [...new Set(offeringUserIds.filter((id): id is string => typeof id === "string"))] : [];
+      let legacyCount = 0;
+      if (buyerIds.length > 0) {
+        for (const buyerId of buyerIds) {
+          const requestId = `${doc.id}_${buyerId}`;
+          batch.set(doc.ref.collection(OFFER_COUNT_SHARDS).doc(offerCountShard(requestId)), {
+            offers: {[requestId]: true},
+            updatedAt: FieldValue.serverTimestamp(),
+          }, {merge: true});
+        }
+        legacyCount = buyerIds.length;
+      } else if (Array.isArray(legacyRequests) && legacyRequests.length > 0) {
+        batch.set(doc.ref.collection(OFFER_COUNT_SHARDS).doc("0"), {
+          count: FieldValue.increment(legacyRequests.length),
+          updatedAt: FieldValue.serverTimestamp(),
+        }, {merge: true});
+        legacyCount = legacyRequests.length;
+      }
+      batch.update(doc.ref, {
+        requests: FieldValue.delete(),
+        offeringUserIds: FieldValue.delete(),
+        offerCount: FieldValue.increment(legacyCount),
+      });
+      await batch.commit();
+      updated++;
+    }
+    lastId = snapshot.docs[snapshot.docs.length - 1].id;
+    if (snapshot.size < MIGRATION_PAGE_SIZE) {
+      break;
+    }
+  }
+
+  logger.info(`migratePostOffers - Scanned ${scanned} posts, migrated ${updated}.`);
+  return {scanned, updated};
+});
+
+const RATING_SHARDS = "ratingShards";
+const RATING_ROLLUP_STATE = "functionState/ratingRollup";
+const RATING_MIGRATION_STATE = "functionState/ratingMigration";
+const LEGACY_RATING_SHARD = "legacy";
+const RATING_STARS = 5;
+
+interface RatingAggregate {
+  sum: number;
+  count: number;
+  histogram: Record<string, number>;
+}
+
+/**
+ * An aggregate with no ratings.
+ * @return {RatingAggregate} Zero sum and count and an empty histogram.
+ */
+function emptyRatingAggregate(): RatingAggregate {
+  const histogram: Record<string, number> = {};
+  for (let star = 1; star <= RATING_STARS; star++) {
+    histogram[String(star)] = 0;
+  }
+  return {sum: 0, count: 0, histogram};
+}
+
+/**
+ * The histogram bucket a rating falls in; mirrors the client's rounding.
+ * @param {number} rating The rating.
+ * @return {string} The star, "1" to "5".
+ */
+function ratingStar(rating: number): string {
+  return String(Math.min(RATING_STARS, Math.max(1, Math.round(rating))));
+}
+
+/**
+ * Sums a user's rating shards: the ratings keyed by feedback id in each shard's `ratings` map,
+ * plus the `sum`, `count` and `histogram` of the legacy shard and of shards written by older
+ * clients.
+ * @param {FirebaseFirestore.QuerySnapshot} shards The user's rating shards.
+ * @return {RatingAggregate} The totals across all shards.
+ */
+function sumRatingShards(shards: FirebaseFirestore.QuerySnapshot): RatingAggregate {
+  const total = emptyRatingAggregate();
+  shards.forEach((shard) => {
+    const ratings = shard.get("ratings");
+    if (ratings !== null && typeof ratings === "object") {
+      for (const rating of Object.values(ratings as Record<string, unknown>)) {
+        if (typeof rating === "number") {
+          total.sum += rating;
+          total.count++;
+          total.histogram[ratingStar(rating)]++;
+        }
+      }
+    }
+    const sum = shard.get("sum");
+    const count = shard.get("count");
+    total.sum += typeof sum === "number" ? sum : 0;
+    total.count += typeof count === "number" ? count : 0;
+    const histogram = shard.get("histogram");
+    if (histogram !== null && typeof histogram === "object") {
+      for (const [star, starCount] of Object.entries(histogram as Record<string, unknown>)) {
+        if (star in total.histogram && typeof starCount === "number") {
+          total.histogram[star] += starCount;
+        }
+      }
+    }
+  });
+  return total;
+}
+
+/**
+ * Copies the rating shards that changed since the previous run, less the overlap margin, onto
+ * their users as `averageRating`, `ratingCount` and `ratingHistogram`. Clients only ever write
+ * the shards, so each user document is written at most once per run no matter how many reviews
+ * it received. Until migrateUserRatings has completed, users without a legacy shard keep their
+ * fields, since the shards don't hold their earlier ratings yet.
+ */
+export const rollUpRatings = onSchedule("every 5 minutes", async () => {
+  const stateRef = db.doc(RATING_ROLLUP_STATE);
+  const state = await stateRef.get();
+  const lastRunAt: Timestamp = state.get("lastRunAt") ?? Timestamp.fromMillis(0);
+  const since = Timestamp.fromMillis(Math.max(0, lastRunAt.toMillis() - ROLLUP_OVERLAP_MS));
+  const now = Timestamp.now();
+  const migrated = (await db.doc(RATING_MIGRATION_STATE).get()).get("completedAt") !== undefined;
+
+  const changedShards = await db.collectionGroup(RATING_SHARDS)
+    .where("updatedAt", ">", since)
+    .where("updatedAt", "<=", now)
+    .get();
+
+  const userRefs = new Map<string, FirebaseFirestore.DocumentReference>();
+  changedShards.forEach((shard) => {
+    const userRef = shard.ref.parent.parent;
+    if (userRef) {
+      userRefs.set(userRef.path, userRef);
+    }
+  });
+
+  const writer = db.bulkWriter();
+  writer.onWriteError((error) => {
+    // The user was deleted after the review; nothing to roll up
+    if (error.code === 5) {
+      return false;
+    }
+    return error.failedAttempts < 5;
+  });
+  let updated = 0;
+  for (const userRef of userRefs.values()) {
+    const shards = await userRef.collection(RATING_SHARDS).get();
+    if (!migrated && !shards.docs.some((shard) => shard.id === LEGACY_RATING_SHARD)) {
+      continue;
+    }
+    const total = sumRatingShards(shards);
+    const count = Math.max(0, total.count);
+    writer.update(userRef, {
+      averageRating: count > 0 ? total.sum / count : 0,
+      ratingCount: count,
+      ratingHistogram: total.histogram,
+    });
+    updated++;
+  }
+  await writer.close();
+
+  await stateRef.set({lastRunAt: now});
+  logger.info(`rollUpRatings - Updated ${updated} of ${userRefs.size} users from ${changedShards.size} shards.`);
+});
+
+/**
+ * One-off migration that moves ratings given before the rating shards into a `legacy` shard per
+ * user, rebuilt from the feedback documents so the histogram is exact. Feedback that clients
+ * marked `sharded` is already in the regular shards and is skipped, so the migration is safe to
+ * re-run. Once done, it resets the roll-up so every user is recomputed from the shards.
+ * Restricted to callers with the `admin` custom claim.
+ */
+export const migrateUserRatings = onCall<void, Promise<MigrationResponse>>({timeoutSeconds: 540}, async (request) => {
+  if (request.auth?.token.admin !== true) {
+    throw new HttpsError("permission-denied", "Only admins can run migrations.");
+  }
+
+  const totals = new Map<string, RatingAggregate>();
+  let scanned = 0;
+  let lastId: string | null = null;
+
+  for (;;) {
+    let page = db.collection("feedback").orderBy(FieldPath.documentId()).limit(MIGRATION_PAGE_SIZE);
+    if (lastId !== null) {
+      page = page.startAfter(lastId);
+    }
+    const snapshot = await page.get();
+    if (snapshot.empty) {
+      break;
+    }
+    for (const doc of snapshot.docs) {
+      scanned++;
+      const rateeId = doc.get("rateeId");
+      const rating = doc.get("rating");
+      if (typeof rateeId !== "string" || typeof rating !== "number" || doc.get("sharded") === true) {
+        continue;
+      }
+      const total = totals.get(rateeId) ?? emptyRatingAggregate();
+      total.sum += rating;
+      total.count++;
+      total.histogram[ratingStar(rating)]++;
+      totals.set(rateeId, total);
+    }
+    lastId = snapshot.docs[snapshot.docs.length - 1].id;
+    if (snapshot.size < MIGRATION_PAGE_SIZE) {
+      break;
+    }
+  }
+
+  const writer = db.bulkWriter();
+  for (const [rateeId, total] of totals) {
+    // Overwritten rather than merged, so a re-run replaces the shard instead of adding to it
+    writer.set(db.collection("users").doc(rateeId).collection(RATING_SHARDS).doc(LEGACY_RATING_SHARD), {
+      ...total,
+      updatedAt: FieldValue.serverTimestamp(),
+    });
+  }
+  await writer.close();
+
+  // Users skipped while the migration was pending have shards older than the roll-up's watermark
+  await db.doc(RATING_MIGRATION_STATE).set({completedAt: FieldValue.serverTimestamp()});
+  await db.doc(RATING_ROLLUP_STATE).delete();
+
+  logger.info(`migrateUserRatings - Scanned ${scanned} feedback documents, seeded ${totals.size} users.`);
+  return {scanned, updated: totals.size};
+});
+
+/**
+ * One-off backfill that moves request documents created with random ids to `{postId}_{buyerId}`,
+ * the id clients now derive for the existing-offer lookup. Transactions and feedback pointing at
+ * the old id are repointed, and the request's activity and the offer's key in the offer count
+ * shards move with it, in the same transaction. If a buyer has several legacy requests on one post, only the first one found
+ * is moved and the rest are kept and logged for manual review.
+ * Restricted to callers with the `admin` custom claim.
+ */
+export const backfillRequestIds = onCall<void, Promise<MigrationResponse>>({timeoutSeconds: 540}, async (request) => {
+  if (request.auth?.token.admin !== true) {
+    throw new HttpsError("permission-denied", "Only admins can run migrations.");
+  }
+
+  let scanned = 0;
+  let updated = 0;
+  let lastId: string | null = null;
+
+  for (;;) {
+    let page = db.collection("requests").orderBy(FieldPath.documentId()).limit(MIGRATION_PAGE_SIZE);
+    if (lastId !== null) {
+      page = page.startAfter(lastId);
+    }
+    const snapshot = await page.get();
+    if (snapshot.empty) {
+      break;
+    }
+    for (const doc of snapshot.docs) {
+      scanned++;
+      const postId = doc.get("postId");
+      const buyerId = doc.get("buyerId");
+      if (typeof postId !== "string" || typeof buyerId !== "string") {
+        continue;
+      }
+      const targetId = `${postId}_${buyerId}`;
+      if (doc.id === targetId) {
+        continue;
+      }
+      const targetRef = db.collection("requests").doc(targetId);
+      const outcome = await db.runTransaction(async (tx) => {
+        const [source, target] = await Promise.all([tx.get(doc.ref), tx.get(targetRef)]);
+        if (!source.exists) {
+          return "gone";
+        }
+        if (target.exists) {
+          return "taken";
+        }
+        const [transactions, feedback, activity] = await Promise.all([
+          tx.get(db.collection("transactions").where("requestId", "==", doc.id)),
+          tx.get(db.collection("feedback").where("requestId", "==", doc.id)),
+          tx.get(doc.ref.collection("activity")),
+        ]);
+        // Copied from the transaction's read, so a write since the page was read is kept
+        tx.set(targetRef, {...source.data(), id: targetId});
+        tx.delete(doc.ref);
+        transactions.forEach((t) => tx.update(t.ref, {requestId: targetId}));
+        feedback.forEach((f) => tx.update(f.ref, {requestId: targetId}));
+        // deleteRequestActivity clears the old id's history once the delete lands
+        activity.forEach((entry) => tx.set(targetRef.collection("activity").doc(entry.id), entry.data()));
+        // The offer is counted under its request id, so it moves shards along with the request
+        const shards = db.collection("posts").doc(postId).collection(OFFER_COUNT_SHARDS);
+        const sourceShard = shards.doc(offerCountShard(doc.id));
+        const targetShard = shards.doc(offerCountShard(targetId));
+        const updatedAt = FieldValue.serverTimestamp();
+        if (sourceShard.id === targetShard.id) {
+          tx.set(sourceShard, {offers: {[doc.id]: FieldValue.delete(), [targetId]: true}, updatedAt}, {merge: true});
+        } else {
+          tx.set(sourceShard, {offers: {[doc.id]: FieldValue.delete()}, updatedAt}, {merge: true});
+          tx.set(targetShard, {offers: {[targetId]: true}, updatedAt}, {merge: true});
+        }
+        return "moved";
+      });
+      if (outcome === "moved") {
+        updated++;
+      } else if (outcome === "taken") {
+        logger.warn(`backfillRequestIds - Kept ${doc.id}; ${targetId} already holds a request.`);
+      }
+    }
+    lastId = snapshot.docs[snapshot.docs.length - 1].id;
+    if (snapshot.size < MIGRATION_PAGE_SIZE) {
+      break;
+    }
+  }
+
+  logger.info(`backfillRequestIds - Scanned ${scanned} requests, moved ${updated}.`);
+  return {scanned, updated};
+});
+
+/**
+ * One-off backfill that moves feedback documents created with random ids to
+ * `{requestId}_{raterId}`, the id clients now derive to check whether feedback was given. Run it
+ * after backfillRequestIds so the request ids are final. If a rater has several legacy feedback
+ * documents on one request, only the first one found is moved and the rest are kept and logged.
+ * Restricted to callers with the `admin` custom claim.
+ */
+export const backfillFeedbackIds = onCall<void, Promise<MigrationResponse>>({timeoutSeconds: 540}, async (request) => {
+  if (request.auth?.token.admin !== true) {
+    throw new HttpsError("permission-denied", "Only admins can run migrations.");
+  }
+
+  let scanned = 0;
+  let updated = 0;
+  let lastId: string | null = null;
+
+  for (;;) {
+    let page = db.collection("feedback").orderBy(FieldPath.documentId()).limit(MIGRATION_PAGE_SIZE);
+    if (lastId !== null) {
+      page = page.startAfter(lastId);
+    }
+    const snapshot = await page.get();
+    if (snapshot.empty) {
+      break;
+    }
+    for (const doc of snapshot.docs) {
+      scanned++;
+      const requestId = doc.get("requestId");
+      const raterId = doc.get("raterId");
+      if (typeof requestId !== "string" || typeof raterId !== "string") {
+        continue;
+      }
+      const targetId = `${requestId}_${raterId}`;
+      if (doc.id === targetId) {
+        continue;
+      }
+      const targetRef = db.collection("feedback").doc(targetId);
+      const moved = await db.runTransaction(async (tx) => {
+        const target = await tx.get(targetRef);
+        if (target.exists) {
+          return false;
+        }
+        tx.set(targetRef, {...doc.data(), id: targetId});
+        tx.delete(doc.ref);
+        return true;
+      });
+      if (moved) {
+        updated++;
+      } else {
+        logger.warn(`backfillFeedbackIds - Kept ${doc.id}; ${targetId} already holds feedback.`);
+      }
+    }
+    lastId = snapshot.docs[snapshot.docs.length - 1].id;
+    if (snapshot.size < MIGRATION_PAGE_SIZE) {
+      break;
+    }
+  }
+
+  logger.info(`backfillFeedbackIds - Scanned ${scanned} feedback documents, moved ${updated}.`);
+  return {scanned, updated};
+});
+
+interface PostSummary {
+  title: string | null;
+  imageUrl: string | null;
+  price: string | null;
+  currency: string | null;
+  listerId: string | null;
+  listerName: string | null;
+  state: string | null;
+}
+
+/**
+ * Builds the summary requests carry of a post; mirrors PostSummary.from on the client.
+ * @param {FirebaseFirestore.DocumentData} post The post document data.
+ * @return {PostSummary} The summary.
+ */
+function toPostSummary(post: FirebaseFirestore.DocumentData): PostSummary {
+  const imageUrls = Array.isArray(post.imageUrl) ? post.imageUrl : [];
+  return {
+    title: post.title ?? null,
+    imageUrl: typeof imageUrls[0] === "string" ? imageUrls[0] : null,
+    price: post.price ?? null,
+    currency: post.currency ?? null,
+    listerId: post.lister?.id ?? null,
+    listerName: post.lister?.name ?? null,
+    state: post.state ?? null,
+  };
+}
+
+/**
+ * Keeps the post summary on every request for a post in step with the post. Only runs the
+ * fan-out when a summarized field changed; a deleted post clears the summary, so clients fall
+ * back to looking the post up and show it as unavailable.
+ */
+export const syncRequestPostSummaries = onDocumentWritten("posts/{postId}", async (event) => {
+  const before = event.data?.before.data();
+  const after = event.data?.after.data();
+  if (!before) {
+    // A new post has no requests yet
+    return;
+  }
+  const summary = after ? toPostSummary(after) : null;
+  if (summary && JSON.stringify(summary) === JSON.stringify(toPostSummary(before))) {
+    return;
+  }
+
+  const requests = await db.collection("requests").where("postId", "==", event.params.postId).get();
+  if (requests.empty) {
+    return;
+  }
+  const writer = db.bulkWriter();
+  requests.forEach((requestDoc) => {
+    writer.update(requestDoc.ref, {postSummary: summary});
+  });
+  await writer.close();
+  logger.info(`syncRequestPostSummaries - Updated ${requests.size} requests for post ${event.params.postId}.`);
+});
+
+/**
+ * Deletes a withdrawn request's activity subcollection. Request ids are derived from post and
+ * buyer, so a buyer who offers again reuses the id and would otherwise see the old history.
+ * Only entries from before the deletion are removed, since a new offer may already have written
+ * its first entry by the time this runs. Clients stamp entries with the server's time, so the
+ * comparison doesn't depend on a device's clock.
+ */
+export const deleteRequestActivity = onDocumentDeleted("requests/{requestId}", async (event) => {
+  const deletedAt = Timestamp.fromDate(new Date(event.time));
+  const activity = await db.collection("requests").doc(event.params.requestId).collection("activity")
+    .where("createdAt", "<=", deletedAt)
+    .get();
+  if (activity.empty) {
+    return;
+  }
+  const writer = db.bulkWriter();
+  activity.forEach((entry) => {
+    writer.delete(entry.ref);
+  });
+  await writer.close();
+  logger.info(`deleteRequestActivity - Deleted ${activity.size} entries of request ${event.params.requestId}.`);
+});
+
+type RequestStatus =
+  "SELLER_PENDING" | "BUYER_PENDING" | "SELLER_ACCEPTED" | "BUYER_ACCEPTED" | "COMPLETED" | "REJECTED";
+type NegotiationAction = "ACCEPT" | "REJECT" | "COUNTER" | "EDIT_OFFER";
+type NegotiationRole = "BUYER" | "SELLER";
+
+const NEGOTIATION_ACTIONS: NegotiationAction[] = ["ACCEPT", "REJECT", "COUNTER", "EDIT_OFFER"];
+const TERMINAL_STATUSES: RequestStatus[] = ["COMPLETED", "REJECTED"];
+
+interface TransitionRequestData {
+  requestId?: string;
+  expectedStatus?: string;
+  action?: string;
+  offerAmount?: number;
+}
+
+interface TransitionResponse {
+  status: RequestStatus;
+  offerAmount: number;
+}
+
+interface Transition {
+  status: RequestStatus;
+  changesAmount: boolean;
+  description: (amount: string) => string;
+}
+
+/**
+ * The negotiation graph; mirrors the buttons RequestDetailState shows. Buyer confirmation of a
+ * seller-accepted offer goes through checkout and is not a transition here.
+ * @param {NegotiationRole} role Who is acting.
+ * @param {RequestStatus} status The request's current status.
+ * @param {NegotiationAction} action What they are doing.
+ * @return {Transition | null} The transition, or null if the action isn't allowed.
+ */
+function negotiationTransition(role: NegotiationRole, status: RequestStatus, action: NegotiationAction): Transition | null {
+  if (TERMINAL_STATUSES.includes(status)) {
+    return null;
+  }
+  switch (action) {
+  case "REJECT":
+    return {status: "REJECTED", changesAmount: false, description: () => "Rejected the offer"};
+  case "ACCEPT":
+    if (role === "SELLER" && status === "SELLER_PENDING") {
+      return {status: "SELLER_ACCEPTED", changesAmount: false, description: () => "Accepted the offer"};
+    }
+    if (role === "SELLER" && status === "BUYER_ACCEPTED") {
+      return {status: "SELLER_ACCEPTED", changesAmount: false, description: () => "Confirmed the deal"};
+    }
+    if (role === "BUYER" && status === "BUYER_PENDING") {
+      return {status: "BUYER_ACCEPTED", changesAmount: false, description: () => "Accepted the counter-offer"};
+    }
+    return null;
+  case "COUNTER":
+    if (role === "SELLER" && status === "SELLER_PENDING") {
+      return {status: "BUYER_PENDING", changesAmount: true, description: (amount) => `Countered with ${amount}`};
+    }
+    if (role === "BUYER" && status === "BUYER_PENDING") {
+      return {status: "SELLER_PENDING", changesAmount: true, description: (amount) => `Countered with ${amount}`};
+    }
+    return null;
+  case "EDIT_OFFER":
+    if (role === "BUYER" && status === "SELLER_PENDING") {
+      return {status: "SELLER_PENDING", changesAmount: true, description: (amount) => `Edited offer to ${amount}`};
+    }
+    return null;
+  default:
+    return null;
+  }
+}
+
+/**
+ * Formats an amount like the client's FormattingUtils.formatCurrency.
+ * @param {string | undefined} currency The ISO currency code.
+ * @param {number} amount The amount.
+ * @return {string} The formatted amount.
+ */
+function formatAmount(currency: string | undefined, amount: number): string {
+  try {
+    return new Intl.NumberFormat("en-US", {style: "currency", currency: currency ?? "USD"}).format(amount);
+  } catch (error) {
+    return amount.toFixed(2);
+  }
+}
+
+/**
+ * Applies one negotiation action to a request in a single transaction: checks that the caller is
+ * a party to it and that it is still in the status they acted on, moves it along the negotiation
+ * graph and adds the entry to its activity. Concurrent actions by the buyer and the seller are
+ * serialized by the transaction, so the second one fails with `failed-precondition` instead of
+ * overwriting the first.
+ */
+export const transitionRequest = onCall<TransitionRequestData, Promise<TransitionResponse>>(async (request) => {
+  const uid = request.auth?.uid;
+  if (!uid) {
+    throw new HttpsError("unauthenticated", "Sign in to respond to offers.");
+  }
+  const {requestId, expectedStatus, action, offerAmount} = request.data;
+  if (!requestId || !expectedStatus || !action || !NEGOTIATION_ACTIONS.includes(action as NegotiationAction)) {
+    throw new HttpsError("invalid-argument", "'requestId', 'expectedStatus' and a valid 'action' are required.");
+  }
+
+  let actorName = request.auth?.token.name as string | undefined;
+  if (!actorName) {
+    const user = await db.collection("users").doc(uid).get();
+    actorName = user.get("name") ?? "";
+  }
+
+  const requestRef = db.collection("requests").doc(requestId);
+  return db.runTransaction(async (transaction) => {
+    const snapshot = await transaction.get(requestRef);
+    if (!snapshot.exists) {
+      throw new HttpsError("not-found", "This offer no longer exists.");
+    }
+    const data = snapshot.data() as FirebaseFirestore.DocumentData;
+    let role: NegotiationRole;
+    if (data.sellerId === uid) {
+      role = "SELLER";
+    } else if (data.buyerId === uid) {
+      role = "BUYER";
+    } else {
+      throw new HttpsError("permission-denied", "Only the buyer or the seller can respond to this offer.");
+    }
+    if (data.status !== expectedStatus) {
+      throw new HttpsError("failed-precondition", "This offer was updated by the other party. Please review it again.");
+    }
+
+    const transition = negotiationTransition(role, data.status as RequestStatus, action as NegotiationAction);
+    if (transition === null) {
+      throw new HttpsError("failed-precondition", `Cannot ${action.toLowerCase()} this offer now.`);
+    }
+    let amount = typeof data.offerAmount === "number" ? data.offerAmount : 0;
+    if (transition.changesAmount) {
+      if (typeof offerAmount !== "number" || !isFinite(offerAmount) || offerAmount <= 0) {
+        throw new HttpsError("invalid-argument", "A positive 'offerAmount' is required.");
+      }
+      amount = offerAmount;
+    }
+
+    const update: Record<string, unknown> = {status: transition.status};
+    if (transition.changesAmount) {
+      update.offerAmount = amount;
+    }
+    transaction.update(requestRef, update);
+    transaction.create(requestRef.collection("activity").doc(), {
+      actorId: uid,
+      actorName,
+      description: transition.description(formatAmount(data.offerCurrency, amount)),
+      createdAt: FieldValue.serverTimestamp(),
+    });
+    return {status: transition.status, offerAmount: amount};
+  });
+});
@@ -0,0 +1,27 @@
+// functions/test/backfillFeedbackIds.test.ts
+
+import {testEnv, clearFirestore, adminRequest} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore} from "firebase-admin/firestore";
+import {backfillFeedbackIds} from "../src/index";
+
+const db = getFirestore();
+
+describe("backfillFeedbackIds", () => {
+  beforeEach(clearFirestore);
+  after(() => testEnv.cleanup());
+
+  it("moves feedback to its derived id and skips feedback already there", async () => {
+    await db.doc("feedback/random1").set({requestId: "post1_buyer", raterId: "buyer", rating: 5});
+    await db.doc("feedback/post1_buyer_seller").set({requestId: "post1_buyer", raterId: "seller", rating: 4});
+
+    const result = await backfillFeedbackIds.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 2, updated: 1});
+    assert.equal((await db.doc("feedback/random1").get()).exists, false);
+    const moved = await db.doc("feedback/post1_buyer_buyer").get();
+    assert.equal(moved.get("id"), "post1_buyer_buyer");
+    assert.equal(moved.get("rating"), 5);
+  });
+});
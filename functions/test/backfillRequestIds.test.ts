@@ -0,0 +1,89 @@
+// functions/test/backfillRequestIds.test.ts
+
+import {testEnv, clearFirestore, adminRequest, callableRequest} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore, Timestamp} from "firebase-admin/firestore";
+import {backfillRequestIds, deleteRequestActivity} from "../src/index";
+
+const db = getFirestore();
+
+describe("backfillRequestIds", () => {
+  beforeEach(clearFirestore);
+  after(() => testEnv.cleanup());
+
+  it("rejects callers without the admin claim", async () => {
+    await assert.rejects(
+      backfillRequestIds.run(callableRequest(undefined, "user-1")),
+      {code: "permission-denied"});
+  });
+
+  it("moves a request to its derived id and repoints what references it", async () => {
+    await db.doc("requests/random1").set({id: "random1", postId: "post1", buyerId: "buyer", status: "SELLER_PENDING"});
+    await db.doc("transactions/t1").set({requestId: "random1"});
+    await db.doc("feedback/f1").set({requestId: "random1", raterId: "buyer"});
+
+    const result = await backfillRequestIds.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 1, updated: 1});
+    assert.equal((await db.doc("requests/random1").get()).exists, false);
+    const moved = await db.doc("requests/post1_buyer").get();
+    assert.equal(moved.get("id"), "post1_buyer");
+    assert.equal(moved.get("status"), "SELLER_PENDING");
+    assert.equal((await db.doc("transactions/t1").get()).get("requestId"), "post1_buyer");
+    assert.equal((await db.doc("feedback/f1").get()).get("requestId"), "post1_buyer");
+  });
+
+  it("keeps the activity of a moved request", async () => {
+    const createdAt = Timestamp.fromMillis(Date.now() - 60 * 1000);
+    await db.doc("requests/random1").set({id: "random1", postId: "post1", buyerId: "buyer"});
+    await db.doc("requests/random1/activity/a").set({description: "Offered $20.00", createdAt});
+
+    await backfillRequestIds.run(adminRequest(undefined));
+    // The move deletes the old request, which fires the cleanup of its activity
+    const deleted = testEnv.firestore.makeDocumentSnapshot({postId: "post1", buyerId: "buyer"}, "requests/random1");
+    await testEnv.wrap(deleteRequestActivity)({data: deleted, params: {requestId: "random1"}, time: new Date().toISOString()});
+
+    const activity = await db.collection("requests/post1_buyer/activity").get();
+    assert.deepEqual(activity.docs.map((entry) => entry.id), ["a"]);
+    assert.equal(activity.docs[0].get("description"), "Offered $20.00");
+    assert.deepEqual(activity.docs[0].get("createdAt"), createdAt);
+    assert.equal((await db.collection("requests/random1/activity").get()).size, 0);
+  });
+
+  it("moves the offer to the new id's offer count shard", async () => {
+    // String.hashCode puts random1 in shard 6 and post1_buyer in shard 9
+    await db.doc("requests/random1").set({id: "random1", postId: "post1", buyerId: "buyer"});
+    await db.doc("posts/post1/offerCountShards/6").set({offers: {"random1": true, "post1_other": true}});
+
+    await backfillRequestIds.run(adminRequest(undefined));
+
+    assert.deepEqual((await db.doc("posts/post1/offerCountShards/6").get()).get("offers"), {"post1_other": true});
+    assert.deepEqual((await db.doc("posts/post1/offerCountShards/9").get()).get("offers"), {"post1_buyer": true});
+  });
+
+  it("copies the request as read in the transaction", async (t) => {
+    await db.doc("requests/random1").set({id: "random1", postId: "post1", buyerId: "buyer", offerAmount: 20});
+    // Lands after the page read, before the request is moved
+    const runTransaction = db.runTransaction.bind(db);
+    t.mock.method(db, "runTransaction", async (updateFunction: Parameters<typeof runTransaction>[0]) => {
+      await db.doc("requests/random1").update({offerAmount: 25});
+      return runTransaction(updateFunction);
+    });
+
+    await backfillRequestIds.run(adminRequest(undefined));
+
+    assert.equal((await db.doc("requests/post1_buyer").get()).get("offerAmount"), 25);
+  });
+
+  it("keeps a duplicate request when the derived id is taken", async () => {
+    await db.doc("requests/post1_buyer").set({id: "post1_buyer", postId: "post1", buyerId: "buyer", offerAmount: 10});
+    await db.doc("requests/random1").set({id: "random1", postId: "post1", buyerId: "buyer", offerAmount: 20});
+
+    const result = await backfillRequestIds.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 2, updated: 0});
+    assert.equal((await db.doc("requests/post1_buyer").get()).get("offerAmount"), 10);
+    assert.equal((await db.doc("requests/random1").get()).exists, true);
+  });
+});
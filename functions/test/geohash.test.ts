@@ -0,0 +1,42 @@
+// functions/test/geohash.test.ts
+
+import {testEnv, clearFirestore, adminRequest, callableRequest} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore} from "firebase-admin/firestore";
+import {backfillPostGeohashes} from "../src/index";
+
+const db = getFirestore();
+
+describe("backfillPostGeohashes", () => {
+  beforeEach(clearFirestore);
+  after(() => testEnv.cleanup());
+
+  it("rejects callers without the admin claim", async () => {
+    await assert.rejects(
+      backfillPostGeohashes.run(callableRequest(undefined, "user-1")),
+      {code: "permission-denied"});
+  });
+
+  it("sets the geohash the client would compute", async () => {
+    // Reference point: 57.64911, 10.40744 is u4pruydqqvj
+    await db.doc("posts/legacy").set({latitude: 57.64911, longitude: 10.40744});
+
+    const result = await backfillPostGeohashes.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 1, updated: 1});
+    assert.equal((await db.doc("posts/legacy").get()).get("geohash"), "u4pruydqq");
+  });
+
+  it("skips posts that are current or have no position", async () => {
+    await db.doc("posts/current").set({latitude: 57.64911, longitude: 10.40744, geohash: "u4pruydqq"});
+    await db.doc("posts/stale").set({latitude: 40.7128, longitude: -74.006, geohash: "u4pruydqq"});
+    await db.doc("posts/unplaced").set({title: "No position"});
+
+    const result = await backfillPostGeohashes.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 3, updated: 1});
+    assert.equal((await db.doc("posts/stale").get()).get("geohash"), "dr5regw3p");
+    assert.equal((await db.doc("posts/unplaced").get()).get("geohash"), undefined);
+  });
+});
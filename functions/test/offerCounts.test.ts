@@ -0,0 +1,95 @@
+// functions/test/offerCounts.test.ts
+
+import {testEnv, clearFirestore, adminRequest, scheduledEvent} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore, FieldValue, Timestamp} from "firebase-admin/firestore";
+import {migratePostOffers, rollUpOfferCounts} from "../src/index";
+
+const db = getFirestore();
+
+after(() => testEnv.cleanup());
+
+describe("rollUpOfferCounts", () => {
+  beforeEach(clearFirestore);
+
+  it("sums every shard of a post with a changed shard", async () => {
+    await db.doc("posts/p1").set({title: "Lamp"});
+    await db.doc("posts/p1/offerCountShards/0").set({count: 2, updatedAt: Timestamp.now()});
+    await db.doc("posts/p1/offerCountShards/1").set({count: 1, updatedAt: Timestamp.fromMillis(0)});
+    await db.doc("posts/p1/offerCountShards/2").set({count: -1, updatedAt: Timestamp.now()});
+
+    await rollUpOfferCounts.run(scheduledEvent());
+
+    assert.equal((await db.doc("posts/p1").get()).get("offerCount"), 2);
+  });
+
+  it("counts each request in the offers maps once", async () => {
+    await db.doc("posts/p1").set({title: "Lamp"});
+    await db.doc("posts/p1/offerCountShards/3").set({
+      offers: {"p1_a": true, "p1_b": true},
+      updatedAt: Timestamp.now(),
+    });
+    // Re-submitted offers set the same key again; withdrawn ones remove it
+    await db.doc("posts/p1/offerCountShards/3").set({offers: {"p1_a": true}}, {merge: true});
+    await db.doc("posts/p1/offerCountShards/3").set({offers: {"p1_b": FieldValue.delete()}}, {merge: true});
+
+    await rollUpOfferCounts.run(scheduledEvent());
+
+    assert.equal((await db.doc("posts/p1").get()).get("offerCount"), 1);
+  });
+
+  it("re-reads shards that committed just before the previous run", async () => {
+    const lastRunAt = Timestamp.fromMillis(Date.now() - 10 * 1000);
+    await db.doc("functionState/offerCountRollup").set({lastRunAt});
+    await db.doc("posts/late").set({title: "Chair"});
+    await db.doc("posts/stale").set({title: "Desk", offerCount: 0});
+    // Stamped inside the overlap margin, as a write that committed after the previous run's query
+    await db.doc("posts/late/offerCountShards/0").set({count: 3, updatedAt: Timestamp.fromMillis(lastRunAt.toMillis() - 30 * 1000)});
+    // Older than the margin, so already rolled up
+    await db.doc("posts/stale/offerCountShards/0").set({count: 5, updatedAt: Timestamp.fromMillis(lastRunAt.toMillis() - 5 * 60 * 1000)});
+
+    await rollUpOfferCounts.run(scheduledEvent());
+
+    assert.equal((await db.doc("posts/late").get()).get("offerCount"), 3);
+    assert.equal((await db.doc("posts/stale").get()).get("offerCount"), 0);
+  });
+
+  it("skips shards of deleted posts", async () => {
+    await db.doc("posts/gone/offerCountShards/0").set({count: 1, updatedAt: Timestamp.now()});
+
+    await rollUpOfferCounts.run(scheduledEvent());
+
+    assert.equal((await db.doc("posts/gone").get()).exists, false);
+    assert.ok((await db.doc("functionState/offerCountRollup").get()).get("lastRunAt") instanceof Timestamp);
+  });
+});
+
+describe("migratePostOffers", () => {
+  beforeEach(clearFirestore);
+
+  it("counts each offering buyer in the shard the client removes it from", async () => {
+    // The client's String.hashCode places post1_userA in shard 0 and post1_userB in shard 1
+    await db.doc("posts/post1").set({requests: ["r1", "r2"], offeringUserIds: ["userA", "userB", "userA"]});
+
+    const result = await migratePostOffers.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 1, updated: 1});
+    assert.deepEqual((await db.doc("posts/post1/offerCountShards/0").get()).get("offers"), {"post1_userA": true});
+    const post = await db.doc("posts/post1").get();
+    assert.equal(post.get("offerCount"), 2);
+    assert.equal(post.get("offeringUserIds"), undefined);
+    assert.equal(post.get("requests"), undefined);
+  });
+
+  it("leaves migrated posts alone on a re-run", async () => {
+    await db.doc("posts/post1").set({requests: ["r1"]});
+
+    await migratePostOffers.run(adminRequest(undefined));
+    const rerun = await migratePostOffers.run(adminRequest(undefined));
+
+    assert.deepEqual(rerun, {scanned: 1, updated: 0});
+    assert.equal((await db.doc("posts/post1/offerCountShards/0").get()).get("count"), 1);
+    assert.equal((await db.doc("posts/post1").get()).get("offerCount"), 1);
+  });
+});
@@ -0,0 +1,105 @@
+// functions/test/ratings.test.ts
+
+import {testEnv, clearFirestore, adminRequest, callableRequest, scheduledEvent} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore, Timestamp} from "firebase-admin/firestore";
+import {migrateUserRatings, rollUpRatings} from "../src/index";
+
+const db = getFirestore();
+
+after(() => testEnv.cleanup());
+
+/**
+ * Marks the rating migration as done, as migrateUserRatings does when it finishes.
+ * @return {Promise<unknown>} Resolves once written.
+ */
+function completeMigration(): Promise<unknown> {
+  return db.doc("functionState/ratingMigration").set({completedAt: Timestamp.now()});
+}
+
+describe("rollUpRatings", () => {
+  beforeEach(clearFirestore);
+
+  it("counts each feedback id in the ratings maps once", async () => {
+    await completeMigration();
+    await db.doc("users/u1").set({name: "Ada"});
+    await db.doc("users/u1/ratingShards/4").set({ratings: {"r1_a": 5, "r2_b": 4.5}, updatedAt: Timestamp.now()});
+    // A resubmission replaces the rating under the same key
+    await db.doc("users/u1/ratingShards/4").set({ratings: {"r2_b": 2}}, {merge: true});
+    await db.doc("users/u1/ratingShards/7").set({ratings: {"r3_c": 3}, updatedAt: Timestamp.now()});
+
+    await rollUpRatings.run(scheduledEvent());
+
+    const user = await db.doc("users/u1").get();
+    assert.equal(user.get("ratingCount"), 3);
+    assert.equal(user.get("averageRating"), 10 / 3);
+    assert.deepEqual(user.get("ratingHistogram"), {"1": 0, "2": 1, "3": 1, "4": 0, "5": 1});
+  });
+
+  it("leaves unmigrated users alone until the migration completes", async () => {
+    await db.doc("users/old").set({averageRating: 4, ratingCount: 10});
+    await db.doc("users/old/ratingShards/0").set({ratings: {"r1_a": 1}, updatedAt: Timestamp.now()});
+    await db.doc("users/seeded").set({averageRating: 4, ratingCount: 2});
+    await db.doc("users/seeded/ratingShards/legacy").set({sum: 8, count: 2, histogram: {"4": 2}, updatedAt: Timestamp.now()});
+    await db.doc("users/seeded/ratingShards/0").set({ratings: {"r2_a": 1}, updatedAt: Timestamp.now()});
+
+    await rollUpRatings.run(scheduledEvent());
+
+    const old = await db.doc("users/old").get();
+    assert.equal(old.get("averageRating"), 4);
+    assert.equal(old.get("ratingCount"), 10);
+    const seeded = await db.doc("users/seeded").get();
+    assert.equal(seeded.get("averageRating"), 3);
+    assert.equal(seeded.get("ratingCount"), 3);
+  });
+
+  it("re-reads shards that committed just before the previous run", async () => {
+    await completeMigration();
+    const lastRunAt = Timestamp.fromMillis(Date.now() - 10 * 1000);
+    await db.doc("functionState/ratingRollup").set({lastRunAt});
+    await db.doc("users/late").set({name: "Bo"});
+    await db.doc("users/late/ratingShards/0").set({ratings: {"r1_a": 5}, updatedAt: Timestamp.fromMillis(lastRunAt.toMillis() - 30 * 1000)});
+
+    await rollUpRatings.run(scheduledEvent());
+
+    assert.equal((await db.doc("users/late").get()).get("ratingCount"), 1);
+  });
+});
+
+describe("migrateUserRatings", () => {
+  beforeEach(clearFirestore);
+
+  it("rejects callers without the admin claim", async () => {
+    await assert.rejects(
+      migrateUserRatings.run(callableRequest(undefined, "user-1")),
+      {code: "permission-denied"});
+  });
+
+  it("seeds the legacy shard from unmarked feedback only", async () => {
+    await db.doc("feedback/r1_a").set({rateeId: "u1", rating: 4});
+    await db.doc("feedback/r2_b").set({rateeId: "u1", rating: 2.4});
+    // Already counted in the regular shards by the client
+    await db.doc("feedback/r3_c").set({rateeId: "u1", rating: 5, sharded: true});
+
+    const result = await migrateUserRatings.run(adminRequest(undefined));
+
+    assert.deepEqual(result, {scanned: 3, updated: 1});
+    const legacy = await db.doc("users/u1/ratingShards/legacy").get();
+    assert.equal(legacy.get("count"), 2);
+    assert.equal(legacy.get("sum"), 6.4);
+    assert.deepEqual(legacy.get("histogram"), {"1": 0, "2": 1, "3": 0, "4": 1, "5": 0});
+  });
+
+  it("replaces the legacy shard on a re-run and resets the roll-up", async () => {
+    await db.doc("feedback/r1_a").set({rateeId: "u1", rating: 4});
+    await db.doc("functionState/ratingRollup").set({lastRunAt: Timestamp.now()});
+
+    await migrateUserRatings.run(adminRequest(undefined));
+    await migrateUserRatings.run(adminRequest(undefined));
+
+    assert.equal((await db.doc("users/u1/ratingShards/legacy").get()).get("count"), 1);
+    assert.equal((await db.doc("functionState/ratingRollup").get()).exists, false);
+    assert.ok((await db.doc("functionState/ratingMigration").get()).get("completedAt") instanceof Timestamp);
+  });
+});
@@ -0,0 +1,49 @@
+// functions/test/requestActivity.test.ts
+
+import {testEnv, clearFirestore} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore, Timestamp} from "firebase-admin/firestore";
+import {deleteRequestActivity} from "../src/index";
+
+const db = getFirestore();
+
+describe("deleteRequestActivity", () => {
+  beforeEach(clearFirestore);
+  after(() => testEnv.cleanup());
+
+  /**
+   * Delivers the deletion of a request to the trigger.
+   * @param {string} requestId The deleted request.
+   * @param {Date} time When it was deleted.
+   * @return {Promise<unknown>} Resolves once the trigger is done.
+   */
+  function deliverDeletion(requestId: string, time: Date): Promise<unknown> {
+    const snapshot = testEnv.firestore.makeDocumentSnapshot({postId: "post1", buyerId: "buyer1"}, `requests/${requestId}`);
+    return testEnv.wrap(deleteRequestActivity)({data: snapshot, params: {requestId}, time: time.toISOString()});
+  }
+
+  it("deletes the activity of the withdrawn offer", async () => {
+    const deletedAt = new Date();
+    const activity = db.collection("requests/post1_buyer1/activity");
+    await activity.doc("a").set({description: "Offered $20.00", createdAt: Timestamp.fromMillis(deletedAt.getTime() - 60 * 1000)});
+    await activity.doc("b").set({description: "Countered $25.00", createdAt: Timestamp.fromMillis(deletedAt.getTime() - 1000)});
+
+    await deliverDeletion("post1_buyer1", deletedAt);
+
+    assert.equal((await activity.get()).size, 0);
+  });
+
+  it("keeps entries of an offer made again after the withdrawal", async () => {
+    const deletedAt = new Date(Date.now() - 10 * 1000);
+    await db.doc("requests/post1_buyer1").set({postId: "post1", buyerId: "buyer1"});
+    const activity = db.collection("requests/post1_buyer1/activity");
+    await activity.doc("old").set({description: "Offered $20.00", createdAt: Timestamp.fromMillis(deletedAt.getTime() - 1000)});
+    await activity.doc("new").set({description: "Offered $22.00", createdAt: Timestamp.now()});
+
+    await deliverDeletion("post1_buyer1", deletedAt);
+
+    assert.deepEqual((await activity.get()).docs.map((doc) => doc.id), ["new"]);
+    assert.equal((await db.doc("requests/post1_buyer1").get()).exists, true);
+  });
+});
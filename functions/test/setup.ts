@@ -0,0 +1,58 @@
+// functions/test/setup.ts
+
+import functionsTest from "firebase-functions-test";
+import type {CallableRequest} from "firebase-functions/v2/https";
+import type {ScheduledEvent} from "firebase-functions/v2/scheduler";
+
+export const PROJECT_ID = "demo-shoppr";
+
+// Every test talks to the Firestore emulator started by `npm test`. Must be
+// imported before the functions, which initialize the Admin SDK when loaded.
+export const testEnv = functionsTest({projectId: PROJECT_ID});
+
+/**
+ * Deletes every document in the Firestore emulator.
+ * @return {Promise<void>} Resolves once the database is empty.
+ */
+export async function clearFirestore(): Promise<void> {
+  const host = process.env.FIRESTORE_EMULATOR_HOST;
+  if (!host) {
+    throw new Error("FIRESTORE_EMULATOR_HOST is not set; run the tests with `npm test`.");
+  }
+  const response = await fetch(`http://${host}/emulator/v1/projects/${PROJECT_ID}/databases/(default)/documents`, {method: "DELETE"});
+  if (!response.ok) {
+    throw new Error(`Clearing the emulator failed: ${response.status}`);
+  }
+}
+
+/**
+ * Builds a callable request as the functions framework would pass it.
+ * @param {T} data The request payload.
+ * @param {string | null} uid The caller, or null for an unauthenticated call.
+ * @param {Record<string, unknown>} claims Custom claims on the caller's token.
+ * @return {CallableRequest<T>} The request.
+ */
+export function callableRequest<T>(data: T, uid: string | null, claims: Record<string, unknown> = {}): CallableRequest<T> {
+  return {
+    data,
+    auth: uid === null ? undefined : {uid, token: {uid, ...claims}},
+    rawRequest: {},
+  } as unknown as CallableRequest<T>;
+}
+
+/**
+ * Builds a callable request from a caller with the `admin` custom claim.
+ * @param {T} data The request payload.
+ * @return {CallableRequest<T>} The request.
+ */
+export function adminRequest<T>(data: T): CallableRequest<T> {
+  return callableRequest(data, "admin", {admin: true});
+}
+
+/**
+ * Builds the event a scheduled function receives when its job fires now.
+ * @return {ScheduledEvent} The event.
+ */
+export function scheduledEvent(): ScheduledEvent {
+  return {scheduleTime: new Date().toISOString()};
+}
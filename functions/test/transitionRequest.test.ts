@@ -0,0 +1,100 @@
+// functions/test/transitionRequest.test.ts
+
+import {testEnv, clearFirestore, callableRequest} from "./setup";
+import {after, beforeEach, describe, it} from "node:test";
+import assert from "node:assert/strict";
+import {getFirestore} from "firebase-admin/firestore";
+import {transitionRequest} from "../src/index";
+
+const db = getFirestore();
+
+/**
+ * Calls transitionRequest as the given user.
+ * @param {string | null} uid The caller, or null for an unauthenticated call.
+ * @param {Record<string, unknown>} data The request payload.
+ * @return {Promise<unknown>} The function's response.
+ */
+function transition(uid: string | null, data: Record<string, unknown>): Promise<unknown> {
+  return transitionRequest.run(callableRequest(data, uid, {name: uid ?? ""}));
+}
+
+describe("transitionRequest", () => {
+  beforeEach(async () => {
+    await clearFirestore();
+    await db.doc("requests/post1_buyer").set({
+      postId: "post1",
+      buyerId: "buyer",
+      sellerId: "seller",
+      status: "SELLER_PENDING",
+      offerAmount: 20,
+      offerCurrency: "USD",
+    });
+  });
+  after(() => testEnv.cleanup());
+
+  it("lets the seller counter and records it in the activity", async () => {
+    const result = await transition("seller", {
+      requestId: "post1_buyer", expectedStatus: "SELLER_PENDING", action: "COUNTER", offerAmount: 25,
+    });
+
+    assert.deepEqual(result, {status: "BUYER_PENDING", offerAmount: 25});
+    const request = await db.doc("requests/post1_buyer").get();
+    assert.equal(request.get("status"), "BUYER_PENDING");
+    assert.equal(request.get("offerAmount"), 25);
+    const activity = await db.collection("requests/post1_buyer/activity").get();
+    assert.equal(activity.size, 1);
+    assert.equal(activity.docs[0].get("actorId"), "seller");
+    assert.equal(activity.docs[0].get("description"), "Countered with $25.00");
+  });
+
+  it("keeps the amount on an accept", async () => {
+    const result = await transition("seller", {requestId: "post1_buyer", expectedStatus: "SELLER_PENDING", action: "ACCEPT"});
+
+    assert.deepEqual(result, {status: "SELLER_ACCEPTED", offerAmount: 20});
+  });
+
+  it("rejects a stale expected status without writing", async () => {
+    await assert.rejects(
+      transition("seller", {requestId: "post1_buyer", expectedStatus: "BUYER_PENDING", action: "ACCEPT"}),
+      {code: "failed-precondition"});
+
+    assert.equal((await db.doc("requests/post1_buyer").get()).get("status"), "SELLER_PENDING");
+    assert.equal((await db.collection("requests/post1_buyer/activity").get()).size, 0);
+  });
+
+  it("rejects an action the role can't take in this status", async () => {
+    // Only the seller can accept while the offer waits on the seller
+    await assert.rejects(
+      transition("buyer", {requestId: "post1_buyer", expectedStatus: "SELLER_PENDING", action: "ACCEPT"}),
+      {code: "failed-precondition"});
+  });
+
+  it("only lets the buyer and the seller respond", async () => {
+    await assert.rejects(
+      transition("stranger", {requestId: "post1_buyer", expectedStatus: "SELLER_PENDING", action: "REJECT"}),
+      {code: "permission-denied"});
+    await assert.rejects(
+      transition(null, {requestId: "post1_buyer", expectedStatus: "SELLER_PENDING", action: "REJECT"}),
+      {code: "unauthenticated"});
+  });
+
+  it("requires a positive amount for a counter", async () => {
+    await assert.rejects(
+      transition("seller", {requestId: "post1_buyer", expectedStatus: "SELLER_PENDING", action: "COUNTER", offerAmount: 0}),
+      {code: "invalid-argument"});
+  });
+
+  it("reports a withdrawn offer as not found", async () => {
+    await assert.rejects(
+      transition("seller", {requestId: "post1_other", expectedStatus: "SELLER_PENDING", action: "ACCEPT"}),
+      {code: "not-found"});
+  });
+
+  it("refuses to move a completed offer", async () => {
+    await db.doc("requests/post1_buyer").update({status: "COMPLETED"});
+
+    await assert.rejects(
+      transition("seller", {requestId: "post1_buyer", expectedStatus: "COMPLETED", action: "REJECT"}),
+      {code: "failed-precondition"});
+  });
+});